@@ -1,15 +1,24 @@
 package org.pwss;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 import org.pwss.exception.start.FailedToLaunchAppException;
+import org.pwss.startup.StartupBench;
 import org.slf4j.LoggerFactory;
 
 public class Start {
     public static void main(String[] args) {
         try {
-            FileIntegrityScannerFrontend.StartApplication();
+            Optional<Path> benchReport = StartupBench.reportFile(args);
+            if (benchReport.isPresent()) {
+                StartupBench.run(benchReport.get());
+            } else {
+                FileIntegrityScannerFrontend.StartApplication();
+            }
         } catch (FailedToLaunchAppException failedToLaunchAppException) {
             LoggerFactory.getLogger(Start.class).error("Failed to start application {}",
                     failedToLaunchAppException.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,102 +1,121 @@
 package org.pwss.app_settings;
 
+import java.io.IOException;
+import java.util.function.Consumer;
+
 /**
  * The AppConfig class provides access to the application configuration
  * settings.
  * It uses a ConfigLoader instance to load and manage configuration values.
+ * Settings are read, changed and observed by their typed {@link Setting} key,
+ * and changes take effect immediately. Changed settings are written to the
+ * configuration file shortly after they stop changing, off the calling thread.
  * 
  * @author PWSS ORG
  */
 public final class AppConfig {
 
     /**
-     * Flag indicating whether to use splash screen or not. This value is loaded
-     * from the configuration file
-     * when the class is initialized.
-     */
-    public final static boolean USE_SPLASH_SCREEN;
-    /**
-     * Value representing the application theme. This value is loaded from the
-     * configuration file
-     * when the class is initialized.
+     * ConfigLoader instance used to load and manage configuration values.
      */
-    public final static int APP_THEME;
+    private static final ConfigLoader configLoader = new ConfigLoader();
+
     /**
-     * License key for the application. This value is loaded from the configuration
-     * file
-     * when the class is initialized.
+     * Registry holding the current setting values and notifying their subscribers.
      */
-    public final static String LICENSE_KEY;
+    private static final SettingsRegistry settings = new SettingsRegistry(configLoader);
+
+    private AppConfig() {
+        // Prevent instantiation
+    }
+
     /**
-     * Maximum file size (in bytes) for hash extraction. This value is loaded from
-     * the configuration file
-     * when the class is initialized.
+     * Returns the current value of a setting.
+     *
+     * @param <T>     The type of the value.
+     * @param setting The setting.
+     * @return The value.
      */
-    public final static long MAX_HASH_EXTRACTION_FILE_SIZE;
+    public static <T> T get(Setting<T> setting) {
+        return settings.get(setting);
+    }
 
     /**
-     * ConfigLoader instance used to load and manage configuration values.
+     * Subscribes to the changes of a setting, whether made by the application or
+     * by an edit of the configuration file. The subscriber is called on the thread
+     * applying the change, not necessarily the Event Dispatch Thread.
+     *
+     * @param <T>        The type of the value.
+     * @param setting    The setting.
+     * @param subscriber Receives the new values.
+     * @return The subscription, to cancel once the subscriber is no longer interested.
      */
-    private static ConfigLoader configLoader = new ConfigLoader();
+    public static <T> SettingsRegistry.Subscription subscribe(Setting<T> setting, Consumer<? super T> subscriber) {
+        return settings.subscribe(setting, subscriber);
+    }
 
     /**
-     * Static block that initializes the static configuration fields by loading them
-     * from the ConfigLoader.
+     * Starts applying edits of the configuration file made outside the
+     * application while it runs.
+     *
+     * @throws IOException If the configuration file cannot be watched.
      */
-    static {
-        USE_SPLASH_SCREEN = configLoader.isUseSplashScreen();
-        APP_THEME = configLoader.getAppTheme();
-        LICENSE_KEY = configLoader.getLicenseKey();
-        MAX_HASH_EXTRACTION_FILE_SIZE = configLoader.getHashExtractionMaxFileSizeValue();
+    public static void watchConfigFile() throws IOException {
+        settings.watch();
     }
 
     /**
-     * Sets the splash screen flag in the configuration file. This change will take
-     * effect only after
-     * the frontend application is restarted.
+     * Sets the splash screen flag. This change will take effect the next time the
+     * frontend application is started.
      *
      * @param flag The value to set for the splash screen flag (true or false)
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     public static final boolean setSplashScreenFlagInAppConfig(boolean flag) {
-        return configLoader.setSplashScreenFlag(String.valueOf(flag));
+        return settings.set(Setting.USE_SPLASH_SCREEN, flag);
     }
 
     /**
-     * Sets the application theme value in the configuration file. This change will
-     * take effect only after
-     * the frontend application is restarted.
+     * Sets the application theme value, which is applied immediately.
      *
      * @param appTheme The value to set for the application theme (an integer
      *                 between 1 and 4)
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     public static final boolean setAppTheme(int appTheme) {
-        return configLoader.setAppTheme(String.valueOf(appTheme));
+        return settings.set(Setting.APP_THEME, appTheme);
     }
 
     /**
-     * Sets the license key value in the configuration file. This change will take
-     * effect only after
-     * the frontend application is restarted.
+     * Sets the license key value.
      *
      * @param licenseKey The value to set for the license key (a string)
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     public static final boolean setLicenseKey(String licenseKey) {
-        return configLoader.setLicenseKey(licenseKey);
+        return settings.set(Setting.LICENSE_KEY, licenseKey);
     }
 
     /**
-     * Sets the maximum file size for hash extraction in the configuration file.
-     * This change will take effect only after
-     * the frontend application is restarted.
+     * Sets the maximum file size for hash extraction, which is used by the next
+     * scan.
      *
      * @param maxFileSize The value to set for the maximum file size (in bytes)
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     public static final boolean setMaxHashExtractionFileSize(long maxFileSize) {
-        return configLoader.setMaxHashExtractionFileSize(String.valueOf(maxFileSize));
+        return settings.set(Setting.MAX_HASH_EXTRACTION_FILE_SIZE, maxFileSize);
+    }
+
+    /**
+     * Writes the changed settings to the configuration file now instead of after
+     * the short delay changes are batched over. Pending changes are also written
+     * when the application shuts down.
+     *
+     * @return true if the settings are written or unchanged, false if they could not be written
+     */
+    public static final boolean flush() {
+        return configLoader.flush();
     }
 
 }
@@ -2,14 +2,29 @@ package org.pwss.app_settings;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.pwss.data_structure.LineStore;
 import org.slf4j.LoggerFactory;
 
 /**
  * The ConfigLoader class is responsible for loading configuration settings from
  * a properties file and providing access to these settings.
+ * <p>
+ * Changed settings are kept in memory and written behind: the file is rewritten
+ * once the settings have not changed for a short while, on a background thread,
+ * so dragging a slider rewrites it once instead of on every tick. The file is
+ * replaced atomically, so it is never seen half written, and pending changes are
+ * written when the application shuts down or {@link #flush()} is called.
  * 
  * @author PWSS ORG
  */
@@ -20,46 +35,121 @@ final class ConfigLoader {
     /**
      * Key in the properties file for splash screen setting.
      */
-    private final String SPLASHSCREEN_KEY = "frontend.splashscreen";
+    static final String SPLASHSCREEN_KEY = "frontend.splashscreen";
     /**
      * Key in the properties file for application theme setting.
      */
-    private String APP_THEME_KEY = "frontend.theme";
+    static final String APP_THEME_KEY = "frontend.theme";
     /**
      * Key in the properties file for license key setting.
      */
-    private final String LICENSE_KEY = "frontend.licensekey";
+    static final String LICENSE_KEY = "frontend.licensekey";
     /**
      * Key in the properties file for maximum hash extraction file size setting.
      */
-    private final String MAX_HASH_EXTRACTION_FILE_SIZE_KEY = "scanner.max_hash_extraction_file_size";
+    static final String MAX_HASH_EXTRACTION_FILE_SIZE_KEY = "scanner.max_hash_extraction_file_size";
+    /**
+     * Key in the properties file for the maximum live feed poll interval setting.
+     */
+    static final String LIVE_FEED_MAX_POLL_INTERVAL_KEY = "frontend.livefeed_max_poll_interval_ms";
+    /**
+     * Default maximum live feed poll interval in milliseconds, used if the setting is absent or invalid.
+     */
+    private final long DEFAULT_LIVE_FEED_MAX_POLL_INTERVAL_MS = 8000L;
+    /**
+     * Key in the properties file for the maximum disk space of the scan journals.
+     */
+    static final String SCAN_JOURNAL_MAX_SIZE_KEY = "frontend.scan_journal_max_size_mb";
+    /**
+     * Default maximum disk space of the scan journals in megabytes, used if the setting is absent or invalid.
+     */
+    private final long DEFAULT_SCAN_JOURNAL_MAX_SIZE_MB = 256L;
+    /**
+     * Key in the properties file for the maximum number of lines kept in the live feed.
+     */
+    static final String LIVE_FEED_MAX_LINES_KEY = "frontend.livefeed_max_lines";
+    /**
+     * Default maximum number of lines kept in the live feed, used if the setting is absent or invalid.
+     */
+    private final int DEFAULT_LIVE_FEED_MAX_LINES = LineStore.DEFAULT_MAX_LINES;
+
+    /**
+     * Path to the default configuration file.
+     */
+    private static final String CONFIG_FILE_PATH = "options" + File.separator + "app.config";
+    /**
+     * Default time in milliseconds the settings must stay unchanged before they are written.
+     */
+    private static final long DEFAULT_WRITE_DELAY_MS = 300L;
+    /**
+     * Writes the changed settings of every loader, one file at a time.
+     */
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "app-config-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
-     * Path to the configuration file.
+     * The configuration file.
      */
-    private final String CONFIG_FILE_PATH = "options" + File.separator + "app.config";
+    private final Path configFile;
+    /**
+     * Time in milliseconds the settings must stay unchanged before they are written.
+     */
+    private final long writeDelayMs;
+    /**
+     * Serializes writes of the file, so an older snapshot never replaces a newer one.
+     */
+    private final Object writeLock = new Object();
+    /**
+     * Whether settings have changed since the file was last written; guarded by this.
+     */
+    private boolean dirty;
+    /**
+     * The scheduled write of the changed settings, null if none is scheduled; guarded by this.
+     */
+    private ScheduledFuture<?> pendingWrite;
     /**
      * Properties object that holds the configuration data loaded from the
      * properties file.
      */
     private final Properties properties = new Properties();
 
+    /**
+     * Whether the properties hold settings, false if the file could not be loaded
+     * and nothing has been set since; guarded by this.
+     */
+    private boolean loaded;
+
     /**
      * Flag indicating whether to use splash screen or not.
      */
-    private final boolean useSplashScreen;
+    private volatile boolean useSplashScreen;
     /**
      * Value representing the application theme.
      */
-    private final int appTheme;
+    private volatile int appTheme;
     /**
      * License key for the application.
      */
-    private final String licenseKey;
+    private volatile String licenseKey;
     /**
      * Maximum hash extraction file size.
      */
-    private final long maxHashExtractionFileSize;
+    private volatile long maxHashExtractionFileSize;
+    /**
+     * Maximum live feed poll interval in milliseconds.
+     */
+    private volatile long liveFeedMaxPollIntervalMs;
+    /**
+     * Maximum disk space of the scan journals in megabytes.
+     */
+    private volatile long scanJournalMaxSizeMb;
+    /**
+     * Maximum number of lines kept in the live feed.
+     */
+    private volatile int liveFeedMaxLines;
 
     /**
      * Constructor that loads configuration settings from the properties file and
@@ -68,31 +158,91 @@ final class ConfigLoader {
      * values are used.
      */
     ConfigLoader() {
+        this(Path.of(CONFIG_FILE_PATH), DEFAULT_WRITE_DELAY_MS);
+        // Changes made just before the application exits are still written
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "app-config-flush"));
+    }
+
+    /**
+     * Constructor that loads configuration settings from the given properties file.
+     *
+     * @param configFile   The configuration file.
+     * @param writeDelayMs Time in milliseconds the settings must stay unchanged before they are written.
+     */
+    ConfigLoader(Path configFile, long writeDelayMs) {
+        this.configFile = configFile;
+        this.writeDelayMs = writeDelayMs;
 
-        boolean result = loadConfig();
+        synchronized (this) {
+            this.loaded = loadConfig();
+            parseConfig();
+        }
+    }
 
-        if (!result) {
+    /**
+     * Initializes the setting values from the loaded properties. If loading
+     * failed, default values are used.
+     */
+    private void parseConfig() {
+        if (!loaded) {
             this.useSplashScreen = true;
             this.appTheme = 1;
             this.licenseKey = "none";
             this.maxHashExtractionFileSize = -1;
+            this.liveFeedMaxPollIntervalMs = DEFAULT_LIVE_FEED_MAX_POLL_INTERVAL_MS;
+            this.scanJournalMaxSizeMb = DEFAULT_SCAN_JOURNAL_MAX_SIZE_MB;
+            this.liveFeedMaxLines = DEFAULT_LIVE_FEED_MAX_LINES;
         } else {
             this.useSplashScreen = getSplashScreenFlagFromConfigString(getSplashScreenProperty());
             this.appTheme = getAppThemeValueFromConfigString(getAppThemeProperty());
             this.licenseKey = getLicenseKeyProperty();
             this.maxHashExtractionFileSize = getMaxHashExtractionFileSizeFromConfigString(getMaxHashExtractionFileSizeProperty());
+            this.liveFeedMaxPollIntervalMs = getLiveFeedMaxPollIntervalFromConfigString(
+                    properties.getProperty(LIVE_FEED_MAX_POLL_INTERVAL_KEY));
+            this.scanJournalMaxSizeMb = getScanJournalMaxSizeFromConfigString(
+                    properties.getProperty(SCAN_JOURNAL_MAX_SIZE_KEY));
+            this.liveFeedMaxLines = getLiveFeedMaxLinesFromConfigString(
+                    properties.getProperty(LIVE_FEED_MAX_LINES_KEY));
         }
+    }
 
+    /**
+     * Reloads the settings from the configuration file, typically after it has
+     * been edited outside the application. Settings changed in memory but not
+     * written yet take precedence, so the file is not reloaded while there are any.
+     *
+     * @return true if the settings have been reloaded, false if there are unwritten
+     *         changes or the file could not be loaded
+     */
+    final synchronized boolean reload() {
+        if (dirty) {
+            return false;
+        }
+        Properties reloaded = new Properties();
+        try (FileInputStream input = new FileInputStream(configFile.toFile())) {
+            reloaded.load(input);
+        } catch (Exception exception) {
+            log.debug("Could not reload app settings", exception);
+            log.error("Could not reload app settings {}", exception.getMessage());
+            return false;
+        }
+        properties.clear();
+        properties.putAll(reloaded);
+        loaded = true;
+        parseConfig();
+        return true;
     }
 
     /**
      * Parses the splash screen flag from a configuration string.
      *
-     * @param configFileString The configuration string to be parsed
+     * @param configFileString The configuration string to be parsed, null if the setting is absent
      * @return false if the string is "false" (case insensitive), otherwise true
      */
     private final boolean getSplashScreenFlagFromConfigString(String configFileString) {
-
+        if (configFileString == null) {
+            return true;
+        }
         try {
             if (configFileString.equalsIgnoreCase("false"))
                 return false;
@@ -110,12 +260,14 @@ final class ConfigLoader {
     /**
      * Parses the application theme value from a configuration string.
      *
-     * @param configFileString The configuration string to be parsed
+     * @param configFileString The configuration string to be parsed, null if the setting is absent
      * @return The integer value of the theme, or 1 if parsing fails or the value is
      *         invalid
      */
     private final int getAppThemeValueFromConfigString(String configFileString) {
-
+        if (configFileString == null) {
+            return 1;
+        }
         try {
 
             int appThemeValue = Integer.parseInt(configFileString);
@@ -141,6 +293,9 @@ final class ConfigLoader {
      *         parsing fails or the value is invalid
      */
     private final long getMaxHashExtractionFileSizeFromConfigString(String configFileString) {
+        if (configFileString == null) {
+            return -1;
+        }
         try {
             long maxHashExtractionFileSizeValue = Long.parseLong(configFileString);
 
@@ -158,13 +313,90 @@ final class ConfigLoader {
     }
 
     /**
-     * Loads the configuration properties from the file specified by
-     * CONFIG_FILE_PATH.
+     * Parses the maximum live feed poll interval from a configuration string.
+     *
+     * @param configFileString The configuration string to be parsed, null if the setting is absent
+     * @return The interval in milliseconds, or the default if the setting is absent, not positive or invalid
+     */
+    private final long getLiveFeedMaxPollIntervalFromConfigString(String configFileString) {
+        if (configFileString == null || configFileString.isBlank()) {
+            return DEFAULT_LIVE_FEED_MAX_POLL_INTERVAL_MS;
+        }
+        try {
+            long liveFeedMaxPollIntervalValue = Long.parseLong(configFileString.trim());
+
+            if (liveFeedMaxPollIntervalValue > 0)
+                return liveFeedMaxPollIntervalValue;
+            else
+                return DEFAULT_LIVE_FEED_MAX_POLL_INTERVAL_MS;
+        }
+
+        catch (Exception exception) {
+            log.debug("Could not parse live feed max poll interval value from app settings", exception);
+            log.error("Could not parse live feed max poll interval value from app settings {}", exception.getMessage());
+            return DEFAULT_LIVE_FEED_MAX_POLL_INTERVAL_MS;
+        }
+    }
+
+    /**
+     * Parses the maximum disk space of the scan journals from a configuration string.
+     *
+     * @param configFileString The configuration string to be parsed, null if the setting is absent
+     * @return The size in megabytes, or the default if the setting is absent, not positive or invalid
+     */
+    private final long getScanJournalMaxSizeFromConfigString(String configFileString) {
+        if (configFileString == null || configFileString.isBlank()) {
+            return DEFAULT_SCAN_JOURNAL_MAX_SIZE_MB;
+        }
+        try {
+            long scanJournalMaxSizeValue = Long.parseLong(configFileString.trim());
+
+            if (scanJournalMaxSizeValue > 0)
+                return scanJournalMaxSizeValue;
+            else
+                return DEFAULT_SCAN_JOURNAL_MAX_SIZE_MB;
+        }
+
+        catch (Exception exception) {
+            log.debug("Could not parse scan journal max size value from app settings", exception);
+            log.error("Could not parse scan journal max size value from app settings {}", exception.getMessage());
+            return DEFAULT_SCAN_JOURNAL_MAX_SIZE_MB;
+        }
+    }
+
+    /**
+     * Parses the maximum number of lines kept in the live feed from a configuration string.
+     *
+     * @param configFileString The configuration string to be parsed, null if the setting is absent
+     * @return The number of lines, or the default if the setting is absent, not positive or invalid
+     */
+    private final int getLiveFeedMaxLinesFromConfigString(String configFileString) {
+        if (configFileString == null || configFileString.isBlank()) {
+            return DEFAULT_LIVE_FEED_MAX_LINES;
+        }
+        try {
+            int liveFeedMaxLinesValue = Integer.parseInt(configFileString.trim());
+
+            if (liveFeedMaxLinesValue > 0)
+                return liveFeedMaxLinesValue;
+            else
+                return DEFAULT_LIVE_FEED_MAX_LINES;
+        }
+
+        catch (Exception exception) {
+            log.debug("Could not parse live feed max lines value from app settings", exception);
+            log.error("Could not parse live feed max lines value from app settings {}", exception.getMessage());
+            return DEFAULT_LIVE_FEED_MAX_LINES;
+        }
+    }
+
+    /**
+     * Loads the configuration properties from the configuration file.
      *
      * @return true if loading was successful, otherwise false
      */
     private final boolean loadConfig() {
-        try (FileInputStream input = new FileInputStream(CONFIG_FILE_PATH)) {
+        try (FileInputStream input = new FileInputStream(configFile.toFile())) {
             properties.load(input);
             return true;
         }
@@ -254,60 +486,30 @@ final class ConfigLoader {
      * Sets the splash screen flag in the properties file.
      *
      * @param splashScreenFlag The value to set for the splash screen flag
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     final boolean setSplashScreenFlag(String splashScreenFlag) {
-
-        properties.setProperty(SPLASHSCREEN_KEY, splashScreenFlag);
-
-        try (FileOutputStream fos = new FileOutputStream(CONFIG_FILE_PATH)) {
-            properties.store(fos, null);
-            return true;
-        } catch (Exception exception) {
-            log.debug("Splash screen flag could not be set in app.config file", exception);
-            log.error("Splash screen flag could not be set in app.config file", exception.getMessage());
-            return false;
-        }
+        return setProperty(SPLASHSCREEN_KEY, splashScreenFlag);
     }
 
     /**
      * Sets the application theme value in the properties file.
      *
      * @param appTheme The value to set for the application theme
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     final boolean setAppTheme(String appTheme) {
-
-        properties.setProperty(APP_THEME_KEY, appTheme);
-
-        try (FileOutputStream fos = new FileOutputStream(CONFIG_FILE_PATH)) {
-            properties.store(fos, null);
-            return true;
-        } catch (Exception exception) {
-            log.debug("App theme could not be set in app.config file", exception);
-            log.error("App theme could not be set in app.config file", exception.getMessage());
-            return false;
-        }
+        return setProperty(APP_THEME_KEY, appTheme);
     }
 
     /**
      * Sets the license key value in the properties file.
      *
      * @param licenseKey The value to set for the license key
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     final boolean setLicenseKey(String licenseKey) {
-
-        properties.setProperty(LICENSE_KEY, licenseKey);
-
-        try (FileOutputStream fos = new FileOutputStream(CONFIG_FILE_PATH)) {
-            properties.store(fos, null);
-            return true;
-        } catch (Exception exception) {
-            log.debug("License key could not be set in app.config file", exception);
-            log.error("License key could not be set in app.config file", exception.getMessage());
-            return false;
-        }
+        return setProperty(LICENSE_KEY, licenseKey);
     }
 
     /**
@@ -315,22 +517,88 @@ final class ConfigLoader {
      *
      * @param maxHashExtractionFileSize The value to set for the maximum hash
      *                                  extraction file size
-     * @return true if setting was successful, otherwise false
+     * @return true once the change is accepted, it is written to the file shortly after
      */
     final boolean setMaxHashExtractionFileSize(String maxHashExtractionFileSize) {
+        return setProperty(MAX_HASH_EXTRACTION_FILE_SIZE_KEY, maxHashExtractionFileSize);
+    }
 
-        properties.setProperty(MAX_HASH_EXTRACTION_FILE_SIZE_KEY, maxHashExtractionFileSize);
+    /**
+     * Changes a setting in memory, where it takes effect immediately, and schedules
+     * the write of the file, postponing a write already scheduled so a burst of
+     * changes is written once.
+     *
+     * @param key   The key of the setting
+     * @param value The value of the setting
+     * @return true once the change is accepted
+     */
+    final synchronized boolean setProperty(String key, String value) {
+        properties.setProperty(key, value);
+        loaded = true;
+        parseConfig();
+        dirty = true;
+        if (pendingWrite != null) {
+            pendingWrite.cancel(false);
+        }
+        pendingWrite = WRITER.schedule(this::flush, writeDelayMs, TimeUnit.MILLISECONDS);
+        return true;
+    }
 
-        try (FileOutputStream fos = new FileOutputStream(CONFIG_FILE_PATH)) {
-            properties.store(fos, null);
-            return true;
-        } catch (Exception exception) {
-            log.debug("Max hash extraction file size could not be set in app.config file", exception);
-            log.error("Max hash extraction file size could not be set in app.config file: {}", exception.getMessage());
-            return false;
+    /**
+     * Writes the changed settings to the file now, if there are any. The settings
+     * are written to a temporary file first, which then replaces the configuration
+     * file, so the configuration file always holds either all the old or all the
+     * new settings.
+     *
+     * @return true if the settings are written or unchanged, false if they could not be written
+     */
+    final boolean flush() {
+        synchronized (writeLock) {
+            Properties snapshot = new Properties();
+            synchronized (this) {
+                if (!dirty) {
+                    return true;
+                }
+                dirty = false;
+                if (pendingWrite != null) {
+                    pendingWrite.cancel(false);
+                    pendingWrite = null;
+                }
+                snapshot.putAll(properties);
+            }
+
+            Path temporaryFile = configFile.resolveSibling(configFile.getFileName() + ".tmp");
+            try {
+                try (OutputStream output = Files.newOutputStream(temporaryFile)) {
+                    snapshot.store(output, null);
+                }
+                try {
+                    Files.move(temporaryFile, configFile, StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException exception) {
+                    Files.move(temporaryFile, configFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return true;
+            } catch (Exception exception) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                log.debug("App settings could not be written to the app.config file", exception);
+                log.error("App settings could not be written to the app.config file: {}", exception.getMessage());
+                return false;
+            }
         }
     }
 
+    /**
+     * Gets the configuration file.
+     *
+     * @return The path of the configuration file
+     */
+    final Path getConfigFile() {
+        return configFile;
+    }
+
     /**
      * Gets the value indicating whether to use splash screen or not.
      *
@@ -358,7 +626,39 @@ final class ConfigLoader {
         return licenseKey;
     }
 
+    /**
+     * Gets the maximum hash extraction file size.
+     *
+     * @return The maximum hash extraction file size in bytes, or -1 if unlimited
+     */
     final long getHashExtractionMaxFileSizeValue() {
         return maxHashExtractionFileSize;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the maximum live feed poll interval.
+     *
+     * @return The maximum live feed poll interval in milliseconds
+     */
+    final long getLiveFeedMaxPollIntervalMs() {
+        return liveFeedMaxPollIntervalMs;
+    }
+
+    /**
+     * Gets the maximum disk space of the scan journals.
+     *
+     * @return The maximum disk space of the scan journals in megabytes
+     */
+    final long getScanJournalMaxSizeMb() {
+        return scanJournalMaxSizeMb;
+    }
+
+    /**
+     * Gets the maximum number of lines kept in the live feed.
+     *
+     * @return The maximum number of lines kept in the live feed
+     */
+    final int getLiveFeedMaxLines() {
+        return liveFeedMaxLines;
+    }
+}
@@ -0,0 +1,109 @@
+package org.pwss.app_settings;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A typed key of an application setting, used to read, change and observe the
+ * setting through {@link AppConfig} and {@link SettingsRegistry}.
+ *
+ * @param <T> The type of the value of the setting.
+ * @author PWSS ORG
+ */
+public final class Setting<T> {
+
+    /**
+     * Whether the splash screen is shown when the application starts.
+     */
+    public static final Setting<Boolean> USE_SPLASH_SCREEN = new Setting<>("USE_SPLASH_SCREEN",
+            ConfigLoader.SPLASHSCREEN_KEY, ConfigLoader::isUseSplashScreen);
+    /**
+     * The application theme, the value of an {@link org.pwss.util.AppTheme}.
+     */
+    public static final Setting<Integer> APP_THEME = new Setting<>("APP_THEME",
+            ConfigLoader.APP_THEME_KEY, ConfigLoader::getAppTheme);
+    /**
+     * The license key of the application, blank if none has been entered.
+     */
+    public static final Setting<String> LICENSE_KEY = new Setting<>("LICENSE_KEY",
+            ConfigLoader.LICENSE_KEY, ConfigLoader::getLicenseKey);
+    /**
+     * Maximum file size (in bytes) for hash extraction, -1 if unlimited.
+     */
+    public static final Setting<Long> MAX_HASH_EXTRACTION_FILE_SIZE = new Setting<>("MAX_HASH_EXTRACTION_FILE_SIZE",
+            ConfigLoader.MAX_HASH_EXTRACTION_FILE_SIZE_KEY, ConfigLoader::getHashExtractionMaxFileSizeValue);
+    /**
+     * Maximum interval (in milliseconds) between two polls of the live feed while it is idle.
+     */
+    public static final Setting<Long> LIVE_FEED_MAX_POLL_INTERVAL_MS = new Setting<>("LIVE_FEED_MAX_POLL_INTERVAL_MS",
+            ConfigLoader.LIVE_FEED_MAX_POLL_INTERVAL_KEY, ConfigLoader::getLiveFeedMaxPollIntervalMs);
+    /**
+     * Maximum disk space (in megabytes) taken by the journals of past scans.
+     */
+    public static final Setting<Long> SCAN_JOURNAL_MAX_SIZE_MB = new Setting<>("SCAN_JOURNAL_MAX_SIZE_MB",
+            ConfigLoader.SCAN_JOURNAL_MAX_SIZE_KEY, ConfigLoader::getScanJournalMaxSizeMb);
+    /**
+     * Maximum number of lines kept in the live feed, the oldest lines being dropped past it.
+     */
+    public static final Setting<Integer> LIVE_FEED_MAX_LINES = new Setting<>("LIVE_FEED_MAX_LINES",
+            ConfigLoader.LIVE_FEED_MAX_LINES_KEY, ConfigLoader::getLiveFeedMaxLines);
+
+    /**
+     * Every setting, in declaration order.
+     */
+    static final List<Setting<?>> ALL = List.of(USE_SPLASH_SCREEN, APP_THEME, LICENSE_KEY,
+            MAX_HASH_EXTRACTION_FILE_SIZE, LIVE_FEED_MAX_POLL_INTERVAL_MS, SCAN_JOURNAL_MAX_SIZE_MB,
+            LIVE_FEED_MAX_LINES);
+
+    /**
+     * The name of the setting.
+     */
+    private final String name;
+    /**
+     * The key of the setting in the configuration file.
+     */
+    private final String key;
+    /**
+     * Reads the parsed and validated value of the setting.
+     */
+    private final Function<ConfigLoader, T> reader;
+
+    private Setting(String name, String key, Function<ConfigLoader, T> reader) {
+        this.name = name;
+        this.key = key;
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the name of the setting.
+     *
+     * @return The name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the key of the setting in the configuration file.
+     *
+     * @return The key.
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Reads the current value of the setting.
+     *
+     * @param configLoader The loader holding the settings.
+     * @return The value.
+     */
+    T read(ConfigLoader configLoader) {
+        return reader.apply(configLoader);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
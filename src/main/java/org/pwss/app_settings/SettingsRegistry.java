@@ -0,0 +1,292 @@
+package org.pwss.app_settings;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the current values of the application settings and notifies the
+ * subscribers of a setting whenever its value changes, so changes apply while
+ * the application runs instead of after a restart.
+ * <p>
+ * A setting changes when it is set through this registry or when the
+ * configuration file is edited outside the application, which is noticed once
+ * {@link #watch()} has been called. Subscribers are notified on the thread
+ * applying the change: the caller of {@link #set} or the thread watching the
+ * file. Subscribers updating Swing components must therefore hand the update
+ * over to the Event Dispatch Thread. This class is thread safe.
+ *
+ * @author PWSS ORG
+ */
+public final class SettingsRegistry implements AutoCloseable {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SettingsRegistry.class);
+
+    /**
+     * Time in milliseconds to wait for an edit of the file to settle before reloading it,
+     * as editors may write a file in several steps.
+     */
+    private static final long SETTLE_DELAY_MS = 100L;
+
+    /**
+     * A subscription to the changes of a setting.
+     */
+    @FunctionalInterface
+    public interface Subscription {
+        /**
+         * Stops notifying the subscriber.
+         */
+        void cancel();
+    }
+
+    /**
+     * The loader holding and writing the settings.
+     */
+    private final ConfigLoader configLoader;
+    /**
+     * The subscribers by setting.
+     */
+    private final Map<Setting<?>, List<Consumer<Object>>> subscribers = new ConcurrentHashMap<>();
+    /**
+     * The service watching the directory of the configuration file, null if not watching; guarded by this.
+     */
+    private WatchService watchService;
+
+    /**
+     * Creates a registry of the settings held by the given loader.
+     *
+     * @param configLoader The loader holding the settings.
+     */
+    SettingsRegistry(ConfigLoader configLoader) {
+        this.configLoader = configLoader;
+    }
+
+    /**
+     * Returns the current value of a setting.
+     *
+     * @param <T>     The type of the value.
+     * @param setting The setting.
+     * @return The value.
+     */
+    public <T> T get(Setting<T> setting) {
+        return setting.read(configLoader);
+    }
+
+    /**
+     * Changes a setting and notifies its subscribers if its value changed. The
+     * change is written to the configuration file shortly after.
+     *
+     * @param <T>     The type of the value.
+     * @param setting The setting.
+     * @param value   The new value.
+     * @return true once the change is accepted
+     */
+    public <T> boolean set(Setting<T> setting, T value) {
+        Map<Setting<?>, Object> changes;
+        synchronized (this) {
+            Map<Setting<?>, Object> before = snapshot();
+            boolean accepted = configLoader.setProperty(setting.key(), String.valueOf(value));
+            if (!accepted) {
+                return false;
+            }
+            changes = changesSince(before);
+        }
+        notifySubscribers(changes);
+        return true;
+    }
+
+    /**
+     * Subscribes to the changes of a setting. The subscriber receives each new value of the setting,
+     * not its current value.
+     *
+     * @param <T>        The type of the value.
+     * @param setting    The setting.
+     * @param subscriber Receives the new values.
+     * @return The subscription, to cancel once the subscriber is no longer interested.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Subscription subscribe(Setting<T> setting, Consumer<? super T> subscriber) {
+        Consumer<Object> listener = value -> subscriber.accept((T) value);
+        subscribers.computeIfAbsent(setting, s -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> subscribers.get(setting).remove(listener);
+    }
+
+    /**
+     * Reloads the settings from the configuration file and notifies the subscribers of the settings whose
+     * value changed.
+     *
+     * @return true if the file has been reloaded, false if there are unwritten changes or it could not be loaded
+     */
+    public boolean reload() {
+        Map<Setting<?>, Object> changes;
+        synchronized (this) {
+            Map<Setting<?>, Object> before = snapshot();
+            if (!configLoader.reload()) {
+                return false;
+            }
+            changes = changesSince(before);
+        }
+        if (!changes.isEmpty()) {
+            log.debug("App settings changed in the app.config file: {}", changes.keySet());
+        }
+        notifySubscribers(changes);
+        return true;
+    }
+
+    /**
+     * Starts watching the configuration file for edits made outside the
+     * application, reloading it on a daemon thread whenever it changes. Does
+     * nothing if the file is already being watched.
+     *
+     * @throws IOException If the directory of the file cannot be watched.
+     */
+    public synchronized void watch() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        Path configFile = configLoader.getConfigFile().toAbsolutePath();
+        WatchService service = FileSystems.getDefault().newWatchService();
+        try {
+            configFile.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException exception) {
+            service.close();
+            throw exception;
+        }
+        watchService = service;
+
+        Thread watcher = new Thread(() -> watchFile(service, configFile.getFileName()), "app-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the configuration file.
+     */
+    @Override
+    public synchronized void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException exception) {
+            log.debug("Could not stop watching the app.config file", exception);
+        }
+        watchService = null;
+    }
+
+    /**
+     * Reloads the configuration file whenever the watch service reports a change of it, until the service is
+     * closed.
+     *
+     * @param service  The watch service.
+     * @param fileName The name of the configuration file in the watched directory.
+     */
+    private void watchFile(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = containsFile(key, fileName);
+                // Collect the events of the same edit, so it is reloaded once
+                WatchKey next;
+                while ((next = service.poll(SETTLE_DELAY_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= containsFile(next, fileName);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException exception) {
+            // Stopped watching
+        }
+    }
+
+    /**
+     * Checks whether the events of a watch key concern the given file, and resets the key.
+     *
+     * @param key      The signalled key.
+     * @param fileName The name of the file.
+     * @return true if one of the events concerns the file or events were lost.
+     */
+    private static boolean containsFile(WatchKey key, Path fileName) {
+        boolean found = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                found = true;
+            }
+        }
+        key.reset();
+        return found;
+    }
+
+    /**
+     * Reads the current value of every setting.
+     *
+     * @return The values by setting.
+     */
+    private Map<Setting<?>, Object> snapshot() {
+        Map<Setting<?>, Object> values = new HashMap<>();
+        for (Setting<?> setting : Setting.ALL) {
+            values.put(setting, setting.read(configLoader));
+        }
+        return values;
+    }
+
+    /**
+     * Returns the settings whose value differs from a snapshot.
+     *
+     * @param before The snapshot.
+     * @return The new values of the changed settings.
+     */
+    private Map<Setting<?>, Object> changesSince(Map<Setting<?>, Object> before) {
+        Map<Setting<?>, Object> changes = new HashMap<>();
+        for (Setting<?> setting : Setting.ALL) {
+            Object value = setting.read(configLoader);
+            if (!Objects.equals(before.get(setting), value)) {
+                changes.put(setting, value);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Passes the new values of the changed settings to their subscribers. A failing subscriber does not keep
+     * the others from being notified.
+     *
+     * @param changes The new values of the changed settings.
+     */
+    private void notifySubscribers(Map<Setting<?>, Object> changes) {
+        for (Map.Entry<Setting<?>, Object> change : changes.entrySet()) {
+            for (Consumer<Object> subscriber : subscribers.getOrDefault(change.getKey(), List.of())) {
+                try {
+                    subscriber.accept(change.getValue());
+                } catch (RuntimeException exception) {
+                    log.debug("Subscriber of setting {} failed", change.getKey(), exception);
+                    log.error("Subscriber of setting {} failed: {}", change.getKey(), exception.getMessage());
+                }
+            }
+        }
+    }
+}
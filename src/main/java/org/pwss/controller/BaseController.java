@@ -1,16 +1,62 @@
 package org.pwss.controller;
 
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+import org.pwss.controller.util.BackgroundTask;
+import org.pwss.controller.util.DataFreshness;
 import org.pwss.controller.util.NavigationContext;
+import org.pwss.controller.util.StreamingWork;
+import org.pwss.data_structure.SpscRingBuffer;
+import org.pwss.service.network.PwssHttpClient;
 import org.pwss.view.screen.BaseScreen;
 
 
 /**
  * An abstract base class for controllers in the application.
  * Provides a common structure for managing a `BaseScreen` view and initializing event listeners.
+ * <p>
+ * Backend calls must never be made on the Event Dispatch Thread. Controllers run them through
+ * {@link #runInBackground(Callable, Consumer, Consumer)}, which executes the work on a virtual thread
+ * and applies the result with a single hop back to the Event Dispatch Thread.
+ * <p>
+ * Controllers declare the datasets they display with {@link #requireData(String, Duration)}. On
+ * navigation only the datasets which are no longer fresh are passed to {@link #loadData(Set)}, so
+ * returning to a screen renders immediately from the data it already holds.
  *
  * @author PWSS ORG
  */
 public abstract class BaseController<Screen extends BaseScreen> {
+    /**
+     * Executor shared by all controllers for blocking backend calls, one virtual thread per task.
+     */
+    private static final ExecutorService BACKGROUND_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    /**
+     * Maximum number of published updates waiting for the Event Dispatch Thread before the
+     * streaming work publishing them waits for it to catch up.
+     */
+    private static final int MAX_PENDING_UPDATES = 1024;
+    /**
+     * Time in nanoseconds streaming work waits before publishing again while its pending updates are full.
+     */
+    private static final long PUBLISH_RETRY_NANOS = 100_000L;
+    /**
+     * Background tasks started by this controller which have not finished yet.
+     */
+    private final Set<BackgroundTask<?>> activeTasks = ConcurrentHashMap.newKeySet();
+    /**
+     * Freshness of the datasets declared by this controller, checked against the server data version.
+     */
+    private final DataFreshness dataFreshness = new DataFreshness(
+            () -> PwssHttpClient.getInstance().getDataVersion());
     /**
      * The view instance managed by this controller.
      * Represents the UI component associated with this controller.
@@ -65,11 +111,73 @@ public abstract class BaseController<Screen extends BaseScreen> {
      */
     abstract void refreshView();
     /**
-     * Method to reload or refresh data displayed in the view.
-     * Subclasses can override this method to provide specific data reloading logic.
+     * Reloads all data displayed in the view, regardless of how fresh it is.
      */
     public void reloadData() {
         log.debug("reloadData called for {}", screen.getScreenName());
+        dataFreshness.invalidateAll();
+        loadStaleData();
+    }
+
+    /**
+     * Loads the declared datasets which are no longer fresh, if any.
+     * Called once per navigation before the screen is shown.
+     */
+    public void loadStaleData() {
+        Set<String> staleDatasets = dataFreshness.staleDatasets();
+        if (!staleDatasets.isEmpty()) {
+            log.debug("Loading stale data {} for {}", staleDatasets, screen.getScreenName());
+            loadData(staleDatasets);
+        }
+    }
+
+    /**
+     * Loads the given datasets. Subclasses declaring datasets override this method and
+     * call {@link #markDataLoaded(String, DataFreshness.Stamp)} once a dataset has been loaded.
+     *
+     * @param datasets The stale datasets to load, in declaration order.
+     */
+    protected void loadData(Set<String> datasets) {
+    }
+
+    /**
+     * Declares a dataset displayed by this controller and how stale it may become
+     * before it is reloaded on navigation.
+     *
+     * @param dataset The name of the dataset.
+     * @param maxAge  The maximum age of the dataset.
+     */
+    protected void requireData(String dataset, Duration maxAge) {
+        dataFreshness.require(dataset, maxAge);
+    }
+
+    /**
+     * Captures the moment a load of datasets starts.
+     *
+     * @return The stamp to pass to {@link #markDataLoaded(String, DataFreshness.Stamp)}.
+     */
+    protected DataFreshness.Stamp dataStamp() {
+        return dataFreshness.stamp();
+    }
+
+    /**
+     * Checks whether a dataset has been loaded and is still fresh.
+     *
+     * @param dataset The name of the dataset.
+     * @return true if the dataset does not need to be reloaded.
+     */
+    protected boolean isDataFresh(String dataset) {
+        return dataFreshness.isFresh(dataset);
+    }
+
+    /**
+     * Records that a dataset has been loaded successfully.
+     *
+     * @param dataset The name of the dataset.
+     * @param stamp   The stamp taken when the load started.
+     */
+    protected void markDataLoaded(String dataset, DataFreshness.Stamp stamp) {
+        dataFreshness.markLoaded(dataset, stamp);
     }
 
     /**
@@ -95,4 +203,166 @@ public abstract class BaseController<Screen extends BaseScreen> {
     public void onCreate() {
         log.debug("onCreate called for {}", screen.getScreenName());
     }
+
+    /**
+     * Runs blocking work, typically a backend call, on a virtual thread.
+     * <p>
+     * Exactly one of the callbacks is invoked on the Event Dispatch Thread once the work has
+     * finished, unless the returned task has been cancelled in the meantime. While at least one
+     * task is in flight the screen is put into its loading state.
+     *
+     * @param work      The work to run off the Event Dispatch Thread.
+     * @param onSuccess Callback receiving the result on the Event Dispatch Thread.
+     * @param onFailure Callback receiving the failure on the Event Dispatch Thread.
+     * @param <T>       The type of the result.
+     * @return A handle which can be used to cancel the task.
+     */
+    public <T> BackgroundTask<T> runInBackground(Callable<T> work, Consumer<? super T> onSuccess,
+            Consumer<Exception> onFailure) {
+        BackgroundTask<T> task = new BackgroundTask<>(this::releaseTask);
+        if (activeTasks.add(task) && activeTasks.size() == 1) {
+            updateLoadingState();
+        }
+        submit(task, work, onSuccess, onFailure);
+        return task;
+    }
+
+    /**
+     * Runs long-running work publishing intermediate updates, such as a followed stream, on a virtual thread.
+     * <p>
+     * Each published update is passed to {@code onUpdate} on the Event Dispatch Thread in the order it was
+     * published, followed by exactly one of the other callbacks once the work has finished. None of the
+     * callbacks are invoked once the returned task has been cancelled.
+     * <p>
+     * Updates are handed over through a {@link SpscRingBuffer}, the work being its producer and the Event
+     * Dispatch Thread its consumer, and every update published while the Event Dispatch Thread is busy is
+     * applied in the same event, so a burst of updates costs a single hop. Once the buffer is full,
+     * publishing waits for the Event Dispatch Thread to catch up. Unlike
+     * {@link #runInBackground(Callable, Consumer, Consumer)}, the work does not put the screen into its
+     * loading state, since it may run for as long as the screen is used.
+     *
+     * @param work      The work to run off the Event Dispatch Thread.
+     * @param onUpdate  Callback receiving each update on the Event Dispatch Thread.
+     * @param onSuccess Callback receiving the result on the Event Dispatch Thread.
+     * @param onFailure Callback receiving the failure on the Event Dispatch Thread.
+     * @param <T>       The type of the result.
+     * @param <U>       The type of the updates.
+     * @return A handle which can be used to cancel the task.
+     */
+    public <T, U> BackgroundTask<T> streamInBackground(StreamingWork<T, U> work, Consumer<? super U> onUpdate,
+            Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+        BackgroundTask<T> task = new BackgroundTask<>(released -> {
+            // Not tracked as a loading task
+        });
+        SpscRingBuffer<U> pendingUpdates = new SpscRingBuffer<>(MAX_PENDING_UPDATES);
+        AtomicBoolean drainScheduled = new AtomicBoolean();
+        Runnable applyPendingUpdates = () -> {
+            // Cleared first, so an update published while draining schedules another drain
+            drainScheduled.set(false);
+            pendingUpdates.drainTo(update -> {
+                if (!task.isCancelled()) {
+                    onUpdate.accept(update);
+                }
+            });
+        };
+        submit(task, () -> work.call(update -> {
+            while (!pendingUpdates.offer(update)) {
+                if (task.isCancelled()) {
+                    return;
+                }
+                LockSupport.parkNanos(PUBLISH_RETRY_NANOS);
+            }
+            if (drainScheduled.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(applyPendingUpdates);
+            }
+        }), onSuccess, onFailure);
+        return task;
+    }
+
+    /**
+     * Submits work to the background executor and hands its outcome to the Event Dispatch Thread.
+     * An {@link Error} thrown by the work is passed to {@code onFailure} wrapped in an
+     * {@link ExecutionException}, and rethrown on the background thread once it has been handed over.
+     *
+     * @param task      The handle of the work.
+     * @param work      The work to run off the Event Dispatch Thread.
+     * @param onSuccess Callback receiving the result on the Event Dispatch Thread.
+     * @param onFailure Callback receiving the failure on the Event Dispatch Thread.
+     * @param <T>       The type of the result.
+     */
+    private <T> void submit(BackgroundTask<T> task, Callable<T> work, Consumer<? super T> onSuccess,
+            Consumer<Exception> onFailure) {
+        task.attach(BACKGROUND_EXECUTOR.submit(() -> {
+            T result = null;
+            Exception failure = null;
+            Error error = null;
+            try {
+                result = work.call();
+            } catch (Exception e) {
+                failure = e;
+            } catch (Throwable t) {
+                // Errors are reported too, so the screen does not stay in its loading state
+                failure = new ExecutionException(t);
+                error = t instanceof Error e ? e : null;
+            }
+            final T finalResult = result;
+            final Exception finalFailure = failure;
+            SwingUtilities.invokeLater(() -> {
+                if (task.isCancelled()) {
+                    log.debug("Discarding result of cancelled background task for {}", screen.getScreenName());
+                    return;
+                }
+                task.markDone();
+                if (finalFailure == null) {
+                    onSuccess.accept(finalResult);
+                } else {
+                    onFailure.accept(finalFailure);
+                }
+            });
+            if (error != null) {
+                throw error;
+            }
+        }));
+    }
+
+    /**
+     * Cancels every background task started by this controller which has not finished yet.
+     * None of their callbacks will be invoked.
+     */
+    public void cancelBackgroundTasks() {
+        for (BackgroundTask<?> task : activeTasks) {
+            task.cancel();
+        }
+    }
+
+    /**
+     * Checks whether this controller has background work in flight.
+     *
+     * @return true if at least one background task has not finished yet.
+     */
+    public boolean isLoading() {
+        return !activeTasks.isEmpty();
+    }
+
+    /**
+     * Stops tracking a task once it has finished or been cancelled.
+     *
+     * @param task The task to release.
+     */
+    private void releaseTask(BackgroundTask<?> task) {
+        if (activeTasks.remove(task) && activeTasks.isEmpty()) {
+            updateLoadingState();
+        }
+    }
+
+    /**
+     * Pushes the current loading state to the screen on the Event Dispatch Thread.
+     */
+    private void updateLoadingState() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            screen.setLoading(isLoading());
+        } else {
+            SwingUtilities.invokeLater(() -> screen.setLoading(isLoading()));
+        }
+    }
 }
@@ -1,52 +1,51 @@
 package org.pwss.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.event.ItemEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.DefaultListModel;
 import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPopupMenu;
+import javax.swing.JProgressBar;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
+import org.pwss.controller.util.BackgroundTask;
+import org.pwss.controller.util.DataFreshness;
 import org.pwss.controller.util.NavigationContext;
-import org.pwss.data_structure.RingBuffer;
 import org.pwss.exception.metadata.MetadataKeyNameRetrievalException;
-import org.pwss.exception.monitored_directory.MonitoredDirectoryGetAllException;
-import org.pwss.exception.scan.GetAllMostRecentScansException;
-import org.pwss.exception.scan.GetDiffCountException;
-import org.pwss.exception.scan.GetMostRecentScansException;
-import org.pwss.exception.scan.GetScanDiffsException;
-import org.pwss.exception.scan.LiveFeedException;
-import org.pwss.exception.scan.ScanStatusException;
-import org.pwss.exception.scan.StartFullScanException;
-import org.pwss.exception.scan.StartScanByIdException;
-import org.pwss.exception.scan.StopScanException;
-import org.pwss.exception.scan_summary.FileSearchException;
-import org.pwss.exception.scan_summary.GetSummaryForFileException;
+import org.pwss.journal.ScanJournal;
 import org.pwss.model.entity.Diff;
 import org.pwss.model.entity.File;
 import org.pwss.model.entity.MonitoredDirectory;
 import org.pwss.model.entity.QuarantineMetadata;
 import org.pwss.model.entity.Scan;
 import org.pwss.model.entity.ScanSummary;
+import org.pwss.model.livefeed.LiveFeedCounters;
+import org.pwss.model.livefeed.LiveFeedEvent;
+import org.pwss.model.livefeed.ScanProgressEstimator;
 import org.pwss.model.response.LiveFeedResponse;
 import org.pwss.model.table.DiffTableModel;
+import org.pwss.model.table.DiffTableModel.ScanDiffSource;
 import org.pwss.model.table.FileTableModel;
 import org.pwss.model.table.MonitoredDirectoryTableModel;
 import org.pwss.model.table.QuarantineTableModel;
@@ -58,11 +57,14 @@ import org.pwss.navigation.NavigationEvents;
 import org.pwss.navigation.Screen;
 import org.pwss.service.AppService;
 import org.pwss.service.FileService;
+import org.pwss.service.LiveFeedService;
 import org.pwss.service.MonitoredDirectoryService;
 import org.pwss.service.NoteService;
 import org.pwss.service.ScanService;
 import org.pwss.service.ScanSummaryService;
+import org.pwss.startup.StartupTimings;
 import org.pwss.util.AppTheme;
+import org.pwss.util.ConcurrencyUtil;
 import org.pwss.util.ConversionUtil;
 import org.pwss.util.ErrorUtil;
 import org.pwss.util.LiveFeedUtil;
@@ -76,12 +78,30 @@ import org.pwss.view.popup_menu.listener.MonitoredDirectoryPopupListenerImpl;
 import org.pwss.view.screen.HomeScreen;
 import org.slf4j.LoggerFactory;
 
-import static org.pwss.app_settings.AppConfig.APP_THEME;
-import static org.pwss.app_settings.AppConfig.MAX_HASH_EXTRACTION_FILE_SIZE;
-import static org.pwss.app_settings.AppConfig.USE_SPLASH_SCREEN;
 
 public final class HomeController extends BaseController<HomeScreen> {
 
+    /**
+     * Dataset of the monitored directories, their most recent scans and the diff counts of those scans.
+     */
+    private static final String DIRECTORIES_DATA = "directories";
+
+    /**
+     * Dataset of the quarantined files.
+     */
+    private static final String QUARANTINE_DATA = "quarantine";
+
+    /**
+     * Dataset of the scan status.
+     */
+    private static final String SCAN_STATUS_DATA = "scanStatus";
+
+    /**
+     * How stale the dashboard data may be when returning to the home screen. Changes made
+     * through this client make it stale immediately.
+     */
+    private static final Duration DASHBOARD_MAX_AGE = Duration.ofSeconds(30);
+
     /**
      * Logger for logging messages within this controller.
      */
@@ -92,6 +112,11 @@ public final class HomeController extends BaseController<HomeScreen> {
      */
     private final ScanService scanService;
 
+    /**
+     * Service following the live feed of a running scan.
+     */
+    private final LiveFeedService liveFeedService;
+
     /**
      * Service to manage monitored directories.
      */
@@ -138,9 +163,10 @@ public final class HomeController extends BaseController<HomeScreen> {
     private int recentDiffsCount;
 
     /**
-     * List of most recent differences detected in the scans.
+     * The most recent scan of each directory with its diff count, backing the
+     * paged diffs table.
      */
-    private List<Diff> recentDiffs;
+    private List<ScanDiffSource> recentDiffSources;
 
     /**
      * List of files resulting from search operations.
@@ -163,14 +189,36 @@ public final class HomeController extends BaseController<HomeScreen> {
     private boolean scanRunning;
 
     /**
-     * Total count of differences detected in the scans.
+     * Counts of the live feed entries of the current scan by kind, the integrity
+     * warnings being the differences detected.
      */
-    private AtomicLong totalDiffCount = new AtomicLong(0);
+    private final LiveFeedCounters liveFeedCounters = new LiveFeedCounters();
 
     /**
-     * Timer for checking the status of ongoing scans at regular intervals.
+     * The live feed followed while a scan is running.
      */
-    private Timer scanStatusTimer;
+    private BackgroundTask<Void> liveFeedTask;
+
+    /**
+     * Journal keeping the complete live feed of every scan on disk, shared by the application.
+     */
+    private final ScanJournal scanJournal;
+
+    /**
+     * Estimates the progress of the running scan from its live feed.
+     */
+    private final ScanProgressEstimator scanProgressEstimator = new ScanProgressEstimator();
+
+    /**
+     * Timer refreshing the scan progress view while a scan is running, so the rates
+     * and the remaining time keep moving between live feed updates.
+     */
+    private final Timer scanProgressTimer = new Timer(1000, e -> refreshScanProgressView());
+
+    /**
+     * The estimate of the size of the running scan currently in flight.
+     */
+    private BackgroundTask<ScanProgressEstimator.ScanSize> scanSizeTask;
 
     /**
      * Flag indicating whether to show the splash screen on startup.
@@ -182,14 +230,50 @@ public final class HomeController extends BaseController<HomeScreen> {
      */
     private long maxFileSizeForHashExtraction;
 
+    /**
+     * Background tasks of the dashboard loads currently in flight by dataset,
+     * cancelled when a newer load of the dataset supersedes them.
+     */
+    private final Map<String, List<BackgroundTask<?>>> dashboardTasks = new HashMap<>();
+
+    /**
+     * Flag indicating whether the dashboard has been rendered at least once.
+     */
+    private boolean dashboardRendered;
+
+    /**
+     * The value of {@link System#nanoTime()} when the first load of the dashboard
+     * started, 0 if it has not started or has been recorded in the startup timings.
+     */
+    private long firstDashboardLoadStart;
+
+    /**
+     * Flag indicating whether a failure of the dashboard load in flight has already
+     * been reported to the user.
+     */
+    private boolean dashboardErrorReported;
+
+    /**
+     * The file search currently in flight, cancelled when a newer search supersedes it.
+     */
+    private BackgroundTask<List<File>> fileSearchTask;
+
+    /**
+     * The file summary fetch currently in flight, cancelled when another file is selected.
+     */
+    private BackgroundTask<List<ScanSummary>> fileSummaryTask;
+
     /**
      * Constructor to initialize HomeController with a HomeScreen view instance.
      *
-     * @param view The home screen view that this controller will manage.
+     * @param view        The home screen view that this controller will manage.
+     * @param scanJournal The journal of the application, keeping the live feed of every scan.
      */
-    public HomeController(HomeScreen view) {
+    public HomeController(HomeScreen view, ScanJournal scanJournal) {
         super(view);
+        this.scanJournal = scanJournal;
         this.scanService = new ScanService();
+        this.liveFeedService = new LiveFeedService();
         this.monitoredDirectoryService = new MonitoredDirectoryService();
         this.fileService = new FileService();
         this.scanSummaryService = new ScanSummaryService();
@@ -197,8 +281,12 @@ public final class HomeController extends BaseController<HomeScreen> {
         this.appService = new AppService();
         this.monitoredDirectoryPopupFactory = new MonitoredDirectoryPopupFactory(
                 new MonitoredDirectoryPopupListenerImpl(this, monitoredDirectoryService, noteService));
-        this.showSplashScreenSetting = USE_SPLASH_SCREEN;
-        this.maxFileSizeForHashExtraction = MAX_HASH_EXTRACTION_FILE_SIZE;
+        this.showSplashScreenSetting = AppConfig.get(Setting.USE_SPLASH_SCREEN);
+        this.maxFileSizeForHashExtraction = AppConfig.get(Setting.MAX_HASH_EXTRACTION_FILE_SIZE);
+        subscribeToSettings();
+        requireData(DIRECTORIES_DATA, DASHBOARD_MAX_AGE);
+        requireData(QUARANTINE_DATA, DASHBOARD_MAX_AGE);
+        requireData(SCAN_STATUS_DATA, DASHBOARD_MAX_AGE);
     }
 
     @Override
@@ -224,7 +312,7 @@ public final class HomeController extends BaseController<HomeScreen> {
         });
         // Select the current theme in the combo box
         for (AppTheme theme : AppTheme.values()) {
-            if (theme.getValue() == APP_THEME) {
+            if (theme.getValue() == AppConfig.get(Setting.APP_THEME)) {
                 screen.getThemePicker().setSelectedItem(theme);
                 break;
             }
@@ -243,91 +331,158 @@ public final class HomeController extends BaseController<HomeScreen> {
         });
     }
 
-    @Override
-    public void onShow() {
-        super.onShow();
-        fetchDataAndRefreshView();
-    }
-
     /**
-     * Fetches data from services and refreshes the view.
-     * This method retrieves all monitored directories and recent scans,
-     * then updates the UI accordingly.
+     * Loads the stale datasets of the dashboard and renders each section as soon as
+     * its own data arrives.
+     * <p>
+     * The dashboard is loaded in independent sections off the Event Dispatch
+     * Thread: monitored directories with their recent scans and diff counts,
+     * quarantined files and scan status. The per-scan diff count requests are
+     * fanned out concurrently, sharing a bounded number of in-flight requests. A
+     * load of a dataset still in flight is superseded by the new one, while
+     * sections whose data is still fresh keep what they display.
      */
-    void fetchDataAndRefreshView() {
-        try {
+    @Override
+    protected void loadData(Set<String> datasets) {
+        DataFreshness.Stamp stamp = dataStamp();
+        for (String dataset : datasets) {
+            List<BackgroundTask<?>> tasks = dashboardTasks.remove(dataset);
+            if (tasks != null) {
+                tasks.forEach(BackgroundTask::cancel);
+            }
+        }
+        dashboardErrorReported = false;
+        if (!dashboardRendered) {
+            // Render the empty dashboard once while the first sections are loading
+            dashboardRendered = true;
+            firstDashboardLoadStart = System.nanoTime();
+            refreshView();
+        }
+
+        if (datasets.contains(DIRECTORIES_DATA)) {
             // Fetch all monitored directories for display in the monitored directories
             // table
-            allMonitoredDirectories = MonitoredDirectoryUtil
-                    .filterMonitoredDirectoriesOnConfirmedPath(monitoredDirectoryService.getAllDirectories());
-
-            // Only fetch diffs if there are active monitored directories present
-            final long activeDirCount = allMonitoredDirectories.stream().filter(MonitoredDirectory::isActive).count();
-            if (activeDirCount > 0) {
-                // Fetch recent scans for display in the scan table
-                recentScans = scanService.getMostRecentScansAll();
-                if (recentScans.isEmpty()) {
-                    recentDiffs = List.of();
-                } else {
-                    List<Scan> distinctRecentScans = ScanUtil.getScansDistinctByDirectory(recentScans);
+            loadDashboardSection(DIRECTORIES_DATA, () -> MonitoredDirectoryUtil
+                    .filterMonitoredDirectoriesOnConfirmedPath(monitoredDirectoryService.getAllDirectories()),
+                    directories -> {
+                        allMonitoredDirectories = directories;
+                        refreshMonitoredDirectoriesView();
+                        // Only fetch scans and diffs if there are active monitored directories present
+                        if (directories.stream().anyMatch(MonitoredDirectory::isActive)) {
+                            loadRecentScans(stamp);
+                        } else {
+                            markDataLoaded(DIRECTORIES_DATA, stamp);
+                        }
+                    });
+        }
+        if (datasets.contains(QUARANTINE_DATA)) {
+            loadDashboardSection(QUARANTINE_DATA, this::getQuarantinedFilesOrEmpty, files -> {
+                quarantinedFiles = files;
+                refreshQuarantineView();
+                markDataLoaded(QUARANTINE_DATA, stamp);
+            });
+        }
+        if (datasets.contains(SCAN_STATUS_DATA)) {
+            // Check if a scan is currently running
+            loadDashboardSection(SCAN_STATUS_DATA, scanService::scanRunning, scanCurrentlyRunning -> {
+                // If a scan has started since the last check, initiate polling
+                if (scanCurrentlyRunning && !scanRunning) {
+                    scanRunning = true;
+                    startFollowingScanLiveFeed(false, Collections.emptyList());
+                }
+                refreshScanStateView();
+                markDataLoaded(SCAN_STATUS_DATA, stamp);
+            });
+        }
+    }
 
-                    // Calculate diff count for the recent scans
-                    recentDiffsCount = 0;
-                    for (Scan scan : distinctRecentScans) {
-                        int count = scanService.getScanDiffsCount(scan.id());
-                        recentDiffsCount += count;
-                    }
+    /**
+     * Records the first load of the complete dashboard in the startup timings once
+     * its last section has been rendered.
+     */
+    @Override
+    protected void markDataLoaded(String dataset, DataFreshness.Stamp stamp) {
+        super.markDataLoaded(dataset, stamp);
+        if (firstDashboardLoadStart != 0 && isDataFresh(DIRECTORIES_DATA) && isDataFresh(QUARANTINE_DATA)
+                && isDataFresh(SCAN_STATUS_DATA)) {
+            StartupTimings.current().recordOnce("firstDashboardLoad", firstDashboardLoadStart, System.nanoTime());
+            StartupTimings.current().markOnce(StartupTimings.HOME_RENDERED);
+            firstDashboardLoadStart = 0;
+        }
+    }
 
-                    // Fetch diffs for the most recent scan to show in the diffs table
-                    recentDiffs = distinctRecentScans.stream()
-                            .flatMap(scan -> safeGetDiffs(scan.id()).stream())
-                            .toList();
-                }
-            }
-            try {
-                quarantinedFiles = fileService.getAllQuarantinedFiles();
-            } catch (MetadataKeyNameRetrievalException e) {
-                log.error("Error retrieving quarantine metadata: {}", e.getMessage());
-                quarantinedFiles = List.of();
-            }
-            // Check if a scan is currently running
-            boolean scanCurrentlyRunning = scanService.scanRunning();
-            // If a scan has started since the last check, initiate polling
-            if (scanCurrentlyRunning && !scanRunning) {
-                scanRunning = true;
-                startPollingScanLiveFeed(false, Collections.emptyList());
+    /**
+     * Loads the recent scans and then fans out the diff counts of the most recent
+     * scan of each directory. The counts size the diffs table; the diffs
+     * themselves are paged in by the table model as they are scrolled into view.
+     *
+     * @param stamp the moment the load of the directories dataset started
+     */
+    private void loadRecentScans(DataFreshness.Stamp stamp) {
+        // Fetch recent scans for display in the scan table
+        loadDashboardSection(DIRECTORIES_DATA, scanService::getMostRecentScansAll, scans -> {
+            recentScans = scans;
+            refreshRecentScansView();
+            if (scans.isEmpty()) {
+                recentDiffSources = List.of();
+                refreshDiffsView();
+                markDataLoaded(DIRECTORIES_DATA, stamp);
+                return;
             }
-        } catch (MonitoredDirectoryGetAllException | ExecutionException | InterruptedException |
-                 JsonProcessingException | GetAllMostRecentScansException | ScanStatusException | GetDiffCountException e) {
+            List<Scan> distinctRecentScans = ScanUtil.getScansDistinctByDirectory(scans);
+
+            // Calculate diff count for the recent scans
+            List<Callable<ScanDiffSource>> countRequests = distinctRecentScans.stream()
+                    .map(scan -> (Callable<ScanDiffSource>) () -> new ScanDiffSource(scan.id(),
+                            scanService.getScanDiffsCount(scan.id())))
+                    .toList();
+            loadDashboardSection(DIRECTORIES_DATA, () -> ConcurrencyUtil.invokeAllBounded(countRequests,
+                    ConcurrencyUtil.DEFAULT_MAX_PARALLEL_REQUESTS), sources -> {
+                        recentDiffSources = sources;
+                        recentDiffsCount = sources.stream().mapToInt(ScanDiffSource::diffCount).sum();
+                        refreshDiffCountView();
+                        refreshDiffsView();
+                        markDataLoaded(DIRECTORIES_DATA, stamp);
+                    });
+        });
+    }
+
+    /**
+     * Loads one section of the dashboard in the background as part of the load of
+     * a dataset. A failure is reported to the user once per load.
+     *
+     * @param dataset  the dataset the section belongs to
+     * @param fetch    the backend calls producing the section data
+     * @param onLoaded applies and renders the data on the Event Dispatch Thread
+     * @param <T>      the type of the section data
+     */
+    private <T> void loadDashboardSection(String dataset, Callable<T> fetch, Consumer<T> onLoaded) {
+        List<BackgroundTask<?>> tasks = dashboardTasks.computeIfAbsent(dataset, d -> new ArrayList<>());
+        tasks.removeIf(BackgroundTask::isDone);
+        tasks.add(runInBackground(fetch, onLoaded, e -> {
             log.error("Error getting data: {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError("Error getting data"));
-        }
-        // Finally, refresh the view to reflect the updated data
-        refreshView();
+            if (!dashboardErrorReported) {
+                dashboardErrorReported = true;
+                screen.showError("Error getting data");
+            }
+        }));
     }
 
     /**
-     * Safely retrieves diffs for a given scan ID.
-     * This method handles exceptions and returns an empty list in case of errors.
+     * Retrieves all quarantined files, falling back to an empty list if the
+     * quarantine metadata cannot be read.
      *
-     * @param scanId the ID of the scan for which to retrieve diffs
-     * @return a list of diffs associated with the scan, or an empty list if an
-     *         error occurs
+     * @return the quarantined files
      */
-    private List<Diff> safeGetDiffs(long scanId) {
+    private List<QuarantineMetadata> getQuarantinedFilesOrEmpty() {
         try {
-            return scanService.getDiffs(scanId, (Integer.MAX_VALUE -1), null, false);
-        } catch (GetScanDiffsException | ExecutionException | InterruptedException | JsonProcessingException e) {
+            return fileService.getAllQuarantinedFiles();
+        } catch (MetadataKeyNameRetrievalException e) {
+            log.error("Error retrieving quarantine metadata: {}", e.getMessage());
             return List.of();
         }
     }
 
-    @Override
-    public void reloadData() {
-        super.reloadData();
-        fetchDataAndRefreshView();
-    }
-
     @Override
     protected void initListeners() {
         screen.getAddNewDirectoryButton()
@@ -424,7 +579,7 @@ public final class HomeController extends BaseController<HomeScreen> {
                 if (selectedTheme != null) {
                     boolean result = AppConfig.setAppTheme(selectedTheme.getValue());
                     if (result) {
-                        log.debug("Theme changed to {}. Restart application to apply.", selectedTheme.getDisplayName());
+                        log.debug("Theme changed to {}.", selectedTheme.getDisplayName());
                     } else {
                         log.error("Failed to change theme to {}", selectedTheme.getDisplayName());
                     }
@@ -482,38 +637,74 @@ public final class HomeController extends BaseController<HomeScreen> {
         });
     }
 
+    /**
+     * Keeps the settings tab in sync with settings changed elsewhere, such as by an
+     * edit of the configuration file while the application runs.
+     */
+    private void subscribeToSettings() {
+        AppConfig.subscribe(Setting.USE_SPLASH_SCREEN, useSplashScreen -> SwingUtilities.invokeLater(() -> {
+            showSplashScreenSetting = useSplashScreen;
+            refreshSettingsView();
+        }));
+        AppConfig.subscribe(Setting.MAX_HASH_EXTRACTION_FILE_SIZE, maxFileSize -> SwingUtilities.invokeLater(() -> {
+            // Changes made with the slider come back here with the value already applied
+            if (maxFileSizeForHashExtraction != maxFileSize) {
+                maxFileSizeForHashExtraction = maxFileSize;
+                refreshSettingsView();
+            }
+        }));
+        AppConfig.subscribe(Setting.APP_THEME, appTheme -> SwingUtilities.invokeLater(() -> {
+            for (AppTheme theme : AppTheme.values()) {
+                if (theme.getValue() == appTheme && screen.getThemePicker().getSelectedItem() != theme) {
+                    screen.getThemePicker().setSelectedItem(theme);
+                }
+            }
+        }));
+    }
+
     @Override
     protected void refreshView() {
+        refreshScanStateView();
+        refreshMonitoredDirectoriesView();
+        refreshRecentScansView();
+        refreshDiffCountView();
+        refreshDiffsView();
+        refreshFileSearchView();
+        refreshQuarantineView();
+        refreshSettingsView();
+    }
+
+    /**
+     * Updates the scan button and the live feed views based on whether a scan is
+     * running.
+     */
+    private void refreshScanStateView() {
         // Update UI components based on the current state
         screen.getScanButton().setText(scanRunning ? StringConstants.SCAN_STOP : StringConstants.SCAN_FULL);
 
-        String notifications = MonitoredDirectoryUtil
-                .getMonitoredDirectoryNotificationMessage(allMonitoredDirectories);
-        boolean hasNotifications = !notifications.isEmpty();
-
         // Scan running views
-        boolean showLiveFeed = !screen.getLiveFeedText().getText().isEmpty() || scanRunning;
-        boolean showClearLiveFeed = !scanRunning && !screen.getLiveFeedText().getText().isEmpty();
+        boolean showLiveFeed = !screen.getLiveFeedView().isEmpty() || scanRunning;
+        boolean showClearLiveFeed = !scanRunning && !screen.getLiveFeedView().isEmpty();
         screen.getScanProgressContainer().setVisible(scanRunning);
         screen.getLiveFeedContainer().setVisible(showLiveFeed);
         screen.getLiveFeedTitle().setVisible(showLiveFeed);
         screen.getLiveFeedDiffCount().setVisible(showLiveFeed);
         screen.getClearFeedButton().setVisible(showClearLiveFeed);
-        screen.getNotificationPanel().setVisible(hasNotifications);
+    }
 
-        screen.getShowSplashScreenCheckBox().setSelected(showSplashScreenSetting);
+    /**
+     * Updates the notifications, the monitored directory list and the monitored
+     * directories table.
+     */
+    private void refreshMonitoredDirectoriesView() {
+        String notifications = MonitoredDirectoryUtil
+                .getMonitoredDirectoryNotificationMessage(allMonitoredDirectories);
+        boolean hasNotifications = !notifications.isEmpty();
+        screen.getNotificationPanel().setVisible(hasNotifications);
 
         // Set notification text area
         screen.getNotificationTextArea().setText(notifications);
 
-        // File search views
-        screen.getSearchResultCount()
-                .setText(StringConstants.FILE_SEARCH_RESULTS_PREFIX + (fileResults != null ? fileResults.size() : 0));
-
-        ScanTableModel mostRecentScansListModel = new ScanTableModel(recentScans != null ? recentScans : List.of());
-        screen.getRecentScanTable().setModel(mostRecentScansListModel);
-        screen.getRecentScanTable().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-
         DefaultListModel<MonitoredDirectory> monitoredDirsModel = new DefaultListModel<>();
 
         if (allMonitoredDirectories != null) {
@@ -548,11 +739,35 @@ public final class HomeController extends BaseController<HomeScreen> {
                 allMonitoredDirectories != null ? allMonitoredDirectories : List.of());
         screen.getMonitoredDirectoriesTable().setModel(monitoredDirectoryTableModel);
         screen.getMonitoredDirectoriesTable().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    }
 
+    /**
+     * Updates the recent scans table.
+     */
+    private void refreshRecentScansView() {
+        ScanTableModel mostRecentScansListModel = new ScanTableModel(recentScans != null ? recentScans : List.of());
+        screen.getRecentScanTable().setModel(mostRecentScansListModel);
+        screen.getRecentScanTable().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    }
+
+    /**
+     * Updates the diff count label.
+     */
+    private void refreshDiffCountView() {
         // Update diffs count label
         screen.getDiffsCountLabel().setText("Diffs found: " + recentDiffsCount);
+    }
 
-        DiffTableModel diffTableModel = new DiffTableModel(recentDiffs != null ? recentDiffs : List.of());
+    /**
+     * Updates the diffs table.
+     */
+    private void refreshDiffsView() {
+        if (screen.getDiffTable().getModel() instanceof DiffTableModel previousModel) {
+            previousModel.dispose();
+        }
+        DiffTableModel diffTableModel = new DiffTableModel(
+                recentDiffSources != null ? recentDiffSources : List.of(),
+                (scanId, offset, limit) -> scanService.getDiffs(scanId, offset, limit, null, false));
         screen.getDiffTable().setModel(diffTableModel);
         screen.getDiffTable().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         screen.getDiffTable().getColumn(DiffTableModel.columns[3]).setCellRenderer(new ButtonRenderer());
@@ -568,20 +783,27 @@ public final class HomeController extends BaseController<HomeScreen> {
                                 new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
                                 StringConstants.GENERIC_NO);
                         if (choice == 0) {
-                            try {
-                                boolean success = fileService.quarantineFile(d.integrityFail().file().id());
+                            final long fileId = d.integrityFail().file().id();
+                            runInBackground(() -> fileService.quarantineFile(fileId), success -> {
                                 if (success) {
                                     screen.showInfo("File quarantined successfully.");
-                                    fetchDataAndRefreshView();
+                                    loadStaleData();
                                 } else {
                                     screen.showError("Failed to quarantine the file.");
                                 }
-                            } catch (Exception e) {
-                                screen.showError(e.getMessage());
-                            }
+                            }, e -> screen.showError(e.getMessage()));
                         }
                     });
                 }));
+    }
+
+    /**
+     * Updates the file search results and the scan summaries of the selected file.
+     */
+    private void refreshFileSearchView() {
+        // File search views
+        screen.getSearchResultCount()
+                .setText(StringConstants.FILE_SEARCH_RESULTS_PREFIX + (fileResults != null ? fileResults.size() : 0));
 
         FileTableModel fileTableModel = new FileTableModel(fileResults != null ? fileResults : List.of());
         screen.getFilesTable().setModel(fileTableModel);
@@ -591,8 +813,14 @@ public final class HomeController extends BaseController<HomeScreen> {
                 fileSummaries != null ? fileSummaries : List.of());
         screen.getFileScanSummaryTable().setModel(fileSummaryTableModel);
         screen.getFileScanSummaryTable().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    }
 
-        QuarantineTableModel quarantineTableModel = new QuarantineTableModel(quarantinedFiles);
+    /**
+     * Updates the quarantine table.
+     */
+    private void refreshQuarantineView() {
+        QuarantineTableModel quarantineTableModel = new QuarantineTableModel(
+                quarantinedFiles != null ? quarantinedFiles : List.of());
         screen.getQuarantineTable().setModel(quarantineTableModel);
         screen.getQuarantineTable().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         screen.getQuarantineTable().getColumn(QuarantineTableModel.columns[2]).setCellRenderer(new ButtonRenderer());
@@ -608,20 +836,24 @@ public final class HomeController extends BaseController<HomeScreen> {
                                 new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
                                 StringConstants.GENERIC_NO);
                         if (choice == 0) {
-                            try {
-                                boolean success = fileService.unquarantineFile(metadata);
+                            runInBackground(() -> fileService.unquarantineFile(metadata), success -> {
                                 if (success) {
                                     screen.showInfo("The file has been unquarantined successfully.");
-                                    fetchDataAndRefreshView();
+                                    loadStaleData();
                                 } else {
                                     screen.showError("Failed to unquarantine the file.");
                                 }
-                            } catch (Exception e) {
-                                screen.showError(e.getMessage());
-                            }
+                            }, e -> screen.showError(e.getMessage()));
                         }
                     });
                 }));
+    }
+
+    /**
+     * Updates the settings views from the current settings.
+     */
+    private void refreshSettingsView() {
+        screen.getShowSplashScreenCheckBox().setSelected(showSplashScreenSetting);
 
         if (maxFileSizeForHashExtraction != -1L) {
             screen.getMaxHashExtractionFileSizeUnlimitedCheckbox().setSelected(false);
@@ -646,164 +878,158 @@ public final class HomeController extends BaseController<HomeScreen> {
      */
     private void handleScanButtonClick(boolean singleDirectory) {
         // Toggle scan state
-        try {
-            if (scanService.scanRunning()) {
+        runInBackground(scanService::scanRunning, running -> {
+            if (running) {
                 performStopScan();
             } else {
                 performStartScan(singleDirectory);
             }
-        } catch (ScanStatusException | ExecutionException | InterruptedException e) {
+        }, e -> {
             log.debug(StringConstants.SCAN_START_ERROR, e);
             log.error(StringConstants.SCAN_START_ERROR + " {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError(StringConstants.SCAN_START_ERROR));
-        }
+            screen.showError(StringConstants.SCAN_START_ERROR);
+        });
     }
 
     /**
-     * Initiates a scan operation.
+     * Initiates a scan operation. The selection is read on the Event Dispatch
+     * Thread and the scan is started in the background.
      *
      * @param singleDirectory if true, scans only the selected directory; if false,
      *                        scans all directories.
      */
     public void performStartScan(boolean singleDirectory) {
-        try {
-            boolean startScanSuccess;
-            boolean baseLineScan;
+        final Optional<MonitoredDirectory> selectedDir;
+        final ArrayList<MonitoredDirectory> scanningDirs = new ArrayList<>();
+        if (singleDirectory) {
             JTable table = screen.getMonitoredDirectoriesTable();
             MonitoredDirectoryTableModel model = (MonitoredDirectoryTableModel) table.getModel();
-            ArrayList<MonitoredDirectory> scanningDirs = new ArrayList<>();
-            if (singleDirectory) {
-                int viewRow = table.getSelectedRow();
-                if (viewRow == -1) {
-                    startScanSuccess = false;
-                    baseLineScan = false;
-                } else {
-                    int modelRow = table.convertRowIndexToModel(viewRow);
-                    Optional<MonitoredDirectory> dir = model.getDirectoryAt(modelRow);
-                    if (dir.isPresent()) {
-                        startScanSuccess = scanService.startScanById(dir.get().id(), maxFileSizeForHashExtraction);
-                        scanningDirs.add(dir.get());
-                        baseLineScan = !dir.get().baselineEstablished();
-                    } else {
-                        baseLineScan = false;
-                        startScanSuccess = false;
-                    }
-                }
-            } else {
-                baseLineScan = false;
-                startScanSuccess = scanService.startScan(maxFileSizeForHashExtraction);
+            int viewRow = table.getSelectedRow();
+            selectedDir = viewRow == -1 ? Optional.empty() : model.getDirectoryAt(table.convertRowIndexToModel(viewRow));
+            if (selectedDir.isEmpty()) {
+                screen.showError(StringConstants.SCAN_STARTED_FAILURE);
+                return;
+            }
+            scanningDirs.add(selectedDir.get());
+        } else {
+            selectedDir = Optional.empty();
+            if (allMonitoredDirectories != null) {
                 scanningDirs.addAll(allMonitoredDirectories);
             }
-            SwingUtilities.invokeLater(() -> {
-                if (startScanSuccess) {
-                    clearLiveFeed();
-                    if (baseLineScan) {
-                        screen.showSuccess(StringConstants.SCAN_STARTED_BASELINE_SUCCESS);
+        }
+        final boolean baseLineScan = selectedDir.map(dir -> !dir.baselineEstablished()).orElse(false);
+        final long maxFileSize = maxFileSizeForHashExtraction;
+
+        runInBackground(() -> selectedDir.isPresent()
+                ? scanService.startScanById(selectedDir.get().id(), maxFileSize)
+                : scanService.startScan(maxFileSize), startScanSuccess -> {
+                    if (startScanSuccess) {
+                        clearLiveFeed();
+                        if (baseLineScan) {
+                            screen.showSuccess(StringConstants.SCAN_STARTED_BASELINE_SUCCESS);
+                        } else {
+                            log.info(StringConstants.SCAN_STARTED_SUCCESS);
+                        }
+                        startFollowingScanLiveFeed(singleDirectory, scanningDirs);
                     } else {
-                        log.info(StringConstants.SCAN_STARTED_SUCCESS);
+                        screen.showError(StringConstants.SCAN_STARTED_FAILURE);
                     }
-                    startPollingScanLiveFeed(singleDirectory, scanningDirs);
-                } else {
-                    screen.showError(StringConstants.SCAN_STARTED_FAILURE);
-                }
-            });
-        } catch (ExecutionException | InterruptedException | StartFullScanException | StartScanByIdException
-                | JsonProcessingException e) {
-            log.debug(StringConstants.SCAN_START_ERROR, e);
-            log.error(StringConstants.SCAN_START_ERROR + " {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen
-                    .showError(ErrorUtil.formatErrorMessage(StringConstants.SCAN_START_ERROR, e.getMessage())));
-        }
+                }, e -> {
+                    log.debug(StringConstants.SCAN_START_ERROR, e);
+                    log.error(StringConstants.SCAN_START_ERROR + " {}", e.getMessage());
+                    screen.showError(ErrorUtil.formatErrorMessage(StringConstants.SCAN_START_ERROR, e.getMessage()));
+                });
     }
 
     /**
      * Stops an ongoing scan operation.
      */
     private void performStopScan() {
-        try {
-            boolean stopScanSuccess = scanService.stopScan();
-            SwingUtilities.invokeLater(() -> {
-                if (stopScanSuccess) {
-                    screen.showSuccess(StringConstants.SCAN_STOPPED_SUCCESS);
-                } else {
-                    screen.showError(StringConstants.SCAN_STOPPED_FAILURE);
-                }
-            });
-        } catch (ExecutionException | InterruptedException | StopScanException e) {
+        runInBackground(scanService::stopScan, stopScanSuccess -> {
+            if (stopScanSuccess) {
+                screen.showSuccess(StringConstants.SCAN_STOPPED_SUCCESS);
+            } else {
+                screen.showError(StringConstants.SCAN_STOPPED_FAILURE);
+            }
+        }, e -> {
             log.debug(StringConstants.SCAN_STOP_ERROR, e);
             log.error(StringConstants.SCAN_STOP_ERROR + " {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError(StringConstants.SCAN_STOP_ERROR));
-        }
+            screen.showError(StringConstants.SCAN_STOP_ERROR);
+        });
     }
 
+    /**
+     * Refreshes the data and notifies the user once a scan has finished.
+     *
+     * @param completed       true if the scan completed, false if polling failed.
+     * @param singleDirectory true if a single directory was scanned.
+     */
     private void onFinishScan(boolean completed, boolean singleDirectory) {
+        stopScanProgress();
         // Refresh data to display the latest scan results
-        fetchDataAndRefreshView();
-        // Notify the user about the scan results
-        if (completed) {
-            int choice;
-            // Prompt the user to view scan results based on whether differences were found
-            if (totalDiffCount.get() > 0) {
-                choice = screen.showOptionDialog(JOptionPane.WARNING_MESSAGE,
-                        ScanUtil.constructDiffMessageString(totalDiffCount.get()),
-                        new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
-                        StringConstants.GENERIC_YES);
-            } else {
-                String message;
-                if (singleDirectory) {
-                    try {
-                        // If single directory scan, check if it was a baseline scan
-                        Scan latestScan = scanService.getMostRecentScans(1).getFirst();
-                        if (latestScan.isBaselineScan()) {
-                            message = StringConstants.SCAN_BASELINE_COMPLETED;
-                        } else {
-                            message = StringConstants.SCAN_COMPLETED_NO_DIFFS;
-                        }
-                    } catch (GetMostRecentScansException | ExecutionException | InterruptedException
-                            | JsonProcessingException e) {
+        scanService.invalidateCachedScanResults();
+        loadStaleData();
+        if (!completed) {
+            // Scan did not complete successfully
+            screen.showError(StringConstants.SCAN_NOT_COMPLETED);
+            return;
+        }
+        if (singleDirectory) {
+            // If single directory scan, the latest scan decides the message and the
+            // navigation target
+            runInBackground(() -> scanService.getMostRecentScans(1).getFirst(),
+                    latestScan -> showScanResults(latestScan),
+                    e -> {
                         log.error(StringConstants.SCAN_SHOW_RESULTS_ERROR_PREFIX, e.getMessage());
                         log.debug(StringConstants.SCAN_SHOW_RESULTS_ERROR_PREFIX, e);
                         screen.showError(StringConstants.SCAN_SHOW_RESULTS_ERROR_PREFIX);
-                        return;
-                    }
-                } else {
-                    message = StringConstants.SCAN_COMPLETED_NO_DIFFS;
-                }
-                choice = screen.showOptionDialog(JOptionPane.INFORMATION_MESSAGE,
-                        message,
-                        new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
-                        StringConstants.GENERIC_YES);
+                    });
+        } else {
+            showScanResults(null);
+        }
+    }
+
+    /**
+     * Prompts the user to view the results of a finished scan.
+     *
+     * @param latestScan the scan of a single directory scan, or null for a full scan
+     */
+    private void showScanResults(Scan latestScan) {
+        int choice;
+        // Prompt the user to view scan results based on whether differences were found
+        if (detectedDiffCount() > 0) {
+            choice = screen.showOptionDialog(JOptionPane.WARNING_MESSAGE,
+                    ScanUtil.constructDiffMessageString(detectedDiffCount()),
+                    new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
+                    StringConstants.GENERIC_YES);
+        } else {
+            String message;
+            if (latestScan != null && latestScan.isBaselineScan()) {
+                message = StringConstants.SCAN_BASELINE_COMPLETED;
+            } else {
+                message = StringConstants.SCAN_COMPLETED_NO_DIFFS;
             }
+            choice = screen.showOptionDialog(JOptionPane.INFORMATION_MESSAGE,
+                    message,
+                    new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
+                    StringConstants.GENERIC_YES);
+        }
 
-            if (choice == 0) {
-                if (singleDirectory) {
-                    // If single directory scan, navigate to the scan summary of the most recent
-                    // scan.
-                    try {
-                        Scan latestScan = scanService.getMostRecentScans(1).getFirst();
-                        NavigationContext context = new NavigationContext();
-                        context.put("scanId", latestScan.id());
-                        NavigationEvents.navigateTo(Screen.SCAN_SUMMARY, context);
-                    } catch (GetMostRecentScansException | ExecutionException | InterruptedException
-                            | JsonProcessingException e) {
-                        log.error(StringConstants.SCAN_SHOW_RESULTS_ERROR_PREFIX, e.getMessage());
-                        log.debug(StringConstants.SCAN_SHOW_RESULTS_ERROR_PREFIX, e);
-                        screen.showError(StringConstants.SCAN_SHOW_RESULTS_ERROR_PREFIX);
-                    }
-                } else {
-                    if (totalDiffCount.get() > 0) {
-                        // If full scan, and we have diffs, navigate to the diffs tab to show all
-                        // differences.
-                        screen.getTabbedPane().setSelectedIndex(3);
-                    } else {
-                        // If no diffs, navigate to the recent scans tab to show the most recent scan.
-                        screen.getTabbedPane().setSelectedIndex(0);
-                    }
-                }
+        if (choice == 0) {
+            if (latestScan != null) {
+                // If single directory scan, navigate to the scan summary of the most recent
+                // scan.
+                NavigationContext context = new NavigationContext();
+                context.put("scanId", latestScan.id());
+                NavigationEvents.navigateTo(Screen.SCAN_SUMMARY, context);
+            } else if (detectedDiffCount() > 0) {
+                // If full scan, and we have diffs, navigate to the diffs tab to show all
+                // differences.
+                screen.getTabbedPane().setSelectedIndex(3);
+            } else {
+                // If no diffs, navigate to the recent scans tab to show the most recent scan.
+                screen.getTabbedPane().setSelectedIndex(0);
             }
-        } else {
-            // Scan did not complete successfully
-            screen.showError(StringConstants.SCAN_NOT_COMPLETED);
         }
     }
 
@@ -812,107 +1038,177 @@ public final class HomeController extends BaseController<HomeScreen> {
      */
     private void clearLiveFeed() {
         // Clear the live feed text area
-        screen.getLiveFeedText().setText("");
+        screen.getLiveFeedView().clear();
         // Reset diff count for the next scan
-        totalDiffCount.set(0);
+        liveFeedCounters.reset();
         // Update the live feed diff count in preparation for the next scan
-        screen.getLiveFeedDiffCount().setText(StringConstants.SCAN_DIFFS_PREFIX + totalDiffCount);
+        screen.getLiveFeedDiffCount().setText(StringConstants.SCAN_DIFFS_PREFIX + detectedDiffCount());
         // Refresh the view to reflect the cleared live feed
-        refreshView();
+        refreshScanStateView();
     }
 
     /**
-     * Starts polling the live feed for scan updates.
-     * This method sets up a timer to periodically fetch live feed updates
-     * and update the UI accordingly.
+     * Starts following the live feed for scan updates.
+     * The updates are streamed by the server, or polled if it does not stream
+     * them, off the Event Dispatch Thread and applied to the UI as they arrive.
      *
      * @param singleDirectory if true, indicates that the scan is for a single
      *                        directory; otherwise, for all directories.
      * @param scanningDirs    the list of directories being scanned
      */
-    private void startPollingScanLiveFeed(boolean singleDirectory, List<MonitoredDirectory> scanningDirs) {
-        if (scanStatusTimer != null && scanStatusTimer.isRunning()) {
-            return; // Polling is already active
+    private void startFollowingScanLiveFeed(boolean singleDirectory, List<MonitoredDirectory> scanningDirs) {
+        if (liveFeedTask != null && !liveFeedTask.isDone()) {
+            return; // The live feed is already followed
         }
 
+        // Journal the whole live feed of the scan, the view only keeps its latest lines
+        scanJournal.startSegment(scanningDirs.stream().map(MonitoredDirectory::path).toList());
+
         // Log directories that are establishing their baseline
         for (MonitoredDirectory dir : scanningDirs) {
             if (!dir.baselineEstablished()) {
                 log.debug("Establishing baseline for {}", dir.path());
-                String currentLiveFeedText = screen.getLiveFeedText().getText();
-                String newEntry = StringConstants.SCAN_ESTABLISHING_BASELINE + dir.path() + "\n";
-                String updatedLiveFeedText = currentLiveFeedText + newEntry;
-                screen.getLiveFeedText().setText(updatedLiveFeedText);
+                String message = StringConstants.SCAN_ESTABLISHING_BASELINE + dir.path();
+                screen.getLiveFeedView().append(message, false);
+                scanJournal.append(LiveFeedEvent.Type.BASELINE, message);
             }
         }
+        startScanProgress(scanningDirs);
+
+        // Follow the live feed in the background, streamed by the server or polled,
+        // and apply each update as soon as it arrives
+        liveFeedTask = this.<Void, LiveFeedResponse>streamInBackground(publish -> {
+            liveFeedService.follow(publish);
+            return null;
+        }, liveFeed -> {
+            appendLiveFeed(liveFeed);
+
+            // Update scan status and UI as needed
+            if (liveFeed.isScanRunning() != scanRunning) {
+                scanRunning = liveFeed.isScanRunning();
+                refreshScanStateView();
+            }
+        }, done -> onFinishScan(true, singleDirectory), ex -> onLiveFeedError(ex, singleDirectory));
+    }
 
-        // Create a ring buffer with a capacity to hold the last 100 updates
-        RingBuffer<String> liveFeedBuffer = new RingBuffer<>(100);
-
-        // Create and start a polling timer
-        scanStatusTimer = new Timer(1000, e -> {
-            try {
-                // Get live feed from backend
-                LiveFeedResponse liveFeed = scanService.getLiveFeed();
-
-                // Format the new update from the backend
-                String newEntry = LiveFeedUtil.formatLiveFeedEntry(liveFeed.livefeed());
-
-                // Add the new update to the ring buffer
-                liveFeedBuffer.add(newEntry);
-
-                // Build the text for the live feed based on the latest updates in the buffer
-                StringBuilder sb = new StringBuilder();
-                for (int i = 0; i < liveFeedBuffer.size(); i++) {
-                    sb.append(liveFeedBuffer.get(i));
-                }
+    /**
+     * Starts estimating the progress of a scan. Its size is estimated in the
+     * background from the latest completed scan of each scanned directory, or of
+     * every directory if the scanned directories are not known.
+     *
+     * @param scanningDirs the directories being scanned, possibly empty
+     */
+    private void startScanProgress(List<MonitoredDirectory> scanningDirs) {
+        scanProgressEstimator.start();
+        if (scanSizeTask != null) {
+            scanSizeTask.cancel();
+        }
+        Set<Long> scanningDirIds = scanningDirs.stream().map(MonitoredDirectory::id).collect(Collectors.toSet());
+        List<Scan> previousScans = recentScans == null ? List.of()
+                : ScanUtil.getCompletedScansDistinctByDirectory(recentScans).stream()
+                        .filter(scan -> scanningDirIds.isEmpty() || scanningDirIds.contains(scan.monitoredDirectory().id()))
+                        .toList();
+        if (!previousScans.isEmpty()) {
+            scanSizeTask = runInBackground(() -> scanSummaryService.estimateScanSize(previousScans), size -> {
+                log.debug("Estimated scan size: {} files, {} bytes", size.files(), size.bytes());
+                scanProgressEstimator.setScanSize(size);
+                refreshScanProgressView();
+            }, e -> log.debug("Could not estimate the scan size, showing its progress without it", e));
+        }
+        refreshScanProgressView();
+        scanProgressTimer.start();
+    }
 
-                // Update UI with the latest text
-                screen.getLiveFeedText().setText(sb.toString());
+    /**
+     * Stops estimating the progress of the scan, logs its final metrics and finishes
+     * its journal segment.
+     */
+    private void stopScanProgress() {
+        scanProgressTimer.stop();
+        scanJournal.finishSegment();
+        if (scanSizeTask != null) {
+            scanSizeTask.cancel();
+            scanSizeTask = null;
+        }
+        ScanProgressEstimator.Progress progress = scanProgressEstimator.progress();
+        log.debug("Scan progress at the end of the live feed: {} of {} estimated files in {}, {} files/s",
+                progress.completedFiles(), progress.estimatedFiles(), progress.elapsed(),
+                String.format("%.1f", progress.filesPerSecond()));
+    }
 
-                // Update the diff counter
-                totalDiffCount.addAndGet(LiveFeedUtil.countWarnings(liveFeed.livefeed()));
-                screen.getLiveFeedDiffCount().setText(StringConstants.SCAN_DIFFS_PREFIX + totalDiffCount);
+    /**
+     * Shows the progress of the running scan in the scan progress container, as a
+     * percentage once the size of the scan is known.
+     */
+    private void refreshScanProgressView() {
+        ScanProgressEstimator.Progress progress = scanProgressEstimator.progress();
+        JProgressBar bar = screen.getScanProgress();
+        double fraction = progress.fraction();
+        bar.setIndeterminate(fraction < 0);
+        bar.setStringPainted(fraction >= 0);
+        if (fraction >= 0) {
+            bar.setMaximum(1000);
+            bar.setValue((int) Math.round(fraction * 1000));
+            bar.setString(String.format("%.1f%%", fraction * 100));
+        }
+        screen.getScanProgressLabel().setText(ScanUtil.formatScanProgress(progress));
+    }
 
-                // Update scan status and UI as needed
-                if (liveFeed.isScanRunning() != scanRunning) {
-                    scanRunning = liveFeed.isScanRunning();
-                    refreshView();
-                }
+    /**
+     * Returns the current progress of the running scan, or of the last scan once it has ended.
+     *
+     * @return the progress metrics of the scan.
+     */
+    public ScanProgressEstimator.Progress getScanProgress() {
+        return scanProgressEstimator.progress();
+    }
 
-                // When the scan is complete, do a final pull
-                if (!liveFeed.isScanRunning()) {
-                    log.debug("Scan completed, making final pull...");
+    /**
+     * Parses a live feed update into its entries, appends one line per entry to
+     * the live feed log view, flagging integrity warnings, and counts them.
+     *
+     * @param liveFeed the update received from the backend
+     */
+    private void appendLiveFeed(LiveFeedResponse liveFeed) {
+        // Parse the new update from the backend, counting its entries in the same pass
+        long completedFiles = liveFeedCounters.files();
+        List<LiveFeedEvent> events = LiveFeedUtil.parse(liveFeed.livefeed(), liveFeedCounters);
+        if (events.isEmpty()) {
+            return;
+        }
+        scanProgressEstimator.onFilesCompleted(liveFeedCounters.files() - completedFiles);
+        refreshScanProgressView();
+        scanJournal.append(events);
 
-                    // Do a final pull without time pressure
-                    liveFeed = scanService.getLiveFeed(); // The last pull to get any final updates
+        // Append the entries, the view only lays out and paints what is visible
+        for (LiveFeedEvent event : events) {
+            screen.getLiveFeedView().append(event.text(), event.isWarning());
+        }
 
-                    // Add the last update to the buffer
-                    newEntry = LiveFeedUtil.formatLiveFeedEntry(liveFeed.livefeed());
-                    if (!org.pwss.util.StringUtil.isEmpty(newEntry)) {
-                        liveFeedBuffer.add(newEntry); // Add the last pull to the buffer
+        // Update the diff counter
+        screen.getLiveFeedDiffCount().setText(StringConstants.SCAN_DIFFS_PREFIX + detectedDiffCount());
+    }
 
-                        // Update UI with the last text
-                        sb.setLength(0); // Clear StringBuilder
-                        for (int i = 0; i < liveFeedBuffer.size(); i++) {
-                            sb.append(liveFeedBuffer.get(i)); // Add all updates to the buffer
-                        }
-                        screen.getLiveFeedText().setText(sb.toString());
-                    }
+    /**
+     * Returns the number of differences detected by the current scan so far.
+     *
+     * @return the number of integrity warnings in the live feed.
+     */
+    private long detectedDiffCount() {
+        return liveFeedCounters.get(LiveFeedEvent.Type.INTEGRITY_WARNING);
+    }
 
-                    // Stop polling and end the process
-                    scanStatusTimer.stop();
-                    onFinishScan(true, singleDirectory); // Complete the scan
-                }
-            } catch (LiveFeedException | ExecutionException | InterruptedException | JsonProcessingException ex) {
-                log.error("Error fetching live feed: {}", ex.getMessage());
-                log.debug("Live Feed Exception", ex);
-                SwingUtilities.invokeLater(() -> screen.showError("Live feed error"));
-                scanStatusTimer.stop(); // Stop polling on error
-                onFinishScan(false, singleDirectory); // Handling errors
-            }
-        });
-        scanStatusTimer.start();
+    /**
+     * Stops polling after the live feed could not be fetched.
+     *
+     * @param ex              the failure
+     * @param singleDirectory true if a single directory was being scanned
+     */
+    private void onLiveFeedError(Exception ex, boolean singleDirectory) {
+        log.error("Error fetching live feed: {}", ex.getMessage());
+        log.debug("Live Feed Exception", ex);
+        screen.showError("Live feed error");
+        onFinishScan(false, singleDirectory); // Handling errors
     }
 
     /**
@@ -930,15 +1226,19 @@ public final class HomeController extends BaseController<HomeScreen> {
         boolean searchContainingInput = screen.getSearchContainingCheckBox().isSelected();
         boolean descendingOrder = screen.getDescendingCheckBox().isSelected();
 
-        try {
-            String searchQuery = searchContainingInput ? "%" + query + "%" : query;
-            fileResults = scanSummaryService.searchFiles(searchQuery, !descendingOrder);
-            refreshView();
-        } catch (FileSearchException | ExecutionException | InterruptedException | JsonProcessingException e) {
-            log.error("Error when searching for files: {}", e.getMessage());
-            log.debug("Debug File Search Exception", e);
-            SwingUtilities.invokeLater(() -> screen.showError(e.getMessage()));
+        String searchQuery = searchContainingInput ? "%" + query + "%" : query;
+        if (fileSearchTask != null) {
+            fileSearchTask.cancel();
         }
+        fileSearchTask = runInBackground(() -> scanSummaryService.searchFiles(searchQuery, !descendingOrder),
+                results -> {
+                    fileResults = results;
+                    refreshFileSearchView();
+                }, e -> {
+                    log.error("Error when searching for files: {}", e.getMessage());
+                    log.debug("Debug File Search Exception", e);
+                    screen.showError(e.getMessage());
+                });
     }
 
     /**
@@ -949,13 +1249,16 @@ public final class HomeController extends BaseController<HomeScreen> {
      * @param file the file for which to retrieve scan summaries
      */
     private void getSummaryForFile(File file) {
-        try {
-            fileSummaries = scanSummaryService.getSummaryForFile(file.id());
-            refreshView();
-        } catch (GetSummaryForFileException | ExecutionException | InterruptedException | JsonProcessingException e) {
+        if (fileSummaryTask != null) {
+            fileSummaryTask.cancel();
+        }
+        fileSummaryTask = runInBackground(() -> scanSummaryService.getSummaryForFile(file.id()), summaries -> {
+            fileSummaries = summaries;
+            refreshFileSearchView();
+        }, e -> {
             log.error("Error when getting summaries for a file: {}", e.getMessage());
             log.debug("Debug Getting Summaries for a file Exception", e);
-            SwingUtilities.invokeLater(() -> screen.showError("Error getting summaries for a file"));
-        }
+            screen.showError("Error getting summaries for a file");
+        });
     }
 }
@@ -5,18 +5,19 @@ import java.util.concurrent.ExecutionException;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
 import org.pwss.exception.user.CreateUserException;
 import org.pwss.exception.user.LoginException;
 import org.pwss.exception.user.UserExistsLookupException;
 import org.pwss.navigation.NavigationEvents;
 import org.pwss.navigation.Screen;
 import org.pwss.service.AuthService;
+import org.pwss.startup.StartupTimings;
 import org.pwss.util.LoginUtil;
 import org.pwss.util.StringConstants;
 import org.pwss.view.screen.LoginScreen;
 import org.slf4j.LoggerFactory;
 
-import static org.pwss.app_settings.AppConfig.LICENSE_KEY;
 
 /**
  * The LoginController class manages user login operations and interacts with
@@ -31,9 +32,9 @@ public class LoginController extends BaseController<LoginScreen> {
 
     /**
      * Indicates whether the application is in create user mode (i.e., no users
-     * exist yet).
+     * exist yet). Determined in the background each time the screen is shown.
      */
-    private final boolean createUserMode;
+    private boolean createUserMode;
 
     /**
      * Service for handling authentication-related operations.
@@ -54,8 +55,7 @@ public class LoginController extends BaseController<LoginScreen> {
     public LoginController(LoginScreen view) {
         super(view);
         this.authService = new AuthService();
-        this.createUserMode = !checkUserExists();
-        this.licenseKeySet = !LICENSE_KEY.isBlank();
+        this.licenseKeySet = !AppConfig.get(Setting.LICENSE_KEY).isBlank();
     }
 
     @Override
@@ -64,12 +64,30 @@ public class LoginController extends BaseController<LoginScreen> {
         screen.getUsernameField().setText("");
         screen.getPasswordField().setText("");
         log.debug("Current LICENSE_KEY: {}", licenseKeySet ? "SET" : "NOT SET");
-        log.debug("Create User Mode: {}", createUserMode);
-        // Adjust frame size based on create user mode
+        applyFrameSize();
+        refreshView();
+        // Hold off input until we know whether to log in or to register
+        screen.getProceedButton().setEnabled(false);
+        runInBackground(this::checkUserExists, userExists -> {
+            createUserMode = !userExists;
+            log.debug("Create User Mode: {}", createUserMode);
+            screen.getProceedButton().setEnabled(true);
+            applyFrameSize();
+            refreshView();
+            StartupTimings.current().markOnce(StartupTimings.LOGIN_INTERACTIVE);
+        }, e -> {
+            screen.getProceedButton().setEnabled(true);
+            StartupTimings.current().markOnce(StartupTimings.LOGIN_INTERACTIVE);
+        });
+    }
+
+    /**
+     * Adjusts the frame size based on create user mode and the license key fields.
+     */
+    private void applyFrameSize() {
         final int frameHeight = createUserMode ? 225 : 200;
         final int offset = licenseKeySet ? 0 : 50;
         screen.getParentFrame().setSize(450, frameHeight + offset);
-        refreshView();
     }
 
     @Override
@@ -107,7 +125,8 @@ public class LoginController extends BaseController<LoginScreen> {
     }
 
     /**
-     * Checks if any users exist in the system.
+     * Checks if any users exist in the system. Must not be called on the Event
+     * Dispatch Thread.
      *
      * @return true if users exist, false otherwise.
      */
@@ -178,7 +197,7 @@ public class LoginController extends BaseController<LoginScreen> {
         String username = screen.getUsername();
         String password = screen.getPassword();
         String confirmPassword = screen.getConfirmPassword();
-        String licenseKey = licenseKeySet ? LICENSE_KEY : screen.getLicenseKey();
+        String licenseKey = licenseKeySet ? AppConfig.get(Setting.LICENSE_KEY) : screen.getLicenseKey();
 
         LoginUtil.LoginValidationResult result = LoginUtil.validateInput(username, password, confirmPassword,
                 licenseKey, createUserMode);
@@ -190,90 +209,74 @@ public class LoginController extends BaseController<LoginScreen> {
     }
 
     /**
-     * Creates a new user and then performs login if creation is successful.
+     * Creates a new user in the background and then performs login if creation is
+     * successful.
      */
     private void createUserAndLogin() {
-        if (createUser()) {
-            performLogin();
-        }
-    }
-
-    /**
-     * Creates a new user with the provided username and password.
-     *
-     * @return true if user creation is successful, false otherwise.
-     */
-    private boolean createUser() {
         String username = screen.getUsername();
         String password = screen.getPassword();
-        String licenseKey = licenseKeySet ? LICENSE_KEY : screen.getLicenseKey();
+        String licenseKey = licenseKeySet ? AppConfig.get(Setting.LICENSE_KEY) : screen.getLicenseKey();
 
-        try {
-            final boolean createSuccess = authService.createUser(username, password, licenseKey);
+        runInBackground(() -> authService.createUser(username, password, licenseKey), createSuccess -> {
             if (createSuccess) {
                 // Persist the license key if user creation is successful
                 AppConfig.setLicenseKey(licenseKey);
-                return true;
+                performLogin();
             } else {
-                SwingUtilities.invokeLater(() -> screen.showError("User creation failed."));
-                return false;
+                screen.showError("User creation failed.");
             }
-        } catch (JsonProcessingException e) {
-            log.debug("Error preparing user creation request", e);
-            log.error("Error preparing user creation request: {}", e.getMessage());
-            SwingUtilities
-                    .invokeLater(() -> screen.showError("Error preparing user creation request"));
-            return false;
-        } catch (CreateUserException e) {
-            log.debug("User creation request failed", e);
-            log.error("User creation request failed {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError(e.getMessage()));
-            return false;
-        } catch (Exception e) {
-            log.debug("An unexpected error occurred", e);
-            log.error("An unexpected error occurred {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError("An unexpected error occurred"));
-            return false;
-        }
+        }, e -> {
+            if (e instanceof JsonProcessingException) {
+                log.debug("Error preparing user creation request", e);
+                log.error("Error preparing user creation request: {}", e.getMessage());
+                screen.showError("Error preparing user creation request");
+            } else if (e instanceof CreateUserException) {
+                log.debug("User creation request failed", e);
+                log.error("User creation request failed {}", e.getMessage());
+                screen.showError(e.getMessage());
+            } else {
+                log.debug("An unexpected error occurred", e);
+                log.error("An unexpected error occurred {}", e.getMessage());
+                screen.showError("An unexpected error occurred");
+            }
+        });
     }
 
     /**
-     * Performs the login operation using the provided username and password.
-     * Displays success or error messages based on the outcome.
+     * Performs the login operation in the background using the provided username
+     * and password. Displays success or error messages based on the outcome.
      */
     private void performLogin() {
         String username = screen.getUsername();
         String password = screen.getPassword();
-        String licenseKey = licenseKeySet ? LICENSE_KEY : screen.getLicenseKey();
+        String licenseKey = licenseKeySet ? AppConfig.get(Setting.LICENSE_KEY) : screen.getLicenseKey();
 
-        try {
-            final boolean loginSuccess = authService.login(username, password, licenseKey);
-            SwingUtilities.invokeLater(() -> {
-                if (loginSuccess) {
-                    if (createUserMode) {
-                        screen.showInfo("User created and logged in successfully!");
-                    } else {
-                        log.info("Logged in successfully!");
-                    }
-                    AppConfig.setLicenseKey(licenseKey);
-                    NavigationEvents.navigateTo(Screen.HOME);
+        runInBackground(() -> authService.login(username, password, licenseKey), loginSuccess -> {
+            if (loginSuccess) {
+                if (createUserMode) {
+                    screen.showInfo("User created and logged in successfully!");
                 } else {
-                    screen.showError("Invalid username or password.");
+                    log.info("Logged in successfully!");
                 }
-            });
-
-        } catch (JsonProcessingException e) {
-            log.debug("Error preparing login request", e);
-            log.error("Error preparing login request", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError("Error preparing login request"));
-        } catch (LoginException e) {
-            log.debug("Login request failed", e);
-            log.error("Login request failed: {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError(e.getMessage()));
-        } catch (Exception e) {
-            log.debug("An unexpected error occurred", e);
-            log.error("An unexpected error occurred {}", e.getMessage());
-            SwingUtilities.invokeLater(() -> screen.showError("An unexpected error occurred"));
-        }
+                AppConfig.setLicenseKey(licenseKey);
+                NavigationEvents.navigateTo(Screen.HOME);
+            } else {
+                screen.showError("Invalid username or password.");
+            }
+        }, e -> {
+            if (e instanceof JsonProcessingException) {
+                log.debug("Error preparing login request", e);
+                log.error("Error preparing login request", e.getMessage());
+                screen.showError("Error preparing login request");
+            } else if (e instanceof LoginException) {
+                log.debug("Login request failed", e);
+                log.error("Login request failed: {}", e.getMessage());
+                screen.showError(e.getMessage());
+            } else {
+                log.debug("An unexpected error occurred", e);
+                log.error("An unexpected error occurred {}", e.getMessage());
+                screen.showError("An unexpected error occurred");
+            }
+        });
     }
 }
@@ -85,17 +85,21 @@ public class NewDirectoryController extends BaseController<NewDirectoryScreen> {
     private void createNewDirectory() {
         boolean includeSubdirectories = screen.getIncludeSubdirectoriesCheckBox().isSelected();
         boolean makeActive = screen.getMakeDirectoryActiveCheckBox().isSelected();
-        if (selectedPath != null && !selectedPath.isEmpty()) {
-            try {
-                monitoredDirectoryService.createNewMonitoredDirectory(selectedPath, includeSubdirectories, makeActive);
-                JOptionPane.showMessageDialog(screen.getRootPanel(), StringConstants.NEW_DIR_SUCCESS_TEXT,
-                        StringConstants.GENERIC_SUCCESS, JOptionPane.INFORMATION_MESSAGE);
-                NavigationEvents.navigateTo(Screen.HOME);
-            } catch (Exception e) {
-                JOptionPane.showMessageDialog(screen.getRootPanel(),
-                        StringConstants.NEW_DIR_ERROR_PREFIX + e.getMessage(), StringConstants.GENERIC_ERROR,
-                        JOptionPane.ERROR_MESSAGE);
-            }
+        final String path = selectedPath;
+        if (path != null && !path.isEmpty()) {
+            // Prevent a second submission while the directory is being created
+            screen.getCreateButton().setEnabled(false);
+            runInBackground(() -> monitoredDirectoryService.createNewMonitoredDirectory(path, includeSubdirectories,
+                    makeActive), created -> {
+                        JOptionPane.showMessageDialog(screen.getRootPanel(), StringConstants.NEW_DIR_SUCCESS_TEXT,
+                                StringConstants.GENERIC_SUCCESS, JOptionPane.INFORMATION_MESSAGE);
+                        NavigationEvents.navigateTo(Screen.HOME);
+                    }, e -> {
+                        refreshView();
+                        JOptionPane.showMessageDialog(screen.getRootPanel(),
+                                StringConstants.NEW_DIR_ERROR_PREFIX + e.getMessage(), StringConstants.GENERIC_ERROR,
+                                JOptionPane.ERROR_MESSAGE);
+                    });
         }
     }
 }
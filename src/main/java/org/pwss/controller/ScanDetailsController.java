@@ -1,11 +1,20 @@
 package org.pwss.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.JOptionPane;
+import org.pwss.controller.util.BackgroundTask;
+import org.pwss.data_structure.LineStore;
+import org.pwss.exception.scan.GetDiffCountException;
+import org.pwss.journal.ScanJournal;
 import org.pwss.model.entity.Diff;
 import org.pwss.model.entity.ScanSummary;
+import org.pwss.model.livefeed.LiveFeedEvent;
 import org.pwss.model.table.DiffTableModel;
+import org.pwss.model.table.DiffTableModel.ScanDiffSource;
 import org.pwss.model.table.SimpleSummaryTableModel;
 import org.pwss.model.table.cell.ButtonEditor;
 import org.pwss.model.table.cell.ButtonRenderer;
@@ -15,6 +24,7 @@ import org.pwss.navigation.Screen;
 import org.pwss.service.FileService;
 import org.pwss.service.ScanService;
 import org.pwss.service.ScanSummaryService;
+import org.pwss.util.ConcurrencyUtil;
 import org.pwss.util.OSUtil;
 import org.pwss.util.ReportUtil;
 import org.pwss.util.StringConstants;
@@ -51,29 +61,54 @@ public class ScanDetailsController extends BaseController<ScanDetailsScreen> imp
     private List<ScanSummary> scanSummaries;
 
     /**
-     * List of differences (diffs) between scans. This can be empty if no diffs are
-     * available.
+     * The scan shown with its diff count, backing the paged diffs table. This can
+     * be null if no scan has been loaded.
      */
-    private List<Diff> diffs;
+    private ScanDiffSource diffSource;
 
     /**
      * Count of differences found. This can be null if the count is not available.
      */
     private Integer diffCount = 0;
 
+    /**
+     * The fetch of the scan details currently in flight, cancelled when a newer fetch supersedes it.
+     */
+    private BackgroundTask<ScanDetails> fetchTask;
+
+    /**
+     * Journal holding the live feed of past scans.
+     */
+    private final ScanJournal scanJournal;
+
+    /**
+     * The read of the scan log currently in flight, cancelled when another scan is shown.
+     */
+    private BackgroundTask<Optional<LineStore>> scanLogTask;
+
+    /**
+     * The details of a single scan, fetched off the Event Dispatch Thread in one go.
+     *
+     * @param scanSummaries The scan summaries of the scan.
+     * @param diffCount     The number of diffs found by the scan.
+     */
+    private record ScanDetails(List<ScanSummary> scanSummaries, int diffCount) {
+    }
+
     /**
      * Constructs a ScanDetailsController with the given screen and initializes
      * services and lists.
      *
-     * @param screen The screen instance that this controller will manage
+     * @param screen      The screen instance that this controller will manage
+     * @param scanJournal The journal of the application, holding the live feed of past scans
      */
-    public ScanDetailsController(ScanDetailsScreen screen) {
+    public ScanDetailsController(ScanDetailsScreen screen, ScanJournal scanJournal) {
         super(screen);
         this.scanSummaryService = new ScanSummaryService();
         this.fileService = new FileService();
         this.scanService = new ScanService();
+        this.scanJournal = scanJournal;
         this.scanSummaries = List.of();
-        this.diffs = List.of();
     }
 
     @Override
@@ -84,10 +119,11 @@ public class ScanDetailsController extends BaseController<ScanDetailsScreen> imp
             scanSummaries = List.of();
         }
 
-        if (diffs != null && !diffs.isEmpty()) {
-            // Clear existing data
-            diffs = List.of();
-        }
+        // Clear existing data
+        diffSource = null;
+        diffCount = 0;
+        screen.getScanLogView().clear();
+        screen.getScanLogLabel().setText(StringConstants.SCAN_LOG_LOADING);
 
         // Fetch data from the service
         fetchData();
@@ -98,21 +134,71 @@ public class ScanDetailsController extends BaseController<ScanDetailsScreen> imp
      * context.
      */
     private void fetchData() {
-        try {
-            Long scanId = getContext().get("scanId", Long.class);
-            if (scanId != null) {
-                // Fetch scan summaries for the scan
-                scanSummaries = scanSummaryService.getScanSummaryForScan(scanId);
-                // Fetch diff count for the scan
-                diffCount = scanService.getScanDiffsCount(scanId);
-                // Fetch diffs for the scan
-                diffs = scanService.getDiffs(scanId, 1000, null, true);
-            }
-        } catch (Exception e) {
-            screen.showError(e.getMessage());
+        Long scanId = getContext().get("scanId", Long.class);
+        if (scanId == null) {
+            refreshView();
+            return;
         }
-        // Refresh the view with the new data
+        if (fetchTask != null) {
+            fetchTask.cancel();
+        }
+        // Refresh the view with the cleared data while the new data is fetched
         refreshView();
+        fetchTask = runInBackground(() -> {
+            // Fetch the diff count for the scan while its summaries are streamed, the diffs are paged in by the
+            // table model
+            CompletableFuture<Integer> count = scanService.getScanDiffsCountAsync(scanId);
+            List<ScanSummary> summaries = scanSummaryService.getScanSummaryForScan(scanId);
+            return new ScanDetails(summaries,
+                    ConcurrencyUtil.await(count, GetDiffCountException.class, JsonProcessingException.class));
+        }, details -> {
+                    scanSummaries = details.scanSummaries();
+                    diffCount = details.diffCount();
+                    diffSource = new ScanDiffSource(scanId, details.diffCount());
+                    // Refresh the view with the new data
+                    refreshView();
+                    loadScanLog(details.scanSummaries());
+                }, e -> {
+                    screen.showError(e.getMessage());
+                    refreshView();
+                });
+    }
+
+    /**
+     * Reads the journaled live feed of the scan off the Event Dispatch Thread and
+     * shows it in the scan log tab. The segment is found by the time of the scan.
+     *
+     * @param summaries The scan summaries of the scan, giving its time.
+     */
+    private void loadScanLog(List<ScanSummary> summaries) {
+        if (scanLogTask != null) {
+            scanLogTask.cancel();
+        }
+        if (summaries.isEmpty() || summaries.getFirst().scan().scanTime() == null) {
+            screen.getScanLogLabel().setText(StringConstants.SCAN_LOG_NOT_RECORDED);
+            return;
+        }
+        Instant scanTime = summaries.getFirst().scan().scanTime().created().toInstant();
+        scanLogTask = runInBackground(() -> {
+            Optional<ScanJournal.Segment> segment = scanJournal.findSegment(scanTime);
+            if (segment.isEmpty()) {
+                return Optional.<LineStore>empty();
+            }
+            LineStore lines = new LineStore();
+            scanJournal.read(segment.get(),
+                    (type, text) -> lines.add(text, type == LiveFeedEvent.Type.INTEGRITY_WARNING));
+            return Optional.of(lines);
+        }, lines -> {
+            if (lines.isEmpty()) {
+                screen.getScanLogLabel().setText(StringConstants.SCAN_LOG_NOT_RECORDED);
+                return;
+            }
+            screen.getScanLogView().setLines(lines.get());
+            screen.getScanLogLabel().setText(StringConstants.SCAN_LOG_LINES_PREFIX + lines.get().size());
+        }, e -> {
+            log.debug("Failed to read scan log", e);
+            screen.getScanLogLabel().setText(StringConstants.SCAN_LOG_ERROR_PREFIX + e.getMessage());
+        });
     }
 
     @Override
@@ -131,12 +217,11 @@ public class ScanDetailsController extends BaseController<ScanDetailsScreen> imp
         // Selection listener for diff table
         screen.getDiffTable().getSelectionModel().addListSelectionListener(e -> {
             int selectedRow = screen.getDiffTable().getSelectedRow();
-            if (selectedRow >= 0 && selectedRow < diffs.size()) {
-                Diff selectedDiff = diffs.get(selectedRow);
-                screen.getDiffDetails().setText(ReportUtil.formatDiff(selectedDiff));
-            } else {
-                screen.getDiffDetails().setText("");
+            Optional<Diff> selectedDiff = Optional.empty();
+            if (selectedRow >= 0 && screen.getDiffTable().getModel() instanceof DiffTableModel model) {
+                selectedDiff = model.getDiffAt(selectedRow);
             }
+            screen.getDiffDetails().setText(selectedDiff.map(ReportUtil::formatDiff).orElse(""));
         });
 
         // Back button listener
@@ -153,7 +238,11 @@ public class ScanDetailsController extends BaseController<ScanDetailsScreen> imp
         screen.getDiffsCountLabel().setText("Diffs found: " + diffCount);
 
         // Populate diffs table
-        DiffTableModel diffTableModel = new DiffTableModel(diffs);
+        if (screen.getDiffTable().getModel() instanceof DiffTableModel previousModel) {
+            previousModel.dispose();
+        }
+        DiffTableModel diffTableModel = new DiffTableModel(diffSource != null ? List.of(diffSource) : List.of(),
+                (scanId, offset, limit) -> scanService.getDiffs(scanId, offset, limit, null, true));
         screen.getDiffTable().setModel(diffTableModel);
 
         screen.getDiffTable().getColumn(DiffTableModel.columns[3]).setCellRenderer(new ButtonRenderer());
@@ -173,26 +262,19 @@ public class ScanDetailsController extends BaseController<ScanDetailsScreen> imp
                     new String[] { StringConstants.GENERIC_YES, StringConstants.GENERIC_NO },
                     StringConstants.GENERIC_NO);
             if (choice == 0) {
-                try {
-                    boolean success = fileService.quarantineFile(d.integrityFail().file().id());
+                final long fileId = d.integrityFail().file().id();
+                runInBackground(() -> fileService.quarantineFile(fileId), success -> {
                     if (success) {
                         log.info("File quarantined successfully.");
-                        screen.getDiffTable().getColumn(d).setCellRenderer(new ButtonRenderer());
-                        screen.getDiffTable().getColumn(d).setCellEditor(new ButtonEditor("🗿", this));
+                        // The diff table model reads the quarantine state on render
+                        screen.getDiffTable().repaint();
                     } else {
                         screen.showError("Failed to quarantine the file.");
                     }
-
-                }
-
-                catch (IllegalArgumentException iae) {
-                    log.debug("Illegal argument exception {}",iae);
-                }
-
-                catch (Exception e) {
+                }, e -> {
                     log.debug("Exception thrown {} ", e);
-                    log.error("Error code 455 : {}",e.getMessage());
-                }
+                    log.error("Error code 455 : {}", e.getMessage());
+                });
             }
         });
     }
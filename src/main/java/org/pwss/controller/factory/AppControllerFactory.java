@@ -6,6 +6,7 @@ import org.pwss.controller.HomeController;
 import org.pwss.controller.LoginController;
 import org.pwss.controller.NewDirectoryController;
 import org.pwss.controller.ScanDetailsController;
+import org.pwss.journal.ScanJournal;
 import org.pwss.navigation.Screen;
 import org.pwss.view.screen.HomeScreen;
 import org.pwss.view.screen.LoginScreen;
@@ -19,6 +20,20 @@ import org.pwss.view.screen.ScanDetailsScreen;
  */
 public class AppControllerFactory implements ControllerFactory {
 
+    /**
+     * The journal of the application, shared by the controllers recording and showing the live feed of scans.
+     */
+    private final ScanJournal scanJournal;
+
+    /**
+     * Constructs a factory creating controllers sharing the given journal.
+     *
+     * @param scanJournal The journal of the application.
+     */
+    public AppControllerFactory(ScanJournal scanJournal) {
+        this.scanJournal = scanJournal;
+    }
+
     /**
      * Creates a controller for the specified screen.
      *
@@ -29,9 +44,9 @@ public class AppControllerFactory implements ControllerFactory {
     public BaseController<?> createController(Screen screen) {
         return switch (screen) {
             case LOGIN -> new LoginController(new LoginScreen());
-            case HOME -> new HomeController(new HomeScreen());
+            case HOME -> new HomeController(new HomeScreen(), scanJournal);
             case NEW_DIRECTORY -> new NewDirectoryController(new NewDirectoryScreen());
-            case SCAN_SUMMARY -> new ScanDetailsController(new ScanDetailsScreen());
+            case SCAN_SUMMARY -> new ScanDetailsController(new ScanDetailsScreen(), scanJournal);
         };
     }
 }
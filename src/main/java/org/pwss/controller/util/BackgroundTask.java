@@ -0,0 +1,99 @@
+package org.pwss.controller.util;
+
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * A handle to work started through {@code BaseController.runInBackground}.
+ * <p>
+ * Cancelling a task interrupts the background thread if it is still running and
+ * guarantees that none of its callbacks are invoked on the Event Dispatch Thread
+ * afterwards, even if the result has already been produced.
+ *
+ * @param <T> The type of the result produced by the task.
+ */
+public final class BackgroundTask<T> {
+    /**
+     * Callback releasing the task from its owner once it is cancelled or finished.
+     */
+    private final Consumer<BackgroundTask<?>> onRelease;
+    /**
+     * The future of the submitted work, set once the task has been scheduled.
+     */
+    private volatile Future<?> future;
+    /**
+     * Flag indicating whether the task has been cancelled.
+     */
+    private volatile boolean cancelled;
+    /**
+     * Flag indicating whether the task has finished, successfully or not.
+     */
+    private volatile boolean done;
+
+    /**
+     * Constructs a new task handle.
+     *
+     * @param onRelease Callback invoked once, on cancellation or completion, so the owner can stop
+     *                  tracking the task.
+     */
+    public BackgroundTask(Consumer<BackgroundTask<?>> onRelease) {
+        this.onRelease = onRelease;
+    }
+
+    /**
+     * Attaches the future of the submitted work to this handle.
+     *
+     * @param future The future returned by the executor.
+     */
+    public void attach(Future<?> future) {
+        this.future = future;
+        if (cancelled) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Cancels the task. The callbacks of a cancelled task are never run.
+     */
+    public void cancel() {
+        if (isDone()) {
+            return;
+        }
+        cancelled = true;
+        Future<?> f = future;
+        if (f != null) {
+            f.cancel(true);
+        }
+        onRelease.accept(this);
+    }
+
+    /**
+     * Checks whether the task has been cancelled.
+     *
+     * @return true if {@link #cancel()} has been called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Marks the task as finished. Called on the Event Dispatch Thread right before
+     * the result is applied. Has no effect on a cancelled task.
+     */
+    public void markDone() {
+        if (isDone()) {
+            return;
+        }
+        done = true;
+        onRelease.accept(this);
+    }
+
+    /**
+     * Checks whether the task has finished or been cancelled.
+     *
+     * @return true if the task will not invoke any further callbacks.
+     */
+    public boolean isDone() {
+        return done || cancelled;
+    }
+}
@@ -0,0 +1,175 @@
+package org.pwss.controller.util;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks how fresh the datasets displayed by a controller are.
+ * <p>
+ * A controller declares each dataset it needs together with the maximum age
+ * it may have when its screen is shown. A dataset is stale if it has never been
+ * loaded, if it is older than its maximum age, if it has been invalidated, or
+ * if the server data has changed since it was loaded, as told by the data
+ * version. Instances are confined to the Event Dispatch Thread.
+ *
+ * @author PWSS ORG
+ */
+public final class DataFreshness {
+
+    /**
+     * The moment a load started.
+     *
+     * @param time        The clock time the load started at, in nanoseconds.
+     * @param dataVersion The data version the load started at.
+     */
+    public record Stamp(long time, long dataVersion) {
+    }
+
+    /**
+     * A declared dataset and its last load.
+     */
+    private static final class Dataset {
+        /**
+         * The maximum age of the dataset before it has to be reloaded.
+         */
+        private final Duration maxAge;
+        /**
+         * The moment the last successful load started, or null if the dataset is not loaded.
+         */
+        private Stamp loaded;
+
+        Dataset(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+    }
+
+    /**
+     * The declared datasets by name, in declaration order.
+     */
+    private final Map<String, Dataset> datasets = new LinkedHashMap<>();
+    /**
+     * Supplies the current version of the server data.
+     */
+    private final LongSupplier dataVersion;
+    /**
+     * The clock measuring dataset ages, in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a tracker of datasets measured against the given data version.
+     *
+     * @param dataVersion Supplies the current version of the server data.
+     */
+    public DataFreshness(LongSupplier dataVersion) {
+        this(dataVersion, System::nanoTime);
+    }
+
+    /**
+     * Creates a tracker of datasets measured against the given data version and clock.
+     *
+     * @param dataVersion Supplies the current version of the server data.
+     * @param nanoClock   The clock measuring dataset ages, in nanoseconds.
+     */
+    public DataFreshness(LongSupplier dataVersion, LongSupplier nanoClock) {
+        this.dataVersion = dataVersion;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Declares a dataset. Declaring it again replaces its maximum age and marks it as not loaded.
+     *
+     * @param dataset The name of the dataset.
+     * @param maxAge  The maximum age of the dataset before it has to be reloaded.
+     */
+    public void require(String dataset, Duration maxAge) {
+        datasets.put(dataset, new Dataset(maxAge));
+    }
+
+    /**
+     * Captures the moment a load starts, to be passed to {@link #markLoaded} once it has succeeded.
+     *
+     * @return The current stamp.
+     */
+    public Stamp stamp() {
+        return new Stamp(nanoClock.getAsLong(), dataVersion.getAsLong());
+    }
+
+    /**
+     * Records a successful load of a dataset. The age of the dataset is counted
+     * from the start of the load, so changes made while it was in flight make it stale.
+     *
+     * @param dataset The name of the dataset.
+     * @param stamp   The stamp taken when the load started.
+     */
+    public void markLoaded(String dataset, Stamp stamp) {
+        Dataset state = datasets.get(dataset);
+        if (state != null) {
+            state.loaded = stamp;
+        }
+    }
+
+    /**
+     * Marks a dataset as stale.
+     *
+     * @param dataset The name of the dataset.
+     */
+    public void invalidate(String dataset) {
+        Dataset state = datasets.get(dataset);
+        if (state != null) {
+            state.loaded = null;
+        }
+    }
+
+    /**
+     * Marks all datasets as stale.
+     */
+    public void invalidateAll() {
+        datasets.values().forEach(state -> state.loaded = null);
+    }
+
+    /**
+     * Returns whether a dataset is fresh enough to be displayed without reloading it.
+     *
+     * @param dataset The name of the dataset.
+     * @return true if the dataset is declared and fresh.
+     */
+    public boolean isFresh(String dataset) {
+        Dataset state = datasets.get(dataset);
+        return state != null && isFresh(state, stamp());
+    }
+
+    /**
+     * Returns the datasets which have to be reloaded.
+     *
+     * @return The stale datasets, in declaration order.
+     */
+    public Set<String> staleDatasets() {
+        Stamp now = stamp();
+        Set<String> stale = new LinkedHashSet<>();
+        datasets.forEach((dataset, state) -> {
+            if (!isFresh(state, now)) {
+                stale.add(dataset);
+            }
+        });
+        return Collections.unmodifiableSet(stale);
+    }
+
+    /**
+     * Returns whether a dataset is fresh at the given moment.
+     *
+     * @param state The dataset.
+     * @param now   The current stamp.
+     * @return true if the dataset is loaded, recent enough and of the current data version.
+     */
+    private static boolean isFresh(Dataset state, Stamp now) {
+        return state.loaded != null
+                && state.loaded.dataVersion() == now.dataVersion()
+                && now.time() - state.loaded.time() < state.maxAge.toNanos();
+    }
+}
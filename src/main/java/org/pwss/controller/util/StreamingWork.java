@@ -0,0 +1,24 @@
+package org.pwss.controller.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Long-running background work which publishes intermediate updates before producing its result,
+ * for example while following a stream pushed by the server.
+ *
+ * @param <T> The type of the result.
+ * @param <U> The type of the intermediate updates.
+ */
+@FunctionalInterface
+public interface StreamingWork<T, U> {
+
+    /**
+     * Runs the work off the Event Dispatch Thread.
+     *
+     * @param publish Publishes an update to the Event Dispatch Thread. Must only be called by the thread
+     *                running the work, and may wait while the Event Dispatch Thread is behind.
+     * @return The result of the work.
+     * @throws Exception If the work fails.
+     */
+    T call(Consumer<? super U> publish) throws Exception;
+}
@@ -0,0 +1,363 @@
+package org.pwss.data_structure;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * An append-only store of text lines, kept in chunks of a fixed number of lines.
+ * <p>
+ * The lines of a chunk share one character buffer, separated by line feeds, so a
+ * line costs its characters and an offset rather than a String object. A full
+ * chunk is sealed into a single String, of which a lower case copy is made when
+ * it is first searched, so a search runs a plain {@code indexOf} over each chunk.
+ * Lines can be flagged as warnings, kept as a bit set per chunk. Past the maximum
+ * number of lines the oldest chunk is dropped, which shifts the index of every
+ * remaining line down by the size of a chunk.
+ * <p>
+ * This class is not thread safe.
+ */
+public final class LineStore {
+
+    /**
+     * The number of lines in a chunk.
+     */
+    public static final int CHUNK_LINES = 4096;
+
+    /**
+     * The default maximum number of lines kept in the store, 512 chunks.
+     */
+    public static final int DEFAULT_MAX_LINES = 512 * CHUNK_LINES;
+
+    /**
+     * A chunk of consecutive lines.
+     */
+    private static final class Chunk {
+        /**
+         * The text of the lines, each followed by a line feed, while the chunk is open.
+         */
+        private StringBuilder builder = new StringBuilder();
+        /**
+         * The text of the lines once the chunk is full.
+         */
+        private String sealed;
+        /**
+         * The offset of the end of each line in the text, excluding its line feed.
+         */
+        private final int[] ends = new int[CHUNK_LINES];
+        /**
+         * The number of lines in the chunk.
+         */
+        private int count;
+        /**
+         * The lines flagged as warnings, or null if there are none.
+         */
+        private BitSet warnings;
+        /**
+         * The lower case text searched through, or null if it has not been made yet.
+         */
+        private String lower;
+        /**
+         * The offset of the end of each line in the lower case text, which may differ from the original text.
+         */
+        private int[] lowerEnds;
+        /**
+         * The number of lines the lower case text was made from.
+         */
+        private int lowerCount;
+
+        /**
+         * Returns the text of the lines.
+         *
+         * @return The text, each line followed by a line feed.
+         */
+        private CharSequence text() {
+            return sealed != null ? sealed : builder;
+        }
+
+        /**
+         * Adds a line to the chunk, sealing it once it is full.
+         *
+         * @param line    The line.
+         * @param warning true to flag the line as a warning.
+         */
+        private void add(CharSequence line, boolean warning) {
+            builder.append(line).append('\n');
+            ends[count] = builder.length() - 1;
+            if (warning) {
+                if (warnings == null) {
+                    warnings = new BitSet(CHUNK_LINES);
+                }
+                warnings.set(count);
+            }
+            count++;
+            if (count == CHUNK_LINES) {
+                sealed = builder.toString();
+                builder = null;
+            }
+        }
+
+        /**
+         * Returns a line of the chunk.
+         *
+         * @param line The index of the line in the chunk.
+         * @return The line.
+         */
+        private String get(int line) {
+            int start = line == 0 ? 0 : ends[line - 1] + 1;
+            return text().subSequence(start, ends[line]).toString();
+        }
+
+        /**
+         * Makes the lower case copy of the text if it is missing or out of date.
+         */
+        private void lowerCase() {
+            if (lower != null && lowerCount == count) {
+                return;
+            }
+            lower = text().toString().toLowerCase(Locale.ROOT);
+            lowerEnds = new int[count];
+            int line = 0;
+            for (int i = lower.indexOf('\n'); i >= 0 && line < count; i = lower.indexOf('\n', i + 1)) {
+                lowerEnds[line++] = i;
+            }
+            lowerCount = count;
+        }
+
+        /**
+         * Searches the chunk for a lower case query.
+         *
+         * @param query   The lower case query, without line feeds.
+         * @param from    The line to start at, included.
+         * @param forward true to search towards the end, false towards the start.
+         * @return The first matching line in the search direction, or -1 if there is none.
+         */
+        private int find(String query, int from, boolean forward) {
+            lowerCase();
+            int match;
+            if (forward) {
+                match = lower.indexOf(query, from == 0 ? 0 : lowerEnds[from - 1] + 1);
+            } else {
+                match = lower.lastIndexOf(query, lowerEnds[from] - query.length());
+            }
+            return match < 0 ? -1 : lineAt(match);
+        }
+
+        /**
+         * Returns the line holding an offset of the lower case text.
+         *
+         * @param offset The offset.
+         * @return The index of the line.
+         */
+        private int lineAt(int offset) {
+            int low = 0;
+            int high = lowerCount - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (lowerEnds[mid] < offset) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The chunks, oldest first. All chunks but the last are full.
+     */
+    private final List<Chunk> chunks = new ArrayList<>();
+    /**
+     * The maximum number of chunks kept.
+     */
+    private final int maxChunks;
+    /**
+     * The number of lines in the store.
+     */
+    private int size;
+    /**
+     * The number of lines dropped since the store was created or cleared.
+     */
+    private long droppedLines;
+    /**
+     * The length of the longest line added since the store was created or cleared.
+     */
+    private int maxLineLength;
+
+    /**
+     * Creates a store with the default maximum number of lines.
+     */
+    public LineStore() {
+        this(DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * Creates a store.
+     *
+     * @param maxLines The maximum number of lines kept, rounded up to a whole number of chunks.
+     */
+    public LineStore(int maxLines) {
+        if (maxLines < 1) {
+            throw new IllegalArgumentException("Invalid maximum number of lines: " + maxLines);
+        }
+        this.maxChunks = (maxLines + CHUNK_LINES - 1) / CHUNK_LINES;
+    }
+
+    /**
+     * Adds a line, dropping the oldest chunk if the store is full.
+     *
+     * @param line    The line, without line feeds. Its characters are copied into the store.
+     * @param warning true to flag the line as a warning.
+     */
+    public void add(CharSequence line, boolean warning) {
+        Chunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (last == null || last.count == CHUNK_LINES) {
+            if (chunks.size() == maxChunks) {
+                chunks.remove(0);
+                size -= CHUNK_LINES;
+                droppedLines += CHUNK_LINES;
+            }
+            last = new Chunk();
+            chunks.add(last);
+        }
+        last.add(line, warning);
+        size++;
+        maxLineLength = Math.max(maxLineLength, line.length());
+    }
+
+    /**
+     * Returns a line.
+     *
+     * @param index The index of the line.
+     * @return The line.
+     * @throws IndexOutOfBoundsException If there is no line at the index.
+     */
+    public String get(int index) {
+        checkIndex(index);
+        return chunks.get(index / CHUNK_LINES).get(index % CHUNK_LINES);
+    }
+
+    /**
+     * Returns whether a line is flagged as a warning.
+     *
+     * @param index The index of the line.
+     * @return true if the line is a warning.
+     * @throws IndexOutOfBoundsException If there is no line at the index.
+     */
+    public boolean isWarning(int index) {
+        checkIndex(index);
+        BitSet warnings = chunks.get(index / CHUNK_LINES).warnings;
+        return warnings != null && warnings.get(index % CHUNK_LINES);
+    }
+
+    /**
+     * Returns the number of lines in the store.
+     *
+     * @return The number of lines.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lines dropped to make room for newer ones. The index of the remaining
+     * lines has decreased by as much.
+     *
+     * @return The number of dropped lines since the store was created or cleared.
+     */
+    public long getDroppedLines() {
+        return droppedLines;
+    }
+
+    /**
+     * Returns the length of the longest line.
+     *
+     * @return The length of the longest line added since the store was created or cleared.
+     */
+    public int getMaxLineLength() {
+        return maxLineLength;
+    }
+
+    /**
+     * Removes all lines.
+     */
+    public void clear() {
+        chunks.clear();
+        size = 0;
+        droppedLines = 0;
+        maxLineLength = 0;
+    }
+
+    /**
+     * Finds the nearest warning from a line on.
+     *
+     * @param from    The line to start at, included. May be out of range.
+     * @param forward true to search towards the end, false towards the start.
+     * @return The index of the nearest warning in the search direction, or -1 if there is none.
+     */
+    public int findWarning(int from, boolean forward) {
+        if (forward) {
+            for (int index = Math.max(from, 0); index < size; index = (index / CHUNK_LINES + 1) * CHUNK_LINES) {
+                BitSet warnings = chunks.get(index / CHUNK_LINES).warnings;
+                int line = warnings == null ? -1 : warnings.nextSetBit(index % CHUNK_LINES);
+                if (line >= 0) {
+                    return index - index % CHUNK_LINES + line;
+                }
+            }
+        } else {
+            for (int index = Math.min(from, size - 1); index >= 0; index = index - index % CHUNK_LINES - 1) {
+                BitSet warnings = chunks.get(index / CHUNK_LINES).warnings;
+                int line = warnings == null ? -1 : warnings.previousSetBit(index % CHUNK_LINES);
+                if (line >= 0) {
+                    return index - index % CHUNK_LINES + line;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the nearest line containing a text from a line on, ignoring case.
+     *
+     * @param query   The text to find. Line feeds never match.
+     * @param from    The line to start at, included. May be out of range.
+     * @param forward true to search towards the end, false towards the start.
+     * @return The index of the nearest matching line in the search direction, or -1 if there is none.
+     */
+    public int find(String query, int from, boolean forward) {
+        if (query.isEmpty() || query.indexOf('\n') >= 0) {
+            return -1;
+        }
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        if (forward) {
+            for (int index = Math.max(from, 0); index < size; index = (index / CHUNK_LINES + 1) * CHUNK_LINES) {
+                int line = chunks.get(index / CHUNK_LINES).find(lowerQuery, index % CHUNK_LINES, true);
+                if (line >= 0) {
+                    return index - index % CHUNK_LINES + line;
+                }
+            }
+        } else {
+            for (int index = Math.min(from, size - 1); index >= 0; index = index - index % CHUNK_LINES - 1) {
+                int line = chunks.get(index / CHUNK_LINES).find(lowerQuery, index % CHUNK_LINES, false);
+                if (line >= 0) {
+                    return index - index % CHUNK_LINES + line;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks that a line exists.
+     *
+     * @param index The index of the line.
+     * @throws IndexOutOfBoundsException If there is no line at the index.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Line " + index + " out of " + size);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package org.pwss.data_structure;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * An open addressing hash map keyed by primitive {@code long} values.
+ * <p>
+ * Keys are stored in a plain {@code long[]} so lookups never box the key and
+ * never allocate. Collisions are resolved with linear probing and removals use
+ * backward shift deletion, so the table never accumulates tombstones.
+ * <p>
+ * This class is not synchronized; callers sharing an instance between threads
+ * must provide their own locking.
+ *
+ * @param <V> The type of values held in this map.
+ */
+public final class LongObjectMap<V> {
+    /**
+     * Default number of slots used when no capacity is requested.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * The table is grown once it is more than half full.
+     */
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Constructs an empty map with a default capacity.
+     */
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map able to hold the expected number of entries
+     * without resizing.
+     *
+     * @param expectedSize The number of entries the map is expected to hold.
+     */
+    public LongObjectMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Associates the specified value with the specified key. An existing value
+     * for the key is replaced.
+     *
+     * @param key   The key.
+     * @param value The value, must not be null.
+     * @return The previous value for the key, or null if there was none.
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int slot = indexOf(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                V previous = valueAt(slot);
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the value mapped to the specified key.
+     *
+     * @param key The key.
+     * @return The value, or null if the key is not present.
+     */
+    public V get(long key) {
+        int slot = find(key);
+        return slot < 0 ? null : valueAt(slot);
+    }
+
+    /**
+     * Checks whether this map contains the specified key.
+     *
+     * @param key The key.
+     * @return True if the key is present; false otherwise.
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Removes the mapping for the specified key if present.
+     *
+     * @param key The key.
+     * @return The removed value, or null if the key was not present.
+     */
+    public V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = valueAt(slot);
+        size--;
+
+        // Backward shift deletion: pull later entries of the probe chain into the gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (used[next]) {
+            int home = indexOf(keys[next]);
+            // Move the entry if its home slot is not cyclically within (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        used[gap] = false;
+        values[gap] = null;
+        return previous;
+    }
+
+    /**
+     * Removes all entries from this map.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of entries in this map.
+     *
+     * @return The current number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether this map is empty or not.
+     *
+     * @return True if this map contains no entries; false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a copy of all keys in this map, in no particular order.
+     *
+     * @return A new array holding every key.
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int i = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                result[i++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Performs the given action for each entry in this map, in no particular order.
+     *
+     * @param action The action to be performed for each key and value.
+     */
+    public void forEach(BiConsumer<Long, ? super V> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                action.accept(keys[slot], valueAt(slot));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    private int find(long key) {
+        int slot = indexOf(key);
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int indexOf(long key) {
+        // Murmur3 finalizer to spread sequential database ids across the table
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int target = indexOf(oldKeys[slot]);
+                while (used[target]) {
+                    target = (target + 1) & mask;
+                }
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+                used[target] = true;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        int capacity = Integer.highestOneBit(Math.max(needed - 1, DEFAULT_CAPACITY - 1)) << 1;
+        return Math.min(capacity, 1 << 30);
+    }
+}
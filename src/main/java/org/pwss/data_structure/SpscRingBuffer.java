@@ -0,0 +1,261 @@
+package org.pwss.data_structure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free ring buffer handing elements from exactly one producer
+ * thread to exactly one consumer thread, such as from a thread reading the live
+ * feed to the Event Dispatch Thread.
+ * <p>
+ * The capacity is rounded up to a power of two so a position maps to its slot
+ * with a mask instead of a division. The producer only ever writes the tail and
+ * the consumer only ever writes the head, each publishing its position with
+ * release semantics once the slot is written or cleared, so neither side takes a
+ * lock or retries a compare-and-set. Each side also caches the last position it
+ * read of the other side and only reads it again when the cache says the buffer
+ * is full, respectively empty, which keeps the two threads off each other's
+ * cache lines in the common case.
+ * <p>
+ * {@link #offer(Object)} must only be called by the producer thread;
+ * {@link #poll()}, {@link #peek()}, the {@code drainTo} methods and
+ * {@link #iterator()} must only be called by the consumer thread. The size may
+ * be read from any thread.
+ *
+ * @param <E> The type of elements held in this buffer.
+ */
+public final class SpscRingBuffer<E> implements Iterable<E> {
+    /**
+     * The largest supported capacity.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Handle on {@link #head} giving the acquire, release and opaque accesses the
+     * two threads synchronize with.
+     */
+    private static final VarHandle HEAD;
+    /**
+     * Handle on {@link #tail} giving the acquire, release and opaque accesses the
+     * two threads synchronize with.
+     */
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscRingBuffer.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscRingBuffer.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The slots of the elements, a power of two of them; a cleared slot holds null.
+     */
+    private final Object[] buffer;
+    /**
+     * The number of slots minus one, mapping a position to its slot.
+     */
+    private final int mask;
+
+    /**
+     * Position of the next element to read; written by the consumer only.
+     */
+    @SuppressWarnings("unused")
+    private long head;
+    /**
+     * Position of the next element to write; written by the producer only.
+     */
+    @SuppressWarnings("unused")
+    private long tail;
+    /**
+     * The head as last read by the producer.
+     */
+    private long producerHeadCache;
+    /**
+     * The tail as last read by the consumer.
+     */
+    private long consumerTailCache;
+
+    /**
+     * Constructs an empty buffer holding at least the given number of elements.
+     *
+     * @param capacity The minimum number of elements the buffer can hold, rounded
+     *                 up to a power of two.
+     */
+    public SpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new Object[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an element at the tail of the buffer. Producer thread only.
+     *
+     * @param element The element, must not be null.
+     * @return true if the element was added, false if the buffer is full.
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Null elements are not supported");
+        }
+        long t = (long) TAIL.getOpaque(this);
+        if (t - producerHeadCache >= buffer.length) {
+            producerHeadCache = (long) HEAD.getAcquire(this);
+            if (t - producerHeadCache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = element;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the element at the head of the buffer. Consumer thread only.
+     *
+     * @return The oldest element, or null if the buffer is empty.
+     */
+    public E poll() {
+        long h = (long) HEAD.getOpaque(this);
+        if (!isAvailable(h)) {
+            return null;
+        }
+        E element = elementAt(h);
+        buffer[(int) h & mask] = null;
+        HEAD.setRelease(this, h + 1);
+        return element;
+    }
+
+    /**
+     * Returns the element at the head of the buffer without removing it. Consumer thread only.
+     *
+     * @return The oldest element, or null if the buffer is empty.
+     */
+    public E peek() {
+        long h = (long) HEAD.getOpaque(this);
+        return isAvailable(h) ? elementAt(h) : null;
+    }
+
+    /**
+     * Removes up to the given number of elements from the head of the buffer and
+     * passes them to the consumer, in order, publishing the new head once for the
+     * whole batch. Consumer thread only.
+     *
+     * @param consumer    Receives the removed elements.
+     * @param maxElements The maximum number of elements to remove.
+     * @return The number of elements removed.
+     */
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        long h = (long) HEAD.getOpaque(this);
+        long available = consumerTailCache - h;
+        if (available < maxElements) {
+            consumerTailCache = (long) TAIL.getAcquire(this);
+            available = consumerTailCache - h;
+        }
+        int count = (int) Math.min(available, maxElements);
+        if (count <= 0) {
+            return 0;
+        }
+        for (int i = 0; i < count; i++) {
+            int slot = (int) (h + i) & mask;
+            @SuppressWarnings("unchecked")
+            E element = (E) buffer[slot];
+            buffer[slot] = null;
+            consumer.accept(element);
+        }
+        HEAD.setRelease(this, h + count);
+        return count;
+    }
+
+    /**
+     * Removes every element currently in the buffer and passes them to the
+     * consumer, in order. Consumer thread only.
+     *
+     * @param consumer Receives the removed elements.
+     * @return The number of elements removed.
+     */
+    public int drainTo(Consumer<? super E> consumer) {
+        return drainTo(consumer, buffer.length);
+    }
+
+    /**
+     * Returns the number of elements in the buffer. As the producer and the
+     * consumer keep running, the value may be out of date by the time it is used.
+     *
+     * @return The number of elements, between zero and the capacity.
+     */
+    public int size() {
+        // Read the head first, so a concurrent poll can only make the size appear larger, never negative
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(t - h, buffer.length));
+    }
+
+    /**
+     * Checks whether the buffer is empty.
+     *
+     * @return true if the buffer holds no elements.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of elements the buffer can hold.
+     *
+     * @return The capacity, a power of two.
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements currently in the
+     * buffer, oldest first. The elements are not removed, and elements offered
+     * afterwards are not part of the snapshot. Consumer thread only.
+     *
+     * @return An iterator over the snapshot.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        long h = (long) HEAD.getOpaque(this);
+        consumerTailCache = (long) TAIL.getAcquire(this);
+        int count = (int) (consumerTailCache - h);
+        Object[] snapshot = new Object[count];
+        for (int i = 0; i < count; i++) {
+            snapshot[i] = buffer[(int) (h + i) & mask];
+        }
+        @SuppressWarnings("unchecked")
+        List<E> elements = (List<E>) Arrays.asList(snapshot);
+        return elements.iterator();
+    }
+
+    /**
+     * Checks whether the element at the given position has been published by the producer.
+     *
+     * @param position The position of the element.
+     * @return true if the element can be read.
+     */
+    private boolean isAvailable(long position) {
+        if (position < consumerTailCache) {
+            return true;
+        }
+        consumerTailCache = (long) TAIL.getAcquire(this);
+        return position < consumerTailCache;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(long position) {
+        return (E) buffer[(int) position & mask];
+    }
+}
@@ -0,0 +1,496 @@
+package org.pwss.journal;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.pwss.model.livefeed.LiveFeedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, on-disk journal of the live feed of every scan.
+ * <p>
+ * Each scan is written to its own segment file, named after the time the scan
+ * started, so the complete live feed of a past scan can be read back long after
+ * the in-memory log view has dropped its oldest lines. Writes are handed to a
+ * single background thread which owns the open segment and writes it through a
+ * buffer, flushed once per batch of entries, so the Event Dispatch Thread never
+ * touches the disk. The application shares one journal, closed when it exits.
+ * <p>
+ * The journal is kept within its maximum size while it is written: whenever the
+ * open segment would make it outgrow the maximum size, the oldest finished
+ * segments are deleted, and a segment which outgrows the maximum size on its
+ * own stops being written.
+ * <p>
+ * Segment format, one UTF-8 line per record, fields separated by tabs:
+ * <pre>
+ * # &lt;startedMillis&gt; &lt;directory&gt;...   (header, the directories scanned)
+ * &lt;type&gt; &lt;text&gt;                       (live feed entry, type is a LiveFeedEvent.Type name)
+ * </pre>
+ * Line feeds and tabs in the text are written as spaces.
+ */
+public final class ScanJournal implements AutoCloseable {
+
+    /**
+     * Directory holding the segments of the application journal.
+     */
+    public static final Path DEFAULT_DIRECTORY = Path.of("app_storage", "journal");
+
+    /**
+     * Prefix of the name of segment files, followed by the start time in milliseconds.
+     */
+    static final String SEGMENT_PREFIX = "scan-";
+
+    /**
+     * Extension of segment files.
+     */
+    static final String SEGMENT_EXTENSION = ".journal";
+
+    /**
+     * Tolerance when matching the time of a scan recorded by the backend with the
+     * time window of a segment recorded by the frontend.
+     */
+    private static final Duration MATCH_TOLERANCE = Duration.ofMinutes(1);
+
+    /**
+     * First field of the header line of a segment.
+     */
+    private static final char HEADER = '#';
+
+    /**
+     * Separator of the fields of a line.
+     */
+    private static final char SEPARATOR = '\t';
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private final Logger log = LoggerFactory.getLogger(ScanJournal.class);
+
+    /**
+     * A segment of the journal, holding the live feed of one scan.
+     *
+     * @param path         The segment file.
+     * @param started      The time the scan started.
+     * @param lastModified The time the last entry was written.
+     * @param size         The size of the segment file in bytes.
+     */
+    public record Segment(Path path, Instant started, Instant lastModified, long size) {
+    }
+
+    /**
+     * Receives the entries read back from a segment.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Receives an entry.
+         *
+         * @param type The kind of the entry.
+         * @param text The display text of the entry.
+         */
+        void accept(LiveFeedEvent.Type type, String text);
+    }
+
+    /**
+     * Directory holding the segment files.
+     */
+    private final Path directory;
+
+    /**
+     * Maximum size of all segments together, in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * Single thread writing the segments; every field below is confined to it.
+     */
+    private final ExecutorService writer;
+
+    /**
+     * Writer of the open segment, or null if no segment is open.
+     */
+    private Writer segmentWriter;
+
+    /**
+     * The open segment file, or null if no segment is open.
+     */
+    private Path segmentPath;
+
+    /**
+     * Number of bytes written to the open segment.
+     */
+    private long segmentBytes;
+
+    /**
+     * Size in bytes of the finished segments kept on disk, as of the latest retention check.
+     */
+    private long retainedBytes;
+
+    /**
+     * Constructs a journal in the default directory.
+     *
+     * @param maxBytes The maximum size of all segments together, in bytes.
+     */
+    public ScanJournal(long maxBytes) {
+        this(DEFAULT_DIRECTORY, maxBytes);
+    }
+
+    /**
+     * Constructs a journal rooted in the given directory.
+     *
+     * @param directory The directory holding the segment files.
+     * @param maxBytes  The maximum size of all segments together, in bytes.
+     */
+    public ScanJournal(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scan-journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the segment of a new scan, finishing the previous one and deleting the
+     * oldest segments past the maximum size of the journal.
+     *
+     * @param directories The paths of the directories scanned, empty if not known.
+     */
+    public void startSegment(List<String> directories) {
+        Instant started = Instant.now();
+        List<String> header = List.copyOf(directories);
+        submit(() -> {
+            closeSegment();
+            Files.createDirectories(directory);
+            retainedBytes = enforceRetention(0);
+
+            Path path = directory.resolve(SEGMENT_PREFIX + started.toEpochMilli() + SEGMENT_EXTENSION);
+            segmentWriter = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            segmentPath = path;
+            segmentBytes = 0;
+
+            StringBuilder line = new StringBuilder().append(HEADER).append(SEPARATOR).append(started.toEpochMilli());
+            for (String dir : header) {
+                line.append(SEPARATOR).append(sanitize(dir));
+            }
+            writeLine(line);
+            segmentWriter.flush();
+            log.debug("Started scan journal segment {}", path.getFileName());
+        });
+    }
+
+    /**
+     * Appends live feed entries to the open segment. Entries appended while no
+     * segment is open are discarded.
+     *
+     * @param events The entries, in order.
+     */
+    public void append(List<LiveFeedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<LiveFeedEvent> batch = List.copyOf(events);
+        submit(() -> {
+            if (segmentWriter == null) {
+                return;
+            }
+            StringBuilder line = new StringBuilder();
+            for (LiveFeedEvent event : batch) {
+                line.setLength(0);
+                line.append(event.type().name()).append(SEPARATOR).append(sanitize(event.text()));
+                long bytesAfter = segmentBytes + utf8Length(line) + 1;
+                if (retainedBytes + bytesAfter > maxBytes) {
+                    // Make room by deleting the oldest finished segments
+                    retainedBytes = enforceRetention(bytesAfter);
+                    if (bytesAfter > maxBytes) {
+                        log.warn("Scan journal segment {} would exceed {} bytes, the rest of the scan is not journaled",
+                                segmentPath.getFileName(), maxBytes);
+                        closeSegment();
+                        return;
+                    }
+                }
+                writeLine(line);
+            }
+            segmentWriter.flush();
+        });
+    }
+
+    /**
+     * Appends a single live feed entry to the open segment.
+     *
+     * @param type The kind of the entry.
+     * @param text The display text of the entry.
+     */
+    public void append(LiveFeedEvent.Type type, CharSequence text) {
+        append(List.of(new LiveFeedEvent(type, text.toString())));
+    }
+
+    /**
+     * Finishes the open segment, if any.
+     */
+    public void finishSegment() {
+        submit(this::closeSegment);
+    }
+
+    /**
+     * Finishes the open segment and waits for every pending write to complete.
+     */
+    @Override
+    public void close() {
+        finishSegment();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Timed out waiting for the scan journal to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Lists the segments of the journal, newest first. This reads the disk and
+     * should not be called on the Event Dispatch Thread.
+     *
+     * @return The segments of the journal.
+     * @throws IOException If the journal directory could not be listed.
+     */
+    public List<Segment> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Optional<Instant> started = parseStartTime(file);
+                if (started.isEmpty()) {
+                    continue;
+                }
+                try {
+                    segments.add(new Segment(file, started.get(), Files.getLastModifiedTime(file).toInstant(),
+                            Files.size(file)));
+                } catch (IOException e) {
+                    // The segment was deleted while listing
+                    log.debug("Skipping scan journal segment {}", file.getFileName(), e);
+                }
+            }
+        }
+        segments.sort(Comparator.comparing(Segment::started).reversed());
+        return segments;
+    }
+
+    /**
+     * Finds the segment of the scan which was running at the given time.
+     *
+     * @param time The time of the scan, as recorded by the backend.
+     * @return The latest segment whose time window covers the time, if any.
+     * @throws IOException If the journal directory could not be listed.
+     */
+    public Optional<Segment> findSegment(Instant time) throws IOException {
+        for (Segment segment : listSegments()) {
+            if (!segment.started().isAfter(time.plus(MATCH_TOLERANCE))
+                    && !segment.lastModified().isBefore(time.minus(MATCH_TOLERANCE))) {
+                return Optional.of(segment);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads back the entries of a segment, streaming them without loading the
+     * whole segment into memory. This reads the disk and should not be called on
+     * the Event Dispatch Thread.
+     *
+     * @param segment  The segment to read.
+     * @param consumer Receives the entries, in order.
+     * @return The number of entries read.
+     * @throws IOException If the segment could not be read.
+     */
+    public long read(Segment segment, EntryConsumer consumer) throws IOException {
+        long entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(segment.path(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int separator = line.indexOf(SEPARATOR);
+                if (separator < 0 || line.charAt(0) == HEADER) {
+                    continue;
+                }
+                LiveFeedEvent.Type type;
+                try {
+                    type = LiveFeedEvent.Type.valueOf(line.substring(0, separator));
+                } catch (IllegalArgumentException e) {
+                    // A torn or foreign line is shown as a plain message
+                    type = LiveFeedEvent.Type.MESSAGE;
+                }
+                consumer.accept(type, line.substring(separator + 1));
+                entries++;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Runs a write on the writer thread, logging its failure.
+     *
+     * @param write The write to run.
+     */
+    private void submit(JournalWrite write) {
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(() -> {
+            try {
+                write.run();
+            } catch (IOException e) {
+                log.debug("Failed to write the scan journal", e);
+                log.error("Failed to write the scan journal: {}", e.getMessage());
+                closeSegment();
+            }
+        });
+    }
+
+    /**
+     * A write to the journal, run on the writer thread.
+     */
+    @FunctionalInterface
+    private interface JournalWrite {
+        /**
+         * Runs the write.
+         *
+         * @throws IOException If the journal could not be written.
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Writes a line to the open segment.
+     *
+     * @param line The line, without the line feed.
+     * @throws IOException If the line could not be written.
+     */
+    private void writeLine(CharSequence line) throws IOException {
+        segmentWriter.append(line).append('\n');
+        segmentBytes += utf8Length(line) + 1;
+    }
+
+    /**
+     * Returns the number of bytes a text takes once encoded in UTF-8, without encoding it.
+     *
+     * @param text The text.
+     * @return The encoded length in bytes.
+     */
+    static long utf8Length(CharSequence text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // A supplementary character, such as most emoji
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Flushes and closes the open segment, if any.
+     */
+    private void closeSegment() {
+        if (segmentWriter != null) {
+            try {
+                segmentWriter.close();
+            } catch (IOException e) {
+                log.debug("Failed to close scan journal segment {}", segmentPath.getFileName(), e);
+            }
+            segmentWriter = null;
+            segmentPath = null;
+        }
+    }
+
+    /**
+     * Deletes the oldest finished segments until they fit in the maximum size of
+     * the journal together with the open segment.
+     *
+     * @param openBytes The number of bytes written to the open segment.
+     * @return The size in bytes of the finished segments left.
+     * @throws IOException If the journal directory could not be listed.
+     */
+    private long enforceRetention(long openBytes) throws IOException {
+        List<Segment> segments = listSegments();
+        segments.removeIf(segment -> segment.path().equals(segmentPath));
+        long total = segments.stream().mapToLong(Segment::size).sum();
+        for (int i = segments.size() - 1; i >= 0 && total + openBytes > maxBytes; i--) {
+            Segment oldest = segments.get(i);
+            try {
+                Files.deleteIfExists(oldest.path());
+                total -= oldest.size();
+                log.debug("Deleted scan journal segment {} to stay under {} bytes", oldest.path().getFileName(),
+                        maxBytes);
+            } catch (IOException e) {
+                log.warn("Could not delete scan journal segment {}: {}", oldest.path().getFileName(), e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Parses the start time of a segment from its file name.
+     *
+     * @param file The file.
+     * @return The start time, or empty if the file is not a segment.
+     */
+    private static Optional<Instant> parseStartTime(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_EXTENSION)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Instant.ofEpochMilli(Long.parseLong(
+                    name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_EXTENSION.length()))));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the characters which would break the record format with spaces.
+     *
+     * @param text The text of a field.
+     * @return The text, safe to write as a field.
+     */
+    private static CharSequence sanitize(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == SEPARATOR) {
+                return text.toString().replace('\n', ' ').replace('\r', ' ').replace(SEPARATOR, ' ');
+            }
+        }
+        return text;
+    }
+}
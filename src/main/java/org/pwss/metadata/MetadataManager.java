@@ -1,15 +1,13 @@
 package org.pwss.metadata;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.util.LinkedList;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Properties;
 
 import org.pwss.exception.metadata.MetadataKeyNameRetrievalException;
 import org.pwss.exception.metadata.MetadataRemoveException;
 import org.pwss.exception.metadata.MetadataSaveException;
+import org.pwss.model.entity.QuarantineMetadata;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -17,6 +15,11 @@ import org.slf4j.LoggerFactory;
  * files.
  * It provides methods to save, retrieve and remove metadata associated with
  * file IDs.
+ *
+ * All lookups are served from the shared {@link QuarantineIndex}, which is
+ * replayed from the {@link QuarantineMetadataStore} once per process and
+ * updated in place whenever metadata is saved or removed. Writes are appended
+ * to the store's journal and compacted into a snapshot from time to time.
  */
 public final class MetadataManager {
 
@@ -26,25 +29,24 @@ public final class MetadataManager {
     private final org.slf4j.Logger log;
 
     /**
-     * The properties file used to store metadata about quarantined files.
+     * The directory holding the quarantine metadata files.
      */
-    private final String METADATA_FILE = "metadata.temp";
+    private static final Path METADATA_DIRECTORY = Path.of("app_storage", "metadata");
 
     /**
-     * The full path to the metadata file for quarantined files
+     * The process-wide storage engine for quarantine metadata.
      */
-    private final String METADATA_FULL_PATH = "app_storage" + File.separator + "metadata" + File.separator
-            + METADATA_FILE;
+    private static final QuarantineMetadataStore STORE = new QuarantineMetadataStore(METADATA_DIRECTORY);
 
     /**
-     * The extension used to identify file IDs in metadata keys.
+     * The extension used for encrypted files in the key name.
      */
-    private final String FILE_ID_EXTENSION = ".id";
+    private final String ENC_EXTENSION = ".enc";
 
     /**
-     * The extension used for encrypted files in the key name.
+     * The process-wide in-memory index of quarantined files.
      */
-    private final String ENC_EXTENSION = ".enc";
+    private final QuarantineIndex quarantineIndex;
 
     /**
      * Constructs a new MetadataManager instance and initializes the logger.
@@ -56,6 +58,7 @@ public final class MetadataManager {
      */
     public MetadataManager() {
         this.log = LoggerFactory.getLogger(MetadataManager.class);
+        this.quarantineIndex = QuarantineIndex.getInstance();
     }
 
     /**
@@ -107,8 +110,8 @@ public final class MetadataManager {
      */
     public final String retrieveKeyNameOfQuarantinedFile(Long fileId) throws MetadataKeyNameRetrievalException {
         try {
-            Properties metadataProperties = loadMetadata();
-            return getKeyNameFromProperties(metadataProperties, fileId);
+            ensureIndexLoaded();
+            return getKeyNameFromIndexValue(quarantineIndex.get(fileId));
         } catch (Exception e) {
             log.debug("Failed to retrieve key name from quarantined file", e);
             throw new MetadataKeyNameRetrievalException(e.getMessage(), e);
@@ -127,103 +130,142 @@ public final class MetadataManager {
      */
     public final List<Long> getFileIdsOfAllQuarantinedFiles() throws MetadataKeyNameRetrievalException {
 
-        List<Long> fileIdList = new LinkedList<>();
         try {
-            Properties metadataProperties = loadMetadata();
-
-            for (String key : metadataProperties.stringPropertyNames()) {
-
-                fileIdList.add(retrieveFileIdFromKeyName(key));
-
+            ensureIndexLoaded();
+            long[] fileIds = quarantineIndex.fileIds();
+            List<Long> fileIdList = new ArrayList<>(fileIds.length);
+            for (long fileId : fileIds) {
+                fileIdList.add(fileId);
             }
-
+            return fileIdList;
         } catch (Exception e) {
             log.debug("Failed to retrieve key name when getting all quarantined files", e);
             throw new MetadataKeyNameRetrievalException(e.getMessage(), e);
         }
+    }
 
-        return fileIdList;
+    /**
+     * Retrieves the metadata of all quarantined files in a single pass over the
+     * in-memory index.
+     *
+     * @return A list of file IDs paired with their key names (without the ".enc"
+     *         extension).
+     * @throws MetadataKeyNameRetrievalException If the index could not be loaded
+     *                                           or an entry has an invalid key
+     *                                           name.
+     */
+    public final List<QuarantineMetadata> getAllQuarantinedFiles() throws MetadataKeyNameRetrievalException {
+        try {
+            ensureIndexLoaded();
+            List<QuarantineMetadata> entries = quarantineIndex.snapshot();
+            List<QuarantineMetadata> result = new ArrayList<>(entries.size());
+            for (QuarantineMetadata entry : entries) {
+                result.add(new QuarantineMetadata(entry.fileId(), getKeyNameFromIndexValue(entry.keyName())));
+            }
+            return result;
+        } catch (Exception e) {
+            log.debug("Failed to retrieve metadata for all quarantined files", e);
+            throw new MetadataKeyNameRetrievalException(e.getMessage(), e);
+        }
     }
 
     /**
-     * Checks if a specific file is quarantined by verifying its ID against
-     * the list of all quarantined files.
+     * Checks if a specific file is quarantined by looking up its ID in the
+     * in-memory quarantine index. This never touches the disk once the index
+     * has been loaded and is cheap enough to call on every cell render.
      *
      * @param fileId The unique identifier of the file to check.
      * @return {@code true} if the file is quarantined, {@code false} otherwise.
      */
     public final boolean isFileQuarantined(long fileId) {
         try {
-            return getFileIdsOfAllQuarantinedFiles().contains(fileId);
-        } catch (MetadataKeyNameRetrievalException e) {
+            ensureIndexLoaded();
+            return quarantineIndex.contains(fileId);
+        } catch (Exception e) {
             log.error("Failed to determine if the file is quarantined due to a metadata parsing error");
             return false;
         }
     }
 
     /**
-     * Loads metadata properties from the metadata file.
+     * Populates the shared quarantine index from the metadata store the first
+     * time it is needed.
      *
-     * @return The loaded Properties object.
-     * @throws Exception If an error occurs while loading the metadata.
+     * @throws Exception If the metadata store could not be read.
      */
-    private final Properties loadMetadata() throws Exception {
-        Properties props = new Properties();
-        File metadataFile = new File(METADATA_FULL_PATH);
-        if (metadataFile.exists()) {
-            try (FileInputStream fis = new FileInputStream(metadataFile)) {
-                props.load(fis);
+    private final void ensureIndexLoaded() throws Exception {
+        if (quarantineIndex.isLoaded()) {
+            return;
+        }
+        synchronized (STORE) {
+            if (quarantineIndex.isLoaded()) {
+                return;
             }
+            List<QuarantineMetadata> entries = STORE.load();
+            quarantineIndex.load(entries);
+            log.debug("Loaded {} quarantined file(s) into the quarantine index", entries.size());
+            compactIfNeeded();
         }
-        return props;
     }
 
     /**
-     * Saves metadata for a quarantined file.
+     * Saves metadata for a quarantined file by appending a record to the
+     * journal and updating the index.
      *
      * @param keyName The name of the key.
      * @param fileId  The ID of the file.
      * @throws Exception If an error occurs while saving the metadata.
      */
     private final void saveMetadata(String keyName, Long fileId) throws Exception {
-        Properties props = loadMetadata();
-        props.setProperty(getFileIdMetadataKey(fileId), keyName);
-
-        try (FileOutputStream fos = new FileOutputStream(METADATA_FULL_PATH)) {
-            props.store(fos, null);
-        } catch (Exception exception) {
-            log.debug("Could not set options in Meta Data file", exception);
-            throw new MetadataSaveException("Failed to save metadata", exception);
+        ensureIndexLoaded();
+        synchronized (STORE) {
+            try {
+                STORE.appendQuarantined(fileId, keyName);
+            } catch (Exception exception) {
+                log.debug("Could not append to the quarantine metadata journal", exception);
+                throw new MetadataSaveException("Failed to save metadata", exception);
+            }
+            quarantineIndex.put(fileId, keyName);
+            compactIfNeeded();
         }
     }
 
     /**
-     * Removes metadata for a quarantined file.
+     * Removes metadata for a quarantined file by appending a record to the
+     * journal and updating the index.
      *
      * @param fileId The ID of the file.
      * @throws Exception If an error occurs while removing the metadata.
      */
     private final void removeMetadata(Long fileId) throws Exception {
-        Properties props = loadMetadata();
-        props.remove(getFileIdMetadataKey(fileId));
-
-        try (FileOutputStream fos = new FileOutputStream(METADATA_FULL_PATH)) {
-            props.store(fos, null);
-        } catch (Exception exception) {
-            log.debug("Failed to remove metadata for quarantined file with id {}\nException {}", fileId, exception);
-            throw new MetadataRemoveException("Failed to remove metadata", exception);
+        ensureIndexLoaded();
+        synchronized (STORE) {
+            try {
+                STORE.appendUnquarantined(fileId);
+            } catch (Exception exception) {
+                log.debug("Failed to remove metadata for quarantined file with id {}\nException {}", fileId, exception);
+                throw new MetadataRemoveException("Failed to remove metadata", exception);
+            }
+            quarantineIndex.remove(fileId);
+            compactIfNeeded();
         }
     }
 
     /**
-     * Constructs the metadata key for a given file ID.
-     *
-     * @param fileId The ID of the file.
-     * @return The metadata key.
+     * Compacts the journal into a new snapshot once it has outgrown the live
+     * state. A failed compaction is logged and retried on the next write; the
+     * journal still holds every record.
      */
-    private final String getFileIdMetadataKey(Long fileId) {
-
-        return String.valueOf(fileId) + FILE_ID_EXTENSION;
+    private final void compactIfNeeded() {
+        if (!STORE.needsCompaction(quarantineIndex.size())) {
+            return;
+        }
+        try {
+            STORE.compact(quarantineIndex.snapshot());
+        } catch (Exception exception) {
+            log.debug("Failed to compact the quarantine metadata journal", exception);
+            log.error("Failed to compact the quarantine metadata journal: {}", exception.getMessage());
+        }
     }
 
     /**
@@ -255,39 +297,17 @@ public final class MetadataManager {
     }
 
     /**
-     * Retrieves the file ID from a given key name by splitting the string based on
-     * the predefined file ID
-     * extension.
+     * Strips the encryption extension from a key name stored in the quarantine
+     * index.
      *
-     * @param keyName The name of the metadata key which includes the file ID as
-     *                part of its string.
-     * @return The extracted file ID as a Long value.
-     * @throws MetadataKeyNameRetrievalException If an error occurs during the
-     *                                           retrieval process, such as invalid
-     *                                           format or parsing errors.
-     */
-    private final Long retrieveFileIdFromKeyName(String keyName) throws MetadataKeyNameRetrievalException {
-        try {
-            String fileIdString = keyName.split(FILE_ID_EXTENSION)[0];
-            return Long.valueOf(fileIdString);
-        } catch (Exception exception) {
-
-            throw new MetadataKeyNameRetrievalException("Could not retrieve file id when splitting up String");
-        }
-    }
-
-    /**
-     * Retrieves the key name from the metadata properties for a given file ID.
-     *
-     * @param metadataProperties The metadata properties object.
-     * @param fileId             The ID of the file.
+     * @param keyNameWithExtension The stored key name, may be null if the file is
+     *                             not quarantined.
      * @return The key name.
-     * @throws MetadataKeyNameRetrievalException If an error occurs while retrieving
-     *                                           the key name.
+     * @throws MetadataKeyNameRetrievalException If the key name is missing or does
+     *                                           not carry the expected extension.
      */
-    private final String getKeyNameFromProperties(Properties metadataProperties, Long fileId)
+    private final String getKeyNameFromIndexValue(String keyNameWithExtension)
             throws MetadataKeyNameRetrievalException {
-        final String keyNameWithExtension = metadataProperties.getProperty(getFileIdMetadataKey(fileId));
         if (keyNameWithExtension == null || !keyNameWithExtension.endsWith(ENC_EXTENSION)) {
             throw new MetadataKeyNameRetrievalException(
                     "Failed to retrieve key name from metadata file due to extensions errors");
@@ -0,0 +1,137 @@
+package org.pwss.metadata;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.pwss.data_structure.LongObjectMap;
+import org.pwss.model.entity.QuarantineMetadata;
+
+/**
+ * Process-wide, in-memory index of quarantined files.
+ *
+ * The index maps file IDs to the key name (including the ".enc" extension)
+ * returned by the backend when the file was quarantined. It is populated once
+ * from the metadata store by {@link MetadataManager} and then kept up to date in
+ * place on every quarantine and unquarantine, so lookups are O(1) and never
+ * touch the disk. Table models may query it on every cell render.
+ */
+final class QuarantineIndex {
+
+    /**
+     * The single shared index instance.
+     */
+    private static final QuarantineIndex INSTANCE = new QuarantineIndex();
+
+    /**
+     * File ID to key name mapping.
+     */
+    private final LongObjectMap<String> keyNamesByFileId = new LongObjectMap<>();
+
+    /**
+     * Flag indicating whether the index has been populated from disk.
+     */
+    private volatile boolean loaded;
+
+    private QuarantineIndex() {
+    }
+
+    /**
+     * Returns the shared quarantine index.
+     *
+     * @return The process-wide index.
+     */
+    static QuarantineIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether the index has already been populated from disk.
+     *
+     * @return true if the index is loaded, otherwise false.
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replaces the content of the index and marks it as loaded.
+     *
+     * @param entries The entries read from disk.
+     */
+    synchronized void load(List<QuarantineMetadata> entries) {
+        keyNamesByFileId.clear();
+        for (QuarantineMetadata entry : entries) {
+            keyNamesByFileId.put(entry.fileId(), entry.keyName());
+        }
+        loaded = true;
+    }
+
+    /**
+     * Adds or replaces the key name for a quarantined file.
+     *
+     * @param fileId  The ID of the file.
+     * @param keyName The key name including its extension.
+     */
+    synchronized void put(long fileId, String keyName) {
+        keyNamesByFileId.put(fileId, keyName);
+    }
+
+    /**
+     * Removes a file from the index.
+     *
+     * @param fileId The ID of the file.
+     */
+    synchronized void remove(long fileId) {
+        keyNamesByFileId.remove(fileId);
+    }
+
+    /**
+     * Checks if a file is quarantined.
+     *
+     * @param fileId The ID of the file.
+     * @return true if the file is present in the index, otherwise false.
+     */
+    synchronized boolean contains(long fileId) {
+        return keyNamesByFileId.containsKey(fileId);
+    }
+
+    /**
+     * Retrieves the key name of a quarantined file.
+     *
+     * @param fileId The ID of the file.
+     * @return The key name including its extension, or null if the file is not
+     *         quarantined.
+     */
+    synchronized String get(long fileId) {
+        return keyNamesByFileId.get(fileId);
+    }
+
+    /**
+     * Returns the number of quarantined files.
+     *
+     * @return The number of entries in the index.
+     */
+    synchronized int size() {
+        return keyNamesByFileId.size();
+    }
+
+    /**
+     * Returns the IDs of all quarantined files.
+     *
+     * @return A new array holding every quarantined file ID.
+     */
+    synchronized long[] fileIds() {
+        return keyNamesByFileId.keys();
+    }
+
+    /**
+     * Returns a copy of all entries in the index.
+     *
+     * @return A list of file ID and key name pairs.
+     */
+    synchronized List<QuarantineMetadata> snapshot() {
+        List<QuarantineMetadata> result = new ArrayList<>(keyNamesByFileId.size());
+        keyNamesByFileId.forEach((fileId, keyName) -> result.add(new QuarantineMetadata(fileId, keyName)));
+        return result;
+    }
+}
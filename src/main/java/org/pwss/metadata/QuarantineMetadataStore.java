@@ -0,0 +1,375 @@
+package org.pwss.metadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.pwss.data_structure.LongObjectMap;
+import org.pwss.model.entity.QuarantineMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Crash-safe storage engine for quarantine metadata.
+ *
+ * Every quarantine and unquarantine is appended as a single checksummed record
+ * to a journal file and forced to disk, so a write costs O(1) regardless of
+ * how many files are quarantined. The journal is periodically compacted into a
+ * snapshot that is written to a temporary file and moved into place with an
+ * atomic rename, which means the previous snapshot stays intact if the
+ * application dies mid-write. On startup the snapshot is read and the journal
+ * is replayed on top of it; a torn record at the end of the journal (from a
+ * crash during an append) is detected by its checksum and cut off.
+ *
+ * The first time the store is opened, the legacy Properties based
+ * {@code metadata.temp} file is migrated into a snapshot. The legacy file is
+ * left untouched as a backup and is never read again.
+ *
+ * Record format, one per line, fields separated by tabs:
+ * <pre>
+ * Q &lt;fileId&gt; &lt;keyName&gt; &lt;crc32&gt;   (file quarantined)
+ * U &lt;fileId&gt;            &lt;crc32&gt;   (file unquarantined, empty key name)
+ * </pre>
+ * The CRC32 covers everything on the line before the last tab.
+ */
+final class QuarantineMetadataStore {
+
+    /**
+     * Name of the snapshot file holding the compacted state.
+     */
+    static final String SNAPSHOT_FILE = "quarantine.snapshot";
+
+    /**
+     * Name of the append-only journal file.
+     */
+    static final String JOURNAL_FILE = "quarantine.journal";
+
+    /**
+     * Name of the legacy Properties file migrated on first use.
+     */
+    static final String LEGACY_METADATA_FILE = "metadata.temp";
+
+    /**
+     * Extension of the legacy Properties keys that precede the file ID.
+     */
+    private static final String LEGACY_FILE_ID_EXTENSION = ".id";
+
+    /**
+     * Journal length (in records) under which compaction is never triggered.
+     */
+    private static final int MIN_COMPACTION_RECORDS = 512;
+
+    private static final char OP_QUARANTINE = 'Q';
+    private static final char OP_UNQUARANTINE = 'U';
+    private static final char SEPARATOR = '\t';
+    private static final byte NEWLINE = '\n';
+
+    private final Logger log = LoggerFactory.getLogger(QuarantineMetadataStore.class);
+
+    /**
+     * Directory holding the snapshot, journal and legacy files.
+     */
+    private final Path directory;
+
+    /**
+     * Channel used for appending to the journal; opened lazily.
+     */
+    private FileChannel journalChannel;
+
+    /**
+     * Number of records currently in the journal.
+     */
+    private int journalRecords;
+
+    /**
+     * Constructs a store rooted in the given directory.
+     *
+     * @param directory The directory containing the metadata files.
+     */
+    QuarantineMetadataStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Loads the current state by reading the snapshot and replaying the journal.
+     * Migrates the legacy Properties file first if no snapshot exists yet.
+     *
+     * @return All quarantined files with their key names (including extension).
+     * @throws IOException If the files could not be read or repaired.
+     */
+    synchronized List<QuarantineMetadata> load() throws IOException {
+        Files.createDirectories(directory);
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path journal = directory.resolve(JOURNAL_FILE);
+
+        if (!Files.exists(snapshot)) {
+            migrateLegacyMetadata();
+        }
+
+        LongObjectMap<String> state = new LongObjectMap<>();
+        replay(snapshot, state, false);
+        journalRecords = replay(journal, state, true);
+
+        List<QuarantineMetadata> entries = new ArrayList<>(state.size());
+        state.forEach((fileId, keyName) -> entries.add(new QuarantineMetadata(fileId, keyName)));
+        log.debug("Replayed quarantine metadata: {} entries, {} journal records", entries.size(), journalRecords);
+        return entries;
+    }
+
+    /**
+     * Appends a quarantine record to the journal and forces it to disk.
+     *
+     * @param fileId  The ID of the quarantined file.
+     * @param keyName The key name (including extension) returned by the backend.
+     * @throws IOException If the record could not be written.
+     */
+    synchronized void appendQuarantined(long fileId, String keyName) throws IOException {
+        if (keyName.indexOf(SEPARATOR) >= 0 || keyName.indexOf('\n') >= 0 || keyName.indexOf('\r') >= 0) {
+            throw new IOException("Key name contains characters that cannot be journaled");
+        }
+        append(encode(OP_QUARANTINE, fileId, keyName));
+    }
+
+    /**
+     * Appends an unquarantine record to the journal and forces it to disk.
+     *
+     * @param fileId The ID of the unquarantined file.
+     * @throws IOException If the record could not be written.
+     */
+    synchronized void appendUnquarantined(long fileId) throws IOException {
+        append(encode(OP_UNQUARANTINE, fileId, ""));
+    }
+
+    /**
+     * Checks whether the journal has grown large enough, relative to the number
+     * of live entries, to be worth compacting.
+     *
+     * @param liveEntries The number of currently quarantined files.
+     * @return true if {@link #compact(List)} should be called.
+     */
+    synchronized boolean needsCompaction(int liveEntries) {
+        return journalRecords > Math.max(MIN_COMPACTION_RECORDS, liveEntries);
+    }
+
+    /**
+     * Writes the given state as a new snapshot using an atomic rename and then
+     * truncates the journal. If the process dies before the journal is
+     * truncated, replaying it on top of the new snapshot yields the same state.
+     *
+     * @param entries The complete current state.
+     * @throws IOException If the snapshot could not be written.
+     */
+    synchronized void compact(List<QuarantineMetadata> entries) throws IOException {
+        writeSnapshot(entries);
+        closeJournal();
+        try (FileChannel channel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.force(true);
+        }
+        log.debug("Compacted {} journal records into a snapshot of {} entries", journalRecords, entries.size());
+        journalRecords = 0;
+    }
+
+    /**
+     * Closes the journal channel if it is open.
+     */
+    synchronized void close() {
+        closeJournal();
+    }
+
+    private void append(byte[] record) throws IOException {
+        if (journalChannel == null) {
+            journalChannel = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            journalChannel.write(buffer);
+        }
+        journalChannel.force(false);
+        journalRecords++;
+    }
+
+    private void closeJournal() {
+        if (journalChannel != null) {
+            try {
+                journalChannel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close quarantine journal", e);
+            }
+            journalChannel = null;
+        }
+    }
+
+    /**
+     * Applies every valid record in a file to the given state.
+     *
+     * @param file      The snapshot or journal file.
+     * @param state     The state to update.
+     * @param truncate  Whether a torn tail should be cut off the file.
+     * @return The number of records applied.
+     * @throws IOException If the file could not be read or truncated.
+     */
+    private int replay(Path file, LongObjectMap<String> state, boolean truncate) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        byte[] data = Files.readAllBytes(file);
+        int records = 0;
+        int start = 0;
+        while (start < data.length) {
+            int end = indexOf(data, NEWLINE, start);
+            if (end < 0 || !apply(data, start, end, state)) {
+                break;
+            }
+            records++;
+            start = end + 1;
+        }
+
+        if (start < data.length) {
+            log.warn("Discarding {} bytes of damaged quarantine metadata in {}", data.length - start,
+                    file.getFileName());
+            if (truncate) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(start);
+                    channel.force(true);
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Parses and applies a single record.
+     *
+     * @return false if the record is malformed or fails its checksum.
+     */
+    private boolean apply(byte[] data, int start, int end, LongObjectMap<String> state) {
+        int crcSeparator = lastIndexOf(data, (byte) SEPARATOR, start, end);
+        if (crcSeparator < 0) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, start, crcSeparator - start);
+        long expected;
+        try {
+            expected = Long.parseLong(new String(data, crcSeparator + 1, end - crcSeparator - 1,
+                    StandardCharsets.US_ASCII), 16);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (crc.getValue() != expected) {
+            return false;
+        }
+
+        String body = new String(data, start, crcSeparator - start, StandardCharsets.UTF_8);
+        int idStart = body.indexOf(SEPARATOR);
+        int idEnd = body.indexOf(SEPARATOR, idStart + 1);
+        if (idStart != 1 || idEnd < 0) {
+            return false;
+        }
+        long fileId;
+        try {
+            fileId = Long.parseLong(body, idStart + 1, idEnd, 10);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        switch (body.charAt(0)) {
+            case OP_QUARANTINE -> state.put(fileId, body.substring(idEnd + 1));
+            case OP_UNQUARANTINE -> state.remove(fileId);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] encode(char op, long fileId, String keyName) {
+        String body = op + String.valueOf(SEPARATOR) + fileId + SEPARATOR + keyName;
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes);
+        byte[] trailer = (SEPARATOR + Long.toHexString(crc.getValue()) + "\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] record = new byte[bodyBytes.length + trailer.length];
+        System.arraycopy(bodyBytes, 0, record, 0, bodyBytes.length);
+        System.arraycopy(trailer, 0, record, bodyBytes.length, trailer.length);
+        return record;
+    }
+
+    private void writeSnapshot(List<QuarantineMetadata> entries) throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (QuarantineMetadata entry : entries) {
+                ByteBuffer buffer = ByteBuffer.wrap(encode(OP_QUARANTINE, entry.fileId(), entry.keyName()));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.debug("Atomic move not supported, falling back to a plain replace", e);
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Converts the legacy Properties file into the first snapshot. An empty
+     * snapshot is written when there is nothing to migrate so the migration is
+     * only ever attempted once.
+     */
+    private void migrateLegacyMetadata() throws IOException {
+        Path legacy = directory.resolve(LEGACY_METADATA_FILE);
+        List<QuarantineMetadata> entries = new ArrayList<>();
+        if (Files.exists(legacy)) {
+            Properties props = new Properties();
+            try (InputStream input = Files.newInputStream(legacy)) {
+                props.load(input);
+            }
+            for (String key : props.stringPropertyNames()) {
+                try {
+                    long fileId = Long.parseLong(key.split(LEGACY_FILE_ID_EXTENSION)[0]);
+                    entries.add(new QuarantineMetadata(fileId, props.getProperty(key)));
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping unparsable legacy quarantine metadata key {}", key);
+                }
+            }
+            log.info("Migrating {} quarantined file(s) from {}", entries.size(), LEGACY_METADATA_FILE);
+        }
+        writeSnapshot(entries);
+    }
+
+    private static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] data, byte value, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -2,6 +2,9 @@ package org.pwss.model.entity;
 
 /**
  * Represents a checksum entity with various checksum algorithms.
+ * <p>
+ * The checksums are held as raw {@link Digest}s rather than hex strings and
+ * are only rendered as hex when displayed.
  *
  * @param id              the unique identifier of the checksum
  * @param file            the associated file entity
@@ -9,5 +12,5 @@ package org.pwss.model.entity;
  * @param checksumSha3    the SHA-3 checksum value
  * @param checksumBlake2b the BLAKE2b checksum value
  */
-public record Checksum(long id, File file, String checksumSha256, String checksumSha3, String checksumBlake2b) {
+public record Checksum(long id, File file, Digest checksumSha256, Digest checksumSha3, Digest checksumBlake2b) {
 }
@@ -0,0 +1,236 @@
+package org.pwss.model.entity;
+
+import java.util.Arrays;
+
+/**
+ * An immutable message digest stored as its raw bytes.
+ * <p>
+ * The bytes are packed big-endian into {@code long} words: the first 32 bytes,
+ * which hold a complete SHA-256 or SHA3-256 digest, live in four fields and
+ * only longer digests such as BLAKE2b-512 spill into an extra array. A 32-byte
+ * digest therefore takes a single small object instead of a 64-character hex
+ * String, and digests are compared word by word. The hex form is only rendered
+ * when it is asked for.
+ *
+ * @author PWSS ORG
+ */
+public final class Digest {
+
+    /**
+     * The number of bytes stored in the word fields.
+     */
+    private static final int INLINE_BYTES = 4 * Long.BYTES;
+
+    /**
+     * The hex digits, indexed by nibble value.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The length of the digest in bytes.
+     */
+    private final int length;
+    /**
+     * Bytes 0 to 7 of the digest.
+     */
+    private final long w0;
+    /**
+     * Bytes 8 to 15 of the digest.
+     */
+    private final long w1;
+    /**
+     * Bytes 16 to 23 of the digest.
+     */
+    private final long w2;
+    /**
+     * Bytes 24 to 31 of the digest.
+     */
+    private final long w3;
+    /**
+     * The words holding the bytes past the first 32, or null if there are none.
+     */
+    private final long[] rest;
+
+    /**
+     * Creates a digest from its packed words.
+     *
+     * @param length The length of the digest in bytes.
+     * @param words  The packed words, with unused trailing bits set to zero.
+     */
+    private Digest(int length, long[] words) {
+        this.length = length;
+        this.w0 = word(words, 0);
+        this.w1 = word(words, 1);
+        this.w2 = word(words, 2);
+        this.w3 = word(words, 3);
+        this.rest = words.length > 4 ? Arrays.copyOfRange(words, 4, words.length) : null;
+    }
+
+    /**
+     * Creates a digest holding a copy of the given bytes.
+     *
+     * @param bytes The raw digest bytes.
+     * @return The digest.
+     */
+    public static Digest of(byte[] bytes) {
+        long[] words = new long[wordCount(bytes.length)];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i / Long.BYTES] |= (bytes[i] & 0xFFL) << shift(i);
+        }
+        return new Digest(bytes.length, words);
+    }
+
+    /**
+     * Parses a digest from its hex representation. Upper and lower case digits are accepted.
+     *
+     * @param hex The hex representation, two digits per byte.
+     * @return The digest.
+     * @throws IllegalArgumentException If the string has an odd length or holds a non-hex character.
+     */
+    public static Digest fromHex(CharSequence hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Hex digest has an odd number of digits: " + hex.length());
+        }
+        int length = hex.length() / 2;
+        long[] words = new long[wordCount(length)];
+        for (int i = 0; i < length; i++) {
+            long value = (long) nibble(hex, 2 * i) << 4 | nibble(hex, 2 * i + 1);
+            words[i / Long.BYTES] |= value << shift(i);
+        }
+        return new Digest(length, words);
+    }
+
+    /**
+     * Returns the length of the digest.
+     *
+     * @return The length in bytes.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns a copy of the raw digest bytes.
+     *
+     * @return The digest bytes.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = byteAt(i);
+        }
+        return bytes;
+    }
+
+    /**
+     * Renders the digest as lower case hex.
+     *
+     * @return The hex representation, two digits per byte.
+     */
+    public String toHex() {
+        return appendHex(new StringBuilder(2 * length)).toString();
+    }
+
+    /**
+     * Appends the lower case hex representation of the digest to a builder,
+     * without creating an intermediate String.
+     *
+     * @param sb The builder to append to.
+     * @return The given builder.
+     */
+    public StringBuilder appendHex(StringBuilder sb) {
+        for (int i = 0; i < length; i++) {
+            int value = byteAt(i) & 0xFF;
+            sb.append(HEX_DIGITS[value >>> 4]).append(HEX_DIGITS[value & 0x0F]);
+        }
+        return sb;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Digest other)) {
+            return false;
+        }
+        return length == other.length && w0 == other.w0 && w1 == other.w1 && w2 == other.w2 && w3 == other.w3
+                && Arrays.equals(rest, other.rest);
+    }
+
+    @Override
+    public int hashCode() {
+        // Digest bits are uniformly distributed, so the first word hashes as well as all of them
+        return Long.hashCode(w0) * 31 + length;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    /**
+     * Returns the byte at the given index.
+     *
+     * @param index The index of the byte.
+     * @return The byte.
+     */
+    private byte byteAt(int index) {
+        int wordIndex = index / Long.BYTES;
+        long word = switch (wordIndex) {
+            case 0 -> w0;
+            case 1 -> w1;
+            case 2 -> w2;
+            case 3 -> w3;
+            default -> rest[wordIndex - 4];
+        };
+        return (byte) (word >>> shift(index));
+    }
+
+    /**
+     * Returns the number of words needed to hold the given number of bytes.
+     *
+     * @param length The number of bytes.
+     * @return The number of words, at least four.
+     */
+    private static int wordCount(int length) {
+        return Math.max(INLINE_BYTES, length + Long.BYTES - 1) / Long.BYTES;
+    }
+
+    /**
+     * Returns the shift of a byte within its big-endian word.
+     *
+     * @param index The index of the byte.
+     * @return The number of bits to shift by.
+     */
+    private static int shift(int index) {
+        return (Long.BYTES - 1 - index % Long.BYTES) * Byte.SIZE;
+    }
+
+    /**
+     * Returns the word at the given index, or zero if there is none.
+     *
+     * @param words The words.
+     * @param index The index of the word.
+     * @return The word.
+     */
+    private static long word(long[] words, int index) {
+        return index < words.length ? words[index] : 0L;
+    }
+
+    /**
+     * Parses a hex digit.
+     *
+     * @param hex   The hex string.
+     * @param index The index of the digit.
+     * @return The value of the digit.
+     * @throws IllegalArgumentException If the character is not a hex digit.
+     */
+    private static int nibble(CharSequence hex, int index) {
+        int value = Character.digit(hex.charAt(index), 16);
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid hex digit '" + hex.charAt(index) + "' at index " + index);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package org.pwss.model.livefeed;
+
+import java.util.Arrays;
+
+/**
+ * Running counts of the live feed entries of a scan, by kind.
+ * Instances are confined to the thread parsing the live feed.
+ */
+public final class LiveFeedCounters {
+
+    /**
+     * The number of entries of each kind, indexed by the ordinal of the kind.
+     */
+    private final long[] counts = new long[LiveFeedEvent.Type.values().length];
+
+    /**
+     * Counts an entry.
+     *
+     * @param type The kind of the entry.
+     */
+    public void increment(LiveFeedEvent.Type type) {
+        counts[type.ordinal()]++;
+    }
+
+    /**
+     * Returns the number of entries of a kind.
+     *
+     * @param type The kind of entries.
+     * @return The number of entries counted.
+     */
+    public long get(LiveFeedEvent.Type type) {
+        return counts[type.ordinal()];
+    }
+
+    /**
+     * Returns the number of files reported, checked, different or skipped.
+     *
+     * @return The number of file entries counted.
+     */
+    public long files() {
+        return get(LiveFeedEvent.Type.FILE_OK) + get(LiveFeedEvent.Type.INTEGRITY_WARNING)
+                + get(LiveFeedEvent.Type.FILE_TOO_BIG);
+    }
+
+    /**
+     * Returns the number of entries of all kinds.
+     *
+     * @return The number of entries counted.
+     */
+    public long total() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Resets all counts to zero, for the next scan.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+    }
+}
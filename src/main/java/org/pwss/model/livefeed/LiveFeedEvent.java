@@ -0,0 +1,56 @@
+package org.pwss.model.livefeed;
+
+/**
+ * A single entry of the scan live feed, classified by what it reports.
+ * <p>
+ * The text is a view of the raw live feed update the entry was read from, trimmed
+ * of surrounding whitespace, rather than a copy of it.
+ *
+ * @param type The kind of entry.
+ * @param text The display text of the entry.
+ */
+public record LiveFeedEvent(Type type, CharSequence text) {
+
+    /**
+     * The kinds of live feed entries.
+     */
+    public enum Type {
+        /**
+         * A file matched its baseline, the entry ends with a check mark.
+         */
+        FILE_OK,
+        /**
+         * A file differs from its baseline, the entry ends with a warning sign.
+         */
+        INTEGRITY_WARNING,
+        /**
+         * A file was skipped because it is bigger than the maximum size to hash.
+         */
+        FILE_TOO_BIG,
+        /**
+         * A message about the establishment of a baseline.
+         */
+        BASELINE,
+        /**
+         * The scan of a directory has started.
+         */
+        DIRECTORY_STARTED,
+        /**
+         * The scan of a directory has finished.
+         */
+        DIRECTORY_FINISHED,
+        /**
+         * Any other message.
+         */
+        MESSAGE
+    }
+
+    /**
+     * Returns whether the entry reports a difference from the baseline.
+     *
+     * @return true if the entry is an integrity warning.
+     */
+    public boolean isWarning() {
+        return type == Type.INTEGRITY_WARNING;
+    }
+}
@@ -0,0 +1,201 @@
+package org.pwss.model.livefeed;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Estimates the progress of a running scan from the files reported by its live feed.
+ * <p>
+ * The size of the scan is estimated from the previous scans of the scanned
+ * directories, which is all a scan is known to cover before it ends. The file
+ * rate is an exponentially weighted moving average, sampled at most once per
+ * sample interval and weighted by the time elapsed, so a burst of live feed
+ * entries and a long pause hashing a large file both move it smoothly. The byte
+ * rate follows from the file rate and the average file size of the previous scans.
+ * This class is thread safe.
+ */
+public final class ScanProgressEstimator {
+
+    /**
+     * The default time constant of the moving average, the rate forgets older samples over about this long.
+     */
+    public static final Duration DEFAULT_SMOOTHING = Duration.ofSeconds(10);
+
+    /**
+     * The shortest time between two samples of the rate.
+     */
+    private static final long SAMPLE_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    /**
+     * The expected size of a scan.
+     *
+     * @param files The number of files, zero if unknown.
+     * @param bytes The total size of the files in bytes, zero if unknown.
+     */
+    public record ScanSize(long files, long bytes) {
+        /**
+         * The size of a scan with no previous scan to estimate it from.
+         */
+        public static final ScanSize UNKNOWN = new ScanSize(0, 0);
+
+        /**
+         * Returns whether the size is known.
+         *
+         * @return true if the number of files is known.
+         */
+        public boolean isKnown() {
+            return files > 0;
+        }
+    }
+
+    /**
+     * The progress of a scan.
+     *
+     * @param completedFiles The number of files the scan has reported.
+     * @param estimatedFiles The number of files the scan is expected to report, zero if unknown.
+     * @param filesPerSecond The smoothed file rate.
+     * @param bytesPerSecond The smoothed byte rate, zero if the size of the files is unknown.
+     * @param eta            The estimated remaining time, or null if it cannot be estimated yet.
+     * @param elapsed        The time since the scan started.
+     */
+    public record Progress(long completedFiles, long estimatedFiles, double filesPerSecond, double bytesPerSecond,
+            Duration eta, Duration elapsed) {
+        /**
+         * Returns the completed fraction of the scan.
+         *
+         * @return The fraction between 0 and 1, or -1 if the size of the scan is unknown.
+         */
+        public double fraction() {
+            return estimatedFiles > 0 ? Math.min(1.0, (double) completedFiles / estimatedFiles) : -1;
+        }
+    }
+
+    /**
+     * The time constant of the moving average, in nanoseconds.
+     */
+    private final double smoothingNanos;
+    /**
+     * The clock timing the scan, in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+
+    /**
+     * The expected size of the scan.
+     */
+    private ScanSize size = ScanSize.UNKNOWN;
+    /**
+     * The time the scan started.
+     */
+    private long startTime;
+    /**
+     * The number of files reported so far.
+     */
+    private long completedFiles;
+    /**
+     * The time of the latest sample of the rate.
+     */
+    private long sampleTime;
+    /**
+     * The number of files reported at the latest sample of the rate.
+     */
+    private long sampleFiles;
+    /**
+     * The smoothed file rate, in files per nanosecond, or -1 before the first sample.
+     */
+    private double rate = -1;
+
+    /**
+     * Creates an estimator with the default smoothing.
+     */
+    public ScanProgressEstimator() {
+        this(DEFAULT_SMOOTHING, System::nanoTime);
+    }
+
+    /**
+     * Creates an estimator.
+     *
+     * @param smoothing The time constant of the moving average of the rate.
+     * @param nanoClock The clock timing the scan, in nanoseconds.
+     */
+    public ScanProgressEstimator(Duration smoothing, LongSupplier nanoClock) {
+        if (smoothing.isNegative() || smoothing.isZero()) {
+            throw new IllegalArgumentException("Invalid smoothing: " + smoothing);
+        }
+        this.smoothingNanos = smoothing.toNanos();
+        this.nanoClock = nanoClock;
+        start();
+    }
+
+    /**
+     * Starts estimating a new scan of unknown size.
+     */
+    public synchronized void start() {
+        size = ScanSize.UNKNOWN;
+        startTime = nanoClock.getAsLong();
+        completedFiles = 0;
+        sampleTime = startTime;
+        sampleFiles = 0;
+        rate = -1;
+    }
+
+    /**
+     * Sets the expected size of the scan, once it has been estimated.
+     *
+     * @param size The expected size.
+     */
+    public synchronized void setScanSize(ScanSize size) {
+        this.size = size;
+    }
+
+    /**
+     * Records files reported by the live feed.
+     *
+     * @param files The number of files reported.
+     */
+    public synchronized void onFilesCompleted(long files) {
+        completedFiles += files;
+        sample(nanoClock.getAsLong());
+    }
+
+    /**
+     * Returns the current progress of the scan.
+     *
+     * @return The progress.
+     */
+    public synchronized Progress progress() {
+        long now = nanoClock.getAsLong();
+        sample(now);
+        double filesPerNano = Math.max(rate, 0);
+        double bytesPerFile = size.isKnown() ? (double) size.bytes() / size.files() : 0;
+
+        Duration eta = null;
+        if (size.isKnown() && filesPerNano > 0) {
+            long remaining = Math.max(0, size.files() - completedFiles);
+            eta = Duration.ofNanos((long) (remaining / filesPerNano));
+        }
+        return new Progress(completedFiles, size.files(), filesPerNano * 1e9, filesPerNano * 1e9 * bytesPerFile, eta,
+                Duration.ofNanos(now - startTime));
+    }
+
+    /**
+     * Folds the files reported since the latest sample into the moving average, once a sample interval has passed.
+     *
+     * @param now The current time.
+     */
+    private void sample(long now) {
+        long elapsed = now - sampleTime;
+        if (elapsed < SAMPLE_INTERVAL_NANOS) {
+            return;
+        }
+        double instantRate = (double) (completedFiles - sampleFiles) / elapsed;
+        if (rate < 0) {
+            rate = instantRate;
+        } else {
+            // Weigh the sample by the time it covers, so irregular updates smooth the same way
+            double alpha = 1 - Math.exp(-elapsed / smoothingNanos);
+            rate += alpha * (instantRate - rate);
+        }
+        sampleTime = now;
+        sampleFiles = completedFiles;
+    }
+}
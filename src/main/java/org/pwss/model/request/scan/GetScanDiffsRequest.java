@@ -1,4 +1,8 @@
 package org.pwss.model.request.scan;
 
-public record GetScanDiffsRequest(long scanId, long limit, String sortField, boolean ascending) {
+public record GetScanDiffsRequest(long scanId, long limit, String sortField, boolean ascending, long offset) {
+
+    public GetScanDiffsRequest(long scanId, long limit, String sortField, boolean ascending) {
+        this(scanId, limit, sortField, ascending, 0L);
+    }
 }
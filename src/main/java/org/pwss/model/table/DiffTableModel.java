@@ -1,57 +1,204 @@
 package org.pwss.model.table;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.table.AbstractTableModel;
 import org.pwss.metadata.MetadataManager;
 import org.pwss.model.entity.Diff;
+import org.slf4j.LoggerFactory;
 
 /**
  * The DiffTableModel is a model for a table that displays differences (diffs)
  * between file states.
  * It extends AbstractTableModel and provides data to the JTable component in a
  * Swing application.
+ * <p>
+ * The model is virtualized: it only knows the diff count of each scan up front
+ * and fetches the diffs in fixed size pages, on demand, as rows are rendered.
+ * Pages are fetched off the Event Dispatch Thread and at most a bounded number
+ * of pages is kept in memory, least recently used pages being evicted first.
+ * Rows whose page is not loaded yet are rendered as a placeholder. A page whose
+ * fetch failed is rendered as such and fetched again after a delay. A page
+ * holding fewer diffs than announced by the diff count removes the missing rows.
+ * <p>
+ * All methods must be called on the Event Dispatch Thread.
  */
 public class DiffTableModel extends AbstractTableModel {
-    private final List<Diff> data;
-    private final MetadataManager metadataManager;
+    /**
+     * Number of diffs fetched per page request.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    /**
+     * Maximum number of pages kept in memory at once.
+     */
+    public static final int DEFAULT_MAX_CACHED_PAGES = 8;
+    /**
+     * Text shown in the first column of a row whose page is still loading.
+     */
+    private static final String LOADING_TEXT = "Loading…";
+    /**
+     * Text shown in the first column of a row whose page could not be fetched.
+     */
+    private static final String FAILED_TEXT = "Failed to load, retrying…";
+    /**
+     * Delay in milliseconds before a page whose fetch failed is fetched again.
+     */
+    private static final int FAILED_PAGE_RETRY_DELAY_MS = 5000;
+    /**
+     * Executor shared by all diff table models for fetching pages, one virtual
+     * thread per page request.
+     */
+    private static final ExecutorService PAGE_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     public static final String[] columns = { "\uD83D\uDDCE File Path", "\uD83D\uDD8A️ Modified", "⚠️ Detected",
             "👮 Quarantine" };
 
     /**
-     * Constructs a new DiffTableModel with the provided list of Diff objects.
-     * Filters the data to ensure only unique entries are included based on the file ID.
+     * Fetches a window of the diffs of a scan. Called off the Event Dispatch Thread.
+     */
+    @FunctionalInterface
+    public interface DiffPageLoader {
+        /**
+         * Loads a page of diffs.
+         *
+         * @param scanId The ID of the scan.
+         * @param offset The number of diffs to skip.
+         * @param limit  The maximum number of diffs to return.
+         * @return The diffs of the requested window.
+         * @throws Exception If the diffs could not be fetched.
+         */
+        List<Diff> loadPage(long scanId, long offset, int limit) throws Exception;
+    }
+
+    /**
+     * A scan whose diffs are shown in the table.
+     *
+     * @param scanId    The ID of the scan.
+     * @param diffCount The number of diffs found by the scan.
+     */
+    public record ScanDiffSource(long scanId, int diffCount) {
+    }
+
+    /**
+     * Logger for logging page load failures.
+     */
+    private final org.slf4j.Logger log = LoggerFactory.getLogger(DiffTableModel.class);
+    /**
+     * Metadata manager backed by the shared quarantine index, so the quarantine
+     * column can be rendered without touching the disk.
+     */
+    private final MetadataManager metadataManager;
+    /**
+     * The scans shown in the table, in display order. Scans without diffs are left out.
+     */
+    private final List<ScanDiffSource> sources;
+    /**
+     * The number of rows of each source, lowered when a page turns out to be short.
+     */
+    private final int[] rowsOfSource;
+    /**
+     * The first table row of each source.
+     */
+    private final int[] firstRowOfSource;
+    /**
+     * The total number of rows.
+     */
+    private int rowCount;
+    /**
+     * The number of diffs per page.
+     */
+    private final int pageSize;
+    /**
+     * The loader fetching pages from the backend.
+     */
+    private final DiffPageLoader loader;
+    /**
+     * Loaded pages keyed by source and page index, in access order.
+     */
+    private final Map<Long, List<Diff>> pages;
+    /**
+     * Keys of the pages currently being fetched.
+     */
+    private final Set<Long> pendingPages = new HashSet<>();
+    /**
+     * Keys of the pages whose fetch failed, with the {@link System#nanoTime()} after which they are fetched again.
+     */
+    private final Map<Long, Long> failedPages = new HashMap<>();
+    /**
+     * Flag indicating whether the model has been replaced and should stop fetching.
+     */
+    private volatile boolean disposed;
+
+    /**
+     * Constructs a new DiffTableModel showing the diffs of the given scans with
+     * the default page size and cache bound.
      *
-     * @param data The list of Diff objects to be displayed in the table.
+     * @param sources The scans to show, with their diff counts, in display order.
+     * @param loader  The loader fetching pages of diffs.
      */
-    public DiffTableModel(List<Diff> data) {
-        this.data = data.stream()
-                .filter(distinctByKey(diff -> diff.integrityFail().file().id()))
-                .toList();
+    public DiffTableModel(List<ScanDiffSource> sources, DiffPageLoader loader) {
+        this(sources, loader, DEFAULT_PAGE_SIZE, DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    /**
+     * Constructs a new DiffTableModel showing the diffs of the given scans.
+     *
+     * @param sources        The scans to show, with their diff counts, in display order.
+     * @param loader         The loader fetching pages of diffs.
+     * @param pageSize       The number of diffs fetched per page.
+     * @param maxCachedPages The maximum number of pages kept in memory.
+     */
+    public DiffTableModel(List<ScanDiffSource> sources, DiffPageLoader loader, int pageSize, int maxCachedPages) {
+        if (pageSize < 1 || maxCachedPages < 1) {
+            throw new IllegalArgumentException("Page size and cached page count must be at least 1");
+        }
+        this.sources = sources.stream().filter(source -> source.diffCount() > 0).toList();
+        this.rowsOfSource = this.sources.stream().mapToInt(ScanDiffSource::diffCount).toArray();
+        this.firstRowOfSource = new int[this.sources.size()];
+        computeFirstRows();
+        this.pageSize = pageSize;
+        this.loader = loader;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Diff>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
         this.metadataManager = new MetadataManager();
     }
 
     /**
-     * Returns a filter that only allows unique elements, based on a property from each item.
+     * Creates a model without any rows.
      *
-     * @param <T> The type of items to filter.
-     * @param keyExtractor A function to get the property used for checking uniqueness.
-     * @return A filter that returns true for the first time it sees a property value, false after.
+     * @return An empty DiffTableModel.
      */
-    private <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
-        Set<Object> seen = ConcurrentHashMap.newKeySet();
-        return t -> seen.add(keyExtractor.apply(t));
+    public static DiffTableModel empty() {
+        return new DiffTableModel(List.of(), (scanId, offset, limit) -> List.of());
+    }
+
+    /**
+     * Stops the model from fetching further pages. Called when the model is
+     * replaced, so pages still in flight are dropped.
+     */
+    public void dispose() {
+        disposed = true;
+        pages.clear();
     }
 
     @Override
     public int getRowCount() {
-        return data.size();
+        return rowCount;
     }
 
     @Override
@@ -74,7 +221,13 @@ public class DiffTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        final Diff diff = data.get(rowIndex);
+        final Diff diff = diffAt(rowIndex);
+        if (diff == null) {
+            if (columnIndex != 0) {
+                return null;
+            }
+            return isPageFailed(rowIndex) ? FAILED_TEXT : LOADING_TEXT;
+        }
         final long fileId = diff.integrityFail().file().id();
 
         return switch (columnIndex) {
@@ -94,12 +247,12 @@ public class DiffTableModel extends AbstractTableModel {
             return false;
         }
 
-        // Get the diff safely and set cell editable only if the file is not already
-        // quarantined
+        // Get the diff safely and set cell editable only if it is loaded and the
+        // file is not already quarantined
         return getDiffAt(rowIndex)
                 .map(Diff::integrityFail)
                 .map(fail -> !metadataManager.isFileQuarantined(fail.file().id()))
-                .orElse(true);
+                .orElse(false);
     }
 
     /**
@@ -107,12 +260,197 @@ public class DiffTableModel extends AbstractTableModel {
      *
      * @param rowIndex the index of the row in the table.
      * @return an Optional containing the Diff object at the specified row index,
-     *         or an empty Optional if the index is out of bounds.
+     *         or an empty Optional if the index is out of bounds or its page has
+     *         not been loaded yet. A missing page is fetched in the background.
      */
     public Optional<Diff> getDiffAt(int rowIndex) {
-        if (rowIndex >= 0 && rowIndex < data.size()) {
-            return Optional.of(data.get(rowIndex));
+        return Optional.ofNullable(diffAt(rowIndex));
+    }
+
+    /**
+     * Looks up the diff of a row, requesting its page if it is not in memory.
+     *
+     * @param rowIndex the index of the row in the table.
+     * @return the diff, or null if the row is out of bounds or not loaded yet.
+     */
+    private Diff diffAt(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            return null;
+        }
+        final int sourceIndex = sourceIndexOf(rowIndex);
+        final int rowInSource = rowIndex - firstRowOfSource[sourceIndex];
+        final int pageIndex = rowInSource / pageSize;
+        final long key = pageKey(sourceIndex, pageIndex);
+
+        List<Diff> page = pages.get(key);
+        if (page == null) {
+            requestPage(sourceIndex, pageIndex, key);
+            return null;
+        }
+        final int indexInPage = rowInSource % pageSize;
+        return indexInPage < page.size() ? page.get(indexInPage) : null;
+    }
+
+    /**
+     * Checks whether the page of a row could not be fetched and is waiting to be fetched again.
+     *
+     * @param rowIndex the index of the row in the table.
+     * @return true if the fetch of the page failed.
+     */
+    private boolean isPageFailed(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            return false;
+        }
+        final int sourceIndex = sourceIndexOf(rowIndex);
+        final int pageIndex = (rowIndex - firstRowOfSource[sourceIndex]) / pageSize;
+        return failedPages.containsKey(pageKey(sourceIndex, pageIndex));
+    }
+
+    /**
+     * Fetches a page in the background unless it is already being fetched or its
+     * fetch has failed less than {@link #FAILED_PAGE_RETRY_DELAY_MS} ago. The rows
+     * of the page are repainted once it arrives.
+     *
+     * @param sourceIndex the index of the source the page belongs to
+     * @param pageIndex   the index of the page within the source
+     * @param key         the key of the page
+     */
+    private void requestPage(int sourceIndex, int pageIndex, long key) {
+        if (disposed || pendingPages.contains(key)) {
+            return;
+        }
+        final Long retryAt = failedPages.get(key);
+        if (retryAt != null && System.nanoTime() - retryAt < 0) {
+            return;
         }
-        return Optional.empty();
+        pendingPages.add(key);
+        final ScanDiffSource source = sources.get(sourceIndex);
+        final long offset = (long) pageIndex * pageSize;
+        final int limit = (int) Math.min(pageSize, rowsOfSource[sourceIndex] - offset);
+
+        PAGE_EXECUTOR.execute(() -> {
+            List<Diff> loaded = null;
+            Exception failure = null;
+            try {
+                loaded = loader.loadPage(source.scanId(), offset, limit);
+            } catch (Exception e) {
+                failure = e;
+            }
+            final List<Diff> page = loaded;
+            final Exception pageFailure = failure;
+            SwingUtilities.invokeLater(() -> {
+                pendingPages.remove(key);
+                // The source may have shrunk while the page was in flight
+                if (disposed || offset >= rowsOfSource[sourceIndex]) {
+                    return;
+                }
+                final int firstRow = firstRowOfSource[sourceIndex] + (int) offset;
+                if (pageFailure != null) {
+                    log.error("Failed to load diffs of scan {} from offset {}: {}", source.scanId(), offset,
+                            pageFailure.getMessage());
+                    log.debug("Failed to load diff page", pageFailure);
+                    failedPages.put(key, System.nanoTime() + FAILED_PAGE_RETRY_DELAY_MS * 1_000_000L);
+                    fireTableRowsUpdated(firstRow, firstRow + limit - 1);
+                    scheduleRetry(sourceIndex, offset, limit);
+                    return;
+                }
+                failedPages.remove(key);
+                final List<Diff> rows = page.size() > limit ? List.copyOf(page.subList(0, limit)) : page;
+                pages.put(key, rows);
+                if (!rows.isEmpty()) {
+                    fireTableRowsUpdated(firstRow, firstRow + rows.size() - 1);
+                }
+                if (rows.size() < limit) {
+                    removeMissingRows(sourceIndex, (int) offset + rows.size());
+                }
+            });
+        });
+    }
+
+    /**
+     * Repaints the rows of a failed page once it may be fetched again, so the
+     * visible rows request it again.
+     *
+     * @param sourceIndex the index of the source the page belongs to
+     * @param offset      the offset of the page within the source
+     * @param limit       the number of rows of the page
+     */
+    private void scheduleRetry(int sourceIndex, long offset, int limit) {
+        final Timer retry = new Timer(FAILED_PAGE_RETRY_DELAY_MS, event -> {
+            if (disposed || offset >= rowsOfSource[sourceIndex]) {
+                return;
+            }
+            final int firstRow = firstRowOfSource[sourceIndex] + (int) offset;
+            final int lastRow = firstRowOfSource[sourceIndex] + (int) Math.min(offset + limit,
+                    rowsOfSource[sourceIndex]) - 1;
+            fireTableRowsUpdated(firstRow, lastRow);
+        });
+        retry.setRepeats(false);
+        retry.start();
+    }
+
+    /**
+     * Removes the rows of a source the server does not have diffs for, once a
+     * page turned out to be shorter than the diff count of its scan announced.
+     *
+     * @param sourceIndex the index of the source
+     * @param actualRows  the number of diffs the source actually has
+     */
+    private void removeMissingRows(int sourceIndex, int actualRows) {
+        final int removedFrom = firstRowOfSource[sourceIndex] + actualRows;
+        final int removedTo = firstRowOfSource[sourceIndex] + rowsOfSource[sourceIndex] - 1;
+        log.debug("Scan {} has {} diffs instead of {}", sources.get(sourceIndex).scanId(), actualRows,
+                rowsOfSource[sourceIndex]);
+        rowsOfSource[sourceIndex] = actualRows;
+        // Pages past the end of the source are no longer reachable
+        final int lastPage = actualRows == 0 ? -1 : (actualRows - 1) / pageSize;
+        pages.keySet().removeIf(key -> (int) (key >>> 32) == sourceIndex && (int) (long) key > lastPage);
+        failedPages.keySet().removeIf(key -> (int) (key >>> 32) == sourceIndex && (int) (long) key > lastPage);
+        computeFirstRows();
+        fireTableRowsDeleted(removedFrom, removedTo);
+    }
+
+    /**
+     * Computes the first row of each source and the total number of rows from the rows of each source.
+     */
+    private void computeFirstRows() {
+        int rows = 0;
+        for (int i = 0; i < rowsOfSource.length; i++) {
+            firstRowOfSource[i] = rows;
+            rows += rowsOfSource[i];
+        }
+        rowCount = rows;
+    }
+
+    /**
+     * Finds the source containing a row.
+     *
+     * @param rowIndex the index of the row in the table.
+     * @return the index of the source.
+     */
+    private int sourceIndexOf(int rowIndex) {
+        // Last source starting at or before the row, which skips sources left without rows
+        int low = 0;
+        int high = firstRowOfSource.length - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (firstRowOfSource[middle] <= rowIndex) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Combines a source index and a page index into a page key.
+     *
+     * @param sourceIndex the index of the source
+     * @param pageIndex   the index of the page within the source
+     * @return the page key
+     */
+    private static long pageKey(int sourceIndex, int pageIndex) {
+        return ((long) sourceIndex << 32) | pageIndex;
     }
 }
@@ -40,7 +40,8 @@ public class NavigationHandler {
 
     /**
      * Navigates to the specified screen, creating its controller if it doesn't already exist.
-     * The controller is set with the provided navigation context, and its data is reloaded.
+     * The controller is set with the provided navigation context, and the data it declares is loaded
+     * once if it is no longer fresh.
      *
      * @param screen  The `Screen` to navigate to.
      * @param context The `NavigationContext` containing data for the new screen.
@@ -51,8 +52,8 @@ public class NavigationHandler {
         controller.setContext(context);
         BaseScreen baseScreen = controller.getScreen();
         baseScreen.setParentFrame(frame);
-        // Ensure the controller reloads its data when navigating to the screen
-        controller.reloadData();
+        // Load the data that is no longer fresh, fresh data is rendered as is
+        controller.loadStaleData();
 
         frame.getContentPane().removeAll();
         frame.setSize(screen.frameWidth, screen.frameHeight);
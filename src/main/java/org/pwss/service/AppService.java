@@ -3,7 +3,10 @@ package org.pwss.service;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
+import org.pwss.app_settings.AppConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +25,15 @@ public final class AppService {
      */
     private static int instanceCounter = 0;
 
+    /**
+     * Resources shared by the whole application, closed when it exits, most recently registered first.
+     */
+    private static final Deque<AutoCloseable> RESOURCES_TO_CLOSE = new ConcurrentLinkedDeque<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AppService::shutdown, "app-shutdown"));
+    }
+
     /**
      * Constructor for AppService. Ensures only one instance is allowed.
      *
@@ -37,6 +49,36 @@ public final class AppService {
 
     }
 
+    /**
+     * Registers a resource shared by the whole application, such as the scan
+     * journal, to be closed by {@link #shutdown()} when the application exits.
+     *
+     * @param resource The resource to close.
+     */
+    public static void closeOnExit(AutoCloseable resource) {
+        RESOURCES_TO_CLOSE.push(resource);
+    }
+
+    /**
+     * Writes the app settings still pending and closes the resources registered
+     * with {@link #closeOnExit(AutoCloseable)}. Runs when the JVM shuts down, and
+     * before the application restarts; running it again has no effect.
+     */
+    public static void shutdown() {
+        if (!AppConfig.flush()) {
+            log.error("Pending app settings could not be saved");
+        }
+        AutoCloseable resource;
+        while ((resource = RESOURCES_TO_CLOSE.poll()) != null) {
+            try {
+                resource.close();
+            } catch (Exception e) {
+                log.error("Failed to close {} on shutdown: {}", resource.getClass().getSimpleName(), e.getMessage());
+                log.debug("Failed to close resource on shutdown", e);
+            }
+        }
+    }
+
     /**
      * Restarts the application by launching a new JVM process and terminating the
      * current one.
@@ -54,6 +96,9 @@ public final class AppService {
         command.add("-jar");
         command.add(currentJar.getPath());
 
+        // The new process reads the settings and the journal from disk, so pending writes must be done first
+        shutdown();
+
         final ProcessBuilder builder = new ProcessBuilder(command);
         try {
             builder.start();
@@ -2,7 +2,7 @@ package org.pwss.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.pwss.exception.user.CreateUserException;
 import org.pwss.exception.user.LoginException;
@@ -11,7 +11,9 @@ import org.pwss.model.request.user.CreateUserRequest;
 import org.pwss.model.request.user.LoginUserRequest;
 import org.pwss.model.response.LoginResponse;
 import org.pwss.service.network.Endpoint;
+import org.pwss.service.network.ObjectMapperFactory;
 import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.ConcurrencyUtil;
 
 /**
  * The `AuthService` class provides methods for user authentication, specifically for logging in.
@@ -23,7 +25,7 @@ public class AuthService {
     private final ObjectMapper objectMapper;
 
     public AuthService() {
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = ObjectMapperFactory.create();
     }
 
     /**
@@ -35,15 +37,23 @@ public class AuthService {
      * @throws InterruptedException      If the thread executing the request is interrupted.
      */
     public boolean userExists() throws UserExistsLookupException, ExecutionException, InterruptedException {
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.USER_EXISTS, null);
+        return ConcurrencyUtil.await(userExistsAsync(), UserExistsLookupException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously checks if a user exists by sending a request to the USER_EXISTS endpoint.
+     *
+     * @return A future completed with `true` if the user exists, otherwise `false`, or failed with a
+     * {@link UserExistsLookupException} if the check fails.
+     */
+    public CompletableFuture<Boolean> userExistsAsync() {
+        return PwssHttpClient.getInstance().requestAsync(Endpoint.USER_EXISTS, null, response -> switch (response.statusCode()) {
             case 200 -> Boolean.parseBoolean(response.body());
             case 404 -> false;
             case 500 -> throw new UserExistsLookupException("User existence check failed: Server error");
             default ->
                     throw new UserExistsLookupException("User existence check failed: Unexpected status code " + response.statusCode());
-        };
+        });
     }
 
     /**
@@ -59,16 +69,26 @@ public class AuthService {
      * @throws InterruptedException    If the thread executing the request is interrupted.
      */
     public boolean login(String username, String password, String licenseKey) throws LoginException, JsonProcessingException, ExecutionException, InterruptedException {
-        final String body = objectMapper.writeValueAsString(new LoginUserRequest(username, password, licenseKey));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.LOGIN, body);
+        return ConcurrencyUtil.await(loginAsync(username, password, licenseKey), LoginException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously attempts to log in a user by sending their credentials to the LOGIN endpoint.
+     *
+     * @param username The username of the user attempting to log in.
+     * @param password The password of the user attempting to log in.
+     * @param licenseKey The license key associated with the user attempting to log in.
+     * @return A future completed with `true` if the login is successful, otherwise `false`, or failed with a
+     * {@link LoginException} if the login fails.
+     */
+    public CompletableFuture<Boolean> loginAsync(String username, String password, String licenseKey) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.LOGIN, new LoginUserRequest(username, password, licenseKey), response -> switch (response.statusCode()) {
             case 200 -> objectMapper.readValue(response.body(), LoginResponse.class).successful();
             case 402 -> throw new LoginException("Login failed: Invalid license key");
             case 404 -> throw new LoginException("Login failed: User not found");
             case 500 -> throw new LoginException("Login failed: Server error during login");
             default -> false;
-        };
+        });
     }
 
     /**
@@ -84,15 +104,25 @@ public class AuthService {
      * @throws InterruptedException    If the thread executing the request is interrupted.
      */
     public boolean createUser(String username, String password, String licenseKey) throws CreateUserException, JsonProcessingException, ExecutionException, InterruptedException {
-        final String body = objectMapper.writeValueAsString(new CreateUserRequest(username, password, licenseKey));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.CREATE_USER, body);
+        return ConcurrencyUtil.await(createUserAsync(username, password, licenseKey), CreateUserException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously creates a new user by sending their credentials to the CREATE_USER endpoint.
+     *
+     * @param username The username of the user to be created.
+     * @param password The password of the user to be created.
+     * @param licenseKey The license key associated with the user to be created.
+     * @return A future completed with `true` if the user creation request is successful, otherwise `false`, or
+     * failed with a {@link CreateUserException} if the user creation fails.
+     */
+    public CompletableFuture<Boolean> createUserAsync(String username, String password, String licenseKey) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.CREATE_USER, new CreateUserRequest(username, password, licenseKey), response -> switch (response.statusCode()) {
             case 201 -> true;
             case 402 -> throw new CreateUserException("Create user failed: Invalid license key");
             case 409 -> throw new CreateUserException("Create user failed: User already exists");
             case 500 -> throw new CreateUserException("Create user failed: Server error during creation");
             default -> false;
-        };
+        });
     }
 }
@@ -3,9 +3,9 @@ package org.pwss.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.http.HttpResponse;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.pwss.exception.file.QuarantineFileException;
 import org.pwss.exception.file.UnquarantineFileException;
@@ -18,7 +18,9 @@ import org.pwss.model.request.file.QuarantineRequest;
 import org.pwss.model.request.file.UnquarantineRequest;
 import org.pwss.model.response.QuarantineResponse;
 import org.pwss.service.network.Endpoint;
+import org.pwss.service.network.ObjectMapperFactory;
 import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.ConcurrencyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +48,7 @@ public class FileService {
      */
     public FileService() {
         this.log = LoggerFactory.getLogger(FileService.class);
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = ObjectMapperFactory.create();
         this.metadataManager = new MetadataManager();
     }
 
@@ -70,9 +72,39 @@ public class FileService {
      */
     public boolean quarantineFile(long fileId) throws QuarantineFileException, JsonProcessingException,
             ExecutionException, InterruptedException, MetadataSaveException {
-        final String body = objectMapper.writeValueAsString(new QuarantineRequest(fileId));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.QUARANTINE_FILE, body);
+        return ConcurrencyUtil.await(quarantineFileAsync(fileId), QuarantineFileException.class,
+                JsonProcessingException.class, MetadataSaveException.class);
+    }
+
+    /**
+     * Asynchronously quarantines a file by sending a request to the quarantine
+     * endpoint. The metadata of the quarantined file is saved before the future
+     * completes.
+     *
+     * @param fileId The ID of the file to be quarantined.
+     * @return A future completed with true if the file was successfully
+     *         quarantined, false otherwise, or failed with a
+     *         {@link QuarantineFileException} if the file cannot be quarantined
+     *         or a {@link MetadataSaveException} if its metadata cannot be saved.
+     */
+    public CompletableFuture<Boolean> quarantineFileAsync(long fileId) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.QUARANTINE_FILE, new QuarantineRequest(fileId),
+                response -> handleQuarantineResponse(response, fileId));
+    }
 
+    /**
+     * Maps the response of the quarantine endpoint, saving the metadata of the
+     * quarantined file.
+     *
+     * @param response The response of the quarantine endpoint.
+     * @param fileId   The ID of the file to be quarantined.
+     * @return true if the file was successfully quarantined; false otherwise.
+     * @throws QuarantineFileException If the response reports a failure.
+     * @throws JsonProcessingException If the response body cannot be parsed.
+     * @throws MetadataSaveException   If the metadata cannot be saved.
+     */
+    private boolean handleQuarantineResponse(HttpResponse<String> response, long fileId)
+            throws QuarantineFileException, JsonProcessingException, MetadataSaveException {
         Optional<QuarantineResponse> parsed = (response.statusCode() == 200)
                 ? Optional.ofNullable(objectMapper.readValue(response.body(), QuarantineResponse.class))
                 : Optional.empty();
@@ -112,9 +144,40 @@ public class FileService {
      */
     public boolean unquarantineFile(QuarantineMetadata metadata) throws UnquarantineFileException,
             JsonProcessingException, ExecutionException, InterruptedException, MetadataRemoveException {
-        final String body = objectMapper.writeValueAsString(new UnquarantineRequest(metadata.keyName()));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.UNQUARANTINE_FILE, body);
+        return ConcurrencyUtil.await(unquarantineFileAsync(metadata), UnquarantineFileException.class,
+                JsonProcessingException.class, MetadataRemoveException.class);
+    }
+
+    /**
+     * Asynchronously unquarantines a file by sending a request to the
+     * unquarantine endpoint. The metadata of the file is removed before the
+     * future completes.
+     *
+     * @param metadata The `QuarantineMetadata` object containing information about
+     *                 the file to be unquarantined.
+     * @return A future completed with true if the file was unquarantined, or
+     *         failed with an {@link UnquarantineFileException} if the file cannot
+     *         be unquarantined or a {@link MetadataRemoveException} if its
+     *         metadata cannot be removed.
+     */
+    public CompletableFuture<Boolean> unquarantineFileAsync(QuarantineMetadata metadata) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.UNQUARANTINE_FILE,
+                new UnquarantineRequest(metadata.keyName()), response -> handleUnquarantineResponse(response, metadata));
+    }
 
+    /**
+     * Maps the response of the unquarantine endpoint, removing the metadata of the
+     * unquarantined file.
+     *
+     * @param response The response of the unquarantine endpoint.
+     * @param metadata The metadata of the file to be unquarantined.
+     * @return true if the file was unquarantined.
+     * @throws UnquarantineFileException If the response reports a failure.
+     * @throws JsonProcessingException   If the response body cannot be parsed.
+     * @throws MetadataRemoveException   If the metadata cannot be removed.
+     */
+    private boolean handleUnquarantineResponse(HttpResponse<String> response, QuarantineMetadata metadata)
+            throws UnquarantineFileException, JsonProcessingException, MetadataRemoveException {
         Optional<QuarantineResponse> parsed = (response.statusCode() == 200)
                 ? Optional.ofNullable(objectMapper.readValue(response.body(), QuarantineResponse.class))
                 : Optional.empty();
@@ -141,31 +204,19 @@ public class FileService {
      *                                           names for quarantined files.
      */
     public List<QuarantineMetadata> getAllQuarantinedFiles() throws MetadataKeyNameRetrievalException {
-        final List<Long> quarantinedFileIds = metadataManager.getFileIdsOfAllQuarantinedFiles();
-        final List<QuarantineMetadata> quarantinedMetadata = new ArrayList<>(quarantinedFileIds.size());
-        for (Long fileId : quarantinedFileIds) {
-            final String keyName = metadataManager.retrieveKeyNameOfQuarantinedFile(fileId);
-            quarantinedMetadata.add(new QuarantineMetadata(fileId, keyName));
-        }
-        return quarantinedMetadata;
+        return metadataManager.getAllQuarantinedFiles();
     }
 
     /**
- * Checks if a specific file is quarantined by verifying its ID against
- * the list of all quarantined files.
- *
- * @param fileId The unique identifier of the file to check.
- * @return {@code true} if the file is quarantined, {@code false} otherwise.
- */
-public final boolean isFileQuarantined(long fileId) {
-
-    try {
-        return metadataManager.getFileIdsOfAllQuarantinedFiles().contains(fileId);
-    } catch (MetadataKeyNameRetrievalException e) {
-        log.error("Failed to determine if the file is quarantined due to a metadata parsing error");
-        return false;
+     * Checks if a specific file is quarantined by looking up its ID in the
+     * shared in-memory quarantine index.
+     *
+     * @param fileId The unique identifier of the file to check.
+     * @return {@code true} if the file is quarantined, {@code false} otherwise.
+     */
+    public final boolean isFileQuarantined(long fileId) {
+        return metadataManager.isFileQuarantined(fileId);
     }
-}
 
     /**
      * Handles the metadata saving process for a quarantined file.
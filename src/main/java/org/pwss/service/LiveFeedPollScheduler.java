@@ -0,0 +1,171 @@
+package org.pwss.service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides when to poll the live feed next, based on how many entries the previous polls returned.
+ * <p>
+ * While entries are arriving the interval is halved down to a minimum, and a poll returning a
+ * burst of entries is followed right away so the feed catches up. Every empty poll doubles the
+ * interval up to a maximum, so an idle feed, such as during the hashing of a large file, costs
+ * few requests. The effective poll rate and the feed lag are exposed as metrics.
+ * This class is thread safe.
+ */
+public final class LiveFeedPollScheduler {
+
+    /**
+     * The shortest interval between two polls while entries are arriving.
+     */
+    public static final Duration DEFAULT_MIN_INTERVAL = Duration.ofMillis(250);
+    /**
+     * The interval before the second poll.
+     */
+    public static final Duration DEFAULT_INITIAL_INTERVAL = Duration.ofSeconds(1);
+    /**
+     * The longest interval between two polls while the feed is idle.
+     */
+    public static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(8);
+    /**
+     * The number of entries returned by a poll from which the next poll follows right away.
+     */
+    public static final int DEFAULT_CATCH_UP_ENTRIES = 50;
+
+    /**
+     * The number of most recent polls the poll rate is measured over.
+     */
+    private static final int RATE_WINDOW = 16;
+
+    /**
+     * Metrics of the polling.
+     *
+     * @param pollsPerSecond The effective poll rate over the most recent polls.
+     * @param interval       The interval currently waited between two polls.
+     * @param feedLag        How long the entries returned by the latest non-empty poll may have waited
+     *                       on the server, the time since the poll before it.
+     * @param polls          The total number of polls.
+     * @param emptyPolls     The number of polls which returned no entries.
+     */
+    public record Metrics(double pollsPerSecond, Duration interval, Duration feedLag, long polls, long emptyPolls) {
+    }
+
+    /**
+     * The shortest interval between two polls.
+     */
+    private final long minIntervalNanos;
+    /**
+     * The longest interval between two polls.
+     */
+    private final long maxIntervalNanos;
+    /**
+     * The number of entries from which the next poll follows right away.
+     */
+    private final int catchUpEntries;
+    /**
+     * The clock timing the polls, in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+    /**
+     * The times of the most recent polls, used as a ring.
+     */
+    private final long[] pollTimes = new long[RATE_WINDOW];
+
+    /**
+     * The interval currently waited between two polls.
+     */
+    private long intervalNanos;
+    /**
+     * The feed lag measured at the latest non-empty poll.
+     */
+    private long feedLagNanos;
+    /**
+     * The total number of polls.
+     */
+    private long polls;
+    /**
+     * The number of polls which returned no entries.
+     */
+    private long emptyPolls;
+
+    /**
+     * Creates a scheduler with the default intervals, capped at the given maximum interval.
+     *
+     * @param maxInterval The longest interval between two polls.
+     */
+    public LiveFeedPollScheduler(Duration maxInterval) {
+        this(DEFAULT_MIN_INTERVAL, DEFAULT_INITIAL_INTERVAL, maxInterval, DEFAULT_CATCH_UP_ENTRIES, System::nanoTime);
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param minInterval     The shortest interval between two polls.
+     * @param initialInterval The interval before the second poll, clamped between the minimum and the maximum.
+     * @param maxInterval     The longest interval between two polls, at least the minimum interval.
+     * @param catchUpEntries  The number of entries returned by a poll from which the next poll follows right away.
+     * @param nanoClock       The clock timing the polls, in nanoseconds.
+     */
+    public LiveFeedPollScheduler(Duration minInterval, Duration initialInterval, Duration maxInterval,
+            int catchUpEntries, LongSupplier nanoClock) {
+        if (minInterval.isNegative() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("Invalid poll intervals: " + minInterval + " to " + maxInterval);
+        }
+        this.minIntervalNanos = minInterval.toNanos();
+        this.maxIntervalNanos = maxInterval.toNanos();
+        this.catchUpEntries = catchUpEntries;
+        this.nanoClock = nanoClock;
+        this.intervalNanos = clamp(initialInterval.toNanos());
+    }
+
+    /**
+     * Records a poll and returns how long to wait before the next one.
+     *
+     * @param entries The number of entries the poll returned.
+     * @return The delay before the next poll, zero to catch up with a burst right away.
+     */
+    public synchronized Duration onPoll(int entries) {
+        long now = nanoClock.getAsLong();
+        if (entries > 0) {
+            feedLagNanos = polls > 0 ? now - pollTimes[(int) ((polls - 1) % RATE_WINDOW)] : 0;
+        } else {
+            emptyPolls++;
+        }
+        pollTimes[(int) (polls % RATE_WINDOW)] = now;
+        polls++;
+
+        if (entries >= catchUpEntries) {
+            intervalNanos = minIntervalNanos;
+            return Duration.ZERO;
+        }
+        // Poll faster while entries are arriving, back off exponentially while the feed is idle
+        intervalNanos = clamp(entries > 0 ? intervalNanos / 2 : intervalNanos * 2);
+        return Duration.ofNanos(intervalNanos);
+    }
+
+    /**
+     * Returns the current metrics of the polling.
+     *
+     * @return The metrics.
+     */
+    public synchronized Metrics metrics() {
+        double pollsPerSecond = 0;
+        if (polls > 0) {
+            int window = (int) Math.min(polls, RATE_WINDOW);
+            long oldest = pollTimes[(int) ((polls - window) % RATE_WINDOW)];
+            long span = nanoClock.getAsLong() - oldest;
+            pollsPerSecond = span > 0 ? window / (span / 1e9) : 0;
+        }
+        return new Metrics(pollsPerSecond, Duration.ofNanos(intervalNanos), Duration.ofNanos(feedLagNanos), polls,
+                emptyPolls);
+    }
+
+    /**
+     * Clamps an interval between the minimum and the maximum interval.
+     *
+     * @param nanos The interval in nanoseconds.
+     * @return The clamped interval.
+     */
+    private long clamp(long nanos) {
+        return Math.max(minIntervalNanos, Math.min(maxIntervalNanos, nanos));
+    }
+}
@@ -0,0 +1,146 @@
+package org.pwss.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
+import org.pwss.exception.scan.LiveFeedException;
+import org.pwss.model.response.LiveFeedResponse;
+import org.pwss.service.network.EventStreamReader;
+import org.pwss.util.LiveFeedUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The `LiveFeedService` class follows the live feed of a running scan.
+ * <p>
+ * Updates are taken from the stream pushed by the server as they happen. If
+ * the server does not stream the live feed, or the stream is closed while the
+ * scan is still running, the live feed is polled instead, at a rate adapted by
+ * a {@link LiveFeedPollScheduler}. Following blocks the
+ * calling thread and must not run on the Event Dispatch Thread.
+ */
+public class LiveFeedService {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(LiveFeedService.class);
+
+    /**
+     * The service fetching the live feed.
+     */
+    private final ScanService scanService;
+
+    /**
+     * The longest interval between two polls while the live feed is idle.
+     */
+    private final Duration maxPollInterval;
+
+    /**
+     * The scheduler of the current or latest polling, null if the live feed has never been polled.
+     */
+    private volatile LiveFeedPollScheduler pollScheduler;
+
+    /**
+     * Flag indicating whether the server has answered that it does not stream the live feed,
+     * in which case the following scans poll right away. A stream refused because of an expired
+     * session or an unavailable server does not set it, so the next scan tries streaming again.
+     */
+    private volatile boolean streamingUnavailable;
+
+    /**
+     * Constructs a LiveFeedService fetching the live feed from the server, polling it at most
+     * as slowly as configured by {@link Setting#LIVE_FEED_MAX_POLL_INTERVAL_MS}.
+     */
+    public LiveFeedService() {
+        this(new ScanService(), Duration.ofMillis(AppConfig.get(Setting.LIVE_FEED_MAX_POLL_INTERVAL_MS)));
+    }
+
+    /**
+     * Constructs a LiveFeedService fetching the live feed through the given service.
+     *
+     * @param scanService     The service fetching the live feed.
+     * @param maxPollInterval The longest interval between two polls while the live feed is idle.
+     */
+    LiveFeedService(ScanService scanService, Duration maxPollInterval) {
+        this.scanService = scanService;
+        this.maxPollInterval = maxPollInterval.compareTo(LiveFeedPollScheduler.DEFAULT_MIN_INTERVAL) < 0
+                ? LiveFeedPollScheduler.DEFAULT_MIN_INTERVAL
+                : maxPollInterval;
+    }
+
+    /**
+     * Returns the metrics of the current or latest polling of the live feed.
+     *
+     * @return The metrics, or an empty Optional if the live feed has not been polled since the
+     *         application started, for example because it is streamed.
+     */
+    public Optional<LiveFeedPollScheduler.Metrics> getPollMetrics() {
+        LiveFeedPollScheduler scheduler = pollScheduler;
+        return scheduler != null ? Optional.of(scheduler.metrics()) : Optional.empty();
+    }
+
+    /**
+     * Follows the live feed until it reports that no scan is running, passing each update to the consumer
+     * on the calling thread. The updates passed on last report that no scan is running.
+     *
+     * @param consumer The consumer receiving the updates in order.
+     * @throws LiveFeedException       If the live feed cannot be polled due to various reasons such as invalid credentials or server error.
+     * @throws ExecutionException      If an error occurs while fetching the live feed.
+     * @throws InterruptedException    If the thread following the live feed is interrupted.
+     * @throws JsonProcessingException If a polled update cannot be parsed.
+     */
+    public void follow(Consumer<? super LiveFeedResponse> consumer) throws LiveFeedException, ExecutionException, InterruptedException, JsonProcessingException {
+        if (!streamingUnavailable) {
+            AtomicBoolean scanEnded = new AtomicBoolean();
+            EventStreamReader.Outcome outcome = scanService.streamLiveFeed(update -> {
+                scanEnded.set(!update.isScanRunning());
+                consumer.accept(update);
+            });
+            if (outcome == EventStreamReader.Outcome.UNSUPPORTED) {
+                log.debug("Live feed is not streamed by the server, polling instead");
+                streamingUnavailable = true;
+            } else if (outcome == EventStreamReader.Outcome.REJECTED) {
+                log.debug("Live feed stream refused by the server, polling this scan instead");
+            } else if (scanEnded.get()) {
+                return;
+            } else {
+                log.debug("Live feed stream closed while the scan is running, polling instead");
+            }
+        }
+        poll(consumer);
+    }
+
+    /**
+     * Polls the live feed until it reports that no scan is running, adapting the interval between
+     * two polls to the number of entries arriving.
+     *
+     * @param consumer The consumer receiving the updates in order.
+     * @throws LiveFeedException       If the live feed cannot be polled.
+     * @throws ExecutionException      If an error occurs while fetching the live feed.
+     * @throws InterruptedException    If the thread is interrupted while waiting for the next poll.
+     * @throws JsonProcessingException If a polled update cannot be parsed.
+     */
+    private void poll(Consumer<? super LiveFeedResponse> consumer) throws LiveFeedException, ExecutionException, InterruptedException, JsonProcessingException {
+        LiveFeedPollScheduler scheduler = new LiveFeedPollScheduler(maxPollInterval);
+        pollScheduler = scheduler;
+        LiveFeedResponse update = scanService.getLiveFeed();
+        while (update.isScanRunning()) {
+            consumer.accept(update);
+            Duration delay = scheduler.onPoll(LiveFeedUtil.countEntries(update.livefeed()));
+            if (!delay.isZero()) {
+                Thread.sleep(delay.toMillis());
+            }
+            update = scanService.getLiveFeed();
+        }
+        consumer.accept(update);
+        // The entries logged right before the scan ended are picked up by a final pull
+        consumer.accept(scanService.getLiveFeed());
+        log.debug("Live feed polling finished: {}", scheduler.metrics());
+    }
+}
@@ -2,8 +2,8 @@ package org.pwss.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.net.http.HttpResponse;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.pwss.exception.monitored_directory.MonitoredDirectoryByIdException;
 import org.pwss.exception.monitored_directory.MonitoredDirectoryGetAllException;
@@ -16,7 +16,9 @@ import org.pwss.model.request.monitored_directory.NewBaselineRequest;
 import org.pwss.model.request.monitored_directory.NewDirectoryRequest;
 import org.pwss.model.request.monitored_directory.UpdateDirectoryRequest;
 import org.pwss.service.network.Endpoint;
+import org.pwss.service.network.ObjectMapperFactory;
 import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.ConcurrencyUtil;
 
 public class MonitoredDirectoryService {
         /**
@@ -26,7 +28,7 @@ public class MonitoredDirectoryService {
         private final ObjectMapper objectMapper;
 
         public MonitoredDirectoryService() {
-                this.objectMapper = new ObjectMapper();
+                this.objectMapper = ObjectMapperFactory.create();
         }
 
         /**
@@ -49,10 +51,21 @@ public class MonitoredDirectoryService {
          */
         public List<MonitoredDirectory> getAllDirectories() throws MonitoredDirectoryGetAllException,
                         ExecutionException, InterruptedException, JsonProcessingException {
-                HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.MONITORED_DIRECTORY_ALL,
-                                null);
+                return ConcurrencyUtil.await(getAllDirectoriesAsync(), MonitoredDirectoryGetAllException.class,
+                                JsonProcessingException.class);
+        }
 
-                return switch (response.statusCode()) {
+        /**
+         * Asynchronously retrieves all monitored directories by sending a request to
+         * the MONITORED_DIRECTORY_ALL endpoint.
+         *
+         * @return A future completed with all monitored directories, or failed with a
+         *         {@link MonitoredDirectoryGetAllException} if they cannot be
+         *         retrieved.
+         */
+        public CompletableFuture<List<MonitoredDirectory>> getAllDirectoriesAsync() {
+                return PwssHttpClient.getInstance().requestAsync(Endpoint.MONITORED_DIRECTORY_ALL, null,
+                                response -> switch (response.statusCode()) {
                         case 200 -> List.of(objectMapper.readValue(response.body(), MonitoredDirectory[].class));
                         case 401 ->
                                 throw new MonitoredDirectoryGetAllException(
@@ -61,7 +74,7 @@ public class MonitoredDirectoryService {
                                 throw new MonitoredDirectoryGetAllException(
                                                 "Get all monitored directories failed: An error occurred on the server while attempting to retrieve the monitored directories.");
                         default -> List.of();
-                };
+                });
         }
 
         /**
@@ -86,11 +99,21 @@ public class MonitoredDirectoryService {
          */
         public MonitoredDirectory getDirectoryById(int id) throws MonitoredDirectoryByIdException, ExecutionException,
                         InterruptedException, JsonProcessingException {
-                String body = objectMapper.writeValueAsString(new GetDirectoryByIdRequest(id));
-                HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.MONITORED_DIRECTORY_BY_ID,
-                                body);
+                return ConcurrencyUtil.await(getDirectoryByIdAsync(id), MonitoredDirectoryByIdException.class,
+                                JsonProcessingException.class);
+        }
 
-                return switch (response.statusCode()) {
+        /**
+         * Asynchronously retrieves a monitored directory by its ID by sending a
+         * request to the MONITORED_DIRECTORY_BY_ID endpoint.
+         *
+         * @param id The ID of the monitored directory to retrieve.
+         * @return A future completed with the monitored directory, or failed with a
+         *         {@link MonitoredDirectoryByIdException} if it cannot be retrieved.
+         */
+        public CompletableFuture<MonitoredDirectory> getDirectoryByIdAsync(int id) {
+                return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.MONITORED_DIRECTORY_BY_ID,
+                                new GetDirectoryByIdRequest(id), response -> switch (response.statusCode()) {
                         case 200 -> objectMapper.readValue(response.body(), MonitoredDirectory.class);
                         case 401 ->
                                 throw new MonitoredDirectoryByIdException(
@@ -102,7 +125,7 @@ public class MonitoredDirectoryService {
                                 throw new MonitoredDirectoryByIdException(
                                                 "Get monitored directory by ID failed: An error occurred on the server while attempting to retrieve the monitored directory.");
                         default -> null;
-                };
+                });
         }
 
         /**
@@ -130,12 +153,34 @@ public class MonitoredDirectoryService {
         public MonitoredDirectory createNewMonitoredDirectory(String path, boolean includeSubdirectories,
                         boolean isActive) throws NewMonitoredDirectoryException, ExecutionException,
                         InterruptedException, JsonProcessingException {
-                String body = objectMapper
-                                .writeValueAsString(new NewDirectoryRequest(path, includeSubdirectories, isActive));
-                HttpResponse<String> response = PwssHttpClient.getInstance()
-                                .request(Endpoint.MONITORED_DIRECTORY_CREATE, body);
+                return ConcurrencyUtil.await(createNewMonitoredDirectoryAsync(path, includeSubdirectories, isActive),
+                                NewMonitoredDirectoryException.class, JsonProcessingException.class);
+        }
 
-                return switch (response.statusCode()) {
+        /**
+         * Asynchronously creates a new monitored directory by sending a request to
+         * the MONITORED_DIRECTORY_CREATE endpoint.
+         *
+         * @param path                  The path of the directory to be monitored.
+         * @param includeSubdirectories A boolean indicating whether subdirectories
+         *                              should be included.
+         * @param isActive              A boolean indicating whether the monitored
+         *                              directory should be active.
+         * @return A future completed with the newly created monitored directory, or
+         *         failed with a {@link NewMonitoredDirectoryException} if it cannot
+         *         be created.
+         */
+        public CompletableFuture<MonitoredDirectory> createNewMonitoredDirectoryAsync(String path,
+                        boolean includeSubdirectories, boolean isActive) {
+                String body;
+                try {
+                        body = objectMapper
+                                        .writeValueAsString(new NewDirectoryRequest(path, includeSubdirectories, isActive));
+                } catch (JsonProcessingException e) {
+                        return CompletableFuture.failedFuture(e);
+                }
+                return PwssHttpClient.getInstance().requestAsync(Endpoint.MONITORED_DIRECTORY_CREATE, body,
+                                response -> switch (response.statusCode()) {
                         case 200 -> objectMapper.readValue(response.body(), MonitoredDirectory.class);
                         case 400 ->
                                 throw new NewMonitoredDirectoryException(
@@ -149,7 +194,7 @@ public class MonitoredDirectoryService {
                                                 "Create monitored directory failed: An error occurred on the server while attempting to create the monitored directory.",
                                                 body);
                         default -> null;
-                };
+                });
         }
 
         /**
@@ -170,21 +215,22 @@ public class MonitoredDirectoryService {
          *                                          serializing the request body.
          */
         public boolean toggleActive(MonitoredDirectory dir) throws UpdateMonitoredDirectoryException, JsonProcessingException, ExecutionException, InterruptedException {
-                String body = objectMapper
-                        .writeValueAsString(new UpdateDirectoryRequest(dir.id(), !dir.isActive(), dir.notes().notes(), dir.includeSubdirectories()));
-                HttpResponse<String> response = PwssHttpClient.getInstance()
-                                .request(Endpoint.MONITORED_DIRECTORY_UPDATE, body);
+                return ConcurrencyUtil.await(toggleActiveAsync(dir), UpdateMonitoredDirectoryException.class,
+                                JsonProcessingException.class);
+        }
 
-                return switch (response.statusCode()) {
-                        case 200 -> true;
-                        case 400 ->
-                                throw new UpdateMonitoredDirectoryException("Update monitored directory failed: invalid input data.");
-                        case 401 ->
-                                throw new UpdateMonitoredDirectoryException("Update monitored directory failed: User not authorized to perform this action.");
-                        case 500 ->
-                                throw new UpdateMonitoredDirectoryException("Update monitored directory failed: An error occurred on the server while attempting to update the monitored directory.");
-                        default -> false;
-                };
+        /**
+         * Asynchronously toggles the active status of a monitored directory by
+         * sending a request to the MONITORED_DIRECTORY_UPDATE endpoint.
+         *
+         * @param dir The MonitoredDirectory object representing the directory to be
+         *            updated.
+         * @return A future completed with `true` if the update was successful,
+         *         otherwise false, or failed with an
+         *         {@link UpdateMonitoredDirectoryException} if the update fails.
+         */
+        public CompletableFuture<Boolean> toggleActiveAsync(MonitoredDirectory dir) {
+                return updateDirectoryAsync(new UpdateDirectoryRequest(dir.id(), !dir.isActive(), dir.notes().notes(), dir.includeSubdirectories()));
         }
 
         /**
@@ -205,12 +251,36 @@ public class MonitoredDirectoryService {
          *                                          serializing the request body.
          */
         public boolean toggleIncludeSubDirectories(MonitoredDirectory dir) throws UpdateMonitoredDirectoryException, JsonProcessingException, ExecutionException, InterruptedException {
-                String body = objectMapper
-                        .writeValueAsString(new UpdateDirectoryRequest(dir.id(), dir.isActive(), dir.notes().notes(), !dir.includeSubdirectories()));
-                HttpResponse<String> response = PwssHttpClient.getInstance()
-                        .request(Endpoint.MONITORED_DIRECTORY_UPDATE, body);
+                return ConcurrencyUtil.await(toggleIncludeSubDirectoriesAsync(dir),
+                                UpdateMonitoredDirectoryException.class, JsonProcessingException.class);
+        }
 
-                return switch (response.statusCode()) {
+        /**
+         * Asynchronously toggles the inclusion of subdirectories for a monitored
+         * directory by sending a request to the MONITORED_DIRECTORY_UPDATE endpoint.
+         *
+         * @param dir The MonitoredDirectory object representing the directory to be
+         *            updated.
+         * @return A future completed with `true` if the update was successful,
+         *         otherwise false, or failed with an
+         *         {@link UpdateMonitoredDirectoryException} if the update fails.
+         */
+        public CompletableFuture<Boolean> toggleIncludeSubDirectoriesAsync(MonitoredDirectory dir) {
+                return updateDirectoryAsync(new UpdateDirectoryRequest(dir.id(), dir.isActive(), dir.notes().notes(), !dir.includeSubdirectories()));
+        }
+
+        /**
+         * Sends an update of a monitored directory to the MONITORED_DIRECTORY_UPDATE
+         * endpoint.
+         *
+         * @param request The update of the directory.
+         * @return A future completed with `true` if the update was successful,
+         *         otherwise false, or failed with an
+         *         {@link UpdateMonitoredDirectoryException} if the update fails.
+         */
+        private CompletableFuture<Boolean> updateDirectoryAsync(UpdateDirectoryRequest request) {
+                return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.MONITORED_DIRECTORY_UPDATE, request,
+                                response -> switch (response.statusCode()) {
                         case 200 -> true;
                         case 400 ->
                                 throw new UpdateMonitoredDirectoryException("Update monitored directory failed: invalid input data.");
@@ -219,7 +289,7 @@ public class MonitoredDirectoryService {
                         case 500 ->
                                 throw new UpdateMonitoredDirectoryException("Update monitored directory failed: An error occurred on the server while attempting to update the monitored directory.");
                         default -> false;
-                };
+                });
         }
 
 
@@ -248,11 +318,24 @@ public class MonitoredDirectoryService {
         public boolean newMonitoredDirectoryBaseline(long id, long endpointCode)
                         throws NewMonitoredDirectoryBaselineException, ExecutionException, InterruptedException,
                         JsonProcessingException {
-                String body = objectMapper.writeValueAsString(new NewBaselineRequest(id, endpointCode));
-                HttpResponse<String> response = PwssHttpClient.getInstance()
-                                .request(Endpoint.MONITORED_DIRECTORY_NEW_BASELINE, body);
+                return ConcurrencyUtil.await(newMonitoredDirectoryBaselineAsync(id, endpointCode),
+                                NewMonitoredDirectoryBaselineException.class, JsonProcessingException.class);
+        }
 
-                return switch (response.statusCode()) {
+        /**
+         * Asynchronously creates a new baseline for a monitored directory by sending
+         * a request to the MONITORED_DIRECTORY_NEW_BASELINE endpoint.
+         *
+         * @param id           The ID of the monitored directory for which to create a
+         *                     new baseline.
+         * @param endpointCode Code for verifying the action of creating a new baseline.
+         * @return A future completed with `true` if the baseline creation was
+         *         successful, otherwise false, or failed with a
+         *         {@link NewMonitoredDirectoryBaselineException} if it fails.
+         */
+        public CompletableFuture<Boolean> newMonitoredDirectoryBaselineAsync(long id, long endpointCode) {
+                return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.MONITORED_DIRECTORY_NEW_BASELINE,
+                                new NewBaselineRequest(id, endpointCode), response -> switch (response.statusCode()) {
                         case 200 -> true;
                         case 401 ->
                                 throw new NewMonitoredDirectoryBaselineException(
@@ -264,6 +347,6 @@ public class MonitoredDirectoryService {
                                 throw new NewMonitoredDirectoryBaselineException(
                                                 "Create new baseline failed: An error occurred on the server while attempting to create the new baseline.");
                         default -> false;
-                };
+                });
         }
 }
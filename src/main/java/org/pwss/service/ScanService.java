@@ -2,10 +2,13 @@ package org.pwss.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.net.http.HttpResponse;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import org.pwss.exception.scan.GetAllMostRecentScansException;
 import org.pwss.exception.scan.GetDiffCountException;
 import org.pwss.exception.scan.GetMostRecentScansException;
@@ -24,7 +27,10 @@ import org.pwss.model.request.scan.StartScanAllRequest;
 import org.pwss.model.request.scan.StartSingleScanRequest;
 import org.pwss.model.response.LiveFeedResponse;
 import org.pwss.service.network.Endpoint;
+import org.pwss.service.network.EventStreamReader;
+import org.pwss.service.network.ObjectMapperFactory;
 import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.ConcurrencyUtil;
 
 /**
  * The `ScanService` class provides methods to manage scans, specifically starting and stopping scans.
@@ -36,7 +42,7 @@ public class ScanService {
     private final ObjectMapper objectMapper;
 
     public ScanService() {
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = ObjectMapperFactory.create();
     }
 
     /**
@@ -49,10 +55,17 @@ public class ScanService {
      * @throws InterruptedException  If the thread executing the request is interrupted.
      */
     public boolean startScan(long maxHashExtractionFileSize) throws StartFullScanException, ExecutionException, InterruptedException, JsonProcessingException {
-        String body = objectMapper.writeValueAsString(new StartScanAllRequest(maxHashExtractionFileSize));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.START_SCAN, body);
+        return ConcurrencyUtil.await(startScanAsync(maxHashExtractionFileSize), StartFullScanException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously starts a scan by sending a request to the START_SCAN endpoint.
+     *
+     * @param maxHashExtractionFileSize The maximum file size for hash extraction.
+     * @return A future completed with `true` if the scan start request is successful, otherwise `false`, or failed with a {@link StartFullScanException} if the scan cannot be started.
+     */
+    public CompletableFuture<Boolean> startScanAsync(long maxHashExtractionFileSize) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.START_SCAN, new StartScanAllRequest(maxHashExtractionFileSize), response -> switch (response.statusCode()) {
             case 200 -> true;
             case 401 ->
                     throw new StartFullScanException("User not authorized to perform this action.");
@@ -62,7 +75,7 @@ public class ScanService {
             case 500 ->
                     throw new StartFullScanException("An error occurred on the server while attempting to start the scan.");
             default -> false;
-        };
+        });
     }
 
     /**
@@ -77,10 +90,18 @@ public class ScanService {
      * @throws JsonProcessingException If an error occurs while serializing the start scan request to JSON.
      */
     public boolean startScanById(long id, long maxHashExtractionFileSize) throws StartScanByIdException, ExecutionException, InterruptedException, JsonProcessingException {
-        String body = objectMapper.writeValueAsString(new StartSingleScanRequest(id, maxHashExtractionFileSize));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.START_SCAN_ID, body);
+        return ConcurrencyUtil.await(startScanByIdAsync(id, maxHashExtractionFileSize), StartScanByIdException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously starts a scan for a specific monitored directory by its ID by sending a request to the START_SCAN_ID endpoint.
+     *
+     * @param id The ID of the monitored directory to start the scan for.
+     * @param maxHashExtractionFileSize The maximum file size for hash extraction.
+     * @return A future completed with `true` if the scan start request is successful, otherwise `false`, or failed with a {@link StartScanByIdException} if the scan cannot be started.
+     */
+    public CompletableFuture<Boolean> startScanByIdAsync(long id, long maxHashExtractionFileSize) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.START_SCAN_ID, new StartSingleScanRequest(id, maxHashExtractionFileSize), response -> switch (response.statusCode()) {
             case 200 -> true;
             case 401 ->
                     throw new StartScanByIdException("Start scan by id failed: User not authorized to perform this action.");
@@ -92,7 +113,7 @@ public class ScanService {
             case 500 ->
                     throw new StartScanByIdException("Start scan by id failed: An error occurred on the server while attempting to start the scan.");
             default -> false;
-        };
+        });
     }
 
     /**
@@ -104,15 +125,30 @@ public class ScanService {
      * @throws InterruptedException If the thread executing the request is interrupted.
      */
     public boolean stopScan() throws StopScanException, ExecutionException, InterruptedException {
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.STOP_SCAN, null);
+        return ConcurrencyUtil.await(stopScanAsync(), StopScanException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously stops a scan by sending a request to the STOP_SCAN endpoint.
+     *
+     * @return A future completed with `true` if the scan stop request is successful, otherwise `false`, or failed with a {@link StopScanException} if the scan cannot be stopped.
+     */
+    public CompletableFuture<Boolean> stopScanAsync() {
+        return PwssHttpClient.getInstance().requestAsync(Endpoint.STOP_SCAN, null, response -> switch (response.statusCode()) {
             case 200 -> true;
             case 401 -> throw new StopScanException("Stop scan failed: User not authorized to perform this action.");
             case 500 ->
                     throw new StopScanException("Stop scan failed: An error occurred on the server while attempting to stop the scan.");
             default -> false;
-        };
+        });
+    }
+
+    /**
+     * Drops the cached directories, scans, summaries and diff counts, which change when a scan
+     * finishes on the server without any request from this client.
+     */
+    public void invalidateCachedScanResults() {
+        PwssHttpClient.getInstance().invalidateCacheAfter(Endpoint.START_SCAN);
     }
 
     /**
@@ -125,16 +161,46 @@ public class ScanService {
      * @throws JsonProcessingException If an error occurs while processing JSON data.
      */
     public LiveFeedResponse getLiveFeed() throws LiveFeedException, ExecutionException, InterruptedException, JsonProcessingException {
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.LIVE_FEED, null);
+        return ConcurrencyUtil.await(getLiveFeedAsync(), LiveFeedException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously retrieves the live feed of scan events by sending a request to the LIVE_FEED endpoint.
+     *
+     * @return A future completed with the live feed data, or failed with a {@link LiveFeedException} if the live feed cannot be retrieved.
+     */
+    public CompletableFuture<LiveFeedResponse> getLiveFeedAsync() {
+        return PwssHttpClient.getInstance().requestAsync(Endpoint.LIVE_FEED, null, response -> switch (response.statusCode()) {
             case 200 -> objectMapper.readValue(response.body(), LiveFeedResponse.class);
             case 401 ->
                     throw new LiveFeedException("Failed to fetch live feed: User not authorized to perform this action.");
             case 500 ->
                     throw new LiveFeedException("Failed to fetch live feed: an error occurred on the server while attempting to fetch the live feed.");
             default -> throw new LiveFeedException("Failed to fetch live feed: unexpected response.");
-        };
+        });
+    }
+
+    /**
+     * Follows the live feed pushed by the LIVE_FEED endpoint as Server-Sent Events, each event holding a live feed
+     * update, until an update reports that no scan is running or the server closes the stream.
+     *
+     * @param consumer The consumer receiving the updates in order.
+     * @return `STREAMED` once the stream has been read, `UNSUPPORTED` if the server does not stream the live feed,
+     * or `REJECTED` if it refused to stream it this time.
+     * @throws ExecutionException   If an error occurs while sending the request, reading the stream or parsing an update.
+     * @throws InterruptedException If the thread executing the request is interrupted.
+     */
+    public EventStreamReader.Outcome streamLiveFeed(Consumer<? super LiveFeedResponse> consumer) throws ExecutionException, InterruptedException {
+        return PwssHttpClient.getInstance().requestEventStream(Endpoint.LIVE_FEED, null, event -> {
+            LiveFeedResponse update;
+            try {
+                update = objectMapper.readValue(event.data(), LiveFeedResponse.class);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            consumer.accept(update);
+            return update.isScanRunning();
+        });
     }
 
     /**
@@ -146,16 +212,23 @@ public class ScanService {
      * @throws InterruptedException If the thread executing the request is interrupted.
      */
     public boolean scanRunning() throws ScanStatusException, ExecutionException, InterruptedException {
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.SCAN_STATUS, null);
+        return ConcurrencyUtil.await(scanRunningAsync(), ScanStatusException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously checks if a scan is currently running by sending a request to the SCAN_STATUS endpoint.
+     *
+     * @return A future completed with `true` if a scan is running, otherwise `false`, or failed with a {@link ScanStatusException} if the status cannot be checked.
+     */
+    public CompletableFuture<Boolean> scanRunningAsync() {
+        return PwssHttpClient.getInstance().requestAsync(Endpoint.SCAN_STATUS, null, response -> switch (response.statusCode()) {
             case 200 -> Boolean.parseBoolean(response.body());
             case 401 ->
                     throw new ScanStatusException("Scan status check failed: User not authorized to perform this action.");
             case 500 ->
                     throw new ScanStatusException("Scan status check failed: An error occurred on the server while attempting to check the scan status.");
             default -> false;
-        };
+        });
     }
 
     /**
@@ -169,16 +242,23 @@ public class ScanService {
      * @throws JsonProcessingException     If an error occurs while processing JSON data.
      */
     public List<Scan> getMostRecentScans(long nrOfScans) throws GetMostRecentScansException, ExecutionException, InterruptedException, JsonProcessingException {
-        String body = objectMapper.writeValueAsString(new GetMostRecentScansRequest(nrOfScans));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.MOST_RECENT_SCANS, body);
+        return ConcurrencyUtil.await(getMostRecentScansAsync(nrOfScans), GetMostRecentScansException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously retrieves the most recent scans for a specified number of active monitored directories by sending a request to the MOST_RECENT_SCANS endpoint.
+     *
+     * @param nrOfScans The number of most recent scans to retrieve.
+     * @return A future completed with the most recent Scan objects, or failed with a {@link GetMostRecentScansException} if they cannot be retrieved.
+     */
+    public CompletableFuture<List<Scan>> getMostRecentScansAsync(long nrOfScans) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.MOST_RECENT_SCANS, new GetMostRecentScansRequest(nrOfScans), response -> switch (response.statusCode()) {
             case 200 -> List.of(objectMapper.readValue(response.body(), Scan[].class));
             case 401 ->
                     throw new GetMostRecentScansException("Failed to fetch most recent scans: User not authorized to perform this action.");
             case 500 -> throw new GetMostRecentScansException("Failed to fetch most recent scans: Server error");
             default -> Collections.emptyList();
-        };
+        });
     }
 
     /**
@@ -191,15 +271,22 @@ public class ScanService {
      * @throws JsonProcessingException        If an error occurs while processing JSON data.
      */
     public List<Scan> getMostRecentScansAll() throws GetAllMostRecentScansException, ExecutionException, InterruptedException, JsonProcessingException {
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.MOST_RECENT_SCANS_ALL, null);
+        return ConcurrencyUtil.await(getMostRecentScansAllAsync(), GetAllMostRecentScansException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously retrieves the most recent scans for all active monitored directories by sending a request to the MOST_RECENT_SCANS_ALL endpoint.
+     *
+     * @return A future completed with the most recent Scan objects, or failed with a {@link GetAllMostRecentScansException} if they cannot be retrieved.
+     */
+    public CompletableFuture<List<Scan>> getMostRecentScansAllAsync() {
+        return PwssHttpClient.getInstance().requestAsync(Endpoint.MOST_RECENT_SCANS_ALL, null, response -> switch (response.statusCode()) {
             case 200 -> List.of(objectMapper.readValue(response.body(), Scan[].class));
             case 401 ->
                     throw new GetAllMostRecentScansException("Failed to fetch most recent scans: User not authorized to perform this action.");
             case 500 -> throw new GetAllMostRecentScansException("Failed to fetch most recent scans: Server error");
             default -> Collections.emptyList();
-        };
+        });
     }
 
     /**
@@ -216,16 +303,72 @@ public class ScanService {
      * @throws JsonProcessingException If an error occurs while processing JSON data.
      */
     public List<Diff> getDiffs(long scanId, long limit, String sortField, boolean ascending) throws GetScanDiffsException, ExecutionException, InterruptedException, JsonProcessingException {
-        String body = objectMapper.writeValueAsString(new GetScanDiffsRequest(scanId, limit, sortField, ascending));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.SCAN_DIFFS, body);
+        return getDiffs(scanId, 0L, limit, sortField, ascending);
+    }
+
+    /**
+     * Retrieves a window of the diffs for a specific scan by sending a request to the SCAN_DIFFS endpoint.
+     * Used to page through the diffs of a scan instead of fetching them all at once.
+     *
+     * @param scanId    The ID of the scan to retrieve diffs for.
+     * @param offset    The number of diffs to skip, in the requested sort order.
+     * @param limit     The maximum number of diffs to retrieve.
+     * @param sortField The field by which to sort the diffs.
+     * @param ascending Whether to sort the diffs in ascending order.
+     * @return A list of Diff objects if the request is successful.
+     * @throws GetScanDiffsException If the attempt to retrieve the scan diffs fails due to various reasons such as invalid credentials or server error.
+     * @throws ExecutionException   If an error occurs during the asynchronous execution of the request.
+     * @throws InterruptedException If the thread executing the request is interrupted.
+     * @throws JsonProcessingException If an error occurs while processing JSON data.
+     */
+    public List<Diff> getDiffs(long scanId, long offset, long limit, String sortField, boolean ascending) throws GetScanDiffsException, ExecutionException, InterruptedException, JsonProcessingException {
+        List<Diff> diffs = new ArrayList<>();
+        forEachDiff(scanId, offset, limit, sortField, ascending, diffs::add);
+        return Collections.unmodifiableList(diffs);
+    }
+
+    /**
+     * Asynchronously retrieves a window of the diffs for a specific scan from the SCAN_DIFFS endpoint. The response
+     * is streamed on a virtual thread, as by {@link #forEachDiff(long, long, long, String, boolean, Consumer)}.
+     *
+     * @param scanId    The ID of the scan to retrieve diffs for.
+     * @param offset    The number of diffs to skip, in the requested sort order.
+     * @param limit     The maximum number of diffs to retrieve.
+     * @param sortField The field by which to sort the diffs.
+     * @param ascending Whether to sort the diffs in ascending order.
+     * @return A future completed with the diffs, or failed with a {@link GetScanDiffsException} if they cannot be retrieved.
+     */
+    public CompletableFuture<List<Diff>> getDiffsAsync(long scanId, long offset, long limit, String sortField, boolean ascending) {
+        return ConcurrencyUtil.supplyAsync(() -> getDiffs(scanId, offset, limit, sortField, ascending));
+    }
 
-        return switch (response.statusCode()) {
-            case 200 -> List.of(objectMapper.readValue(response.body(), Diff[].class));
+    /**
+     * Streams a window of the diffs for a specific scan from the SCAN_DIFFS endpoint, passing each diff to the
+     * consumer as soon as it has been read. The response is never held in memory as a whole.
+     *
+     * @param scanId    The ID of the scan to retrieve diffs for.
+     * @param offset    The number of diffs to skip, in the requested sort order.
+     * @param limit     The maximum number of diffs to retrieve.
+     * @param sortField The field by which to sort the diffs.
+     * @param ascending Whether to sort the diffs in ascending order.
+     * @param consumer  The consumer receiving the diffs in order.
+     * @throws GetScanDiffsException If the attempt to retrieve the scan diffs fails due to various reasons such as invalid credentials or server error.
+     * @throws ExecutionException   If an error occurs during the asynchronous execution of the request.
+     * @throws InterruptedException If the thread executing the request is interrupted.
+     * @throws JsonProcessingException If an error occurs while processing JSON data.
+     */
+    public void forEachDiff(long scanId, long offset, long limit, String sortField, boolean ascending, Consumer<? super Diff> consumer) throws GetScanDiffsException, ExecutionException, InterruptedException, JsonProcessingException {
+        String body = objectMapper.writeValueAsString(new GetScanDiffsRequest(scanId, limit, sortField, ascending, offset));
+        int statusCode = PwssHttpClient.getInstance().requestEach(Endpoint.SCAN_DIFFS, body, Diff.class, consumer);
+
+        switch (statusCode) {
             case 401 ->
                     throw new GetScanDiffsException("Failed to fetch scan diffs: User not authorized to perform this action.");
             case 500 -> throw new GetScanDiffsException("Failed to fetch scan diffs");
-            default -> Collections.emptyList();
-        };
+            default -> {
+                // 200 has been streamed to the consumer, anything else yields no diffs
+            }
+        }
     }
 
     /**
@@ -239,16 +382,23 @@ public class ScanService {
      * @throws JsonProcessingException If an error occurs while processing JSON data.
      */
     public Integer getScanDiffsCount(long scanId) throws JsonProcessingException, ExecutionException, InterruptedException, GetDiffCountException {
-      String body = objectMapper.writeValueAsString(new ScanDiffsCountRequest(scanId));
-      HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.DIFF_COUNT, body);
+        return ConcurrencyUtil.await(getScanDiffsCountAsync(scanId), GetDiffCountException.class, JsonProcessingException.class);
+    }
 
-      return switch (response.statusCode()) {
+    /**
+     * Asynchronously retrieves the count of diffs for a specific scan by sending a request to the DIFF_COUNT endpoint.
+     *
+     * @param scanId The ID of the scan to retrieve the diff count for.
+     * @return A future completed with the count of diffs for the specified scan, or failed with a {@link GetDiffCountException} if it cannot be retrieved.
+     */
+    public CompletableFuture<Integer> getScanDiffsCountAsync(long scanId) {
+      return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.DIFF_COUNT, new ScanDiffsCountRequest(scanId), response -> switch (response.statusCode()) {
           case 200 -> Integer.parseInt(response.body());
           case 400 -> throw new GetDiffCountException("Get scan diffs count failed: Bad request.");
           case 401 -> throw new GetDiffCountException("Get scan diffs count failed: User not authorized to perform this action.");
           case 404 -> throw new GetDiffCountException("Get scan diffs count failed: Scan with the given ID not found.");
           case 500 -> throw new GetDiffCountException("Get scan diffs count failed: An error occurred on the server while attempting to get the diff count.");
           default -> null;
-      };
+      });
     }
 }
@@ -2,29 +2,60 @@ package org.pwss.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import org.pwss.exception.scan_summary.FileSearchException;
 import org.pwss.exception.scan_summary.GetMostRecentSummaryException;
 import org.pwss.exception.scan_summary.GetSummaryForFileException;
 import org.pwss.exception.scan_summary.GetSummaryForScanException;
 import org.pwss.model.entity.File;
+import org.pwss.model.entity.Scan;
 import org.pwss.model.entity.ScanSummary;
+import org.pwss.model.livefeed.ScanProgressEstimator;
 import org.pwss.model.request.scan_summary.GetFilesSearchRequest;
 import org.pwss.model.request.scan_summary.GetSummaryForFileRequest;
 import org.pwss.model.request.scan_summary.GetSummaryForScanRequest;
 import org.pwss.service.network.Endpoint;
+import org.pwss.service.network.ObjectMapperFactory;
 import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.ConcurrencyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ScanSummaryService {
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ScanSummaryService.class);
+
     /**
      * An instance of the ObjectMapper used for JSON serialization and deserialization.
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * The size of a completed scan, counted from its summaries.
+     *
+     * @param scanId The ID of the scan.
+     * @param size   The number of files and bytes of the scan.
+     */
+    private record CountedScan(long scanId, ScanProgressEstimator.ScanSize size) {
+    }
+
+    /**
+     * The size of the latest completed scan counted for each monitored directory, by directory ID,
+     * so the summaries of a scan are counted once however many scans are estimated from it.
+     */
+    private final Map<Long, CountedScan> scanSizeByDirectory = new ConcurrentHashMap<>();
+
     public ScanSummaryService() {
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = ObjectMapperFactory.create();
     }
 
     /**
@@ -37,9 +68,16 @@ public class ScanSummaryService {
      * @throws JsonProcessingException       If an error occurs while processing JSON data.
      */
     public List<ScanSummary> getMostRecentSummary() throws GetMostRecentSummaryException, ExecutionException, InterruptedException, JsonProcessingException {
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.SUMMARY_MOST_RECENT_SCAN, null);
+        return ConcurrencyUtil.await(getMostRecentSummaryAsync(), GetMostRecentSummaryException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously retrieves the most recent scan summary by sending a request to the SUMMARY_MOST_RECENT_SCAN endpoint.
+     *
+     * @return A future completed with the most recent scan summaries, or failed with a {@link GetMostRecentSummaryException} if they cannot be retrieved.
+     */
+    public CompletableFuture<List<ScanSummary>> getMostRecentSummaryAsync() {
+        return PwssHttpClient.getInstance().requestAsync(Endpoint.SUMMARY_MOST_RECENT_SCAN, null, response -> switch (response.statusCode()) {
             case 200 -> List.of(objectMapper.readValue(response.body(), ScanSummary[].class));
             case 401 ->
                     throw new GetMostRecentSummaryException("Get most recent scan summary failed: User not authorized to perform this action.");
@@ -48,7 +86,7 @@ public class ScanSummaryService {
             case 500 ->
                     throw new GetMostRecentSummaryException("Get most recent scan summary failed: An error occurred on the server while attempting to retrieve the scan summary.");
             default -> null;
-        };
+        });
     }
 
     /**
@@ -62,10 +100,17 @@ public class ScanSummaryService {
      * @throws JsonProcessingException    If an error occurs while processing JSON data.
      */
     public List<ScanSummary> getSummaryForFile(long fileId) throws GetSummaryForFileException, ExecutionException, InterruptedException, JsonProcessingException {
-        String body = objectMapper.writeValueAsString(new GetSummaryForFileRequest(fileId));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.SUMMARY_FILE, body);
+        return ConcurrencyUtil.await(getSummaryForFileAsync(fileId), GetSummaryForFileException.class, JsonProcessingException.class);
+    }
 
-        return switch (response.statusCode()) {
+    /**
+     * Asynchronously retrieves scan summaries for a specific file by sending a request to the SUMMARY_FILE endpoint.
+     *
+     * @param fileId The ID of the file for which to retrieve scan summaries.
+     * @return A future completed with the scan summaries of the file, or failed with a {@link GetSummaryForFileException} if they cannot be retrieved.
+     */
+    public CompletableFuture<List<ScanSummary>> getSummaryForFileAsync(long fileId) {
+        return PwssHttpClient.getInstance().requestJsonAsync(Endpoint.SUMMARY_FILE, new GetSummaryForFileRequest(fileId), response -> switch (response.statusCode()) {
             case 200 -> List.of(objectMapper.readValue(response.body(), ScanSummary[].class));
             case 400 ->
                     throw new GetSummaryForFileException("Get summaries for file failed: The provided file ID is invalid.");
@@ -76,7 +121,7 @@ public class ScanSummaryService {
             case 500 ->
                     throw new GetSummaryForFileException("Get summaries for file failed: An error occurred on the server while attempting to retrieve the scan summaries.");
             default -> null;
-        };
+        });
     }
 
     /**
@@ -91,28 +136,95 @@ public class ScanSummaryService {
      * @throws JsonProcessingException If an error occurs while processing JSON data.
      */
     public List<File> searchFiles(String queryString, boolean ascending) throws FileSearchException, ExecutionException, InterruptedException, JsonProcessingException {
+        List<File> files = new ArrayList<>();
+        forEachFileSearchResult(queryString, ascending, files::add);
+        return Collections.unmodifiableList(files);
+    }
+
+    /**
+     * Asynchronously searches for files based on a query string from the SUMMARY_FILE_SEARCH endpoint. The response
+     * is streamed on a virtual thread, as by {@link #forEachFileSearchResult(String, boolean, Consumer)}.
+     *
+     * @param queryString The search query string used to find files.
+     * @param ascending   A boolean indicating whether the search results should be sorted in ascending order.
+     * @return A future completed with the matching files, or failed with a {@link FileSearchException} if the search fails.
+     */
+    public CompletableFuture<List<File>> searchFilesAsync(String queryString, boolean ascending) {
+        return ConcurrencyUtil.supplyAsync(() -> searchFiles(queryString, ascending));
+    }
+
+    /**
+     * Searches for files based on a query string by sending a request to the SUMMARY_FILE_SEARCH endpoint, passing
+     * each matching file to the consumer as soon as it has been read.
+     *
+     * @param queryString The search query string used to find files.
+     * @param ascending   A boolean indicating whether the search results should be sorted in ascending order.
+     * @param consumer    The consumer receiving the matching files in order.
+     * @throws FileSearchException If the attempt to search for files fails due to various reasons such as invalid credentials, invalid search parameters, or server error.
+     * @throws ExecutionException      If an error occurs during the asynchronous execution of the request.
+     * @throws InterruptedException    If the thread executing the request is interrupted.
+     * @throws JsonProcessingException If an error occurs while processing JSON data.
+     */
+    public void forEachFileSearchResult(String queryString, boolean ascending, Consumer<? super File> consumer) throws FileSearchException, ExecutionException, InterruptedException, JsonProcessingException {
         String body = objectMapper.writeValueAsString(new GetFilesSearchRequest(queryString, 1000, "basename", ascending));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.SUMMARY_FILE_SEARCH, body);
+        int statusCode = PwssHttpClient.getInstance().requestEach(Endpoint.SUMMARY_FILE_SEARCH, body, File.class, consumer);
 
-        return switch (response.statusCode()) {
-            case 200 -> List.of(objectMapper.readValue(response.body(), File[].class));
+        switch (statusCode) {
             case 400 ->
                     throw new FileSearchException("Search files failed: The provided search parameters are invalid.");
             case 401 ->
                     throw new FileSearchException("Search files failed: User not authorized to perform this action.");
-            case 404 -> List.of();
             case 500 ->
                     throw new FileSearchException("Search files failed: An error occurred on the server while attempting to search for files.");
-            default -> null;
-        };
+            default -> {
+                // 200 has been streamed to the consumer, 404 and anything else yield no files
+            }
+        }
     }
 
+    /**
+     * Retrieves the scan summaries of a specific scan by sending a request to the SUMMARY_SCAN endpoint.
+     *
+     * @param scanId The ID of the scan for which to retrieve scan summaries.
+     * @return A list of ScanSummary objects belonging to the scan if the request is successful.
+     * @throws GetSummaryForScanException If the attempt to retrieve the scan summaries fails due to various reasons such as invalid credentials, invalid scan ID, or server error.
+     * @throws ExecutionException         If an error occurs during the asynchronous execution of the request.
+     * @throws InterruptedException       If the thread executing the request is interrupted.
+     * @throws JsonProcessingException    If an error occurs while processing JSON data.
+     */
     public List<ScanSummary> getScanSummaryForScan(long scanId) throws GetSummaryForScanException, ExecutionException, InterruptedException, JsonProcessingException {
+        List<ScanSummary> summaries = new ArrayList<>();
+        forEachScanSummaryForScan(scanId, summaries::add);
+        return Collections.unmodifiableList(summaries);
+    }
+
+    /**
+     * Asynchronously retrieves the scan summaries of a specific scan from the SUMMARY_SCAN endpoint. The response is
+     * streamed on a virtual thread, as by {@link #forEachScanSummaryForScan(long, Consumer)}.
+     *
+     * @param scanId The ID of the scan for which to retrieve scan summaries.
+     * @return A future completed with the scan summaries of the scan, or failed with a {@link GetSummaryForScanException} if they cannot be retrieved.
+     */
+    public CompletableFuture<List<ScanSummary>> getScanSummaryForScanAsync(long scanId) {
+        return ConcurrencyUtil.supplyAsync(() -> getScanSummaryForScan(scanId));
+    }
+
+    /**
+     * Streams the scan summaries of a specific scan from the SUMMARY_SCAN endpoint, passing each summary to the
+     * consumer as soon as it has been read.
+     *
+     * @param scanId   The ID of the scan for which to retrieve scan summaries.
+     * @param consumer The consumer receiving the scan summaries in order.
+     * @throws GetSummaryForScanException If the attempt to retrieve the scan summaries fails due to various reasons such as invalid credentials, invalid scan ID, or server error.
+     * @throws ExecutionException         If an error occurs during the asynchronous execution of the request.
+     * @throws InterruptedException       If the thread executing the request is interrupted.
+     * @throws JsonProcessingException    If an error occurs while processing JSON data.
+     */
+    public void forEachScanSummaryForScan(long scanId, Consumer<? super ScanSummary> consumer) throws GetSummaryForScanException, ExecutionException, InterruptedException, JsonProcessingException {
         String body = objectMapper.writeValueAsString(new GetSummaryForScanRequest(scanId));
-        HttpResponse<String> response = PwssHttpClient.getInstance().request(Endpoint.SUMMARY_SCAN, body);
+        int statusCode = PwssHttpClient.getInstance().requestEach(Endpoint.SUMMARY_SCAN, body, ScanSummary.class, consumer);
 
-        return switch (response.statusCode()) {
-            case 200 -> List.of(objectMapper.readValue(response.body(), ScanSummary[].class));
+        switch (statusCode) {
             case 400 ->
                     throw new GetSummaryForScanException("Get summaries for scan failed: The provided scan ID is invalid.");
             case 401 ->
@@ -121,7 +233,80 @@ public class ScanSummaryService {
                     throw new GetSummaryForScanException("Get summaries for scan failed: No scan summaries found for the specified file.");
             case 500 ->
                     throw new GetSummaryForScanException("Get summaries for scan failed: An error occurred on the server while attempting to retrieve the scan summaries.");
-            default -> null;
-        };
+            default -> {
+                // 200 has been streamed to the consumer, anything else yields no summaries
+            }
+        }
+    }
+
+    /**
+     * Estimates the size of a scan from the latest completed scan of each directory being scanned.
+     * <p>
+     * The server has no count of the summaries of a scan, so the summaries of a completed scan are
+     * streamed from the SUMMARY_SCAN endpoint and counted, without keeping them, the first time it
+     * is used. The count is kept per monitored directory until a newer completed scan of the directory
+     * is used, so starting further scans of the same directories costs no request. A previous scan
+     * whose summaries cannot be retrieved does not count towards the estimate.
+     *
+     * @param completedScans The latest completed scan of each directory being scanned.
+     * @return The expected number of files and bytes, or {@link ScanProgressEstimator.ScanSize#UNKNOWN} if no
+     * previous scan has any summaries.
+     * @throws ExecutionException      If an error occurs during the asynchronous execution of a request.
+     * @throws InterruptedException    If the thread executing the requests is interrupted.
+     * @throws JsonProcessingException If an error occurs while processing JSON data.
+     */
+    public ScanProgressEstimator.ScanSize estimateScanSize(List<Scan> completedScans) throws ExecutionException, InterruptedException, JsonProcessingException {
+        long files = 0;
+        long bytes = 0;
+        for (Scan scan : completedScans) {
+            ScanProgressEstimator.ScanSize size = countScanSize(scan);
+            files += size.files();
+            bytes += size.bytes();
+        }
+        return new ScanProgressEstimator.ScanSize(files, bytes);
+    }
+
+    /**
+     * Returns the number of files and bytes of a completed scan, counted from its summaries unless
+     * it is the scan counted last for its directory.
+     *
+     * @param scan The completed scan.
+     * @return The size of the scan, {@link ScanProgressEstimator.ScanSize#UNKNOWN} if its summaries cannot be retrieved.
+     * @throws ExecutionException      If an error occurs during the asynchronous execution of the request.
+     * @throws InterruptedException    If the thread executing the request is interrupted.
+     * @throws JsonProcessingException If an error occurs while processing JSON data.
+     */
+    private ScanProgressEstimator.ScanSize countScanSize(Scan scan) throws ExecutionException, InterruptedException, JsonProcessingException {
+        long directoryId = scan.monitoredDirectory().id();
+        CountedScan counted = scanSizeByDirectory.get(directoryId);
+        if (counted != null && counted.scanId() == scan.id()) {
+            return counted.size();
+        }
+        long[] totals = new long[2];
+        try {
+            forEachScanSummaryForScan(scan.id(), summary -> {
+                totals[0]++;
+                if (summary.file() != null) {
+                    totals[1] += summary.file().size();
+                }
+            });
+        } catch (GetSummaryForScanException e) {
+            log.debug("Previous scan {} not counted towards the scan size estimate", scan.id(), e);
+            return ScanProgressEstimator.ScanSize.UNKNOWN;
+        }
+        ScanProgressEstimator.ScanSize size = new ScanProgressEstimator.ScanSize(totals[0], totals[1]);
+        scanSizeByDirectory.put(directoryId, new CountedScan(scan.id(), size));
+        return size;
+    }
+
+    /**
+     * Asynchronously estimates the size of a scan from the latest completed scan of each directory being
+     * scanned, as by {@link #estimateScanSize(List)}, on a virtual thread.
+     *
+     * @param previousScans The latest completed scan of each directory being scanned.
+     * @return A future completed with the expected number of files and bytes.
+     */
+    public CompletableFuture<ScanProgressEstimator.ScanSize> estimateScanSizeAsync(List<Scan> previousScans) {
+        return ConcurrencyUtil.supplyAsync(() -> estimateScanSize(previousScans));
     }
 }
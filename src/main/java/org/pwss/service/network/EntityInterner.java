@@ -0,0 +1,128 @@
+package org.pwss.service.network;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import org.pwss.data_structure.LongObjectMap;
+
+/**
+ * Canonicalizes deserialized entities by type and ID.
+ * <p>
+ * Responses repeat the same nested entities, such as the {@code Scan} and
+ * {@code MonitoredDirectory} of every {@code ScanSummary}, thousands of times.
+ * Interning returns one shared instance for every equal entity, so the
+ * duplicates become garbage right after they have been parsed. An entity is
+ * only replaced by its canonical instance if the two are equal, so an entity
+ * whose content changed on the backend is never shadowed by a stale copy.
+ * <p>
+ * Canonical instances are only weakly referenced and are dropped once nothing
+ * else refers to them. The shared instance lives for the session and is
+ * cleared when the session ends. This class is thread safe.
+ */
+public final class EntityInterner {
+
+    /**
+     * The interner shared by all ObjectMappers created by {@link ObjectMapperFactory}.
+     */
+    private static final EntityInterner SHARED = new EntityInterner();
+
+    /**
+     * Canonical instances per entity type, keyed by entity ID.
+     */
+    private final Map<Class<?>, LongObjectMap<EntityReference>> canonicalByType = new HashMap<>();
+
+    /**
+     * Queue receiving the references of canonical instances that have been collected.
+     */
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /**
+     * Returns the interner shared across the session.
+     *
+     * @return The shared interner.
+     */
+    public static EntityInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the canonical instance of an entity.
+     *
+     * @param <T>    The type of the entity.
+     * @param type   The type of the entity.
+     * @param id     The ID of the entity.
+     * @param entity The freshly deserialized entity.
+     * @return The canonical instance equal to {@code entity}, or {@code entity} itself
+     *         if it has become the canonical instance.
+     */
+    public synchronized <T> T intern(Class<T> type, long id, T entity) {
+        purgeCollected();
+        LongObjectMap<EntityReference> canonical = canonicalByType.computeIfAbsent(type, t -> new LongObjectMap<>());
+        EntityReference reference = canonical.get(id);
+        Object existing = reference != null ? reference.get() : null;
+        if (existing != null && existing.equals(entity)) {
+            return type.cast(existing);
+        }
+        canonical.put(id, new EntityReference(type, id, entity, collected));
+        return entity;
+    }
+
+    /**
+     * Returns the number of canonical instances currently tracked.
+     *
+     * @return The number of tracked entities, including ones that are about to be purged.
+     */
+    public synchronized int size() {
+        purgeCollected();
+        int size = 0;
+        for (LongObjectMap<EntityReference> canonical : canonicalByType.values()) {
+            size += canonical.size();
+        }
+        return size;
+    }
+
+    /**
+     * Forgets all canonical instances, for example when the session ends.
+     */
+    public synchronized void clear() {
+        canonicalByType.clear();
+        while (collected.poll() != null) {
+            // Drain the queue, the references are gone with the maps
+        }
+    }
+
+    /**
+     * Removes the entries of collected canonical instances.
+     */
+    private void purgeCollected() {
+        EntityReference reference;
+        while ((reference = (EntityReference) collected.poll()) != null) {
+            LongObjectMap<EntityReference> canonical = canonicalByType.get(reference.type);
+            // Only remove the entry if it has not been replaced by a newer instance
+            if (canonical != null && canonical.get(reference.id) == reference) {
+                canonical.remove(reference.id);
+            }
+        }
+    }
+
+    /**
+     * A weak reference to a canonical instance, remembering where it is stored.
+     */
+    private static final class EntityReference extends WeakReference<Object> {
+        /**
+         * The type of the entity.
+         */
+        private final Class<?> type;
+        /**
+         * The ID of the entity.
+         */
+        private final long id;
+
+        EntityReference(Class<?> type, long id, Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            this.type = type;
+            this.id = id;
+        }
+    }
+}
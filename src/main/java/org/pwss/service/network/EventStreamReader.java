@@ -0,0 +1,160 @@
+package org.pwss.service.network;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Reads Server-Sent Events from a {@code text/event-stream} response line by line.
+ * <p>
+ * Each event is passed on as soon as the blank line ending it has arrived, so
+ * updates pushed by the server are handled without waiting for the response to
+ * complete. The handler of the events decides when to stop reading. Comments
+ * and retry hints are skipped.
+ *
+ * @author PWSS ORG
+ */
+public final class EventStreamReader {
+
+    /**
+     * The media type of an event stream.
+     */
+    public static final String EVENT_STREAM_MEDIA_TYPE = "text/event-stream";
+
+    /**
+     * The event type of events the server did not name.
+     */
+    private static final String DEFAULT_EVENT = "message";
+
+    /**
+     * Status codes meaning that the server does not stream the requested resource at all.
+     */
+    private static final Set<Integer> UNSUPPORTED_STATUS_CODES = Set.of(404, 405, 415);
+
+    /**
+     * How a request for an event stream was answered.
+     */
+    public enum Outcome {
+        /**
+         * The server answered with an event stream, which has been read.
+         */
+        STREAMED,
+        /**
+         * The server does not stream the resource, it answered with 404, 405 or 415,
+         * or with a successful response of another content type.
+         */
+        UNSUPPORTED,
+        /**
+         * The server refused the request this time, for example because the session
+         * expired or it is unavailable. A later request may be streamed.
+         */
+        REJECTED
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private EventStreamReader() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns whether a response is an event stream.
+     *
+     * @param response The response.
+     * @return true if the response succeeded with the {@code text/event-stream} content type.
+     */
+    public static boolean isEventStream(HttpResponse<?> response) {
+        return response.statusCode() == 200 && response.headers().firstValue("Content-Type")
+                .map(type -> type.toLowerCase(Locale.ROOT).startsWith(EVENT_STREAM_MEDIA_TYPE))
+                .orElse(false);
+    }
+
+    /**
+     * Returns whether a response which is not an event stream means that the
+     * server does not stream the resource at all, rather than refusing it this time.
+     *
+     * @param response The response.
+     * @return true if the status is 404, 405 or 415, or the response succeeded with another content type.
+     */
+    public static boolean isUnsupported(HttpResponse<?> response) {
+        return UNSUPPORTED_STATUS_CODES.contains(response.statusCode())
+                || (response.statusCode() == 200 && !isEventStream(response));
+    }
+
+    /**
+     * Reads the events of a response until the handler asks to stop or the server
+     * closes the stream, then closes the stream. A response which is not an event
+     * stream is discarded without reading it.
+     *
+     * @param response The response with an unread body.
+     * @param handler  The handler receiving the events in order, returning false to stop reading.
+     * @return {@link Outcome#STREAMED} once the stream has been read, otherwise whether the
+     *         response is {@link Outcome#UNSUPPORTED} or {@link Outcome#REJECTED}.
+     * @throws IOException If the stream breaks before the server closes it.
+     */
+    public static Outcome read(HttpResponse<Stream<String>> response, Predicate<? super ServerSentEvent> handler)
+            throws IOException {
+        try (Stream<String> lines = response.body()) {
+            if (!isEventStream(response)) {
+                return isUnsupported(response) ? Outcome.UNSUPPORTED : Outcome.REJECTED;
+            }
+            read(lines.iterator(), handler);
+            return Outcome.STREAMED;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses events from the lines of an event stream and passes each of them to the
+     * handler once it is complete. An event left incomplete at the end of the stream is dropped.
+     *
+     * @param lines   The lines of the stream, without line terminators.
+     * @param handler The handler receiving the events in order, returning false to stop reading.
+     * @return The number of events handled.
+     */
+    public static long read(Iterator<String> lines, Predicate<? super ServerSentEvent> handler) {
+        long count = 0;
+        String id = null;
+        String event = null;
+        StringBuilder data = null;
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                // A blank line dispatches the event, if it carried any data
+                if (data != null) {
+                    count++;
+                    if (!handler.test(new ServerSentEvent(id, event != null ? event : DEFAULT_EVENT,
+                            data.toString()))) {
+                        return count;
+                    }
+                }
+                event = null;
+                data = null;
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue; // Comment, typically a keep-alive
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(line.startsWith(" ", colon + 1) ? colon + 2 : colon + 1);
+            switch (field) {
+                case "data" -> data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+                case "event" -> event = value;
+                // The ID is kept for the following events, as the last event ID of the stream
+                case "id" -> id = value.indexOf('\0') < 0 ? value : id;
+                default -> {
+                    // Unknown fields and retry hints are ignored
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,64 @@
+package org.pwss.service.network;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Reads a JSON array from a stream one element at a time.
+ * <p>
+ * Only the element currently being bound is held in memory, so arbitrarily
+ * large arrays can be processed without first materializing the response body
+ * as a String or the elements as an array.
+ *
+ * @author PWSS ORG
+ */
+public final class JsonArrayReader {
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private JsonArrayReader() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Reads a JSON array from the given stream and passes each element to the
+     * consumer as soon as it has been bound. An empty stream or a JSON
+     * {@code null} is treated as an empty array. The stream is closed once the
+     * array has been read.
+     *
+     * @param <T>          The type of the array elements.
+     * @param objectMapper The ObjectMapper used to bind the elements.
+     * @param in           The stream holding the JSON array.
+     * @param elementType  The type to bind each element to.
+     * @param consumer     The consumer receiving the elements in order.
+     * @return The number of elements read.
+     * @throws IOException If the stream cannot be read or does not hold a JSON array of the given type.
+     */
+    public static <T> long forEach(ObjectMapper objectMapper, InputStream in, Class<T> elementType,
+            Consumer<? super T> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return 0;
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array but found " + token);
+            }
+            long count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new JsonParseException(parser, "Unexpected end of JSON array");
+                }
+                consumer.accept(objectMapper.readValue(parser, elementType));
+                count++;
+            }
+            return count;
+        }
+    }
+}
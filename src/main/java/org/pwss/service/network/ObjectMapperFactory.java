@@ -0,0 +1,163 @@
+package org.pwss.service.network;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import org.pwss.model.entity.Checksum;
+import org.pwss.model.entity.Digest;
+import org.pwss.model.entity.File;
+import org.pwss.model.entity.MonitoredDirectory;
+import org.pwss.model.entity.Notes;
+import org.pwss.model.entity.Scan;
+import org.pwss.model.entity.ScanSummary;
+import org.pwss.model.entity.Time;
+
+/**
+ * Creates the ObjectMappers used to talk to the API server.
+ * <p>
+ * Every mapper interns the entities of {@code org.pwss.model.entity} that carry
+ * an ID through the shared {@link EntityInterner}, so equal entities nested in
+ * a response, or in several responses of a session, share one instance.
+ * Hex checksums are bound to compact {@link Digest}s.
+ *
+ * @author PWSS ORG
+ */
+public final class ObjectMapperFactory {
+
+    /**
+     * The interned entity types and how to read their IDs.
+     */
+    private static final Map<Class<?>, ToLongFunction<Object>> INTERNED_TYPES = Map.of(
+            Time.class, entity -> ((Time) entity).id(),
+            Notes.class, entity -> ((Notes) entity).id(),
+            MonitoredDirectory.class, entity -> ((MonitoredDirectory) entity).id(),
+            Scan.class, entity -> ((Scan) entity).id(),
+            File.class, entity -> ((File) entity).id(),
+            Checksum.class, entity -> ((Checksum) entity).id(),
+            ScanSummary.class, entity -> ((ScanSummary) entity).id());
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ObjectMapperFactory() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Creates a new ObjectMapper interning entities through the shared interner.
+     *
+     * @return A new ObjectMapper.
+     */
+    public static ObjectMapper create() {
+        return create(EntityInterner.shared());
+    }
+
+    /**
+     * Creates a new ObjectMapper interning entities through the given interner.
+     *
+     * @param interner The interner holding the canonical entity instances.
+     * @return A new ObjectMapper.
+     */
+    public static ObjectMapper create(EntityInterner interner) {
+        SimpleModule module = new SimpleModule("EntityInterning");
+        module.addDeserializer(Digest.class, new DigestDeserializer());
+        module.addSerializer(Digest.class, new DigestSerializer());
+        module.setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config, BeanDescription beanDesc,
+                    JsonDeserializer<?> deserializer) {
+                ToLongFunction<Object> idOf = INTERNED_TYPES.get(beanDesc.getBeanClass());
+                return idOf != null ? new InterningDeserializer(deserializer, interner, idOf) : deserializer;
+            }
+        });
+        return new ObjectMapper().registerModule(module);
+    }
+
+    /**
+     * Deserializer replacing each deserialized entity by its canonical instance.
+     */
+    private static final class InterningDeserializer extends DelegatingDeserializer {
+        /**
+         * The interner holding the canonical instances.
+         */
+        private final EntityInterner interner;
+        /**
+         * Reads the ID of an entity.
+         */
+        private final ToLongFunction<Object> idOf;
+
+        InterningDeserializer(JsonDeserializer<?> delegate, EntityInterner interner, ToLongFunction<Object> idOf) {
+            super(delegate);
+            this.interner = interner;
+            this.idOf = idOf;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new InterningDeserializer(newDelegatee, interner, idOf);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            Object entity = super.deserialize(p, ctxt);
+            if (entity == null) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            Class<Object> type = (Class<Object>) entity.getClass();
+            return interner.intern(type, idOf.applyAsLong(entity), entity);
+        }
+    }
+
+    /**
+     * Deserializer reading a {@link Digest} from its hex representation.
+     */
+    private static final class DigestDeserializer extends StdScalarDeserializer<Digest> {
+
+        DigestDeserializer() {
+            super(Digest.class);
+        }
+
+        @Override
+        public Digest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.hasToken(JsonToken.VALUE_STRING)) {
+                return (Digest) ctxt.handleUnexpectedToken(Digest.class, p);
+            }
+            String hex = p.getText().trim();
+            try {
+                return Digest.fromHex(hex);
+            } catch (IllegalArgumentException e) {
+                return (Digest) ctxt.handleWeirdStringValue(Digest.class, hex, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Serializer writing a {@link Digest} as lower case hex.
+     */
+    private static final class DigestSerializer extends StdScalarSerializer<Digest> {
+
+        DigestSerializer() {
+            super(Digest.class);
+        }
+
+        @Override
+        public void serialize(Digest value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(value.toHex());
+        }
+    }
+}
@@ -1,19 +1,29 @@
 package org.pwss.service.network;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import javax.net.ssl.SSLContext;
 
 import org.pwss.exception.ssl.SSLsetupErrorException;
 import org.pwss.navigation.NavigationEvents;
 import org.pwss.navigation.Screen;
+import org.pwss.startup.StartupTimings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,15 +56,23 @@ public class PwssHttpClient {
      */
     private  HttpClient client;
     /**
-     * The base URL of the API server.
-     * This is used to construct the full API URL for requests.
+     * The base URL, scheme, host and port, of the API server the application is built for.
      */
-    private final String BASE_URL = "https://localhost";
+    private static final String DEFAULT_BASE_URL = "https://localhost:15400";
     /**
-     * The port on which the API server is running.
+     * The base URL, scheme, host and port, of the API server.
      * This is used to construct the full API URL for requests.
      */
-    private final String PORT = "15400";
+    private static String baseUrl = DEFAULT_BASE_URL;
+    /**
+     * The classpath resource of the truststore trusting the API server, null for the truststore
+     * of the application.
+     */
+    private static String truststoreResource;
+    /**
+     * The password of {@link #truststoreResource}.
+     */
+    private static char[] truststorePassword;
     /**
      * The timeout duration for HTTP requests in seconds.
      * This is used to set the connection timeout for the HttpClient.
@@ -69,13 +87,25 @@ public class PwssHttpClient {
      * Session variables like header fields and Session Cookie(s)
      */
     private Session session;
+    /**
+     * Cache of the successful responses of read endpoints, invalidated by mutating endpoints.
+     */
+    private final ResponseCache<HttpResponse<String>> responseCache = ResponseCache.forApi();
+    /**
+     * Shares the response of a read request in flight with identical requests sent meanwhile.
+     */
+    private final RequestCoalescer<HttpResponse<String>> coalescer = RequestCoalescer.forApi();
 
     private PwssHttpClient() {
-        this.objectMapper = new ObjectMapper();
+        this.objectMapper = ObjectMapperFactory.create();
         try {
+            long sslSetupStart = System.nanoTime();
+            SSLContext sslContext = truststoreResource == null ? SSLSetup.createSSLcontext()
+                    : SSLSetup.createSSLcontext(truststoreResource, truststorePassword);
+            StartupTimings.current().recordOnce("sslSetup", sslSetupStart, System.nanoTime());
             this.client = HttpClient.newBuilder()
                     .connectTimeout(Duration.ofSeconds(TIMEOUT_SECONDS))
-                    .sslContext(SSLSetup.createSSLcontext())
+                    .sslContext(sslContext)
                     .build();
         } catch (SSLsetupErrorException e) {
            log.error("Fatal SSL ERROR",e.getMessage());
@@ -86,6 +116,25 @@ public class PwssHttpClient {
         );
     }
 
+    /**
+     * Directs the client to another API server than the one the application is built for,
+     * such as the stub backend of the startup benchmark. Must be called before the client
+     * is first used.
+     *
+     * @param baseUrl            The base URL, scheme, host and port, of the API server.
+     * @param truststoreResource The classpath resource of the JKS truststore trusting the server.
+     * @param truststorePassword The password of the truststore.
+     * @throws IllegalStateException if the client has already been created.
+     */
+    public static synchronized void useServer(String baseUrl, String truststoreResource, char[] truststorePassword) {
+        if (instance != null) {
+            throw new IllegalStateException("The HTTP client has already been created");
+        }
+        PwssHttpClient.baseUrl = baseUrl;
+        PwssHttpClient.truststoreResource = truststoreResource;
+        PwssHttpClient.truststorePassword = truststorePassword;
+    }
+
     public static synchronized PwssHttpClient getInstance() {
         if (instance == null) {
             instance = new PwssHttpClient();
@@ -95,19 +144,206 @@ public class PwssHttpClient {
 
     /**
      * Clears the current session, removing any stored session cookies or headers.
+     * Entities interned and responses cached during the session are forgotten as well.
      */
     public void clearSession() {
         this.session = null;
+        EntityInterner.shared().clear();
+        log.debug("Clearing response cache, session stats: {}, coalescing: {}",
+                responseCache.stats(), coalescer.stats());
+        responseCache.invalidateAll();
+    }
+
+    /**
+     * Drops the cached responses affected by a mutating endpoint, as if it had been called.
+     * This is needed when data changes on the server without a call from this client,
+     * for example when a running scan finishes.
+     *
+     * @param mutation The mutating endpoint whose effect on the cache to apply.
+     */
+    public void invalidateCacheAfter(Endpoint mutation) {
+        responseCache.invalidateAfter(mutation);
+    }
+
+    /**
+     * Returns the version of the server data as seen by this client. The version changes
+     * whenever a mutating endpoint is called or the cache is invalidated, so data read at an
+     * older version may be stale even if it is recent.
+     *
+     * @return The current data version.
+     */
+    public long getDataVersion() {
+        return responseCache.version();
+    }
+
+    /**
+     * Returns the hit and miss counters of the response cache.
+     *
+     * @return The counters accumulated since the application started.
+     */
+    public ResponseCache.Stats getCacheStats() {
+        return responseCache.stats();
+    }
+
+    /**
+     * Returns the coalescing counters of the read requests.
+     *
+     * @return The counters accumulated since the application started.
+     */
+    public RequestCoalescer.Stats getCoalescingStats() {
+        return coalescer.stats();
     }
 
     /**
      * Sends an asynchronous HTTP request to the specified endpoint using the given method, body, and headers.
+     * <p>
+     * Successful responses of cached endpoints are served from the response cache while they are valid,
+     * and calls to mutating endpoints invalidate the cached responses they affect. A read request identical
+     * to one still in flight is not sent again but shares its response.
      *
      * @param endpoint The `Endpoint` enum constant representing the API endpoint.
      * @param body     The request body as a String. Can be null or empty for methods like GET or DELETE.
      * @return A `CompletableFuture` containing the response body as a String.
      */
     public CompletableFuture<HttpResponse<String>> requestAsync(Endpoint endpoint, String body) {
+        Optional<HttpResponse<String>> cached = responseCache.get(endpoint, body);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        long stamp = responseCache.stamp(endpoint);
+        return coalescer.coalesce(endpoint, body, responseCache.version(), () ->
+                sendAsync(buildRequest(endpoint, body), HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            if (response != null && response.statusCode() == 200) {
+                                responseCache.put(endpoint, body, response, stamp);
+                            }
+                            // Invalidate even if the call failed, the server may have applied part of it
+                            responseCache.invalidateAfter(endpoint);
+                        }));
+    }
+
+    /**
+     * Sends an asynchronous HTTP request to the specified endpoint and maps the response, typically by its status
+     * code, inside the returned future. A checked exception thrown by the handler, such as the typed exception of a
+     * failed call, fails the future with that exception.
+     *
+     * @param <T>      The type of the mapped response.
+     * @param endpoint The `Endpoint` enum constant representing the API endpoint.
+     * @param body     The request body as a String. Can be null or empty for methods like GET or DELETE.
+     * @param handler  The handler mapping the response.
+     * @return A `CompletableFuture` containing the mapped response.
+     */
+    public <T> CompletableFuture<T> requestAsync(Endpoint endpoint, String body, ResponseHandler<T> handler) {
+        return requestAsync(endpoint, body).thenApply(response -> {
+            try {
+                return handler.handle(response);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Serializes a request object to JSON, sends it asynchronously to the specified endpoint and maps the response
+     * inside the returned future. A failure to serialize the request fails the future with a
+     * `JsonProcessingException`.
+     *
+     * @param <T>      The type of the mapped response.
+     * @param endpoint The `Endpoint` enum constant representing the API endpoint.
+     * @param request  The request object serialized as the request body.
+     * @param handler  The handler mapping the response.
+     * @return A `CompletableFuture` containing the mapped response.
+     */
+    public <T> CompletableFuture<T> requestJsonAsync(Endpoint endpoint, Object request, ResponseHandler<T> handler) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return requestAsync(endpoint, body, handler);
+    }
+
+    /**
+     * Sends an asynchronous HTTP request to the specified endpoint and exposes the response body as a stream,
+     * without buffering it in memory.
+     *
+     * @param endpoint The `Endpoint` enum constant representing the API endpoint.
+     * @param body     The request body as a String. Can be null or empty for methods like GET or DELETE.
+     * @return A `CompletableFuture` containing the response with an unread body stream, which the caller must close.
+     */
+    public CompletableFuture<HttpResponse<InputStream>> requestStreamAsync(Endpoint endpoint, String body) {
+        return sendAsync(buildRequest(endpoint, body), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * Sends a synchronous HTTP request to an endpoint returning a JSON array and passes each element to the
+     * consumer while the response body is being read. Only the element currently being bound is held in memory.
+     * The body of a response with a status other than 200 is discarded.
+     *
+     * @param <T>         The type of the array elements.
+     * @param endpoint    The `Endpoint` enum constant representing the API endpoint.
+     * @param body        The request body as a String. Can be null or empty for methods like GET or DELETE.
+     * @param elementType The type to bind each array element to.
+     * @param consumer    The consumer receiving the elements in order.
+     * @return The HTTP status code of the response.
+     * @throws InterruptedException    If the current thread is interrupted while waiting for the response.
+     * @throws ExecutionException      If an exception occurs while sending the request or reading the response.
+     * @throws JsonProcessingException If the response body is not a JSON array of the given type.
+     */
+    public <T> int requestEach(Endpoint endpoint, String body, Class<T> elementType, Consumer<? super T> consumer)
+            throws InterruptedException, ExecutionException, JsonProcessingException {
+        HttpResponse<InputStream> response = requestStreamAsync(endpoint, body).get();
+        try (InputStream in = response.body()) {
+            if (response.statusCode() == 200) {
+                JsonArrayReader.forEach(objectMapper, in, elementType, consumer);
+            }
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ExecutionException("Failed to read the response body from " + endpoint, e);
+        }
+        return response.statusCode();
+    }
+
+    /**
+     * Sends a synchronous HTTP request asking the specified endpoint for a stream of Server-Sent Events and passes
+     * each event to the handler as soon as it has arrived. Blocks until the handler asks to stop or the server
+     * closes the stream.
+     *
+     * @param endpoint The `Endpoint` enum constant representing the API endpoint.
+     * @param body     The request body as a String. Can be null or empty for methods like GET or DELETE.
+     * @param handler  The handler receiving the events in order, returning false to stop reading.
+     * @return {@link EventStreamReader.Outcome#STREAMED} once the stream has been read, otherwise whether the
+     *         server does not stream the endpoint or refused the request this time.
+     * @throws InterruptedException If the current thread is interrupted while waiting for the response.
+     * @throws ExecutionException   If an exception occurs while sending the request or reading the stream.
+     */
+    public EventStreamReader.Outcome requestEventStream(Endpoint endpoint, String body, Predicate<? super ServerSentEvent> handler)
+            throws InterruptedException, ExecutionException {
+        HttpRequest request = HttpRequest.newBuilder(buildRequest(endpoint, body),
+                        (name, value) -> !name.equalsIgnoreCase("Accept"))
+                .header("Accept", EventStreamReader.EVENT_STREAM_MEDIA_TYPE)
+                .build();
+        HttpResponse<Stream<String>> response = sendAsync(request, HttpResponse.BodyHandlers.ofLines()).get();
+        try {
+            return EventStreamReader.read(response, handler);
+        } catch (IOException e) {
+            throw new ExecutionException("Event stream from " + endpoint + " broke", e);
+        }
+    }
+
+    /**
+     * Builds an HTTP request for the specified endpoint, applying the method, body, default headers and session
+     * cookie.
+     *
+     * @param endpoint The `Endpoint` enum constant representing the API endpoint.
+     * @param body     The request body as a String. Can be null or empty for methods like GET or DELETE.
+     * @return The request ready to be sent.
+     */
+    private HttpRequest buildRequest(Endpoint endpoint, String body) {
         HttpRequest.Builder builder = HttpRequest.newBuilder()
                 .uri(URI.create(getApiUrl(endpoint)))
                 .timeout(Duration.ofSeconds(10));
@@ -136,10 +372,21 @@ public class PwssHttpClient {
         }
 
         // Build the request
-        HttpRequest request = builder.build();
+        return builder.build();
+    }
 
-        // Send the request asynchronously and return the response body as a CompletableFuture
-        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+    /**
+     * Sends a request asynchronously and updates the session from the response headers.
+     *
+     * @param <B>         The type of the response body.
+     * @param request     The request to send.
+     * @param bodyHandler The handler consuming the response body.
+     * @return A `CompletableFuture` containing the response.
+     */
+    private <B> CompletableFuture<HttpResponse<B>> sendAsync(HttpRequest request,
+            HttpResponse.BodyHandler<B> bodyHandler) {
+        // Send the request asynchronously and return the response as a CompletableFuture
+        return client.sendAsync(request, bodyHandler)
                 .thenApply(response -> {
                     // Session management: update session if headers contain Set-Cookie
                     Session.from(response.headers()).ifPresent(newSession -> {
@@ -218,6 +465,6 @@ public class PwssHttpClient {
      * @return The full API URL as a String, combining the base URL and the endpoint's path.
      */
     private String getApiUrl(Endpoint endpoint) {
-        return String.format("%s:%s%s", BASE_URL, PORT, endpoint.getUrl());
+        return baseUrl + endpoint.getUrl();
     }
 }
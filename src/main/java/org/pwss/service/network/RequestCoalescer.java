@@ -0,0 +1,200 @@
+package org.pwss.service.network;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent API requests into a single request in flight.
+ * <p>
+ * Only idempotent endpoints are coalesced. While a request to such an endpoint
+ * is in flight, an identical request, to the same endpoint with the same body,
+ * is not sent again but shares the response of the request in flight. The
+ * first request is the leader, the requests sharing its response are its
+ * followers.
+ * <p>
+ * Requests only share a response if they were issued at the same version of
+ * the data, so a request issued after a mutation never receives the response to
+ * a request issued before it. Each caller gets its own view of the shared
+ * future, so cancelling it does not affect the other callers. This class is
+ * thread safe.
+ *
+ * @param <V> The type of the responses.
+ * @author PWSS ORG
+ */
+public final class RequestCoalescer<V> {
+
+    /**
+     * Coalescing counters of all endpoints or of a single endpoint.
+     *
+     * @param leaders   The number of requests sent to the server.
+     * @param followers The number of requests which shared the response of a request in flight instead.
+     */
+    public record Stats(long leaders, long followers) {
+        /**
+         * Returns the fraction of requests which were not sent to the server.
+         *
+         * @return The coalescing rate, or 0 if there were no requests.
+         */
+        public double coalescingRate() {
+            long requests = leaders + followers;
+            return requests == 0 ? 0 : (double) followers / requests;
+        }
+    }
+
+    /**
+     * Identifies identical requests.
+     *
+     * @param endpoint The endpoint.
+     * @param body     The request body, empty if there is none.
+     * @param version  The version of the data the request was issued at.
+     */
+    private record Key(Endpoint endpoint, String body, long version) {
+    }
+
+    /**
+     * The endpoints whose requests are coalesced.
+     */
+    private final Set<Endpoint> coalesced;
+    /**
+     * The requests in flight by key.
+     */
+    private final Map<Key, CompletableFuture<V>> inFlight = new HashMap<>();
+    /**
+     * The number of leaders per endpoint.
+     */
+    private final Map<Endpoint, Long> leaders = new EnumMap<>(Endpoint.class);
+    /**
+     * The number of followers per endpoint.
+     */
+    private final Map<Endpoint, Long> followers = new EnumMap<>(Endpoint.class);
+
+    /**
+     * Creates a coalescer for the given endpoints.
+     *
+     * @param coalesced The idempotent endpoints whose requests are coalesced.
+     */
+    public RequestCoalescer(Set<Endpoint> coalesced) {
+        this.coalesced = coalesced.isEmpty() ? Set.of() : EnumSet.copyOf(coalesced);
+    }
+
+    /**
+     * Creates a coalescer for the idempotent endpoints of the API server.
+     * <p>
+     * Every endpoint which only reads data and answers with a body read as a
+     * whole is coalesced. The live feed is not, since each of its responses
+     * carries the updates since the previous one.
+     *
+     * @param <V> The type of the responses.
+     * @return A new coalescer.
+     */
+    public static <V> RequestCoalescer<V> forApi() {
+        return new RequestCoalescer<>(EnumSet.of(
+                Endpoint.USER_EXISTS,
+                Endpoint.SCAN_STATUS,
+                Endpoint.MOST_RECENT_SCANS,
+                Endpoint.MOST_RECENT_SCANS_ALL,
+                Endpoint.DIFF_COUNT,
+                Endpoint.MONITORED_DIRECTORY_ALL,
+                Endpoint.MONITORED_DIRECTORY_BY_ID,
+                Endpoint.SUMMARY_FILE,
+                Endpoint.SUMMARY_MOST_RECENT_SCAN));
+    }
+
+    /**
+     * Returns whether requests to the given endpoint are coalesced.
+     *
+     * @param endpoint The endpoint.
+     * @return true if identical concurrent requests to the endpoint share a response.
+     */
+    public boolean isCoalesced(Endpoint endpoint) {
+        return coalesced.contains(endpoint);
+    }
+
+    /**
+     * Sends a request, unless an identical request is already in flight, in which
+     * case its response is shared.
+     *
+     * @param endpoint The endpoint.
+     * @param body     The request body, or null if there is none.
+     * @param version  The version of the data the request is issued at.
+     * @param request  Sends the request, called only if the request is not coalesced.
+     * @return A future completed with the response to the request, or to the identical request in flight.
+     */
+    public CompletableFuture<V> coalesce(Endpoint endpoint, String body, long version,
+            Supplier<CompletableFuture<V>> request) {
+        if (!isCoalesced(endpoint)) {
+            return request.get();
+        }
+        // GET and DELETE requests send no body, which is the same as an empty one
+        Key key = new Key(endpoint, body != null ? body : "", version);
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        synchronized (this) {
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+            if (existing != null) {
+                followers.merge(endpoint, 1L, Long::sum);
+                return existing.copy();
+            }
+            leaders.merge(endpoint, 1L, Long::sum);
+        }
+
+        CompletableFuture<V> sent;
+        try {
+            sent = request.get();
+        } catch (RuntimeException e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        sent.whenComplete((response, error) -> {
+            // Later requests go to the server again, the response may be outdated by then
+            synchronized (this) {
+                inFlight.remove(key, shared);
+            }
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(response);
+            }
+        });
+        return shared.copy();
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     *
+     * @return The number of requests in flight.
+     */
+    public synchronized int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the coalescing counters of all endpoints.
+     *
+     * @return The counters.
+     */
+    public synchronized Stats stats() {
+        long totalLeaders = 0;
+        long totalFollowers = 0;
+        for (long count : leaders.values()) {
+            totalLeaders += count;
+        }
+        for (long count : followers.values()) {
+            totalFollowers += count;
+        }
+        return new Stats(totalLeaders, totalFollowers);
+    }
+
+    /**
+     * Returns the coalescing counters of an endpoint.
+     *
+     * @param endpoint The endpoint.
+     * @return The counters.
+     */
+    public synchronized Stats stats(Endpoint endpoint) {
+        return new Stats(leaders.getOrDefault(endpoint, 0L), followers.getOrDefault(endpoint, 0L));
+    }
+}
@@ -0,0 +1,378 @@
+package org.pwss.service.network;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * An in-memory cache of API responses, keyed by endpoint and request body.
+ * <p>
+ * Only endpoints with a {@link Policy} are cached. Each of them has its own
+ * time to live and its own bounded number of entries, evicting the least
+ * recently used entry when full. Calling a mutating endpoint invalidates every
+ * cached endpoint whose data it affects.
+ * <p>
+ * A response is only stored if its endpoint has not been
+ * invalidated while it was in flight, so a read racing a mutation cannot put
+ * stale data back into the cache. This class is thread safe.
+ *
+ * @param <V> The type of the cached responses.
+ * @author PWSS ORG
+ */
+public final class ResponseCache<V> {
+
+    /**
+     * How long and how many responses of an endpoint are kept.
+     *
+     * @param ttl        The time a response stays valid after it has been stored.
+     * @param maxEntries The maximum number of cached responses, one per distinct request body.
+     */
+    public record Policy(Duration ttl, int maxEntries) {
+        public Policy {
+            Objects.requireNonNull(ttl, "ttl");
+            if (ttl.isNegative() || ttl.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive: " + ttl);
+            }
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("Max entries must be at least 1: " + maxEntries);
+            }
+        }
+    }
+
+    /**
+     * Hit and miss counters of the cache or of a single endpoint.
+     *
+     * @param hits   The number of lookups served from the cache.
+     * @param misses The number of lookups that had to go to the server.
+     */
+    public record Stats(long hits, long misses) {
+        /**
+         * Returns the fraction of lookups served from the cache.
+         *
+         * @return The hit ratio, or 0 if there were no lookups.
+         */
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * A cached response and the time it expires at.
+     *
+     * @param value     The cached response.
+     * @param expiresAt The {@code nanoClock} time after which the response is stale.
+     */
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * The caching policy of each cached endpoint.
+     */
+    private final Map<Endpoint, Policy> policies;
+    /**
+     * The cached endpoints invalidated by each mutating endpoint.
+     */
+    private final Map<Endpoint, Set<Endpoint>> invalidations;
+    /**
+     * The clock measuring entry ages, in nanoseconds.
+     */
+    private final LongSupplier nanoClock;
+    /**
+     * The cached responses of each endpoint by request body, in least recently used order.
+     */
+    private final Map<Endpoint, LinkedHashMap<String, Entry<V>>> entries = new EnumMap<>(Endpoint.class);
+    /**
+     * The number of times each endpoint has been invalidated.
+     */
+    private final Map<Endpoint, Long> generations = new EnumMap<>(Endpoint.class);
+    /**
+     * The number of invalidations of any endpoint, the version of the cached data as a whole.
+     */
+    private long version;
+    /**
+     * The number of hits per endpoint.
+     */
+    private final Map<Endpoint, Long> hits = new EnumMap<>(Endpoint.class);
+    /**
+     * The number of misses per endpoint.
+     */
+    private final Map<Endpoint, Long> misses = new EnumMap<>(Endpoint.class);
+
+    /**
+     * Creates a cache with the given policies and invalidation rules.
+     *
+     * @param policies      The caching policy of each endpoint to cache.
+     * @param invalidations The cached endpoints invalidated by each mutating endpoint.
+     */
+    public ResponseCache(Map<Endpoint, Policy> policies, Map<Endpoint, Set<Endpoint>> invalidations) {
+        this(policies, invalidations, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache measuring entry ages with the given clock.
+     *
+     * @param policies      The caching policy of each endpoint to cache.
+     * @param invalidations The cached endpoints invalidated by each mutating endpoint.
+     * @param nanoClock     The clock measuring entry ages, in nanoseconds.
+     */
+    ResponseCache(Map<Endpoint, Policy> policies, Map<Endpoint, Set<Endpoint>> invalidations,
+            LongSupplier nanoClock) {
+        this.policies = policies.isEmpty() ? Map.of() : new EnumMap<>(policies);
+        this.invalidations = invalidations.isEmpty() ? Map.of() : new EnumMap<>(invalidations);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Creates a cache with the policies and invalidation rules of the API server.
+     * <p>
+     * Directory and recent scan listings change whenever a scan runs or a
+     * directory or note is edited, so they are kept briefly. The summaries of
+     * a file and the diff count of a scan only change when a scan finishes or
+     * a file is quarantined, so they are kept longer.
+     *
+     * @param <V> The type of the cached responses.
+     * @return A new cache.
+     */
+    public static <V> ResponseCache<V> forApi() {
+        Map<Endpoint, Policy> policies = new EnumMap<>(Endpoint.class);
+        policies.put(Endpoint.MONITORED_DIRECTORY_ALL, new Policy(Duration.ofMinutes(1), 1));
+        policies.put(Endpoint.MONITORED_DIRECTORY_BY_ID, new Policy(Duration.ofMinutes(1), 64));
+        policies.put(Endpoint.MOST_RECENT_SCANS_ALL, new Policy(Duration.ofMinutes(1), 1));
+        policies.put(Endpoint.MOST_RECENT_SCANS, new Policy(Duration.ofMinutes(1), 16));
+        policies.put(Endpoint.SUMMARY_FILE, new Policy(Duration.ofMinutes(5), 256));
+        policies.put(Endpoint.DIFF_COUNT, new Policy(Duration.ofMinutes(5), 512));
+
+        Set<Endpoint> directories = EnumSet.of(Endpoint.MONITORED_DIRECTORY_ALL, Endpoint.MONITORED_DIRECTORY_BY_ID);
+        Set<Endpoint> scans = EnumSet.of(Endpoint.MOST_RECENT_SCANS_ALL, Endpoint.MOST_RECENT_SCANS);
+        Set<Endpoint> scanResults = EnumSet.of(Endpoint.SUMMARY_FILE, Endpoint.DIFF_COUNT);
+
+        Map<Endpoint, Set<Endpoint>> invalidations = new EnumMap<>(Endpoint.class);
+        // A scan updates the last scanned time of its directories and adds scans, summaries and diffs
+        Set<Endpoint> scan = union(directories, scans, scanResults);
+        invalidations.put(Endpoint.START_SCAN, scan);
+        invalidations.put(Endpoint.START_SCAN_ID, scan);
+        invalidations.put(Endpoint.STOP_SCAN, scan);
+        // Directories are embedded in scans, and a new baseline resets their scan results
+        Set<Endpoint> directory = union(directories, scans, scanResults);
+        invalidations.put(Endpoint.MONITORED_DIRECTORY_CREATE, directory);
+        invalidations.put(Endpoint.MONITORED_DIRECTORY_UPDATE, directory);
+        invalidations.put(Endpoint.MONITORED_DIRECTORY_NEW_BASELINE, directory);
+        // Notes are embedded in directories, scans and the summaries of their scans
+        Set<Endpoint> note = union(directories, scans, EnumSet.of(Endpoint.SUMMARY_FILE));
+        invalidations.put(Endpoint.NOTE_UPDATE, note);
+        invalidations.put(Endpoint.NOTE_RESTORE, note);
+        invalidations.put(Endpoint.QUARANTINE_FILE, scanResults);
+        invalidations.put(Endpoint.UNQUARANTINE_FILE, scanResults);
+        // A new session must not see the responses of the previous one
+        Set<Endpoint> all = Collections.unmodifiableSet(EnumSet.copyOf(policies.keySet()));
+        invalidations.put(Endpoint.LOGIN, all);
+        invalidations.put(Endpoint.CREATE_USER, all);
+
+        return new ResponseCache<>(policies, invalidations);
+    }
+
+    /**
+     * Returns whether responses of the given endpoint are cached.
+     *
+     * @param endpoint The endpoint.
+     * @return true if the endpoint has a caching policy.
+     */
+    public boolean isCached(Endpoint endpoint) {
+        return policies.containsKey(endpoint);
+    }
+
+    /**
+     * Returns whether the given endpoint invalidates cached responses when called.
+     *
+     * @param endpoint The endpoint.
+     * @return true if calling the endpoint invalidates at least one cached endpoint.
+     */
+    public boolean isInvalidating(Endpoint endpoint) {
+        return invalidations.containsKey(endpoint);
+    }
+
+    /**
+     * Looks up a valid cached response and counts the lookup as a hit or a miss.
+     *
+     * @param endpoint The endpoint.
+     * @param body     The request body, or null if there is none.
+     * @return The cached response, or an empty Optional if there is none or it has expired.
+     */
+    public synchronized Optional<V> get(Endpoint endpoint, String body) {
+        if (!isCached(endpoint)) {
+            return Optional.empty();
+        }
+        LinkedHashMap<String, Entry<V>> cached = entries.get(endpoint);
+        Entry<V> entry = cached != null ? cached.get(keyOf(body)) : null;
+        if (entry != null && entry.expiresAt() - nanoClock.getAsLong() > 0) {
+            hits.merge(endpoint, 1L, Long::sum);
+            return Optional.of(entry.value());
+        }
+        if (entry != null) {
+            cached.remove(keyOf(body));
+        }
+        misses.merge(endpoint, 1L, Long::sum);
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a stamp to pass to {@link #put} once the response of a request
+     * sent now has arrived.
+     *
+     * @param endpoint The endpoint the request is sent to.
+     * @return The current invalidation generation of the endpoint.
+     */
+    public synchronized long stamp(Endpoint endpoint) {
+        return generations.getOrDefault(endpoint, 0L);
+    }
+
+    /**
+     * Stores a response, unless the endpoint has been invalidated since the stamp was taken.
+     *
+     * @param endpoint The endpoint.
+     * @param body     The request body, or null if there is none.
+     * @param value    The response to cache.
+     * @param stamp    The stamp taken by {@link #stamp} before the request was sent.
+     * @return true if the response has been stored.
+     */
+    public synchronized boolean put(Endpoint endpoint, String body, V value, long stamp) {
+        Policy policy = policies.get(endpoint);
+        if (policy == null || stamp != stamp(endpoint)) {
+            return false;
+        }
+        LinkedHashMap<String, Entry<V>> cached = entries.computeIfAbsent(endpoint, e -> lruMap(policy.maxEntries()));
+        cached.put(keyOf(body), new Entry<>(value, nanoClock.getAsLong() + policy.ttl().toNanos()));
+        return true;
+    }
+
+    /**
+     * Invalidates the cached endpoints affected by a call to a mutating endpoint.
+     *
+     * @param mutation The mutating endpoint that has been called.
+     */
+    public synchronized void invalidateAfter(Endpoint mutation) {
+        for (Endpoint endpoint : invalidations.getOrDefault(mutation, Set.of())) {
+            invalidate(endpoint);
+        }
+    }
+
+    /**
+     * Drops all cached responses, for example when the session ends.
+     */
+    public synchronized void invalidateAll() {
+        for (Endpoint endpoint : policies.keySet()) {
+            invalidate(endpoint);
+        }
+    }
+
+    /**
+     * Returns the version of the data behind the cache, which changes whenever an
+     * endpoint is invalidated. Data read at an older version may be stale.
+     *
+     * @return The current data version.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of cached responses, including expired ones not yet dropped.
+     *
+     * @return The number of cached responses.
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (LinkedHashMap<String, Entry<V>> cached : entries.values()) {
+            size += cached.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the hit and miss counters of all endpoints.
+     *
+     * @return The counters.
+     */
+    public synchronized Stats stats() {
+        long totalHits = 0;
+        long totalMisses = 0;
+        for (long count : hits.values()) {
+            totalHits += count;
+        }
+        for (long count : misses.values()) {
+            totalMisses += count;
+        }
+        return new Stats(totalHits, totalMisses);
+    }
+
+    /**
+     * Returns the hit and miss counters of an endpoint.
+     *
+     * @param endpoint The endpoint.
+     * @return The counters.
+     */
+    public synchronized Stats stats(Endpoint endpoint) {
+        return new Stats(hits.getOrDefault(endpoint, 0L), misses.getOrDefault(endpoint, 0L));
+    }
+
+    /**
+     * Drops the responses of an endpoint and prevents responses in flight from being stored.
+     *
+     * @param endpoint The endpoint to invalidate.
+     */
+    private void invalidate(Endpoint endpoint) {
+        entries.remove(endpoint);
+        generations.merge(endpoint, 1L, Long::sum);
+        version++;
+    }
+
+    /**
+     * Returns the key under which the response to a request body is cached.
+     *
+     * @param body The request body, or null if there is none.
+     * @return The key.
+     */
+    private static String keyOf(String body) {
+        // GET and DELETE requests send no body, which is the same as an empty one
+        return body != null ? body : "";
+    }
+
+    /**
+     * Creates a map evicting its least recently used entry beyond the given size.
+     *
+     * @param <V>        The type of the cached responses.
+     * @param maxEntries The maximum number of entries.
+     * @return A new map in access order.
+     */
+    private static <V> LinkedHashMap<String, Entry<V>> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the union of the given sets of endpoints.
+     *
+     * @param sets The sets to merge.
+     * @return An unmodifiable set holding all endpoints of the given sets.
+     */
+    @SafeVarargs
+    private static Set<Endpoint> union(Set<Endpoint>... sets) {
+        EnumSet<Endpoint> union = EnumSet.noneOf(Endpoint.class);
+        for (Set<Endpoint> set : sets) {
+            union.addAll(set);
+        }
+        return Collections.unmodifiableSet(union);
+    }
+}
@@ -0,0 +1,22 @@
+package org.pwss.service.network;
+
+import java.net.http.HttpResponse;
+
+/**
+ * Maps a response of the API server to the result of a call, throwing the typed
+ * exception of the call if the response reports a failure.
+ *
+ * @param <T> The type of the result.
+ */
+@FunctionalInterface
+public interface ResponseHandler<T> {
+
+    /**
+     * Maps a response.
+     *
+     * @param response The response, with its body read as a String.
+     * @return The result of the call.
+     * @throws Exception If the response reports a failure or its body cannot be parsed.
+     */
+    T handle(HttpResponse<String> response) throws Exception;
+}
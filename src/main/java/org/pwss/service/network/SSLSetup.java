@@ -22,18 +22,36 @@ final class SSLSetup {
     final static Logger log = LoggerFactory.getLogger(SSLSetup.class);
 
     /**
-     * Sets up the SSLContext using a truststore file.
+     * Sets up the SSLContext using the truststore file of the application.
      *
      * @return an initialized {@link javax.net.ssl.SSLContext} instance configured
      *         with trust managers
      * @throws SSLsetupErrorException if any error occurs during setup
      */
     final static SSLContext createSSLcontext() throws SSLsetupErrorException {
+        String truststorePassword = System.getenv("TRUSTSTORE_FIS_GUI");
+        if (truststorePassword == null) {
+            log.error("Error setting up SSL: TRUSTSTORE_FIS_GUI is not set");
+            throw new SSLsetupErrorException("Error setting up SSL: TRUSTSTORE_FIS_GUI is not set");
+        }
+        return createSSLcontext("truststore.jks", truststorePassword.toCharArray());
+    }
+
+    /**
+     * Sets up the SSLContext using a truststore file on the classpath.
+     *
+     * @param truststoreResource the classpath resource of the JKS truststore
+     * @param truststorePassword the password of the truststore
+     * @return an initialized {@link javax.net.ssl.SSLContext} instance configured
+     *         with trust managers
+     * @throws SSLsetupErrorException if any error occurs during setup
+     */
+    final static SSLContext createSSLcontext(String truststoreResource, char[] truststorePassword)
+            throws SSLsetupErrorException {
 
         try (InputStream inputStream = Thread.currentThread().getContextClassLoader()
-                .getResourceAsStream("truststore.jks")) {
+                .getResourceAsStream(truststoreResource)) {
 
-            char[] truststorePassword = System.getenv("TRUSTSTORE_FIS_GUI").toCharArray();
             KeyStore truststore = KeyStore.getInstance("JKS");
             truststore.load(inputStream, truststorePassword);
 
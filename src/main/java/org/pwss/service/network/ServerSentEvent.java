@@ -0,0 +1,11 @@
+package org.pwss.service.network;
+
+/**
+ * An event received from a {@code text/event-stream} response.
+ *
+ * @param id    The ID of the event, or null if it has none.
+ * @param event The type of the event, {@code message} if the server did not name one.
+ * @param data  The data of the event, with multiple data lines joined by line feeds.
+ */
+public record ServerSentEvent(String id, String event, String data) {
+}
@@ -0,0 +1,229 @@
+package org.pwss.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.swing.SwingUtilities;
+
+import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
+import org.pwss.exception.start.FailedToLaunchAppException;
+import org.pwss.navigation.NavigationEvents;
+import org.pwss.navigation.Screen;
+import org.pwss.service.AuthService;
+import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.OSUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Benchmarks the startup of the application, started with the
+ * {@code --startup-bench} option, and writes the timings to a JSON report so
+ * they can be compared from release to release.
+ * <p>
+ * The application starts against {@link StartupBenchStub}, a stub of the API
+ * server serving fixed responses over TLS on the loopback address, so the
+ * timings do not depend on a running server or on its data. The benchmark
+ * measures the time to the first frame and to the interactive login screen,
+ * then logs in with the credentials of the stub and measures the time to the
+ * rendered home dashboard. Once the report is written the application exits,
+ * with status 1 if a milestone was not reached within
+ * {@link #MILESTONE_TIMEOUT_SECONDS}.
+ *
+ * @author PWSS ORG
+ */
+public final class StartupBench {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(StartupBench.class);
+
+    /**
+     * The command line option starting the benchmark, optionally followed by
+     * {@code =<path>} to choose the report file.
+     */
+    public static final String OPTION = "--startup-bench";
+
+    /**
+     * Directory the reports are written to by default.
+     */
+    private static final String DEFAULT_REPORT_DIRECTORY = "app_storage" + File.separator + "bench";
+
+    /**
+     * Maximum time in seconds to wait for each milestone.
+     */
+    private static final long MILESTONE_TIMEOUT_SECONDS = 60L;
+
+    /**
+     * The startup report.
+     *
+     * @param version          The version of the application, null if unknown.
+     * @param createdAt        When the benchmark ran.
+     * @param javaVersion      The version of the Java runtime.
+     * @param os               The name of the operating system.
+     * @param jvmUptimeMillis  Milliseconds from the start of the JVM to the start of the startup timings.
+     * @param complete         Whether every milestone benchmarked was reached.
+     * @param milestonesMillis Milliseconds from the start of the startup to each milestone reached.
+     * @param phases           The measured phases, in the order they started.
+     */
+    record Report(String version, String createdAt, String javaVersion, String os, long jvmUptimeMillis,
+            boolean complete, Map<String, Double> milestonesMillis, List<ReportPhase> phases) {
+    }
+
+    /**
+     * A phase of the startup report.
+     *
+     * @param name        The name of the phase.
+     * @param startMillis Milliseconds from the start of the startup to the start of the phase.
+     * @param millis      How long the phase took, in milliseconds.
+     * @param thread      The name of the thread the phase ran on.
+     */
+    record ReportPhase(String name, double startMillis, double millis, String thread) {
+    }
+
+    private StartupBench() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Returns the report file requested on the command line, if the benchmark is.
+     *
+     * @param args The command line arguments.
+     * @return The report file, or empty if no benchmark is requested.
+     */
+    public static Optional<Path> reportFile(String[] args) {
+        for (String arg : args) {
+            if (arg.equals(OPTION)) {
+                return Optional.of(Path.of(DEFAULT_REPORT_DIRECTORY, "startup-" + System.currentTimeMillis() + ".json"));
+            }
+            if (arg.startsWith(OPTION + "=")) {
+                return Optional.of(Path.of(arg.substring(OPTION.length() + 1)));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Starts the stub of the API server and the application, waits for the
+     * milestones, writes the report and exits.
+     *
+     * @param reportFile The file to write the report to.
+     * @throws FailedToLaunchAppException if the stub or the application could not be started
+     */
+    public static void run(Path reportFile) throws FailedToLaunchAppException {
+        int status;
+        // The stub is started before the startup timings, which start when first used
+        try (StartupBenchStub stub = StartupBenchStub.start()) {
+            PwssHttpClient.useServer(stub.baseUrl(), StartupBenchStub.TRUSTSTORE_RESOURCE,
+                    StartupBenchStub.STORE_PASSWORD.toCharArray());
+            StartupTimings timings = StartupTimings.current();
+            new StartupOrchestrator(timings).start();
+
+            boolean complete = awaitMilestone(timings, StartupTimings.LOGIN_INTERACTIVE)
+                    && logIn(StartupBenchStub.USERNAME, StartupBenchStub.PASSWORD)
+                    && awaitMilestone(timings, StartupTimings.HOME_RENDERED);
+
+            status = complete ? 0 : 1;
+            try {
+                writeReport(reportFile, timings, complete);
+                log.info("Startup benchmark written to {}: {}", reportFile, timings.summary());
+            } catch (IOException e) {
+                log.error("Startup benchmark could not be written to {}: {}", reportFile, e.getMessage());
+                status = 1;
+            }
+        } catch (IOException e) {
+            throw new FailedToLaunchAppException(e);
+        }
+        AppConfig.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Writes the report of the given timings.
+     *
+     * @param reportFile The file to write the report to.
+     * @param timings    The startup timings.
+     * @param complete   Whether every milestone benchmarked was reached.
+     * @throws IOException If the report cannot be written.
+     */
+    static void writeReport(Path reportFile, StartupTimings timings, boolean complete) throws IOException {
+        Map<String, Double> milestones = new LinkedHashMap<>();
+        List<ReportPhase> phases = timings.phases().stream()
+                .map(phase -> new ReportPhase(phase.name(), phase.startMillis(), phase.millis(), phase.thread()))
+                .toList();
+        for (String milestone : List.of(StartupTimings.FIRST_FRAME, StartupTimings.LOGIN_INTERACTIVE,
+                StartupTimings.HOME_RENDERED)) {
+            timings.phases().stream()
+                    .filter(phase -> phase.name().equals(milestone))
+                    .findFirst()
+                    .ifPresent(phase -> milestones.put(milestone, phase.startMillis()));
+        }
+        Report report = new Report(StartupBench.class.getPackage().getImplementationVersion(),
+                Instant.now().toString(), System.getProperty("java.version"), OSUtil.getOSName(),
+                timings.jvmUptimeAtStart(), complete, milestones, phases);
+
+        Path parent = reportFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+    }
+
+    /**
+     * Waits for a milestone to be reached.
+     *
+     * @param timings   The startup timings.
+     * @param milestone The name of the milestone.
+     * @return true if the milestone has been reached in time.
+     */
+    private static boolean awaitMilestone(StartupTimings timings, String milestone) {
+        try {
+            timings.await(milestone).get(MILESTONE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            log.error("Startup benchmark milestone {} not reached", milestone);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Logs in with the given credentials and navigates to the home screen, as the login screen does.
+     *
+     * @param username The user name.
+     * @param password The password.
+     * @return true if the login succeeded.
+     */
+    private static boolean logIn(String username, String password) {
+        try {
+            if (!new AuthService().login(username, password, AppConfig.get(Setting.LICENSE_KEY))) {
+                log.error("Startup benchmark could not log in: invalid username or password");
+                return false;
+            }
+            SwingUtilities.invokeLater(() -> NavigationEvents.navigateTo(Screen.HOME));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.error("Startup benchmark could not log in: {}", e.getMessage());
+            return false;
+        }
+    }
+}
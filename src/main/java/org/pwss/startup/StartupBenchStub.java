@@ -0,0 +1,197 @@
+package org.pwss.startup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+import org.pwss.model.entity.MonitoredDirectory;
+import org.pwss.model.entity.Scan;
+import org.pwss.model.entity.Time;
+import org.pwss.model.response.LoginResponse;
+import org.pwss.service.network.Endpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * A stub of the API server for the startup benchmark, serving fixed responses
+ * over TLS on a free port of the loopback address.
+ * <p>
+ * It answers that a user exists, accepts a login with {@link #USERNAME} and
+ * {@link #PASSWORD}, and serves a dashboard of one active monitored directory,
+ * the home directory of the user, with a completed scan without diffs and no
+ * scan running. Any other request is answered with 404. The server presents the
+ * certificate of the bundled {@code bench/stub-keystore.jks}, which is trusted by
+ * {@link #TRUSTSTORE_RESOURCE}.
+ *
+ * @author PWSS ORG
+ */
+final class StartupBenchStub implements AutoCloseable {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchStub.class);
+
+    /**
+     * The user name the stub accepts.
+     */
+    static final String USERNAME = "bench";
+
+    /**
+     * The password the stub accepts.
+     */
+    static final String PASSWORD = "startup-bench";
+
+    /**
+     * The classpath resource of the truststore trusting the certificate of the stub.
+     */
+    static final String TRUSTSTORE_RESOURCE = "bench/stub-truststore.jks";
+
+    /**
+     * The classpath resource of the keystore holding the certificate and key of the stub.
+     */
+    private static final String KEYSTORE_RESOURCE = "bench/stub-keystore.jks";
+
+    /**
+     * The password of the keystore, its key and the truststore. They only protect a test
+     * certificate for the loopback address.
+     */
+    static final String STORE_PASSWORD = "startup-bench";
+
+    /**
+     * The loopback address the stub listens on, also named by its certificate.
+     */
+    private static final String HOST = "127.0.0.1";
+
+    /**
+     * The session cookie set by a successful login.
+     */
+    private static final String SESSION_COOKIE = "JSESSIONID=startup-bench; Path=/; HttpOnly";
+
+    /**
+     * The running server.
+     */
+    private final HttpsServer server;
+
+    private StartupBenchStub(HttpsServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts the stub on a free port.
+     *
+     * @return The running stub.
+     * @throws IOException if the keystore cannot be read or the server cannot be started.
+     */
+    static StartupBenchStub start() throws IOException {
+        HttpsServer server = HttpsServer.create(new InetSocketAddress(HOST, 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(createSSLContext()));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Time time = new Time(1L, new Date(0L), new Date(0L));
+        MonitoredDirectory directory = new MonitoredDirectory(1L,
+                Path.of(System.getProperty("user.home")).toAbsolutePath().toString(), true, time, new Date(0L),
+                null, true, true);
+        Scan scan = new Scan(1L, time, "COMPLETED", null, directory, false);
+
+        server.createContext(Endpoint.USER_EXISTS.getUrl(), exchange -> respond(exchange, 200, "true"));
+        server.createContext(Endpoint.LOGIN.getUrl(), exchange -> {
+            JsonNode login = objectMapper.readTree(exchange.getRequestBody());
+            boolean successful = USERNAME.equals(login.path("username").asText())
+                    && PASSWORD.equals(login.path("password").asText());
+            if (successful) {
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE);
+            }
+            respond(exchange, 200, objectMapper.writeValueAsString(new LoginResponse(successful)));
+        });
+        server.createContext(Endpoint.MONITORED_DIRECTORY_ALL.getUrl(),
+                exchange -> respond(exchange, 200, objectMapper.writeValueAsString(List.of(directory))));
+        server.createContext(Endpoint.MOST_RECENT_SCANS_ALL.getUrl(),
+                exchange -> respond(exchange, 200, objectMapper.writeValueAsString(List.of(scan))));
+        server.createContext(Endpoint.DIFF_COUNT.getUrl(), exchange -> respond(exchange, 200, "0"));
+        server.createContext(Endpoint.SCAN_DIFFS.getUrl(), exchange -> respond(exchange, 200, "[]"));
+        server.createContext(Endpoint.SCAN_STATUS.getUrl(), exchange -> respond(exchange, 200, "false"));
+        server.createContext("/", exchange -> {
+            log.debug("Startup benchmark stub has no response for {}", exchange.getRequestURI());
+            respond(exchange, 404, objectMapper.writeValueAsString(Map.of("error", "Not found")));
+        });
+        server.start();
+        return new StartupBenchStub(server);
+    }
+
+    /**
+     * Returns the base URL, scheme, host and port, of the stub.
+     *
+     * @return The base URL.
+     */
+    String baseUrl() {
+        return "https://" + HOST + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the stub.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Sets up the SSLContext presenting the certificate of the bundled keystore.
+     *
+     * @return The SSLContext of the server.
+     * @throws IOException if the keystore cannot be read.
+     */
+    private static SSLContext createSSLContext() throws IOException {
+        try (InputStream inputStream = StartupBenchStub.class.getClassLoader().getResourceAsStream(KEYSTORE_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IOException("Keystore " + KEYSTORE_RESOURCE + " not found");
+            }
+            KeyStore keystore = KeyStore.getInstance("JKS");
+            keystore.load(inputStream, STORE_PASSWORD.toCharArray());
+
+            KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            kmf.init(keystore, STORE_PASSWORD.toCharArray());
+
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(kmf.getKeyManagers(), null, null);
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Keystore " + KEYSTORE_RESOURCE + " cannot be used", e);
+        }
+    }
+
+    /**
+     * Sends a JSON response and closes the exchange.
+     *
+     * @param exchange   The exchange to answer.
+     * @param statusCode The HTTP status code.
+     * @param body       The body of the response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package org.pwss.startup;
+
+import java.awt.Font;
+import java.awt.Image;
+import java.awt.font.FontRenderContext;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
+import org.pwss.controller.factory.AppControllerFactory;
+import org.pwss.controller.factory.ControllerFactory;
+import org.pwss.exception.start.FailedToLaunchAppException;
+import org.pwss.journal.ScanJournal;
+import org.pwss.navigation.NavigationEvents;
+import org.pwss.navigation.NavigationHandler;
+import org.pwss.navigation.Screen;
+import org.pwss.service.AppService;
+import org.pwss.service.AuthService;
+import org.pwss.service.network.PwssHttpClient;
+import org.pwss.util.ConcurrencyUtil;
+import org.pwss.util.ThemeUtil;
+import org.pwss.view.screen.splash_screen.FileIntegrityScannerSplashScreen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts the application, running the independent startup phases concurrently
+ * while the splash screen is shown.
+ * <p>
+ * The splash screen picture is loaded in the background too, so it does not
+ * delay the other phases; a start faster than the picture skips the splash.
+ * <p>
+ * The Look and Feel is installed on the Event Dispatch Thread first, before any
+ * window is created. Then the application icon and the default font are loaded
+ * while the truststore is loaded into the SSL context of the HTTP client, and
+ * the connection to the API server is warmed up with a {@code USER_EXISTS}
+ * request, so the TLS handshake is done before the login screen needs it. The
+ * screens are built on the Event Dispatch Thread as soon as the resources are
+ * loaded.
+ * <p>
+ * The splash screen closes and the main frame shows as soon as both the screens
+ * and the connection are ready; a server which does not answer delays the start
+ * by at most {@link #WARM_UP_TIMEOUT_MS}. How long each phase took is recorded
+ * in the {@link StartupTimings} and logged.
+ *
+ * @author PWSS ORG
+ */
+public final class StartupOrchestrator {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    /**
+     * Maximum time in milliseconds the start waits for the warm-up of the connection to the API server.
+     */
+    private static final long WARM_UP_TIMEOUT_MS = 2000L;
+
+    /**
+     * The timings of the startup phases.
+     */
+    private final StartupTimings timings;
+
+    /**
+     * Creates an orchestrator recording the startup phases in the timings of the running application.
+     */
+    public StartupOrchestrator() {
+        this(StartupTimings.current());
+    }
+
+    /**
+     * Creates an orchestrator recording the startup phases in the given timings.
+     *
+     * @param timings The timings to record the phases in.
+     */
+    public StartupOrchestrator(StartupTimings timings) {
+        this.timings = timings;
+    }
+
+    /**
+     * Returns the timings of the startup phases.
+     *
+     * @return The timings.
+     */
+    public StartupTimings getTimings() {
+        return timings;
+    }
+
+    /**
+     * Starts the application and waits until its main frame is shown.
+     *
+     * @return The main frame.
+     * @throws FailedToLaunchAppException if a phase needed to show the main frame fails
+     */
+    public JFrame start() throws FailedToLaunchAppException {
+        try {
+            // The first access to the settings loads the configuration file
+            boolean useSplashScreen = timings.measure("appConfig", () -> AppConfig.get(Setting.USE_SPLASH_SCREEN));
+
+            runPhaseOnEventDispatchThread("flatLaf", () -> {
+                // Set FlatLaf Look and Feel, and switch it whenever the theme setting changes
+                ThemeUtil.installLookAndFeel(AppConfig.get(Setting.APP_THEME));
+                ThemeUtil.followThemeSetting();
+            });
+            if (useSplashScreen) {
+                showSplash();
+            }
+
+            CompletableFuture<Image> icon = ConcurrencyUtil.supplyAsync(
+                    () -> timings.measure("resourcePreload", this::preloadResources));
+            CompletableFuture<Void> connection = runPhase("httpClient", PwssHttpClient::getInstance)
+                    .thenCompose(ignored -> warmUpConnection());
+            runPhase("settingsWatch", this::watchSettings);
+
+            CompletableFuture<JFrame> screens = icon.thenCompose(this::buildScreens);
+            JFrame frame = screens.thenCombine(connection, (mainFrame, ignored) -> mainFrame).get();
+
+            SwingUtilities.invokeAndWait(() -> {
+                FileIntegrityScannerSplashScreen.closeSplash();
+                // Finally, show the main frame hosting the screens :)
+                frame.setVisible(true);
+            });
+            timings.markOnce(StartupTimings.FIRST_FRAME);
+            timings.mark("ready");
+            log.debug("Startup phases: {}", timings.summary());
+            return frame;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            FileIntegrityScannerSplashScreen.closeSplash();
+            throw new FailedToLaunchAppException(ex);
+        } catch (ExecutionException | InvocationTargetException ex) {
+            FileIntegrityScannerSplashScreen.closeSplash();
+            throw new FailedToLaunchAppException(ex.getCause() instanceof Exception cause ? cause : ex);
+        } catch (Exception ex) {
+            FileIntegrityScannerSplashScreen.closeSplash();
+            throw new FailedToLaunchAppException(ex);
+        }
+    }
+
+    /**
+     * Shows the splash screen while the other phases run, its picture being
+     * loaded in the background. A splash screen which cannot be shown does not
+     * fail the start.
+     */
+    private void showSplash() {
+        long start = System.nanoTime();
+        FileIntegrityScannerSplashScreen.showSplash().whenComplete((shown, error) -> {
+            if (error != null) {
+                log.debug("Failed to show the splash screen", error);
+                log.error("Failed to show the splash screen: {}", error.getMessage());
+            } else if (shown) {
+                timings.record("splash", start, System.nanoTime());
+                timings.markOnce(StartupTimings.FIRST_FRAME);
+            }
+        });
+    }
+
+    /**
+     * Runs a startup phase on a virtual thread.
+     *
+     * @param name  The name of the phase.
+     * @param phase The phase.
+     * @return A future completed once the phase has run.
+     */
+    private CompletableFuture<Void> runPhase(String name, StartupTimings.PhaseBody phase) {
+        return ConcurrencyUtil.supplyAsync(() -> {
+            timings.measure(name, phase);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a startup phase on the Event Dispatch Thread and waits for it.
+     *
+     * @param name  The name of the phase.
+     * @param phase The phase.
+     * @throws Exception If the phase fails or the wait is interrupted.
+     */
+    private void runPhaseOnEventDispatchThread(String name, StartupTimings.PhaseBody phase) throws Exception {
+        Exception[] failure = new Exception[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                timings.measure(name, phase);
+            } catch (Exception e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /**
+     * Loads the resources of the main frame off the Event Dispatch Thread: the
+     * application icon, and the default font of the Look and Feel, which is
+     * read from its font file the first time a text is laid out in it.
+     *
+     * @return The application icon, or null if it cannot be loaded.
+     */
+    private Image preloadResources() {
+        Font font = UIManager.getFont("Label.font");
+        if (font != null) {
+            font.getStringBounds("Integrity Hash", new FontRenderContext(null, true, true));
+        }
+        try {
+            return ImageIO.read(Objects.requireNonNull(StartupOrchestrator.class.getResource("/app-icon.png")));
+        } catch (IOException e) {
+            log.debug("Failed to load application icon", e);
+            log.error("Failed to load application icon: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sends a first request to the API server, so the connection and the TLS
+     * session are established before the login screen checks whether a user
+     * exists. The check of the login screen joins this request while it is in
+     * flight. A failed request does not fail the start, the login screen reports
+     * the server as unreachable.
+     *
+     * @return A future completed once the request has been answered or has failed,
+     *         or after {@link #WARM_UP_TIMEOUT_MS}.
+     */
+    private CompletableFuture<Void> warmUpConnection() {
+        long start = System.nanoTime();
+        return new AuthService().userExistsAsync()
+                .handle((userExists, error) -> {
+                    timings.record("warmUp", start, System.nanoTime());
+                    if (error != null) {
+                        log.debug("Connection warm-up failed: {}", error.getMessage());
+                    }
+                    return (Void) null;
+                })
+                .completeOnTimeout(null, WARM_UP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies edits of the configuration file made while the application runs.
+     * A file which cannot be watched does not fail the start.
+     */
+    private void watchSettings() {
+        try {
+            AppConfig.watchConfigFile();
+        } catch (IOException e) {
+            log.debug("Failed to watch the app settings file", e);
+            log.error("Failed to watch the app settings file: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the main frame and the login screen on the Event Dispatch Thread.
+     *
+     * @param icon The application icon, or null if it could not be loaded.
+     * @return A future completed with the main frame, not shown yet.
+     */
+    private CompletableFuture<JFrame> buildScreens(Image icon) {
+        CompletableFuture<JFrame> frame = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            try {
+                frame.complete(timings.measure("screens", () -> createMainFrame(icon)));
+            } catch (Throwable e) {
+                frame.completeExceptionally(e);
+            }
+        });
+        return frame;
+    }
+
+    /**
+     * Creates the main frame hosting the screens and navigates to the login
+     * screen. Event Dispatch Thread only.
+     *
+     * @param icon The application icon, or null if it could not be loaded.
+     * @return The main frame, not shown yet.
+     */
+    private JFrame createMainFrame(Image icon) {
+        // Create the main frame
+        JFrame frame = new JFrame("Integrity Hash");
+        frame.setResizable(true);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setLocationRelativeTo(null); // center on screen
+
+        // Application icon
+        if (icon != null) {
+            frame.setIconImage(icon);
+        }
+
+        // Create controller factory
+        final ControllerFactory factory;
+        long start = System.nanoTime();
+        // One journal for the whole application, closed when it exits
+        final ScanJournal scanJournal = new ScanJournal(AppConfig.get(Setting.SCAN_JOURNAL_MAX_SIZE_MB) * 1024 * 1024);
+        AppService.closeOnExit(scanJournal);
+        factory = new AppControllerFactory(scanJournal);
+        timings.record("controllerFactory", start, System.nanoTime());
+
+        // Create navigation handler
+        final NavigationHandler navigator = new NavigationHandler(frame, factory);
+
+        // Hook navigation listener so controller can signal navigation
+        NavigationEvents.setListener(navigator::navigateTo);
+
+        // Start with Login screen
+        start = System.nanoTime();
+        navigator.navigateTo(Screen.LOGIN, null);
+        timings.record("loginScreen", start, System.nanoTime());
+        return frame;
+    }
+}
@@ -0,0 +1,263 @@
+package org.pwss.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records how long each phase of the application startup takes and when it
+ * starts, relative to the start of the startup. Phases may run concurrently on
+ * different threads. This class is thread safe.
+ * <p>
+ * The timings of the running application are available from {@link #current()},
+ * so phases and milestones reached outside the startup code, such as the first
+ * render of a screen, are recorded along with the others.
+ *
+ * @author PWSS ORG
+ */
+public final class StartupTimings {
+
+    /**
+     * A measured startup phase.
+     *
+     * @param name       The name of the phase.
+     * @param startNanos When the phase started, in nanoseconds since the start of the startup.
+     * @param nanos      How long the phase took, in nanoseconds.
+     * @param thread     The name of the thread the phase ran on.
+     */
+    public record Phase(String name, long startNanos, long nanos, String thread) {
+        /**
+         * Returns when the phase started.
+         *
+         * @return The start in milliseconds since the start of the startup.
+         */
+        public double startMillis() {
+            return startNanos / 1_000_000.0;
+        }
+
+        /**
+         * Returns how long the phase took.
+         *
+         * @return The duration in milliseconds.
+         */
+        public double millis() {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    /**
+     * A phase body which neither returns a value nor is limited in the exceptions it throws.
+     */
+    @FunctionalInterface
+    public interface PhaseBody {
+        /**
+         * Runs the phase.
+         *
+         * @throws Exception If the phase fails.
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * Milestone reached once the first window, the splash screen or the main frame, is shown.
+     */
+    public static final String FIRST_FRAME = "firstFrame";
+    /**
+     * Milestone reached once the login screen accepts input.
+     */
+    public static final String LOGIN_INTERACTIVE = "loginInteractive";
+    /**
+     * Milestone reached once every section of the home dashboard has been loaded and rendered.
+     */
+    public static final String HOME_RENDERED = "homeRendered";
+
+    /**
+     * The timings of the startup of the running application, started when this class is initialized.
+     */
+    private static final StartupTimings CURRENT = new StartupTimings();
+
+    /**
+     * The value of {@link System#nanoTime()} when the startup started.
+     */
+    private final long origin;
+    /**
+     * Milliseconds from the start of the JVM to the start of the startup.
+     */
+    private final long jvmUptimeAtOrigin;
+    /**
+     * The phases measured so far; guarded by this.
+     */
+    private final List<Phase> phases = new ArrayList<>();
+    /**
+     * Futures completed once the phase of their name is recorded, by name; guarded by this.
+     */
+    private final Map<String, CompletableFuture<Phase>> awaited = new HashMap<>();
+
+    /**
+     * Creates the timings of a startup starting now.
+     */
+    public StartupTimings() {
+        this.origin = System.nanoTime();
+        this.jvmUptimeAtOrigin = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * Returns the timings of the startup of the running application.
+     *
+     * @return The timings.
+     */
+    public static StartupTimings current() {
+        return CURRENT;
+    }
+
+    /**
+     * Returns how long the JVM had been running when the startup started, which
+     * covers class loading up to the first measured phase.
+     *
+     * @return The JVM uptime in milliseconds at the start of the startup.
+     */
+    public long jvmUptimeAtStart() {
+        return jvmUptimeAtOrigin;
+    }
+
+    /**
+     * Runs a phase and records how long it took, whether it succeeded or failed.
+     *
+     * @param <T>   The type of the result of the phase.
+     * @param name  The name of the phase.
+     * @param phase The phase.
+     * @return The result of the phase.
+     * @throws Exception If the phase fails.
+     */
+    public <T> T measure(String name, Callable<T> phase) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return phase.call();
+        } finally {
+            record(name, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * Runs a phase without result and records how long it took, whether it succeeded or failed.
+     *
+     * @param name  The name of the phase.
+     * @param phase The phase.
+     * @throws Exception If the phase fails.
+     */
+    public void measure(String name, PhaseBody phase) throws Exception {
+        measure(name, () -> {
+            phase.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records a milestone, a phase of no duration reached now.
+     *
+     * @param name The name of the milestone.
+     */
+    public void mark(String name) {
+        long now = System.nanoTime();
+        record(name, now, now);
+    }
+
+    /**
+     * Records a milestone reached now, unless it has been reached before. Used
+     * for milestones which are reached again after the startup, such as a screen
+     * being shown.
+     *
+     * @param name The name of the milestone.
+     */
+    public void markOnce(String name) {
+        long now = System.nanoTime();
+        recordOnce(name, now, now);
+    }
+
+    /**
+     * Records a phase measured by the caller, unless a phase of the same name has been recorded before.
+     *
+     * @param name  The name of the phase.
+     * @param start The value of {@link System#nanoTime()} when the phase started.
+     * @param end   The value of {@link System#nanoTime()} when the phase ended.
+     */
+    public void recordOnce(String name, long start, long end) {
+        add(name, start, end, true);
+    }
+
+    /**
+     * Records a phase measured by the caller.
+     *
+     * @param name  The name of the phase.
+     * @param start The value of {@link System#nanoTime()} when the phase started.
+     * @param end   The value of {@link System#nanoTime()} when the phase ended.
+     */
+    public void record(String name, long start, long end) {
+        add(name, start, end, false);
+    }
+
+    /**
+     * Returns a future completed once a phase or milestone of the given name is
+     * recorded, with the first one recorded.
+     *
+     * @param name The name of the phase or milestone.
+     * @return The future, already completed if it has been recorded.
+     */
+    public synchronized CompletableFuture<Phase> await(String name) {
+        return awaited.computeIfAbsent(name, n -> new CompletableFuture<>()).copy();
+    }
+
+    /**
+     * Adds a phase and completes the futures awaiting it, outside the lock so
+     * their dependent actions do not run while holding it.
+     *
+     * @param name  The name of the phase.
+     * @param start The value of {@link System#nanoTime()} when the phase started.
+     * @param end   The value of {@link System#nanoTime()} when the phase ended.
+     * @param once  Whether to skip the phase if one of the same name has been recorded before.
+     */
+    private void add(String name, long start, long end, boolean once) {
+        Phase phase = new Phase(name, start - origin, end - start, Thread.currentThread().getName());
+        CompletableFuture<Phase> recorded;
+        synchronized (this) {
+            if (once && phases.stream().anyMatch(recordedPhase -> recordedPhase.name().equals(name))) {
+                return;
+            }
+            phases.add(phase);
+            recorded = awaited.computeIfAbsent(name, n -> new CompletableFuture<>());
+        }
+        recorded.complete(phase);
+    }
+
+    /**
+     * Returns the phases measured so far, in the order they started.
+     *
+     * @return The phases.
+     */
+    public synchronized List<Phase> phases() {
+        List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort(Comparator.comparingLong(Phase::startNanos));
+        return sorted;
+    }
+
+    /**
+     * Returns a one-line summary of the phases measured so far, for logging.
+     *
+     * @return The summary.
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Phase phase : phases()) {
+            if (!summary.isEmpty()) {
+                summary.append(", ");
+            }
+            summary.append(String.format("%s %.1f ms (at %.1f ms)", phase.name(), phase.millis(), phase.startMillis()));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package org.pwss.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Utility class for fanning out blocking calls, such as backend requests,
+ * concurrently, and for moving between blocking calls and futures.
+ */
+public final class ConcurrencyUtil {
+
+    /**
+     * Default number of backend requests allowed in flight at once for a single
+     * fan-out. Keeps the local backend from being flooded when many directories
+     * are monitored.
+     */
+    public static final int DEFAULT_MAX_PARALLEL_REQUESTS = 8;
+
+    /**
+     * Executor running the blocking work turned into futures, one virtual thread per task.
+     */
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ConcurrencyUtil() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Runs all tasks concurrently on virtual threads with at most
+     * {@code maxParallel} of them running at the same time, and waits for all of
+     * them to complete.
+     *
+     * @param tasks       The tasks to run.
+     * @param maxParallel The maximum number of tasks running at the same time.
+     * @param <R>         The type of the task results.
+     * @return The results, in the same order as the tasks.
+     * @throws Exception The failure of the first failing task in task order.
+     */
+    public static <R> List<R> invokeAllBounded(List<? extends Callable<R>> tasks, int maxParallel) throws Exception {
+        if (maxParallel < 1) {
+            throw new IllegalArgumentException("maxParallel must be at least 1");
+        }
+        return invokeAllBounded(tasks, new Semaphore(maxParallel));
+    }
+
+    /**
+     * Runs all tasks concurrently on virtual threads, each holding one of the
+     * given permits while it runs, and waits for all of them to complete. Sharing
+     * the permits between several fan-outs bounds their combined parallelism.
+     * <p>
+     * If the calling thread is interrupted, the remaining tasks are interrupted as
+     * well.
+     *
+     * @param tasks   The tasks to run.
+     * @param permits The permits bounding the number of tasks running at once.
+     * @param <R>     The type of the task results.
+     * @return The results, in the same order as the tasks.
+     * @throws Exception The failure of the first failing task in task order.
+     */
+    public static <R> List<R> invokeAllBounded(List<? extends Callable<R>> tasks, Semaphore permits)
+            throws Exception {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        List<Future<R>> futures = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Callable<R> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    if (e.getCause() instanceof Exception cause) {
+                        throw cause;
+                    }
+                    throw e;
+                } catch (InterruptedException e) {
+                    futures.forEach(f -> f.cancel(true));
+                    throw e;
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Runs blocking work, such as a streamed backend request, on a virtual thread
+     * and exposes its outcome as a future. A checked exception thrown by the work
+     * fails the future with that exception.
+     *
+     * @param work The work to run.
+     * @param <R>  The type of the result.
+     * @return A future completed with the result of the work.
+     */
+    public static <R> CompletableFuture<R> supplyAsync(Callable<R> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return work.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Waits for a future and returns its result, rethrowing the failure of the
+     * future as is if it is of the given type.
+     *
+     * @param future      The future to wait for.
+     * @param failureType The type of failure to rethrow as is.
+     * @param <R>         The type of the result.
+     * @param <E>         The type of failure to rethrow as is.
+     * @return The result of the future.
+     * @throws E                    If the future failed with this type of failure.
+     * @throws ExecutionException   If the future failed with any other failure.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    public static <R, E extends Exception> R await(CompletableFuture<R> future, Class<E> failureType)
+            throws E, ExecutionException, InterruptedException {
+        return await(future, failureType, failureType, failureType);
+    }
+
+    /**
+     * Waits for a future and returns its result, rethrowing the failure of the
+     * future as is if it is of one of the given types.
+     *
+     * @param future       The future to wait for.
+     * @param failureType1 The first type of failure to rethrow as is.
+     * @param failureType2 The second type of failure to rethrow as is.
+     * @param <R>          The type of the result.
+     * @param <E1>         The first type of failure to rethrow as is.
+     * @param <E2>         The second type of failure to rethrow as is.
+     * @return The result of the future.
+     * @throws E1                   If the future failed with the first type of failure.
+     * @throws E2                   If the future failed with the second type of failure.
+     * @throws ExecutionException   If the future failed with any other failure.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    public static <R, E1 extends Exception, E2 extends Exception> R await(CompletableFuture<R> future,
+            Class<E1> failureType1, Class<E2> failureType2) throws E1, E2, ExecutionException, InterruptedException {
+        return await(future, failureType1, failureType2, failureType2);
+    }
+
+    /**
+     * Waits for a future and returns its result, rethrowing the failure of the
+     * future as is if it is of one of the given types. This gives the blocking
+     * counterpart of an asynchronous call the same checked exceptions as a
+     * blocking implementation.
+     *
+     * @param future       The future to wait for.
+     * @param failureType1 The first type of failure to rethrow as is.
+     * @param failureType2 The second type of failure to rethrow as is.
+     * @param failureType3 The third type of failure to rethrow as is.
+     * @param <R>          The type of the result.
+     * @param <E1>         The first type of failure to rethrow as is.
+     * @param <E2>         The second type of failure to rethrow as is.
+     * @param <E3>         The third type of failure to rethrow as is.
+     * @return The result of the future.
+     * @throws E1                   If the future failed with the first type of failure.
+     * @throws E2                   If the future failed with the second type of failure.
+     * @throws E3                   If the future failed with the third type of failure.
+     * @throws ExecutionException   If the future failed with any other failure.
+     * @throws InterruptedException If the current thread was interrupted while waiting.
+     */
+    public static <R, E1 extends Exception, E2 extends Exception, E3 extends Exception> R await(
+            CompletableFuture<R> future, Class<E1> failureType1, Class<E2> failureType2, Class<E3> failureType3)
+            throws E1, E2, E3, ExecutionException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (failureType1.isInstance(cause)) {
+                throw failureType1.cast(cause);
+            }
+            if (failureType2.isInstance(cause)) {
+                throw failureType2.cast(cause);
+            }
+            if (failureType3.isInstance(cause)) {
+                throw failureType3.cast(cause);
+            }
+            throw e;
+        }
+    }
+}
@@ -1,70 +1,205 @@
 package org.pwss.util;
 
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.pwss.model.livefeed.LiveFeedCounters;
+import org.pwss.model.livefeed.LiveFeedEvent;
+
 /**
  * Utility class for processing live feed entries.
+ * <p>
+ * A live feed update is a run of entries with no separator between them: a file
+ * entry ends with a "✅" when the file matches its baseline, with a "⚠️" when it
+ * differs, or with the file too big message when it was skipped. Line feeds also
+ * end an entry. The update is tokenized in a single pass over its characters,
+ * and each entry refers to its slice of the update instead of copying it.
  */
 public final class LiveFeedUtil {
 
     /**
-     * A white check mark emoji used in live feed entries.
+     * The white check mark ending the entry of a file matching its baseline.
      */
-    private final static String WHITE_CHECK_MARK = "✅";
+    private static final char WHITE_CHECK_MARK = '✅';
+
     /**
-     * The white check mark emoji with a newline character appended to it.
+     * The warning sign ending the entry of a file differing from its baseline.
      */
-    private final static String WHITE_CHECK_MARK_REPLACE = "✅\n";
+    private static final char WARNING = '⚠';
 
     /**
-     * A warning emoji used in live feed entries.
+     * The variation selector which may follow the warning sign to render it as an emoji.
      */
-    private final static String WARNING = "⚠️";
+    private static final char EMOJI_PRESENTATION = '\uFE0F';
+
     /**
-     * The warning emoji with a newline character appended to it.
+     * The message ending the entry of a file skipped for its size.
      */
-    private final static String WARNING_REPLACE = "⚠️\n";
+    private static final String FILE_TO_BIG_MESSAGE = "is bigger than the user defined max limit";
 
     /**
-     * A message indicating that a file is too big, used in live feed entries.
+     * The keyword identifying a message about a baseline.
      */
-    private final static String FILE_TO_BIG_MESSAGE = "is bigger than the user defined max limit";
+    private static final String BASELINE_KEYWORD = "baseline";
+
     /**
-     * The file too big message with a newline character appended to it.
+     * The keywords identifying the start of the scan of a directory.
      */
-    private final static String FILE_TO_BIG_MESSAGE_REPLACE = FILE_TO_BIG_MESSAGE + "\n";
+    private static final String[] DIRECTORY_STARTED_KEYWORDS = { "started", "scanning" };
 
     /**
-     * Formats a raw live feed entry for improved readability.
-     * Currently, inserts line breaks after certain emojis.
+     * The keywords identifying the end of the scan of a directory.
+     */
+    private static final String[] DIRECTORY_FINISHED_KEYWORDS = { "finished", "completed" };
+
+    /**
+     * Receives the entries found by the tokenizer.
+     */
+    @FunctionalInterface
+    private interface EntrySink {
+        /**
+         * Receives an entry.
+         *
+         * @param type  The kind of the entry.
+         * @param start The offset of the first character of the entry, after leading whitespace.
+         * @param end   The offset after the last character of the entry, before trailing whitespace.
+         */
+        void accept(LiveFeedEvent.Type type, int start, int end);
+    }
+
+    private LiveFeedUtil() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Parses a raw live feed update into its entries and counts them.
      *
      * @param rawEntry the raw live feed text from the service
-     * @return formatted live feed text
+     * @param counters the counters to add the entries to
+     * @return the entries of the update, in order
      */
-    public static String formatLiveFeedEntry(String rawEntry) {
+    public static List<LiveFeedEvent> parse(String rawEntry, LiveFeedCounters counters) {
         if (rawEntry == null || rawEntry.isEmpty()) {
-            return "";
+            return List.of();
         }
 
-        return rawEntry
-                .replace(WHITE_CHECK_MARK, WHITE_CHECK_MARK_REPLACE)
-                .replace(WARNING, WARNING_REPLACE)
-                .replace(FILE_TO_BIG_MESSAGE, FILE_TO_BIG_MESSAGE_REPLACE)
-                .trim();
+        List<LiveFeedEvent> events = new ArrayList<>();
+        tokenize(rawEntry, (type, start, end) -> {
+            events.add(new LiveFeedEvent(type, CharBuffer.wrap(rawEntry, start, end)));
+            counters.increment(type);
+        });
+        return events;
     }
 
     /**
-     * Counts the number of warnings in a live feed entry.
-     * Warnings are indicated by the "⚠" symbol.
+     * Counts the number of entries in a live feed update, without allocating them.
      *
-     * @param entry the live feed entry text
-     * @return the count of warnings in the entry
+     * @param entry the live feed text
+     * @return the count of entries in the text
      */
-    public static int countWarnings(String entry) {
+    public static int countEntries(String entry) {
         if (entry == null || entry.isEmpty()) {
             return 0;
         }
 
-        return (int) entry.codePoints()
-                .filter(c -> c == 0x26A0) // ⚠
-                .count();
+        int[] count = new int[1];
+        tokenize(entry, (type, start, end) -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Splits a live feed update into its entries in a single pass.
+     *
+     * @param raw  the raw live feed text
+     * @param sink receives the entries which are not blank, in order
+     */
+    private static void tokenize(String raw, EntrySink sink) {
+        int length = raw.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = raw.charAt(i);
+            if (c == WHITE_CHECK_MARK) {
+                emit(raw, start, i + 1, LiveFeedEvent.Type.FILE_OK, sink);
+                start = i + 1;
+            } else if (c == WARNING) {
+                if (i + 1 < length && raw.charAt(i + 1) == EMOJI_PRESENTATION) {
+                    i++;
+                }
+                emit(raw, start, i + 1, LiveFeedEvent.Type.INTEGRITY_WARNING, sink);
+                start = i + 1;
+            } else if (c == '\n') {
+                emit(raw, start, i, null, sink);
+                start = i + 1;
+            } else if (c == FILE_TO_BIG_MESSAGE.charAt(0) && raw.startsWith(FILE_TO_BIG_MESSAGE, i)) {
+                i += FILE_TO_BIG_MESSAGE.length() - 1;
+                emit(raw, start, i + 1, LiveFeedEvent.Type.FILE_TOO_BIG, sink);
+                start = i + 1;
+            }
+        }
+        emit(raw, start, length, null, sink);
+    }
+
+    /**
+     * Trims an entry and passes it on unless it is blank.
+     *
+     * @param raw   the raw live feed text
+     * @param start the offset of the first character of the entry
+     * @param end   the offset after the last character of the entry
+     * @param type  the kind of the entry, or null to classify it from its text
+     * @param sink  receives the entry
+     */
+    private static void emit(String raw, int start, int end, LiveFeedEvent.Type type, EntrySink sink) {
+        while (start < end && Character.isWhitespace(raw.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(raw.charAt(end - 1))) {
+            end--;
+        }
+        if (start < end) {
+            sink.accept(type != null ? type : classifyMessage(raw, start, end), start, end);
+        }
+    }
+
+    /**
+     * Classifies an entry which does not report on a file by its keywords.
+     *
+     * @param raw   the raw live feed text
+     * @param start the offset of the first character of the entry
+     * @param end   the offset after the last character of the entry
+     * @return the kind of the entry
+     */
+    private static LiveFeedEvent.Type classifyMessage(String raw, int start, int end) {
+        if (containsIgnoreCase(raw, start, end, BASELINE_KEYWORD)) {
+            return LiveFeedEvent.Type.BASELINE;
+        }
+        for (String keyword : DIRECTORY_FINISHED_KEYWORDS) {
+            if (containsIgnoreCase(raw, start, end, keyword)) {
+                return LiveFeedEvent.Type.DIRECTORY_FINISHED;
+            }
+        }
+        for (String keyword : DIRECTORY_STARTED_KEYWORDS) {
+            if (containsIgnoreCase(raw, start, end, keyword)) {
+                return LiveFeedEvent.Type.DIRECTORY_STARTED;
+            }
+        }
+        return LiveFeedEvent.Type.MESSAGE;
+    }
+
+    /**
+     * Checks whether a slice of a text contains a keyword, ignoring case, without copying the slice.
+     *
+     * @param raw     the text
+     * @param start   the offset of the first character of the slice
+     * @param end     the offset after the last character of the slice
+     * @param keyword the lower case keyword
+     * @return true if the slice contains the keyword
+     */
+    private static boolean containsIgnoreCase(String raw, int start, int end, String keyword) {
+        for (int i = start; i <= end - keyword.length(); i++) {
+            if (raw.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
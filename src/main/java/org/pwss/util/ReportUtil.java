@@ -4,6 +4,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import org.pwss.model.entity.Checksum;
 import org.pwss.model.entity.Diff;
+import org.pwss.model.entity.Digest;
 import org.pwss.model.entity.File;
 import org.pwss.model.entity.Scan;
 import org.pwss.model.entity.ScanSummary;
@@ -40,10 +41,6 @@ public class ReportUtil {
                 ? scan.notes().prevNotes()
                 : null;
 
-        String checksumSha256 = checksum != null ? checksum.checksumSha256() : "";
-        String checksumSha3 = checksum != null ? checksum.checksumSha3() : "";
-        String checksumBlake2b = checksum != null ? checksum.checksumBlake2b() : "";
-
         sb.append("==============================\n")
                 .append("📂 File: ").append(filePath).append("\n")
                 .append("┣ Size: ").append(fileSize).append(" bytes\n")
@@ -56,11 +53,11 @@ public class ReportUtil {
             sb.append("┣ Previous Notes: ").append(prevNotes).append("\n");
         }
 
-        sb.append("\n🔑 Checksums:\n")
-                .append("┣ ").append(checksumSha256).append("\n")
-                .append("┣ ").append(checksumSha3).append("\n")
-                .append("┗ ").append(checksumBlake2b).append("\n")
-                .append("==============================\n");
+        sb.append("\n🔑 Checksums:\n");
+        appendDigest(sb.append("┣ "), checksum != null ? checksum.checksumSha256() : null).append("\n");
+        appendDigest(sb.append("┣ "), checksum != null ? checksum.checksumSha3() : null).append("\n");
+        appendDigest(sb.append("┗ "), checksum != null ? checksum.checksumBlake2b() : null).append("\n");
+        sb.append("==============================\n");
 
 
         return sb.toString();
@@ -95,6 +92,17 @@ public class ReportUtil {
     }
 
 
+    /**
+     * Appends the hex representation of a digest, rendering it straight into the builder.
+     *
+     * @param sb     the builder to append to
+     * @param digest the digest to append, or null to append nothing
+     * @return the given builder
+     */
+    private static StringBuilder appendDigest(StringBuilder sb, Digest digest) {
+        return digest != null ? digest.appendHex(sb) : sb;
+    }
+
     private static String formatDate(Date date) {
         if (date == null) return "";
         return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(date);
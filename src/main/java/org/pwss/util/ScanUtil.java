@@ -1,11 +1,13 @@
 package org.pwss.util;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.pwss.model.entity.Scan;
+import org.pwss.model.livefeed.ScanProgressEstimator;
 
 /**
  * Utility class for constructing scan-related messages.
@@ -24,6 +26,21 @@ public final class ScanUtil {
      */
     private static final String SCAN_COMPLETED_DIFFS_SUFFIX = " differences found.\nDo you wish to see the details?\nYou can always view results later in the recent scans table.";
 
+    /**
+     * Status of a scan which has run to its end.
+     */
+    private static final String SCAN_STATUS_COMPLETED = "COMPLETED";
+
+    /**
+     * Prefix of the description of the progress of a running scan.
+     */
+    private static final String SCAN_PROGRESS_PREFIX = "Scan in progress: ";
+
+    /**
+     * The binary units of byte sizes.
+     */
+    private static final String[] BYTE_UNITS = { "B", "KB", "MB", "GB", "TB" };
+
     /**
      * Private constructor to prevent instantiation of this utility class.
      */
@@ -42,6 +59,64 @@ public final class ScanUtil {
         return SCAN_COMPLETED_DIFFS_PREFIX + diffNumber + SCAN_COMPLETED_DIFFS_SUFFIX;
     }
 
+    /**
+     * Describes the progress of a running scan: the files completed out of the
+     * estimate, the file and byte rates and the remaining time, as far as known.
+     *
+     * @param progress The progress of the scan.
+     * @return A single line describing the progress.
+     */
+    public static String formatScanProgress(ScanProgressEstimator.Progress progress) {
+        StringBuilder sb = new StringBuilder(SCAN_PROGRESS_PREFIX);
+        sb.append(String.format("%,d", progress.completedFiles()));
+        if (progress.estimatedFiles() > 0) {
+            sb.append(String.format(" / ~%,d", progress.estimatedFiles()));
+        }
+        sb.append(" files");
+        if (progress.filesPerSecond() > 0) {
+            sb.append(String.format(", %,.1f files/s", progress.filesPerSecond()));
+        }
+        if (progress.bytesPerSecond() > 0) {
+            sb.append(", ").append(formatBytes(progress.bytesPerSecond())).append("/s");
+        }
+        if (progress.eta() != null) {
+            sb.append(", ").append(formatDuration(progress.eta())).append(" left");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a number of bytes with a binary unit.
+     *
+     * @param bytes The number of bytes.
+     * @return The formatted size, such as "3.4 MB".
+     */
+    public static String formatBytes(double bytes) {
+        int unit = 0;
+        while (bytes >= 1024 && unit < BYTE_UNITS.length - 1) {
+            bytes /= 1024;
+            unit++;
+        }
+        return String.format(unit == 0 ? "%.0f %s" : "%.1f %s", bytes, BYTE_UNITS[unit]);
+    }
+
+    /**
+     * Formats a duration in hours, minutes and seconds, leaving out the leading zero units.
+     *
+     * @param duration The duration.
+     * @return The formatted duration, such as "1h 05m 09s".
+     */
+    public static String formatDuration(Duration duration) {
+        long seconds = Math.max(0, duration.toSeconds());
+        if (seconds >= 3600) {
+            return String.format("%dh %02dm %02ds", seconds / 3600, seconds / 60 % 60, seconds % 60);
+        }
+        if (seconds >= 60) {
+            return String.format("%dm %02ds", seconds / 60, seconds % 60);
+        }
+        return seconds + "s";
+    }
+
     /**
      * Filters the provided list of scans to return a list containing only distinct
      * scans based on their monitored directory IDs.
@@ -55,6 +130,19 @@ public final class ScanUtil {
                 .toList();
     }
 
+    /**
+     * Filters the given list of scans to include only the most recent completed scan of each monitored
+     * directory, skipping scans which failed or were stopped.
+     *
+     * @param scans The list of scans to filter, most recent first.
+     * @return A list containing the latest completed scan of each monitored directory.
+     */
+    public static List<Scan> getCompletedScansDistinctByDirectory(List<Scan> scans) {
+        return getScansDistinctByDirectory(scans.stream()
+                .filter(scan -> SCAN_STATUS_COMPLETED.equals(scan.status()))
+                .toList());
+    }
+
     // Helper method to create a predicate for distinct filtering based on a key extractor
     private static <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
         Set<Object> seen = ConcurrentHashMap.newKeySet();
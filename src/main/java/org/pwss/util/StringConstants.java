@@ -82,6 +82,20 @@ public final class StringConstants {
     public static final String NEW_DIR_ERROR_PREFIX = "Failed to add directory: ";
     public static final String NEW_DIR_NO_PATH_SELECTED = "No directory selected.";
 
+    // Log view related strings
+    public static final String LOG_VIEW_FIND = "Find...";
+    public static final String LOG_VIEW_FIND_PROMPT = "Find in the scan logs:";
+    public static final String LOG_VIEW_FIND_NEXT = "Find next";
+    public static final String LOG_VIEW_FIND_PREVIOUS = "Find previous";
+    public static final String LOG_VIEW_NEXT_WARNING = "Next warning";
+    public static final String LOG_VIEW_PREVIOUS_WARNING = "Previous warning";
+    public static final String LOG_VIEW_FOLLOW_TAIL = "Follow latest";
+    public static final String LOG_VIEW_COPY_LINE = "Copy line";
+    public static final String SCAN_LOG_LINES_PREFIX = "Lines logged: ";
+    public static final String SCAN_LOG_LOADING = "Loading the scan log...";
+    public static final String SCAN_LOG_NOT_RECORDED = "No log was recorded for this scan.";
+    public static final String SCAN_LOG_ERROR_PREFIX = "Could not read the scan log: ";
+
     // File search related strings
     public static final String FILE_SEARCH_RESULTS_PREFIX = "Results: ";
 }
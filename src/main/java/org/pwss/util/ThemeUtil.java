@@ -0,0 +1,68 @@
+package org.pwss.util;
+
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.UnsupportedLookAndFeelException;
+
+import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.formdev.flatlaf.FlatDarculaLaf;
+import com.formdev.flatlaf.FlatLaf;
+import com.formdev.flatlaf.FlatLightLaf;
+import com.formdev.flatlaf.themes.FlatMacDarkLaf;
+import com.formdev.flatlaf.themes.FlatMacLightLaf;
+
+/**
+ * Utility class installing the FlatLaf Look and Feel of the application theme
+ * and applying theme changes to the open windows while the application runs.
+ */
+public final class ThemeUtil {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ThemeUtil.class);
+
+    // Private constructor to prevent instantiation
+    private ThemeUtil() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Installs the Look and Feel of an application theme. Components created
+     * afterwards use it, existing components keep their look until updated.
+     *
+     * @param appTheme The value of the {@link AppTheme}; other values leave the Look and Feel unchanged.
+     * @throws UnsupportedLookAndFeelException if the Look and Feel is not supported on this platform
+     */
+    public static void installLookAndFeel(int appTheme) throws UnsupportedLookAndFeelException {
+        if (appTheme == AppTheme.DARK.getValue())
+            UIManager.setLookAndFeel(new FlatDarculaLaf());
+        else if (appTheme == AppTheme.LIGHT.getValue())
+            UIManager.setLookAndFeel(new FlatLightLaf());
+        else if (appTheme == AppTheme.MAC_LIGHT.getValue())
+            UIManager.setLookAndFeel(new FlatMacLightLaf());
+        else if (appTheme == AppTheme.MAC_DARK.getValue())
+            UIManager.setLookAndFeel(new FlatMacDarkLaf());
+    }
+
+    /**
+     * Applies every later change of the theme setting to the open windows on the
+     * Event Dispatch Thread, so a new theme shows without restarting the application.
+     */
+    public static void followThemeSetting() {
+        AppConfig.subscribe(Setting.APP_THEME, appTheme -> SwingUtilities.invokeLater(() -> {
+            try {
+                installLookAndFeel(appTheme);
+                FlatLaf.updateUI();
+                log.debug("Applied theme {}", appTheme);
+            } catch (UnsupportedLookAndFeelException e) {
+                log.debug("Failed to apply theme {}", appTheme, e);
+                log.error("Failed to apply theme {}: {}", appTheme, e.getMessage());
+            }
+        }));
+    }
+}
@@ -0,0 +1,611 @@
+package org.pwss.view.component;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+import javax.swing.JPopupMenu;
+import javax.swing.JViewport;
+import javax.swing.KeyStroke;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+import org.pwss.data_structure.LineStore;
+import org.pwss.util.StringConstants;
+
+/**
+ * A read-only view of a log with millions of lines, such as the live feed of a scan.
+ * <p>
+ * The lines are kept in a {@link LineStore} and only the lines intersecting the
+ * visible area are painted, one row of a fixed height per line, so painting
+ * and scrolling cost the same however long the log is. Appended lines are shown
+ * in one batch per frame. While the view is scrolled to the end it follows the
+ * latest lines; scrolling up, or selecting a found line, stops following them
+ * until the user scrolls to the end again.
+ * <p>
+ * Lines can be searched (Ctrl+F, F3 and Shift+F3) and warnings can be jumped
+ * to (F8 and Shift+F8), from the keyboard or the context menu. Instances are
+ * confined to the Event Dispatch Thread.
+ */
+public class LogView extends JComponent implements Scrollable {
+
+    /**
+     * The delay between an append and the repaint showing it, one frame at 60 frames per second.
+     */
+    private static final int FRAME_MILLIS = 16;
+
+    /**
+     * The horizontal padding around the text, in pixels.
+     */
+    private static final int PADDING = 4;
+
+    /**
+     * The color of warning lines, if the look and feel does not define one.
+     */
+    private static final Color DEFAULT_WARNING_COLOR = new Color(0xD9, 0x8E, 0x04);
+
+    /**
+     * The lines of the log.
+     */
+    private LineStore lines;
+    /**
+     * Timer applying the appended lines to the layout once per frame.
+     */
+    private final Timer repaintTimer;
+    /**
+     * The number of dropped lines of the store at the last layout, to keep the view in place when lines are dropped.
+     */
+    private long droppedLines;
+    /**
+     * Flag indicating whether the view follows the latest lines.
+     */
+    private boolean followTail = true;
+    /**
+     * The viewport showing the view, null if the view is not in a viewport.
+     */
+    private JViewport viewport;
+    /**
+     * Listener taking scrolling by the user to the end of the log as a request to follow the latest lines.
+     */
+    private final ChangeListener viewportListener = e -> onViewportChanged();
+    /**
+     * Flag indicating whether the view is moving the viewport itself, so the move is not taken for scrolling by the user.
+     */
+    private boolean movingViewport;
+    /**
+     * The vertical position of the viewport last seen, to tell scrolling from resizing.
+     */
+    private int lastViewY;
+    /**
+     * The selected line, or -1 if no line is selected.
+     */
+    private int selectedLine = -1;
+    /**
+     * The text last searched for.
+     */
+    private String query = "";
+    /**
+     * The height of a line, in pixels.
+     */
+    private int lineHeight;
+    /**
+     * The width of a character, in pixels.
+     */
+    private int charWidth;
+    /**
+     * The distance from the top of a line to its baseline, in pixels.
+     */
+    private int ascent;
+
+    /**
+     * Creates an empty log view keeping the default number of lines.
+     */
+    public LogView() {
+        this(new LineStore());
+    }
+
+    /**
+     * Creates a log view of the given lines.
+     *
+     * @param lines The store holding the lines of the log.
+     */
+    public LogView(LineStore lines) {
+        this.lines = lines;
+        this.repaintTimer = new Timer(FRAME_MILLIS, e -> applyAppendedLines());
+        this.repaintTimer.setRepeats(false);
+        setOpaque(true);
+        setFocusable(true);
+        setAutoscrolls(true);
+        updateUI();
+        installActions();
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.PARENT_CHANGED) != 0) {
+                attachViewport();
+            }
+        });
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                int line = lineAt(e.getY());
+                if (line >= 0) {
+                    select(line);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        // Follow the theme with the colors of text panes, in a monospaced font so every line has the same layout
+        setBackground(UIManager.getColor("TextPane.background"));
+        setForeground(UIManager.getColor("TextPane.foreground"));
+        Font font = UIManager.getFont("TextPane.font");
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, font != null ? font.getSize() : 12));
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        FontMetrics metrics = getFontMetrics(font);
+        lineHeight = metrics.getHeight();
+        charWidth = Math.max(1, metrics.charWidth('m'));
+        ascent = metrics.getAscent();
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Appends a line. The line shows up with the next frame.
+     *
+     * @param line    The line, without line feeds.
+     * @param warning true if the line reports a warning, painted in the warning color and reachable with F8.
+     */
+    public void append(CharSequence line, boolean warning) {
+        lines.add(line, warning);
+        if (!repaintTimer.isRunning()) {
+            repaintTimer.start();
+        }
+    }
+
+    /**
+     * Removes all lines.
+     */
+    public void clear() {
+        repaintTimer.stop();
+        lines.clear();
+        droppedLines = 0;
+        selectedLine = -1;
+        followTail = true;
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Replaces the lines of the log, such as with a log read from disk off the Event
+     * Dispatch Thread, and shows them from the start.
+     *
+     * @param lines The store holding the new lines of the log, no longer modified by other threads.
+     */
+    public void setLines(LineStore lines) {
+        repaintTimer.stop();
+        this.lines = lines;
+        droppedLines = lines.getDroppedLines();
+        selectedLine = -1;
+        followTail = false;
+        revalidate();
+        if (viewport != null) {
+            moveViewport(() -> {
+                viewport.setViewSize(getPreferredSize());
+                viewport.setViewPosition(new Point(0, 0));
+            });
+        }
+        repaint();
+    }
+
+    /**
+     * Checks whether the log has no lines.
+     *
+     * @return true if the log is empty.
+     */
+    public boolean isEmpty() {
+        return lines.size() == 0;
+    }
+
+    /**
+     * Returns the number of lines of the log.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    /**
+     * Returns whether the view follows the latest lines.
+     *
+     * @return true if the view follows the latest lines.
+     */
+    public boolean isFollowTail() {
+        return followTail;
+    }
+
+    /**
+     * Sets whether the view follows the latest lines, scrolling to the end if it does.
+     *
+     * @param followTail true to follow the latest lines.
+     */
+    public void setFollowTail(boolean followTail) {
+        this.followTail = followTail;
+        if (followTail) {
+            scrollToEnd();
+        }
+    }
+
+    /**
+     * Selects the next or previous line containing a text, ignoring case, wrapping around the log.
+     *
+     * @param text    The text to find.
+     * @param forward true to search towards the end, false towards the start.
+     * @return true if a line has been found.
+     */
+    public boolean find(String text, boolean forward) {
+        query = text;
+        int start = selectedLine < 0 ? (forward ? 0 : lines.size() - 1) : selectedLine + (forward ? 1 : -1);
+        int line = lines.find(text, start, forward);
+        if (line < 0) {
+            line = lines.find(text, forward ? 0 : lines.size() - 1, forward);
+        }
+        return reveal(line);
+    }
+
+    /**
+     * Selects the next or previous warning, wrapping around the log.
+     *
+     * @param forward true to search towards the end, false towards the start.
+     * @return true if a warning has been found.
+     */
+    public boolean findWarning(boolean forward) {
+        int start = selectedLine < 0 ? (forward ? 0 : lines.size() - 1) : selectedLine + (forward ? 1 : -1);
+        int line = lines.findWarning(start, forward);
+        if (line < 0) {
+            line = lines.findWarning(forward ? 0 : lines.size() - 1, forward);
+        }
+        return reveal(line);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        Insets insets = getInsets();
+        int first = Math.max(0, (clip.y - insets.top) / lineHeight);
+        int last = Math.min(lines.size() - 1, (clip.y + clip.height - insets.top) / lineHeight);
+        Color warningColor = UIManager.getColor("Actions.Yellow");
+        if (warningColor == null) {
+            warningColor = DEFAULT_WARNING_COLOR;
+        }
+        g.setFont(getFont());
+        for (int line = first; line <= last; line++) {
+            int y = insets.top + line * lineHeight;
+            if (line == selectedLine) {
+                g.setColor(UIManager.getColor("TextPane.selectionBackground"));
+                g.fillRect(clip.x, y, clip.width, lineHeight);
+                g.setColor(UIManager.getColor("TextPane.selectionForeground"));
+            } else {
+                g.setColor(lines.isWarning(line) ? warningColor : getForeground());
+            }
+            g.drawString(lines.get(line), insets.left + PADDING, y + ascent);
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        return new Dimension(insets.left + insets.right + 2 * PADDING + lines.getMaxLineLength() * charWidth,
+                insets.top + insets.bottom + lines.size() * lineHeight);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(450, 20 * lineHeight);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? lineHeight : charWidth;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL
+                ? Math.max(lineHeight, visibleRect.height - lineHeight)
+                : Math.max(charWidth, visibleRect.width - charWidth);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() instanceof JViewport viewport && viewport.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport viewport && viewport.getHeight() > getPreferredSize().height;
+    }
+
+    /**
+     * Lays out the lines appended since the last frame, keeping the view at the end if it
+     * follows the latest lines, or on the same lines if older lines have been dropped.
+     */
+    private void applyAppendedLines() {
+        long dropped = lines.getDroppedLines() - droppedLines;
+        droppedLines = lines.getDroppedLines();
+        if (dropped > 0 && selectedLine >= 0) {
+            selectedLine = (int) Math.max(-1, selectedLine - dropped);
+        }
+
+        if (viewport != null) {
+            moveViewport(() -> {
+                viewport.setViewSize(getPreferredSize());
+                if (followTail) {
+                    scrollToEnd();
+                } else if (dropped > 0) {
+                    Point position = viewport.getViewPosition();
+                    viewport.setViewPosition(new Point(position.x,
+                            (int) Math.max(0, position.y - dropped * lineHeight)));
+                }
+            });
+        } else {
+            revalidate();
+        }
+        repaint();
+    }
+
+    /**
+     * Scrolls to the latest lines.
+     */
+    private void scrollToEnd() {
+        if (viewport != null) {
+            moveViewport(() -> {
+                viewport.setViewSize(getPreferredSize());
+                int bottom = Math.max(0, getPreferredSize().height - viewport.getExtentSize().height);
+                viewport.setViewPosition(new Point(0, bottom));
+            });
+        }
+    }
+
+    /**
+     * Moves the viewport on behalf of the view, so the move does not change whether the view follows the latest lines.
+     *
+     * @param move The code moving the viewport.
+     */
+    private void moveViewport(Runnable move) {
+        boolean nested = movingViewport;
+        movingViewport = true;
+        try {
+            move.run();
+        } finally {
+            movingViewport = nested;
+        }
+        if (viewport != null) {
+            lastViewY = viewport.getViewPosition().y;
+        }
+    }
+
+    /**
+     * Listens to the viewport the view has been added to, if any, instead of the previous one.
+     */
+    private void attachViewport() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+        }
+        viewport = getParent() instanceof JViewport parent ? parent : null;
+        if (viewport != null) {
+            viewport.addChangeListener(viewportListener);
+            lastViewY = viewport.getViewPosition().y;
+        }
+    }
+
+    /**
+     * Follows the latest lines when the user scrolls to the end of the log, and stops following them
+     * when the user scrolls away. Moves of the viewport made by the view and resizes are ignored.
+     */
+    private void onViewportChanged() {
+        int viewY = viewport.getViewPosition().y;
+        if (!movingViewport && viewY != lastViewY) {
+            followTail = viewY + viewport.getExtentSize().height >= getPreferredSize().height - lineHeight;
+        }
+        lastViewY = viewY;
+    }
+
+    /**
+     * Selects a found line and scrolls it into the middle of the view.
+     *
+     * @param line The found line, or -1 if nothing has been found.
+     * @return true if a line has been found.
+     */
+    private boolean reveal(int line) {
+        if (line < 0) {
+            Toolkit.getDefaultToolkit().beep();
+            return false;
+        }
+        followTail = false;
+        select(line);
+        Rectangle visible = getVisibleRect();
+        int y = getInsets().top + line * lineHeight;
+        Rectangle centered = new Rectangle(visible.x, Math.max(0, y - (visible.height - lineHeight) / 2),
+                visible.width, visible.height);
+        moveViewport(() -> scrollRectToVisible(centered));
+        return true;
+    }
+
+    /**
+     * Selects a line.
+     *
+     * @param line The line to select.
+     */
+    private void select(int line) {
+        int previous = selectedLine;
+        selectedLine = line;
+        repaintLine(previous);
+        repaintLine(line);
+    }
+
+    /**
+     * Repaints a single line.
+     *
+     * @param line The line, ignored if -1.
+     */
+    private void repaintLine(int line) {
+        if (line >= 0) {
+            repaint(0, getInsets().top + line * lineHeight, getWidth(), lineHeight);
+        }
+    }
+
+    /**
+     * Returns the line at a vertical position.
+     *
+     * @param y The vertical position, in pixels.
+     * @return The line, or -1 if there is no line at the position.
+     */
+    private int lineAt(int y) {
+        int line = (y - getInsets().top) / lineHeight;
+        return y >= getInsets().top && line < lines.size() ? line : -1;
+    }
+
+    /**
+     * Prompts for a text and selects the next line containing it.
+     */
+    private void promptFind() {
+        Object text = JOptionPane.showInputDialog(this, StringConstants.LOG_VIEW_FIND_PROMPT,
+                StringConstants.LOG_VIEW_FIND, JOptionPane.PLAIN_MESSAGE, null, null, query);
+        if (text != null && !text.toString().isEmpty()) {
+            find(text.toString(), true);
+        }
+    }
+
+    /**
+     * Selects the next or previous line containing the last searched text, prompting for it if there is none.
+     *
+     * @param forward true to search towards the end, false towards the start.
+     */
+    private void findAgain(boolean forward) {
+        if (query.isEmpty()) {
+            promptFind();
+        } else {
+            find(query, forward);
+        }
+    }
+
+    /**
+     * Copies the selected line to the clipboard.
+     */
+    private void copySelectedLine() {
+        if (selectedLine >= 0 && selectedLine < lines.size()) {
+            Toolkit.getDefaultToolkit().getSystemClipboard()
+                    .setContents(new StringSelection(lines.get(selectedLine)), null);
+        }
+    }
+
+    /**
+     * Binds the keyboard shortcuts and builds the context menu.
+     */
+    private void installActions() {
+        // A headless toolkit has no menu shortcut key, Ctrl is the usual one
+        int menuMask = GraphicsEnvironment.isHeadless()
+                ? InputEvent.CTRL_DOWN_MASK
+                : Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        Action findAction = action(StringConstants.LOG_VIEW_FIND, KeyStroke.getKeyStroke(KeyEvent.VK_F, menuMask),
+                this::promptFind);
+        Action findNextAction = action(StringConstants.LOG_VIEW_FIND_NEXT, KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0),
+                () -> findAgain(true));
+        Action findPreviousAction = action(StringConstants.LOG_VIEW_FIND_PREVIOUS,
+                KeyStroke.getKeyStroke(KeyEvent.VK_F3, InputEvent.SHIFT_DOWN_MASK), () -> findAgain(false));
+        Action nextWarningAction = action(StringConstants.LOG_VIEW_NEXT_WARNING,
+                KeyStroke.getKeyStroke(KeyEvent.VK_F8, 0), () -> findWarning(true));
+        Action previousWarningAction = action(StringConstants.LOG_VIEW_PREVIOUS_WARNING,
+                KeyStroke.getKeyStroke(KeyEvent.VK_F8, InputEvent.SHIFT_DOWN_MASK), () -> findWarning(false));
+        // Ctrl+End jumps to the latest lines and follows them, the menu item toggles following
+        action(StringConstants.LOG_VIEW_FOLLOW_TAIL, KeyStroke.getKeyStroke(KeyEvent.VK_END, menuMask),
+                () -> setFollowTail(true));
+        Action copyAction = action(StringConstants.LOG_VIEW_COPY_LINE, KeyStroke.getKeyStroke(KeyEvent.VK_C, menuMask),
+                this::copySelectedLine);
+
+        JPopupMenu menu = new JPopupMenu();
+        menu.add(findAction);
+        menu.add(findNextAction);
+        menu.add(findPreviousAction);
+        menu.addSeparator();
+        menu.add(nextWarningAction);
+        menu.add(previousWarningAction);
+        menu.addSeparator();
+        JCheckBoxMenuItem followTailItem = new JCheckBoxMenuItem(StringConstants.LOG_VIEW_FOLLOW_TAIL);
+        followTailItem.addActionListener(e -> setFollowTail(followTailItem.isSelected()));
+        menu.add(followTailItem);
+        menu.add(copyAction);
+        menu.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                followTailItem.setSelected(followTail);
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
+        setComponentPopupMenu(menu);
+    }
+
+    /**
+     * Creates an action bound to a keyboard shortcut of the view.
+     *
+     * @param name      The name of the action, shown in the context menu.
+     * @param keyStroke The keyboard shortcut.
+     * @param body      The code run by the action.
+     * @return The action.
+     */
+    private Action action(String name, KeyStroke keyStroke, Runnable body) {
+        Action action = new AbstractAction(name) {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                body.run();
+            }
+        };
+        action.putValue(Action.ACCELERATOR_KEY, keyStroke);
+        getInputMap(WHEN_FOCUSED).put(keyStroke, name);
+        getActionMap().put(name, action);
+        return action;
+    }
+}
@@ -1,6 +1,8 @@
 package org.pwss.view.popup_menu.listener;
 
 import java.awt.Component;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import org.pwss.controller.HomeController;
 import org.pwss.model.entity.MonitoredDirectory;
 import org.pwss.model.request.notes.RestoreNoteType;
@@ -54,77 +56,74 @@ public class MonitoredDirectoryPopupListenerImpl implements MonitoredDirectoryPo
 
     @Override
     public void onResetBaseline(MonitoredDirectory dir, long endpointCode) {
-        try {
-            if (directoryService.newMonitoredDirectoryBaseline(dir.id(), endpointCode)) {
-                showSuccess(StringConstants.MON_DIR_POPUP_RESET_BASELINE_SUCCESS);
-                controller.reloadData();
-            } else {
-                showError(StringConstants.MON_DIR_POPUP_RESET_BASELINE_ERROR);
-            }
-        } catch (Exception e) {
-            log.error("Error resetting baseline for directory {}: {}", dir.path(), e.getMessage());
-            showError(StringConstants.MON_DIR_POPUP_RESET_BASELINE_ERROR_PREFIX + e.getMessage());
-        }
+        runDirectoryAction(() -> directoryService.newMonitoredDirectoryBaseline(dir.id(), endpointCode),
+                StringConstants.MON_DIR_POPUP_RESET_BASELINE_SUCCESS,
+                StringConstants.MON_DIR_POPUP_RESET_BASELINE_ERROR, e -> {
+                    log.error("Error resetting baseline for directory {}: {}", dir.path(), e.getMessage());
+                    showError(StringConstants.MON_DIR_POPUP_RESET_BASELINE_ERROR_PREFIX + e.getMessage());
+                });
     }
 
     @Override
     public void onToggleActiveStatus(MonitoredDirectory dir) {
-        try {
-            if (directoryService.toggleActive(dir)) {
-                showSuccess(StringConstants.MON_DIR_TOGGLE_ACTIVE_SUCCESS);
-                controller.reloadData();
-            } else {
-                showError(StringConstants.MON_DIR_TOGGLE_ACTIVE_ERROR);
-            }
-        } catch (Exception e) {
-            log.error("Error toggling active status for directory {}: {}", dir.path(), e.getMessage());
-            showError(e.getMessage());
-        }
+        runDirectoryAction(() -> directoryService.toggleActive(dir),
+                StringConstants.MON_DIR_TOGGLE_ACTIVE_SUCCESS,
+                StringConstants.MON_DIR_TOGGLE_ACTIVE_ERROR, e -> {
+                    log.error("Error toggling active status for directory {}: {}", dir.path(), e.getMessage());
+                    showError(e.getMessage());
+                });
     }
 
     @Override
     public void onToggleIncludeSubdirectories(MonitoredDirectory dir) {
-        try {
-            if (directoryService.toggleIncludeSubDirectories(dir)) {
-                showSuccess(StringConstants.MON_DIR_TOGGLE_INCLUDE_SUBDIR_SUCCESS);
-                controller.reloadData();
-            } else {
-                showError(StringConstants.MON_DIR_TOGGLE_INCLUDE_SUBDIR_ERROR);
-            }
-        } catch (Exception e) {
-            log.error("Error toggling include subdirectories for directory {}: {}", dir.path(), e.getMessage());
-            showError(e.getMessage());
-        }
+        runDirectoryAction(() -> directoryService.toggleIncludeSubDirectories(dir),
+                StringConstants.MON_DIR_TOGGLE_INCLUDE_SUBDIR_SUCCESS,
+                StringConstants.MON_DIR_TOGGLE_INCLUDE_SUBDIR_ERROR, e -> {
+                    log.error("Error toggling include subdirectories for directory {}: {}", dir.path(), e.getMessage());
+                    showError(e.getMessage());
+                });
     }
 
     @Override
     public void onUpdateNote(MonitoredDirectory dir, String newNotes) {
-        try {
-            if (noteService.updateNotes(dir.notes().id(), newNotes)) {
-                showSuccess(StringConstants.MON_DIR_POPUP_UPDATE_NOTE_SUCCESS);
-                controller.reloadData();
-            } else {
-                showError(StringConstants.MON_DIR_POPUP_UPDATE_NOTE_ERROR);
-            }
-        } catch (Exception e) {
-            log.error("Error updating notes for directory {}: {}", dir.path(), e.getMessage());
-            showError(e.getMessage());
-        }
+        runDirectoryAction(() -> noteService.updateNotes(dir.notes().id(), newNotes),
+                StringConstants.MON_DIR_POPUP_UPDATE_NOTE_SUCCESS,
+                StringConstants.MON_DIR_POPUP_UPDATE_NOTE_ERROR, e -> {
+                    log.error("Error updating notes for directory {}: {}", dir.path(), e.getMessage());
+                    showError(e.getMessage());
+                });
     }
 
     @Override
     public void onRestoreNote(MonitoredDirectory dir, RestoreNoteType restoreType) {
-        try {
-            if (noteService.restoreNotes(dir.notes().id(), restoreType)) {
-                showSuccess(StringConstants.MON_DIR_POPUP_RESTORE_NOTE_SUCCESS);
+        runDirectoryAction(() -> noteService.restoreNotes(dir.notes().id(), restoreType),
+                StringConstants.MON_DIR_POPUP_RESTORE_NOTE_SUCCESS,
+                StringConstants.MON_DIR_POPUP_RESTORE_NOTE_ERROR, e -> {
+                    log.error("Error restoring notes for directory {}: {}", dir.path(), e.getMessage());
+                    showError(e.getMessage());
+                });
+    }
+
+    /**
+     * Runs a monitored directory action off the Event Dispatch Thread and reports
+     * the outcome once it has completed. The home screen data is reloaded after a
+     * successful action.
+     *
+     * @param action         The backend call, returning true on success
+     * @param successMessage The message shown when the action succeeded
+     * @param failureMessage The message shown when the backend rejected the action
+     * @param onError        Handler for exceptions thrown by the action
+     */
+    private void runDirectoryAction(Callable<Boolean> action, String successMessage, String failureMessage,
+            Consumer<Exception> onError) {
+        controller.runInBackground(action, success -> {
+            if (success) {
+                showSuccess(successMessage);
                 controller.reloadData();
             } else {
-                showError(StringConstants.MON_DIR_POPUP_RESTORE_NOTE_ERROR);
+                showError(failureMessage);
             }
-        } catch (Exception e) {
-            log.error("Error restoring notes for directory {}: {}", dir.path(), e.getMessage());
-            showError(e.getMessage());
-        }
+        }, onError);
     }
 
     @Override
@@ -1,5 +1,6 @@
 package org.pwss.view.screen;
 
+import java.awt.Cursor;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -49,6 +50,19 @@ public abstract class BaseScreen extends JPanel {
      */
     public abstract JPanel getRootPanel();
 
+    /**
+     * Show or hide the loading state of the screen while its controller is waiting on the backend.
+     * The default implementation switches the cursor of the root panel to a wait cursor.
+     *
+     * @param loading true while background work is in flight, false once it has completed.
+     */
+    public void setLoading(boolean loading) {
+        JPanel rootPanel = getRootPanel();
+        if (rootPanel != null) {
+            rootPanel.setCursor(loading ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        }
+    }
+
     /**
      * Show a success message dialog.
      *
@@ -27,8 +27,12 @@ import javax.swing.JTextField;
 import javax.swing.JTextPane;
 import javax.swing.plaf.FontUIResource;
 import javax.swing.text.StyleContext;
+import org.pwss.app_settings.AppConfig;
+import org.pwss.app_settings.Setting;
+import org.pwss.data_structure.LineStore;
 import org.pwss.model.entity.MonitoredDirectory;
 import org.pwss.util.AppTheme;
+import org.pwss.view.component.LogView;
 
 /**
  * The HomeScreen class represents the main screen of the application.
@@ -104,9 +108,9 @@ public class HomeScreen extends BaseScreen {
     private JLabel scanProgressLabel;
 
     /**
-     * Text pane for displaying live feed information.
+     * Log view for displaying live feed information.
      */
-    private JTextPane liveFeedText;
+    private LogView liveFeedView;
 
     /**
      * Title label for the live feed section.
@@ -297,22 +301,40 @@ public class HomeScreen extends BaseScreen {
         return scanProgressContainer;
     }
 
+    /**
+     * Returns the scan progress bar.
+     *
+     * @return JProgressBar showing the progress of the running scan.
+     */
+    public JProgressBar getScanProgress() {
+        return scanProgress;
+    }
+
+    /**
+     * Returns the scan progress label.
+     *
+     * @return JLabel describing the progress of the running scan.
+     */
+    public JLabel getScanProgressLabel() {
+        return scanProgressLabel;
+    }
+
     /**
      * Returns the scroll pane container for live feed text.
      *
-     * @return JScrollPane that contains the live feed JTextPane.
+     * @return JScrollPane that contains the live feed LogView.
      */
     public JScrollPane getLiveFeedContainer() {
         return liveFeedContainer;
     }
 
     /**
-     * Returns the live feed text pane.
+     * Returns the live feed log view.
      *
-     * @return JTextPane displaying live feed information.
+     * @return LogView displaying live feed information.
      */
-    public JTextPane getLiveFeedText() {
-        return liveFeedText;
+    public LogView getLiveFeedView() {
+        return liveFeedView;
     }
 
     /**
@@ -524,6 +546,14 @@ public class HomeScreen extends BaseScreen {
         return diffsCountLabel;
     }
 
+    /**
+     * Creates the components of the form which are created in code rather than by the GUI Designer.
+     */
+    private void createUIComponents() {
+        // Keep as many live feed lines as configured
+        liveFeedView = new LogView(new LineStore(AppConfig.get(Setting.LIVE_FEED_MAX_LINES)));
+    }
+
     {
 // GUI initializer generated by IntelliJ IDEA GUI Designer
 // >>> IMPORTANT!! <<<
@@ -539,6 +569,7 @@ public class HomeScreen extends BaseScreen {
      * @noinspection ALL
      */
     private void $$$setupUI$$$() {
+        createUIComponents();
         rootPanel = new JPanel();
         rootPanel.setLayout(new GridLayoutManager(2, 1, new Insets(0, 0, 0, 0), -1, -1));
         tabbedPane = new JTabbedPane();
@@ -613,10 +644,7 @@ public class HomeScreen extends BaseScreen {
         scrollPane3.setViewportView(monitoredDirectoriesTable);
         liveFeedContainer = new JScrollPane();
         scanTab.add(liveFeedContainer, new GridConstraints(1, 1, 8, 3, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, new Dimension(450, -1), new Dimension(450, -1), null, 0, false));
-        liveFeedText = new JTextPane();
-        liveFeedText.setEditable(false);
-        liveFeedText.setText("");
-        liveFeedContainer.setViewportView(liveFeedText);
+        liveFeedContainer.setViewportView(liveFeedView);
         liveFeedTitle = new JLabel();
         Font liveFeedTitleFont = this.$$$getFont$$$(null, Font.BOLD, 16, liveFeedTitle.getFont());
         if (liveFeedTitleFont != null) liveFeedTitle.setFont(liveFeedTitleFont);
@@ -13,6 +13,7 @@ import javax.swing.JSplitPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTable;
 import javax.swing.JTextPane;
+import org.pwss.view.component.LogView;
 
 /**
  * Screen class that represents the details of a scan, providing UI components
@@ -48,6 +49,14 @@ public class ScanDetailsScreen extends BaseScreen {
      * Label to display the count of differences (diffs) detected.
      */
     private JLabel diffsCountLabel;
+    /**
+     * Log view showing the live feed of the scan, read back from the scan journal.
+     */
+    private LogView scanLogView;
+    /**
+     * Label describing the journaled live feed of the scan.
+     */
+    private JLabel scanLogLabel;
 
     @Override
     public String getScreenName() {
@@ -119,6 +128,24 @@ public class ScanDetailsScreen extends BaseScreen {
         return diffsCountLabel;
     }
 
+    /**
+     * Returns the log view showing the journaled live feed of the scan.
+     *
+     * @return The LogView instance showing the scan log
+     */
+    public LogView getScanLogView() {
+        return scanLogView;
+    }
+
+    /**
+     * Returns the label describing the journaled live feed of the scan.
+     *
+     * @return The JLabel instance describing the scan log
+     */
+    public JLabel getScanLogLabel() {
+        return scanLogLabel;
+    }
+
     {
 // GUI initializer generated by IntelliJ IDEA GUI Designer
 // >>> IMPORTANT!! <<<
@@ -170,11 +197,21 @@ public class ScanDetailsScreen extends BaseScreen {
         diffsCountLabel.setText("Label");
         panel2.add(diffsCountLabel, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
         final JPanel panel3 = new JPanel();
-        panel3.setLayout(new GridLayoutManager(1, 1, new Insets(0, 10, 10, 10), -1, -1));
-        rootPanel.add(panel3, new GridConstraints(1, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, true));
+        panel3.setLayout(new GridLayoutManager(2, 1, new Insets(10, 10, 10, 10), -1, -1));
+        tabbedPane1.addTab("\uD83D\uDCDC Scan log", null, panel3, "Here you can browse and search the live feed of the scan");
+        scanLogLabel = new JLabel();
+        scanLogLabel.setText("Label");
+        panel3.add(scanLogLabel, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_WEST, GridConstraints.FILL_NONE, GridConstraints.SIZEPOLICY_FIXED, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        final JScrollPane scrollPane5 = new JScrollPane();
+        panel3.add(scrollPane5, new GridConstraints(1, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_WANT_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_WANT_GROW, null, new Dimension(200, 200), null, 0, false));
+        scanLogView = new LogView();
+        scrollPane5.setViewportView(scanLogView);
+        final JPanel panel4 = new JPanel();
+        panel4.setLayout(new GridLayoutManager(1, 1, new Insets(0, 10, 10, 10), -1, -1));
+        rootPanel.add(panel4, new GridConstraints(1, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, true));
         backButton = new JButton();
         backButton.setText("Back");
-        panel3.add(backButton, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
+        panel4.add(backButton, new GridConstraints(0, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_HORIZONTAL, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_FIXED, null, null, null, 0, false));
     }
 
     /**
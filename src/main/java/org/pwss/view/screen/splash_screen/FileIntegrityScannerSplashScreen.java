@@ -3,23 +3,27 @@ package org.pwss.view.screen.splash_screen;
 import java.awt.DisplayMode;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
-import java.awt.Image;
-
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.ImageIcon;
 import javax.swing.JLabel;
 import javax.swing.JWindow;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
+
+import org.pwss.util.ConcurrencyUtil;
 
 /**
  * This class is responsible for displaying a splash screen with an image that
- * scales to fit the entire screen. The splash screen will close automatically
- * after 5 seconds or when the Enter key is pressed.
+ * scales to fit the entire screen. The splash screen is closed once the
+ * application is ready, or earlier when the Enter key is pressed.
+ * <p>
+ * The picture is decoded and scaled off the Event Dispatch Thread, and the
+ * scaled picture is cached per display resolution by {@link SplashImageCache}.
  */
 public final class FileIntegrityScannerSplashScreen {
 
@@ -29,12 +33,34 @@ public final class FileIntegrityScannerSplashScreen {
     private static final String SPLASH_SCREEN_PICTURE_PATH = "app_storage" + File.separator + "picture" + File.separator
             + "splashscreen" + File.separator + "file_integrity_scanner_splash_screen_m.JPG";
 
+    /**
+     * Path to the directory of the splash screen pictures scaled to the display resolutions.
+     */
+    private static final String SPLASH_SCREEN_CACHE_PATH = "app_storage" + File.separator + "picture" + File.separator
+            + "cache";
+
+    /**
+     * The splash screen currently shown, null if none is.
+     */
+    private static volatile JWindow shownSplash;
+
+    /**
+     * Whether the splash screen has been closed since it was requested, so a
+     * picture loaded after the application is ready is not shown anymore.
+     */
+    private static volatile boolean closed;
 
     /**
      * Displays the splash screen with a specified image that scales to fit the
-     * entire screen.
+     * entire screen. Returns at once, the picture is loaded in the background
+     * and the splash screen is shown on the Event Dispatch Thread.
+     *
+     * @return A future completed with true once the splash screen is shown, or
+     *         with false if it has been closed before the picture was loaded;
+     *         completed exceptionally if the picture cannot be loaded.
      */
-    public static final void showSplash() {
+    public static final CompletableFuture<Boolean> showSplash() {
+        closed = false;
 
         final GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
         final GraphicsDevice gd = ge.getDefaultScreenDevice();
@@ -43,32 +69,41 @@ public final class FileIntegrityScannerSplashScreen {
         final int screenWidth = dm.getWidth();
         final int screenHeight = dm.getHeight();
 
-        final JWindow splash = new JWindow();
-        splash.setSize(screenWidth, screenHeight);
-
-        final ImageIcon imageIcon = new ImageIcon(SPLASH_SCREEN_PICTURE_PATH);
-        final JLabel label = new JLabel(imageIcon);
+        final SplashImageCache cache = new SplashImageCache(Path.of(SPLASH_SCREEN_PICTURE_PATH),
+                Path.of(SPLASH_SCREEN_CACHE_PATH));
+        return ConcurrencyUtil.supplyAsync(() -> cache.load(screenWidth, screenHeight))
+                .thenCompose(image -> {
+                    final CompletableFuture<Boolean> shown = new CompletableFuture<>();
+                    SwingUtilities.invokeLater(() -> {
+                        try {
+                            shown.complete(!closed && show(image));
+                        } catch (Throwable e) {
+                            shown.completeExceptionally(e);
+                        }
+                    });
+                    return shown;
+                });
+    }
 
-        // Scale the image to fit within the desired size (maintaining aspect ratio)
-        final Image scaledImage = imageIcon.getImage().getScaledInstance(screenWidth, screenHeight, Image.SCALE_SMOOTH);
+    /**
+     * Shows the splash screen with a picture already scaled to the size of the
+     * screen. Event Dispatch Thread only.
+     *
+     * @param image The scaled picture.
+     * @return true if the splash screen is still shown, false if it has been
+     *         closed from another thread meanwhile.
+     */
+    private static boolean show(final BufferedImage image) {
+        final JWindow splash = new JWindow();
+        shownSplash = splash;
+        splash.setSize(image.getWidth(), image.getHeight());
 
-        imageIcon.setImage(scaledImage);
+        final JLabel label = new JLabel(new ImageIcon(image));
 
         splash.getContentPane().add(label);
         splash.setLocationRelativeTo(null);
         splash.setVisible(true);
 
-        // Timer to close the splash screen after 5 seconds or when Enter is pressed
-        final Timer timer = new Timer(5000, null);
-        final ActionListener actionListener = new ActionListener() {
-            @Override
-            public void actionPerformed(final ActionEvent e) {
-                splash.dispose();
-                timer.stop();
-            }
-        };
-        timer.addActionListener(actionListener);
-
         // Listen for Enter key press to close the splash screen early
         splash.getContentPane().setFocusable(true);
         splash.getContentPane().requestFocusInWindow();
@@ -76,13 +111,29 @@ public final class FileIntegrityScannerSplashScreen {
             @Override
             public void keyPressed(final KeyEvent e) {
                 if (e.getKeyCode() == KeyEvent.VK_ENTER) {
-                    actionListener.actionPerformed(null); // Close the splash screen
+                    closeSplash();
                 }
             }
         };
         splash.getContentPane().addKeyListener(keyAdapter);
 
-        timer.start();
+        if (closed) {
+            closeSplash();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the splash screen, if it is shown. May be called from any thread.
+     */
+    public static final void closeSplash() {
+        closed = true;
+        final JWindow shown = shownSplash;
+        shownSplash = null;
+        if (shown != null) {
+            SwingUtilities.invokeLater(shown::dispose);
+        }
     }
 
 }
@@ -0,0 +1,164 @@
+package org.pwss.view.screen.splash_screen;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the splash screen picture scaled to the size of the display.
+ * <p>
+ * The picture is scaled once per display resolution and the scaled variant is
+ * stored next to the other pictures, so later starts only decode an image of
+ * the right size instead of decoding and scaling the full picture. A scaled
+ * variant older than the picture is scaled again.
+ */
+final class SplashImageCache {
+
+    /**
+     * Logger instance for logging messages within this class.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SplashImageCache.class);
+
+    /**
+     * Format of the scaled variants.
+     */
+    private static final String FORMAT = "jpg";
+
+    /**
+     * The picture to scale.
+     */
+    private final Path picture;
+    /**
+     * Directory of the scaled variants.
+     */
+    private final Path cacheDirectory;
+
+    /**
+     * Creates a cache of scaled variants of a picture.
+     *
+     * @param picture        The picture to scale.
+     * @param cacheDirectory Directory of the scaled variants, created when the first one is stored.
+     */
+    SplashImageCache(Path picture, Path cacheDirectory) {
+        this.picture = picture;
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Returns the picture scaled to the given size, from the cache if it holds
+     * an up-to-date variant of that size. Decodes and possibly scales the
+     * picture, so must not be called on the Event Dispatch Thread.
+     *
+     * @param width  The width to scale to.
+     * @param height The height to scale to.
+     * @return The scaled picture.
+     * @throws IOException If the picture cannot be read.
+     */
+    BufferedImage load(int width, int height) throws IOException {
+        Path variant = variantFile(width, height);
+        if (isUpToDate(variant)) {
+            BufferedImage cached = ImageIO.read(variant.toFile());
+            if (cached != null && cached.getWidth() == width && cached.getHeight() == height) {
+                return cached;
+            }
+        }
+
+        BufferedImage source = ImageIO.read(picture.toFile());
+        if (source == null) {
+            throw new IOException("Unsupported picture format: " + picture);
+        }
+        BufferedImage scaled = scale(source, width, height);
+        store(scaled, variant);
+        return scaled;
+    }
+
+    /**
+     * Returns the file of the scaled variant of a size.
+     *
+     * @param width  The width of the variant.
+     * @param height The height of the variant.
+     * @return The file, which may not exist.
+     */
+    Path variantFile(int width, int height) {
+        String name = picture.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        String baseName = extension > 0 ? name.substring(0, extension) : name;
+        return cacheDirectory.resolve(baseName + "_" + width + "x" + height + "." + FORMAT);
+    }
+
+    /**
+     * Scales an image to the given size in a single pass with bilinear
+     * interpolation, which is much faster than the area averaging of
+     * {@link java.awt.Image#SCALE_SMOOTH} and good enough for a photo shown once.
+     *
+     * @param source The image to scale.
+     * @param width  The width to scale to.
+     * @param height The height to scale to.
+     * @return The scaled image.
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Checks whether a scaled variant exists and is not older than the picture.
+     *
+     * @param variant The file of the variant.
+     * @return true if the variant can be used.
+     */
+    private boolean isUpToDate(Path variant) {
+        try {
+            return Files.isRegularFile(variant)
+                    && Files.getLastModifiedTime(variant).compareTo(Files.getLastModifiedTime(picture)) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores a scaled variant, replacing the previous one atomically so a
+     * concurrent start never reads it half written. A variant which cannot be
+     * stored is scaled again on the next start.
+     *
+     * @param scaled  The scaled image.
+     * @param variant The file of the variant.
+     */
+    private void store(BufferedImage scaled, Path variant) {
+        Path temporaryFile = variant.resolveSibling(variant.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(cacheDirectory);
+            if (!ImageIO.write(scaled, FORMAT, temporaryFile.toFile())) {
+                log.debug("No writer for the {} format, splash screen picture not cached", FORMAT);
+                return;
+            }
+            try {
+                Files.move(temporaryFile, variant, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, variant, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.debug("Scaled splash screen picture could not be cached", e);
+            log.error("Scaled splash screen picture could not be cached: {}", e.getMessage());
+        }
+    }
+}
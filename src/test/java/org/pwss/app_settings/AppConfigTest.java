@@ -17,7 +17,7 @@ public class AppConfigTest {
     @Test
     void setAppThemeTest() {
 
-        final int originalAppTheme = AppConfig.APP_THEME;
+        final int originalAppTheme = AppConfig.get(Setting.APP_THEME);
         boolean EXPECTED = true;
 
         boolean ACTUAL = AppConfig.setAppTheme(4);
@@ -37,7 +37,7 @@ public class AppConfigTest {
     @Test
     void setLicenseKeyTest() {
 
-        final String originalLicenseKey = AppConfig.LICENSE_KEY;
+        final String originalLicenseKey = AppConfig.get(Setting.LICENSE_KEY);
         boolean EXPECTED = true;
 
         boolean ACTUAL = AppConfig.setLicenseKey("This should not persist!");
@@ -57,7 +57,7 @@ public class AppConfigTest {
     @Test
     void setSplashScreenTest() {
 
-        final boolean originalUseSplashScreen = AppConfig.USE_SPLASH_SCREEN;
+        final boolean originalUseSplashScreen = AppConfig.get(Setting.USE_SPLASH_SCREEN);
         boolean EXPECTED = true;
 
         boolean ACTUAL = AppConfig.setSplashScreenFlagInAppConfig(true);
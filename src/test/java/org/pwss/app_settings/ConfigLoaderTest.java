@@ -0,0 +1,84 @@
+package org.pwss.app_settings;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pwss.data_structure.LineStore;
+
+/**
+ * This class contains unit tests for the parsing and the write-behind of the ConfigLoader class.
+ */
+public class ConfigLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test to verify that a burst of changes is written once the settings stop changing.
+     */
+    @Test
+    void changesAreWrittenAfterTheDelay() throws Exception {
+        Path configFile = Files.writeString(directory.resolve("app.config"), "frontend.theme=1\n");
+        ConfigLoader configLoader = new ConfigLoader(configFile, 50);
+
+        for (int size = 1; size <= 100; size++) {
+            Assertions.assertTrue(configLoader.setMaxHashExtractionFileSize(String.valueOf(size)));
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"100".equals(load(configFile).getProperty("scanner.max_hash_extraction_file_size"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Properties written = load(configFile);
+        Assertions.assertEquals("100", written.getProperty("scanner.max_hash_extraction_file_size"));
+        Assertions.assertEquals("1", written.getProperty("frontend.theme"));
+        Assertions.assertFalse(Files.exists(directory.resolve("app.config.tmp")));
+    }
+
+    /**
+     * Test to verify that flushing writes pending changes immediately.
+     */
+    @Test
+    void flushWritesPendingChanges() throws Exception {
+        Path configFile = Files.writeString(directory.resolve("app.config"), "frontend.theme=1\n");
+        ConfigLoader configLoader = new ConfigLoader(configFile, 60_000);
+
+        configLoader.setAppTheme("3");
+        configLoader.setLicenseKey("key");
+        Assertions.assertTrue(configLoader.flush());
+
+        Properties written = load(configFile);
+        Assertions.assertEquals("3", written.getProperty("frontend.theme"));
+        Assertions.assertEquals("key", written.getProperty("frontend.licensekey"));
+        // Nothing left to write
+        Assertions.assertTrue(configLoader.flush());
+    }
+
+    /**
+     * Test to verify that the maximum number of live feed lines is read, and falls back to the default if invalid.
+     */
+    @Test
+    void liveFeedMaxLinesIsValidated() throws Exception {
+        Path configFile = Files.writeString(directory.resolve("app.config"), "frontend.livefeed_max_lines=5000\n");
+        Assertions.assertEquals(5000, new ConfigLoader(configFile, 60_000).getLiveFeedMaxLines());
+
+        for (String invalid : new String[]{"0", "-3", "many"}) {
+            Files.writeString(configFile, "frontend.livefeed_max_lines=" + invalid + "\n");
+            Assertions.assertEquals(LineStore.DEFAULT_MAX_LINES, new ConfigLoader(configFile, 60_000).getLiveFeedMaxLines());
+        }
+        Files.writeString(configFile, "frontend.theme=1\n");
+        Assertions.assertEquals(LineStore.DEFAULT_MAX_LINES, new ConfigLoader(configFile, 60_000).getLiveFeedMaxLines());
+    }
+
+    private static Properties load(Path configFile) throws Exception {
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(configFile)) {
+            properties.load(input);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,82 @@
+package org.pwss.app_settings;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class contains unit tests for the SettingsRegistry class.
+ */
+public class SettingsRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test to verify that subscribers are notified of changed values only, until they cancel.
+     */
+    @Test
+    void subscribersAreNotifiedOfChanges() throws Exception {
+        Path configFile = Files.writeString(directory.resolve("app.config"), "frontend.theme=1\n");
+        SettingsRegistry settings = new SettingsRegistry(new ConfigLoader(configFile, 60_000));
+        List<Integer> themes = new ArrayList<>();
+        SettingsRegistry.Subscription subscription = settings.subscribe(Setting.APP_THEME, themes::add);
+
+        settings.set(Setting.APP_THEME, 2);
+        settings.set(Setting.APP_THEME, 2);
+        settings.set(Setting.MAX_HASH_EXTRACTION_FILE_SIZE, 1024L);
+        subscription.cancel();
+        settings.set(Setting.APP_THEME, 3);
+
+        Assertions.assertEquals(List.of(2), themes);
+        Assertions.assertEquals(3, settings.get(Setting.APP_THEME));
+        Assertions.assertEquals(1024L, settings.get(Setting.MAX_HASH_EXTRACTION_FILE_SIZE));
+    }
+
+    /**
+     * Test to verify that an edit of the configuration file is applied while watching it.
+     */
+    @Test
+    void editsOfTheFileAreApplied() throws Exception {
+        Path configFile = Files.writeString(directory.resolve("app.config"),
+                "frontend.theme=1\nfrontend.splashscreen=true\n");
+        try (SettingsRegistry settings = new SettingsRegistry(new ConfigLoader(configFile, 60_000))) {
+            CompletableFuture<Integer> theme = new CompletableFuture<>();
+            List<Boolean> splashScreen = new ArrayList<>();
+            settings.subscribe(Setting.APP_THEME, theme::complete);
+            settings.subscribe(Setting.USE_SPLASH_SCREEN, splashScreen::add);
+            settings.watch();
+
+            Files.writeString(configFile, "frontend.theme=4\nfrontend.splashscreen=true\n");
+
+            Assertions.assertEquals(4, theme.get(10, TimeUnit.SECONDS));
+            Assertions.assertEquals(4, settings.get(Setting.APP_THEME));
+            Assertions.assertTrue(splashScreen.isEmpty());
+        }
+    }
+
+    /**
+     * Test to verify that settings changed in memory are not replaced by the file before they are written.
+     */
+    @Test
+    void unwrittenChangesTakePrecedenceOverTheFile() throws Exception {
+        Path configFile = Files.writeString(directory.resolve("app.config"), "frontend.theme=1\n");
+        ConfigLoader configLoader = new ConfigLoader(configFile, 60_000);
+        SettingsRegistry settings = new SettingsRegistry(configLoader);
+
+        settings.set(Setting.APP_THEME, 2);
+        Assertions.assertFalse(settings.reload());
+        Assertions.assertEquals(2, settings.get(Setting.APP_THEME));
+
+        Assertions.assertTrue(configLoader.flush());
+        Files.writeString(configFile, "frontend.theme=3\n");
+        Assertions.assertTrue(settings.reload());
+        Assertions.assertEquals(3, settings.get(Setting.APP_THEME));
+    }
+}
@@ -0,0 +1,51 @@
+package org.pwss.controller.util;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataFreshnessTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final DataFreshness freshness = new DataFreshness(dataVersion::get, clock::get);
+
+    @Test
+    void testDatasetsAreStaleUntilLoadedAndAfterTheirMaxAge() {
+        freshness.require("directories", Duration.ofSeconds(30));
+        freshness.require("status", Duration.ofSeconds(5));
+        assertEquals(Set.of("directories", "status"), freshness.staleDatasets());
+
+        DataFreshness.Stamp stamp = freshness.stamp();
+        freshness.markLoaded("directories", stamp);
+        freshness.markLoaded("status", stamp);
+        assertTrue(freshness.staleDatasets().isEmpty());
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertEquals(Set.of("status"), freshness.staleDatasets());
+        assertTrue(freshness.isFresh("directories"));
+
+        freshness.invalidate("directories");
+        assertFalse(freshness.isFresh("directories"));
+    }
+
+    @Test
+    void testDataChangedDuringOrAfterLoadMakesDatasetsStale() {
+        freshness.require("directories", Duration.ofMinutes(1));
+
+        DataFreshness.Stamp stamp = freshness.stamp();
+        dataVersion.incrementAndGet();
+        freshness.markLoaded("directories", stamp);
+        assertFalse(freshness.isFresh("directories"), "Data changed while the load was in flight");
+
+        freshness.markLoaded("directories", freshness.stamp());
+        assertTrue(freshness.isFresh("directories"));
+        dataVersion.incrementAndGet();
+        assertEquals(Set.of("directories"), freshness.staleDatasets());
+    }
+}
@@ -0,0 +1,79 @@
+package org.pwss.data_structure;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LineStoreTest {
+
+    private static final int CHUNK = LineStore.CHUNK_LINES;
+
+    @Test
+    void addAndGetAcrossChunksTest() {
+        LineStore store = new LineStore();
+        for (int i = 0; i < 3 * CHUNK + 10; i++) {
+            store.add("line " + i, i % 1000 == 0);
+        }
+
+        Assertions.assertEquals(3 * CHUNK + 10, store.size());
+        Assertions.assertEquals("line 0", store.get(0));
+        Assertions.assertEquals("line " + CHUNK, store.get(CHUNK));
+        Assertions.assertEquals("line " + (3 * CHUNK + 9), store.get(3 * CHUNK + 9));
+        Assertions.assertTrue(store.isWarning(2000));
+        Assertions.assertFalse(store.isWarning(2001));
+        Assertions.assertEquals(("line " + (3 * CHUNK + 9)).length(), store.getMaxLineLength());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.get(3 * CHUNK + 10));
+    }
+
+    @Test
+    void oldestChunkIsDroppedPastTheMaximumTest() {
+        LineStore store = new LineStore(2 * CHUNK);
+        for (int i = 0; i < 2 * CHUNK + 1; i++) {
+            store.add("line " + i, false);
+        }
+
+        Assertions.assertEquals(CHUNK + 1, store.size());
+        Assertions.assertEquals(CHUNK, store.getDroppedLines());
+        Assertions.assertEquals("line " + CHUNK, store.get(0));
+
+        store.clear();
+        Assertions.assertEquals(0, store.size());
+        Assertions.assertEquals(0, store.getDroppedLines());
+    }
+
+    @Test
+    void findWarningInBothDirectionsTest() {
+        LineStore store = new LineStore();
+        for (int i = 0; i < 2 * CHUNK + 10; i++) {
+            store.add("line " + i, i == 5 || i == 2 * CHUNK + 3);
+        }
+
+        Assertions.assertEquals(5, store.findWarning(0, true));
+        Assertions.assertEquals(2 * CHUNK + 3, store.findWarning(6, true));
+        Assertions.assertEquals(-1, store.findWarning(2 * CHUNK + 4, true));
+        Assertions.assertEquals(5, store.findWarning(2 * CHUNK + 2, false));
+        Assertions.assertEquals(2 * CHUNK + 3, store.findWarning(Integer.MAX_VALUE, false));
+        Assertions.assertEquals(-1, store.findWarning(4, false));
+    }
+
+    @Test
+    void findIgnoresCaseAndNeverMatchesAcrossLinesTest() {
+        LineStore store = new LineStore();
+        for (int i = 0; i < CHUNK + 10; i++) {
+            store.add(i == 7 || i == CHUNK + 2 ? "Modified /etc/Passwd" : "unchanged " + i, false);
+        }
+
+        Assertions.assertEquals(7, store.find("passwd", 0, true));
+        Assertions.assertEquals(CHUNK + 2, store.find("PASSWD", 8, true));
+        Assertions.assertEquals(-1, store.find("passwd", CHUNK + 3, true));
+        Assertions.assertEquals(CHUNK + 2, store.find("passwd", CHUNK + 9, false));
+        Assertions.assertEquals(7, store.find("passwd", CHUNK + 1, false));
+        Assertions.assertEquals(-1, store.find("passwd", 6, false));
+        // The end of one line followed by the start of the next is not a match
+        Assertions.assertEquals(-1, store.find("passwdunchanged", 0, true));
+        Assertions.assertEquals(-1, store.find("", 0, true));
+
+        // Lines added after a search are found as well
+        store.add("late passwd", false);
+        Assertions.assertEquals(CHUNK + 10, store.find("late", 0, true));
+    }
+}
@@ -0,0 +1,46 @@
+package org.pwss.data_structure;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LongObjectMapTest {
+
+    @Test
+    void putGetRemoveTest() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        Assertions.assertNull(map.put(Long.MAX_VALUE - 1, "a.enc"));
+        Assertions.assertEquals("a.enc", map.put(Long.MAX_VALUE - 1, "b.enc"));
+        Assertions.assertTrue(map.containsKey(Long.MAX_VALUE - 1));
+        Assertions.assertEquals("b.enc", map.get(Long.MAX_VALUE - 1));
+        Assertions.assertEquals(1, map.size());
+
+        Assertions.assertEquals("b.enc", map.remove(Long.MAX_VALUE - 1));
+        Assertions.assertFalse(map.containsKey(Long.MAX_VALUE - 1));
+        Assertions.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperationsTest() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                Assertions.assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> Assertions.assertEquals(value, map.get(key)));
+        Assertions.assertEquals(expected.size(), map.keys().length);
+    }
+}
@@ -0,0 +1,171 @@
+package org.pwss.data_structure;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Benchmark harness comparing the hand-off of elements from one thread to
+ * another through a {@link SpscRingBuffer} with the same hand-off through a
+ * lock-based {@link ArrayBlockingQueue} of the same capacity.
+ * <p>
+ * Run it with the test classpath, optionally passing the number of elements
+ * handed off per round:
+ * <pre>
+ * java -cp target/classes:target/test-classes org.pwss.data_structure.SpscRingBufferBenchmark 10000000
+ * </pre>
+ * Each queue is warmed up and then timed over several rounds. The median time
+ * per element is printed for each queue.
+ */
+public final class SpscRingBufferBenchmark {
+
+    /**
+     * Capacity of both queues, the number of live feed updates the controllers let wait.
+     */
+    static final int CAPACITY = 1024;
+
+    /**
+     * Number of elements drained at once by the consumer.
+     */
+    private static final int BATCH = 256;
+
+    /**
+     * Number of untimed rounds run first, so both queues are compiled.
+     */
+    private static final int WARM_UP_ROUNDS = 3;
+
+    /**
+     * Number of timed rounds.
+     */
+    private static final int ROUNDS = 7;
+
+    private SpscRingBufferBenchmark() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args The number of elements handed off per round, 5,000,000 by default.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        double spsc = medianNanosPerElement(count, true);
+        double locked = medianNanosPerElement(count, false);
+        System.out.printf("SpscRingBuffer:     %.2f ns/element%n", spsc);
+        System.out.printf("ArrayBlockingQueue: %.2f ns/element%n", locked);
+        System.out.printf("Speed-up:           %.2fx%n", locked / spsc);
+    }
+
+    /**
+     * Times the hand-off through one of the queues over several rounds.
+     *
+     * @param count The number of elements per round.
+     * @param spsc  true to time the {@link SpscRingBuffer}, false to time the {@link ArrayBlockingQueue}.
+     * @return The median time per element, in nanoseconds.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    private static double medianNanosPerElement(int count, boolean spsc) throws InterruptedException {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            handOff(count, spsc);
+        }
+        double[] nanos = new double[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            handOff(count, spsc);
+            nanos[i] = (System.nanoTime() - start) / (double) count;
+        }
+        Arrays.sort(nanos);
+        return nanos[ROUNDS / 2];
+    }
+
+    /**
+     * Hands the elements 0 to count - 1 from a producer thread to the calling
+     * thread through one of the queues.
+     *
+     * @param count The number of elements.
+     * @param spsc  true to use a {@link SpscRingBuffer}, false to use an {@link ArrayBlockingQueue}.
+     * @return The sum of the elements received, to check every element arrived.
+     * @throws InterruptedException If the hand-off is interrupted.
+     */
+    static long handOff(int count, boolean spsc) throws InterruptedException {
+        long[] sum = new long[1];
+        Thread producer;
+        if (spsc) {
+            SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(CAPACITY);
+            producer = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            int received = 0;
+            while (received < count) {
+                int drained = buffer.drainTo(element -> sum[0] += element, BATCH);
+                if (drained == 0) {
+                    Thread.onSpinWait();
+                }
+                received += drained;
+            }
+        } else {
+            ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(CAPACITY);
+            producer = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < count; i++) {
+                    while (!queue.offer(i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            int received = 0;
+            while (received < count) {
+                int drained = queue.drainTo(new SummingCollection(sum), BATCH);
+                if (drained == 0) {
+                    Thread.onSpinWait();
+                }
+                received += drained;
+            }
+        }
+        producer.join();
+        return sum[0];
+    }
+
+    /**
+     * A collection adding up the elements drained into it, so the lock-based
+     * queue drains in batches like the ring buffer without keeping the elements.
+     */
+    private static final class SummingCollection extends AbstractCollection<Integer> {
+        /**
+         * The running sum, shared with the caller.
+         */
+        private final long[] sum;
+
+        /**
+         * Constructs a collection adding to the given sum.
+         *
+         * @param sum The running sum.
+         */
+        SummingCollection(long[] sum) {
+            this.sum = sum;
+        }
+
+        @Override
+        public boolean add(Integer element) {
+            sum[0] += element;
+            return true;
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+}
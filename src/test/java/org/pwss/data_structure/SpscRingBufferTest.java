@@ -0,0 +1,87 @@
+package org.pwss.data_structure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SpscRingBufferTest {
+
+    @Test
+    void offerPollAndCapacityTest() {
+        SpscRingBuffer<String> buffer = new SpscRingBuffer<>(3);
+
+        Assertions.assertEquals(4, buffer.capacity());
+        Assertions.assertEquals(1, new SpscRingBuffer<>(1).capacity());
+        Assertions.assertNull(buffer.poll());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(buffer.offer("e" + i));
+        }
+        Assertions.assertFalse(buffer.offer("full"));
+        Assertions.assertEquals(4, buffer.size());
+
+        Assertions.assertEquals("e0", buffer.peek());
+        Assertions.assertEquals("e0", buffer.poll());
+        Assertions.assertTrue(buffer.offer("e4"));
+        List<String> drained = new ArrayList<>();
+        Assertions.assertEquals(2, buffer.drainTo(drained::add, 2));
+        Assertions.assertEquals(List.of("e1", "e2"), drained);
+        Assertions.assertEquals(2, buffer.drainTo(drained::add));
+        Assertions.assertEquals(List.of("e1", "e2", "e3", "e4"), drained);
+        Assertions.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void iteratorReturnsSnapshotWithoutRemovingTest() {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.poll();
+        buffer.offer(3);
+
+        List<Integer> snapshot = new ArrayList<>();
+        buffer.iterator().forEachRemaining(snapshot::add);
+        buffer.offer(4);
+
+        Assertions.assertEquals(List.of(2, 3), snapshot);
+        Assertions.assertEquals(3, buffer.size());
+    }
+
+    @Test
+    void handsEveryElementOverInOrderAcrossThreadsTest() throws Exception {
+        int count = 1_000_000;
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(1024);
+        Thread producer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < count; i++) {
+                while (!buffer.offer(i)) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+
+        int[] next = new int[1];
+        while (next[0] < count) {
+            int drained = buffer.drainTo(element -> {
+                Assertions.assertEquals(next[0], element);
+                next[0]++;
+            }, 256);
+            if (drained == 0) {
+                Thread.onSpinWait();
+            }
+        }
+        producer.join();
+
+        Assertions.assertEquals(count, next[0]);
+        Assertions.assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void benchmarkHandsOffEveryElementThroughBothQueuesTest() throws Exception {
+        int count = 200_000;
+        long expected = (long) count * (count - 1) / 2;
+
+        Assertions.assertEquals(expected, SpscRingBufferBenchmark.handOff(count, true));
+        Assertions.assertEquals(expected, SpscRingBufferBenchmark.handOff(count, false));
+    }
+}
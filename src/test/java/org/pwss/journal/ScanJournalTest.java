@@ -0,0 +1,124 @@
+package org.pwss.journal;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pwss.model.livefeed.LiveFeedEvent;
+import org.pwss.model.livefeed.LiveFeedEvent.Type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScanJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEntriesAreReadBackFromTheSegmentOfTheScan() throws Exception {
+        Instant before = Instant.now();
+        try (ScanJournal journal = new ScanJournal(directory, 1024 * 1024)) {
+            journal.startSegment(List.of("/etc"));
+            journal.append(Type.BASELINE, "Establishing baseline for directory: /etc");
+            journal.append(List.of(new LiveFeedEvent(Type.FILE_OK, "/etc/hosts ✅"),
+                    new LiveFeedEvent(Type.INTEGRITY_WARNING, "/etc/pass\twd ⚠️")));
+            journal.finishSegment();
+            // Entries appended between scans are not journaled
+            journal.append(Type.MESSAGE, "ignored");
+            journal.close();
+
+            List<ScanJournal.Segment> segments = journal.listSegments();
+            assertEquals(1, segments.size());
+            assertTrue(journal.findSegment(before).isPresent());
+            assertFalse(journal.findSegment(before.minusSeconds(3600)).isPresent());
+
+            List<String> lines = new ArrayList<>();
+            long entries = journal.read(segments.getFirst(), (type, text) -> lines.add(type + " " + text));
+            assertEquals(3, entries);
+            assertEquals(List.of("BASELINE Establishing baseline for directory: /etc", "FILE_OK /etc/hosts ✅",
+                    "INTEGRITY_WARNING /etc/pass wd ⚠️"), lines);
+        }
+    }
+
+    @Test
+    void testOldestSegmentsAreDeletedPastTheMaximumSize() throws Exception {
+        Path oldest = Files.writeString(directory.resolve("scan-1000.journal"), "#\t1000\n" + "FILE_OK a\n".repeat(40));
+        Path older = Files.writeString(directory.resolve("scan-2000.journal"), "#\t2000\n" + "FILE_OK b\n".repeat(40));
+        Path unrelated = Files.writeString(directory.resolve("notes.txt"), "x".repeat(1000));
+
+        try (ScanJournal journal = new ScanJournal(directory, 500)) {
+            journal.startSegment(List.of());
+            journal.close();
+
+            assertFalse(Files.exists(oldest));
+            assertTrue(Files.exists(older));
+            assertTrue(Files.exists(unrelated));
+            assertEquals(2, journal.listSegments().size());
+        }
+    }
+
+    @Test
+    void testSegmentStopsGrowingPastTheMaximumSize() throws Exception {
+        try (ScanJournal journal = new ScanJournal(directory, 100)) {
+            journal.startSegment(List.of());
+            for (int i = 0; i < 20; i++) {
+                journal.append(Type.FILE_OK, "/file/" + i + " ✅");
+            }
+            journal.close();
+
+            ScanJournal.Segment segment = journal.listSegments().getFirst();
+            long entries = journal.read(segment, (type, text) -> {
+            });
+            assertTrue(entries < 20);
+            assertTrue(segment.size() <= 100);
+        }
+    }
+
+    @Test
+    void testOldestSegmentsAreDeletedWhileTheOpenSegmentGrows() throws Exception {
+        Path oldest = Files.writeString(directory.resolve("scan-1000.journal"), "#\t1000\n" + "FILE_OK a\n".repeat(20));
+        Path older = Files.writeString(directory.resolve("scan-2000.journal"), "#\t2000\n" + "FILE_OK b\n".repeat(20));
+
+        try (ScanJournal journal = new ScanJournal(directory, 500)) {
+            journal.startSegment(List.of());
+            for (int i = 0; i < 10; i++) {
+                journal.append(Type.FILE_OK, "/file/" + i);
+            }
+            journal.close();
+
+            assertFalse(Files.exists(oldest));
+            assertTrue(Files.exists(older));
+            long total = 0;
+            for (ScanJournal.Segment segment : journal.listSegments()) {
+                total += segment.size();
+            }
+            assertTrue(total <= 500, "The journal should stay within its maximum size, it takes " + total + " bytes");
+        }
+    }
+
+    @Test
+    void testLinesAreCountedInEncodedBytes() {
+        assertEquals(3, ScanJournal.utf8Length("abc"));
+        assertEquals(4, ScanJournal.utf8Length("/på"));
+        assertEquals(3, ScanJournal.utf8Length("✅"));
+        assertEquals(4, ScanJournal.utf8Length("\uD83D\uDCE5"));
+    }
+
+    @Test
+    void testNonAsciiSegmentStopsAtTheMaximumSize() throws Exception {
+        try (ScanJournal journal = new ScanJournal(directory, 300)) {
+            journal.startSegment(List.of());
+            for (int i = 0; i < 50; i++) {
+                journal.append(Type.FILE_OK, "/文件/" + i + " ✅");
+            }
+            journal.close();
+
+            assertTrue(journal.listSegments().getFirst().size() <= 300);
+        }
+    }
+}
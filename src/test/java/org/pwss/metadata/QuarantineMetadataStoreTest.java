@@ -0,0 +1,81 @@
+package org.pwss.metadata;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pwss.model.entity.QuarantineMetadata;
+
+public class QuarantineMetadataStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void journalReplayTest() throws IOException {
+        QuarantineMetadataStore store = new QuarantineMetadataStore(directory);
+        store.load();
+        store.appendQuarantined(1L, "C_drive__.one.txt.enc");
+        store.appendQuarantined(2L, "C_drive__.two.txt.enc");
+        store.appendUnquarantined(1L);
+        store.close();
+
+        List<QuarantineMetadata> entries = new QuarantineMetadataStore(directory).load();
+
+        Assertions.assertEquals(List.of(new QuarantineMetadata(2L, "C_drive__.two.txt.enc")), entries);
+    }
+
+    @Test
+    void tornJournalTailIsDiscardedTest() throws IOException {
+        QuarantineMetadataStore store = new QuarantineMetadataStore(directory);
+        store.load();
+        store.appendQuarantined(7L, "C_drive__.seven.txt.enc");
+        store.close();
+
+        // Simulate a crash in the middle of an append
+        Path journal = directory.resolve(QuarantineMetadataStore.JOURNAL_FILE);
+        long intactLength = Files.size(journal);
+        Files.write(journal, "Q\t8\tC_drive__.ei".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        List<QuarantineMetadata> entries = new QuarantineMetadataStore(directory).load();
+
+        Assertions.assertEquals(List.of(new QuarantineMetadata(7L, "C_drive__.seven.txt.enc")), entries);
+        Assertions.assertEquals(intactLength, Files.size(journal));
+    }
+
+    @Test
+    void compactionTest() throws IOException {
+        QuarantineMetadataStore store = new QuarantineMetadataStore(directory);
+        store.load();
+        for (long i = 0; i < 1000; i++) {
+            store.appendQuarantined(i, "file" + i + ".enc");
+            store.appendUnquarantined(i);
+        }
+        store.appendQuarantined(5000L, "kept.enc");
+        Assertions.assertTrue(store.needsCompaction(1));
+
+        store.compact(List.of(new QuarantineMetadata(5000L, "kept.enc")));
+        store.close();
+
+        Assertions.assertEquals(0L, Files.size(directory.resolve(QuarantineMetadataStore.JOURNAL_FILE)));
+        Assertions.assertEquals(List.of(new QuarantineMetadata(5000L, "kept.enc")),
+                new QuarantineMetadataStore(directory).load());
+    }
+
+    @Test
+    void legacyPropertiesMigrationTest() throws IOException {
+        Files.writeString(directory.resolve(QuarantineMetadataStore.LEGACY_METADATA_FILE),
+                "#Thu Oct 30 19:28:32 CET 2025\n42.id=C_drive__.server_test.hej.txt.enc\n");
+
+        List<QuarantineMetadata> entries = new QuarantineMetadataStore(directory).load();
+
+        Assertions.assertEquals(List.of(new QuarantineMetadata(42L, "C_drive__.server_test.hej.txt.enc")), entries);
+        Assertions.assertTrue(Files.exists(directory.resolve(QuarantineMetadataStore.SNAPSHOT_FILE)));
+    }
+}
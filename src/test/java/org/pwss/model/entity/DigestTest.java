@@ -0,0 +1,54 @@
+package org.pwss.model.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DigestTest {
+
+    private static final String SHA256 = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String BLAKE2B = "a71079d42853dea26e453004338670a53814b78137ffbed07603a41d76a483aa"
+            + "9bc33b582f77d30a65e6f29a896c0411f38312e1d66e0bf16386c86a89bea572";
+
+    @Test
+    void testHexRoundTrip() {
+        assertEquals(SHA256, Digest.fromHex(SHA256).toHex());
+        assertEquals(BLAKE2B, Digest.fromHex(BLAKE2B).toHex());
+        assertEquals(SHA256, Digest.fromHex(SHA256.toUpperCase()).toHex());
+        assertEquals("0a0b0c", Digest.fromHex("0A0b0C").toString());
+        assertEquals("", Digest.fromHex("").toHex());
+        assertEquals(64, Digest.fromHex(BLAKE2B).length());
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        byte[] bytes = new byte[37];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 37 - 128);
+        }
+        Digest digest = Digest.of(bytes);
+
+        assertArrayEquals(bytes, digest.toBytes());
+        assertEquals(digest, Digest.fromHex(digest.toHex()));
+    }
+
+    @Test
+    void testEqualityComparesEveryByteAndTheLength() {
+        Digest digest = Digest.fromHex(BLAKE2B);
+
+        assertEquals(digest, Digest.fromHex(BLAKE2B));
+        assertEquals(digest.hashCode(), Digest.fromHex(BLAKE2B).hashCode());
+        assertNotEquals(digest, Digest.fromHex(BLAKE2B.substring(0, 126) + "73"));
+        assertNotEquals(Digest.fromHex("00"), Digest.fromHex("0000"));
+        assertNotEquals(Digest.fromHex(SHA256), Digest.fromHex(SHA256.substring(0, 62) + "09"));
+    }
+
+    @Test
+    void testMalformedHexIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Digest.fromHex("abc"));
+        assertThrows(IllegalArgumentException.class, () -> Digest.fromHex("zz"));
+    }
+}
@@ -0,0 +1,76 @@
+package org.pwss.model.livefeed;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScanProgressEstimatorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ScanProgressEstimator estimator = new ScanProgressEstimator(Duration.ofSeconds(10), clock::get);
+
+    private void completeAfter(Duration delay, long files) {
+        clock.addAndGet(delay.toNanos());
+        estimator.onFilesCompleted(files);
+    }
+
+    @Test
+    void testProgressWithoutScanSizeHasRateButNoEta() {
+        completeAfter(Duration.ofSeconds(2), 200);
+
+        ScanProgressEstimator.Progress progress = estimator.progress();
+        assertEquals(200, progress.completedFiles());
+        assertEquals(100, progress.filesPerSecond(), 1e-9);
+        assertEquals(0, progress.bytesPerSecond());
+        assertEquals(-1, progress.fraction());
+        assertNull(progress.eta());
+        assertEquals(Duration.ofSeconds(2), progress.elapsed());
+    }
+
+    @Test
+    void testEtaAndByteRateFollowTheScanSize() {
+        estimator.setScanSize(new ScanProgressEstimator.ScanSize(1000, 1000 * 4096));
+        completeAfter(Duration.ofSeconds(1), 100);
+
+        ScanProgressEstimator.Progress progress = estimator.progress();
+        assertEquals(0.1, progress.fraction(), 1e-9);
+        assertEquals(100 * 4096, progress.bytesPerSecond(), 1e-6);
+        assertEquals(Duration.ofSeconds(9), progress.eta());
+    }
+
+    @Test
+    void testRateIsSmoothedOverTime() {
+        completeAfter(Duration.ofSeconds(1), 100);
+        // Updates within a sample interval are folded into the next sample
+        completeAfter(Duration.ofMillis(500), 1000);
+        assertEquals(100, estimator.progress().filesPerSecond(), 1e-9);
+
+        // A ten second pause moves the rate most of the way, but not all the way, to zero
+        clock.addAndGet(Duration.ofMillis(9500).toNanos());
+        double rate = estimator.progress().filesPerSecond();
+        double instant = 1000 / 10.0;
+        double expected = 100 + (1 - Math.exp(-1)) * (instant - 100);
+        assertEquals(expected, rate, 1e-6);
+
+        clock.addAndGet(Duration.ofSeconds(60).toNanos());
+        assertTrue(estimator.progress().filesPerSecond() < 1);
+    }
+
+    @Test
+    void testStartResetsTheScan() {
+        estimator.setScanSize(new ScanProgressEstimator.ScanSize(10, 10));
+        completeAfter(Duration.ofSeconds(1), 20);
+        assertEquals(1.0, estimator.progress().fraction());
+        assertEquals(Duration.ZERO, estimator.progress().eta());
+
+        estimator.start();
+        ScanProgressEstimator.Progress progress = estimator.progress();
+        assertEquals(0, progress.completedFiles());
+        assertEquals(0, progress.estimatedFiles());
+        assertEquals(0, progress.filesPerSecond());
+    }
+}
@@ -0,0 +1,123 @@
+package org.pwss.model.table;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import org.junit.jupiter.api.Test;
+import org.pwss.model.entity.Diff;
+import org.pwss.model.table.DiffTableModel.ScanDiffSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DiffTableModelTest {
+
+    /**
+     * Page requests made by the model, as "scanId:offset:limit".
+     */
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private List<Diff> loadPage(long scanId, long offset, int limit) {
+        requests.add(scanId + ":" + offset + ":" + limit);
+        List<Diff> page = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            page.add(new Diff(null, null, null));
+        }
+        return page;
+    }
+
+    /**
+     * Reads a row on the Event Dispatch Thread until its page has been loaded.
+     */
+    private void awaitRow(DiffTableModel model, int row) throws Exception {
+        AtomicBoolean loaded = new AtomicBoolean();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!loaded.get() && System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> loaded.set(model.getDiffAt(row).isPresent()));
+            if (!loaded.get()) {
+                Thread.sleep(5);
+            }
+        }
+        assertTrue(loaded.get(), "Row " + row + " should have been loaded");
+    }
+
+    @Test
+    void testRowsAreMappedToWindowedPageRequests() throws Exception {
+        DiffTableModel model = new DiffTableModel(
+                List.of(new ScanDiffSource(1, 250), new ScanDiffSource(2, 0), new ScanDiffSource(3, 30)),
+                this::loadPage, 100, 8);
+
+        assertEquals(280, model.getRowCount());
+
+        awaitRow(model, 0);
+        awaitRow(model, 99);
+        awaitRow(model, 249);
+        awaitRow(model, 250);
+        awaitRow(model, 279);
+
+        assertEquals(List.of("1:0:100", "1:200:50", "3:0:30"), requests,
+                "Each page should be requested once with its own offset and limit");
+    }
+
+    @Test
+    void testLeastRecentlyUsedPagesAreEvicted() throws Exception {
+        DiffTableModel model = new DiffTableModel(List.of(new ScanDiffSource(7, 300)), this::loadPage, 100, 2);
+
+        awaitRow(model, 0);
+        awaitRow(model, 100);
+        awaitRow(model, 200);
+
+        AtomicBoolean firstPageCached = new AtomicBoolean(true);
+        SwingUtilities.invokeAndWait(() -> firstPageCached.set(model.getDiffAt(0).isPresent()));
+        assertFalse(firstPageCached.get(), "The least recently used page should have been evicted");
+
+        awaitRow(model, 0);
+        assertEquals(List.of("7:0:100", "7:100:100", "7:200:100", "7:0:100"), requests);
+    }
+
+    @Test
+    void testShortPageRemovesMissingRows() throws Exception {
+        // The first scan announces 150 diffs but only has 120
+        DiffTableModel model = new DiffTableModel(
+                List.of(new ScanDiffSource(1, 150), new ScanDiffSource(2, 10)),
+                (scanId, offset, limit) -> loadPage(scanId, offset,
+                        scanId == 1 ? (int) Math.max(0, Math.min(limit, 120 - offset)) : limit),
+                100, 8);
+        List<TableModelEvent> events = Collections.synchronizedList(new ArrayList<>());
+        model.addTableModelListener(events::add);
+
+        awaitRow(model, 100);
+
+        AtomicInteger rowCount = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> rowCount.set(model.getRowCount()));
+        assertEquals(130, rowCount.get());
+        assertTrue(events.stream().anyMatch(event -> event.getType() == TableModelEvent.DELETE
+                && event.getFirstRow() == 120 && event.getLastRow() == 149));
+        // The rows of the second scan moved up
+        awaitRow(model, 120);
+        assertEquals("2:0:10", requests.get(requests.size() - 1));
+    }
+
+    @Test
+    void testFailedPageIsReportedInsteadOfLoading() throws Exception {
+        DiffTableModel model = new DiffTableModel(List.of(new ScanDiffSource(1, 10)),
+                (scanId, offset, limit) -> {
+                    throw new IllegalStateException("Server unavailable");
+                }, 100, 8);
+
+        AtomicReference<Object> text = new AtomicReference<>();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"Failed to load, retrying…".equals(text.get()) && System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> text.set(model.getValueAt(3, 0)));
+            Thread.sleep(5);
+        }
+        assertEquals("Failed to load, retrying…", text.get());
+        model.dispose();
+    }
+}
@@ -0,0 +1,45 @@
+package org.pwss.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LiveFeedPollSchedulerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LiveFeedPollScheduler scheduler = new LiveFeedPollScheduler(Duration.ofMillis(250),
+            Duration.ofSeconds(1), Duration.ofSeconds(4), 50, clock::get);
+
+    private Duration pollAfter(Duration delay, int entries) {
+        clock.addAndGet(delay.toNanos());
+        return scheduler.onPoll(entries);
+    }
+
+    @Test
+    void testIdleFeedBacksOffExponentiallyUpToTheMaximum() {
+        assertEquals(Duration.ofSeconds(2), pollAfter(Duration.ZERO, 0));
+        assertEquals(Duration.ofSeconds(4), pollAfter(Duration.ofSeconds(2), 0));
+        assertEquals(Duration.ofSeconds(4), pollAfter(Duration.ofSeconds(4), 0));
+
+        LiveFeedPollScheduler.Metrics metrics = scheduler.metrics();
+        assertEquals(3, metrics.polls());
+        assertEquals(3, metrics.emptyPolls());
+        assertEquals(Duration.ofSeconds(4), metrics.interval());
+        assertEquals(0.5, metrics.pollsPerSecond(), 1e-9);
+    }
+
+    @Test
+    void testArrivingEntriesSpeedUpPollingAndBurstsCatchUpRightAway() {
+        pollAfter(Duration.ZERO, 0);
+
+        assertEquals(Duration.ofSeconds(1), pollAfter(Duration.ofSeconds(2), 3));
+        assertEquals(Duration.ofSeconds(2), scheduler.metrics().feedLag());
+        assertEquals(Duration.ofMillis(500), pollAfter(Duration.ofSeconds(1), 1));
+        assertEquals(Duration.ofMillis(250), pollAfter(Duration.ofMillis(500), 1));
+        assertEquals(Duration.ofMillis(250), pollAfter(Duration.ofMillis(250), 1));
+        assertEquals(Duration.ZERO, pollAfter(Duration.ofMillis(250), 120));
+        assertEquals(Duration.ofMillis(500), pollAfter(Duration.ZERO, 0));
+    }
+}
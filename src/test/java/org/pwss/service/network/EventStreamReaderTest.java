@@ -0,0 +1,127 @@
+package org.pwss.service.network;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventStreamReaderTest {
+
+    private HttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Released by the client once it has handled the first event, before the stub sends the second one.
+     */
+    private final CountDownLatch firstEventHandled = new CountDownLatch(1);
+
+    @BeforeEach
+    void startStubServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/stream", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                write(out, ": keep-alive\n\ndata: {\"isScanRunning\":true,\"livefeed\":\"a\"}\n\n");
+                if (!firstEventHandled.await(5, TimeUnit.SECONDS)) {
+                    return; // The first event was not pushed before the stream completed
+                }
+                write(out, "event: end\nid: 2\ndata: line 1\ndata: line 2\n\ndata: incomplete");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.createContext("/json", exchange -> {
+            byte[] body = "{\"isScanRunning\":false,\"livefeed\":\"\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/expired", exchange -> {
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+        });
+        server.createContext("/unavailable", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    private static void write(OutputStream out, String chunk) throws IOException {
+        out.write(chunk.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private HttpResponse<Stream<String>> get(String path) throws Exception {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+        return client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofLines());
+    }
+
+    @Test
+    void testEventsArePushedAsTheyArrive() throws Exception {
+        List<ServerSentEvent> events = new ArrayList<>();
+
+        EventStreamReader.Outcome outcome = EventStreamReader.read(get("/stream"), event -> {
+            events.add(event);
+            firstEventHandled.countDown();
+            return true;
+        });
+
+        assertEquals(EventStreamReader.Outcome.STREAMED, outcome);
+        assertEquals(List.of(
+                new ServerSentEvent(null, "message", "{\"isScanRunning\":true,\"livefeed\":\"a\"}"),
+                new ServerSentEvent("2", "end", "line 1\nline 2")), events);
+    }
+
+    @Test
+    void testHandlerStopsReading() throws Exception {
+        List<ServerSentEvent> events = new ArrayList<>();
+
+        assertEquals(EventStreamReader.Outcome.STREAMED, EventStreamReader.read(get("/stream"), event -> {
+            events.add(event);
+            return false;
+        }));
+
+        assertEquals(1, events.size());
+        firstEventHandled.countDown();
+    }
+
+    @Test
+    void testNonStreamingResponseIsNotRead() throws Exception {
+        assertEquals(EventStreamReader.Outcome.UNSUPPORTED, EventStreamReader.read(get("/json"), event -> true));
+        assertEquals(EventStreamReader.Outcome.UNSUPPORTED, EventStreamReader.read(get("/missing"), event -> true));
+    }
+
+    @Test
+    void testRefusedStreamMayBeRetried() throws Exception {
+        assertEquals(EventStreamReader.Outcome.REJECTED, EventStreamReader.read(get("/expired"), event -> true));
+        assertEquals(EventStreamReader.Outcome.REJECTED, EventStreamReader.read(get("/unavailable"), event -> true));
+    }
+}
@@ -0,0 +1,58 @@
+package org.pwss.service.network;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonArrayReaderTest {
+
+    record Item(long id, String name) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static InputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testElementsAreStreamedInOrder() throws Exception {
+        List<Item> items = new ArrayList<>();
+
+        long count = JsonArrayReader.forEach(objectMapper,
+                json("[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"c\"}]"),
+                Item.class, items::add);
+
+        assertEquals(3, count);
+        assertEquals(List.of(new Item(1, "a"), new Item(2, "b"), new Item(3, "c")), items);
+    }
+
+    @Test
+    void testEmptyBodyAndNullAreEmptyArrays() throws Exception {
+        List<Item> items = new ArrayList<>();
+
+        assertEquals(0, JsonArrayReader.forEach(objectMapper, json(""), Item.class, items::add));
+        assertEquals(0, JsonArrayReader.forEach(objectMapper, json("null"), Item.class, items::add));
+        assertEquals(0, JsonArrayReader.forEach(objectMapper, json("[]"), Item.class, items::add));
+        assertTrue(items.isEmpty());
+    }
+
+    @Test
+    void testNonArrayAndTruncatedBodiesAreRejected() {
+        assertThrows(JsonProcessingException.class,
+                () -> JsonArrayReader.forEach(objectMapper, json("{\"id\":1}"), Item.class, item -> {
+                }));
+        assertThrows(JsonProcessingException.class,
+                () -> JsonArrayReader.forEach(objectMapper, json("[{\"id\":1,\"name\":\"a\"},"), Item.class, item -> {
+                }));
+    }
+}
@@ -0,0 +1,75 @@
+package org.pwss.service.network;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.pwss.model.entity.Checksum;
+import org.pwss.model.entity.Digest;
+import org.pwss.model.entity.MonitoredDirectory;
+import org.pwss.model.entity.ScanSummary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ObjectMapperFactoryTest {
+
+    private static final String DIRECTORY = """
+            {"id":3,"path":"/data","isActive":true,"addedAt":{"id":9,"created":0,"updated":0},
+             "lastScanned":0,"notes":null,"baselineEstablished":true,"includeSubdirectories":true}""";
+
+    private static String summary(long id, long fileId, String directory) {
+        return """
+                {"id":%d,
+                 "scan":{"id":5,"scanTime":{"id":9,"created":0,"updated":0},"status":"DONE","notes":null,
+                         "monitoredDirectory":%s,"isBaselineScan":false},
+                 "file":{"id":%d,"path":"/data/f","basename":"f","directory":"/data","size":1,"mtime":0},
+                 "monitoredDirectory":%s,
+                 "checksum":null}""".formatted(id, directory, fileId, directory);
+    }
+
+    @Test
+    void testNestedEntitiesAreSharedWithinAndAcrossResponses() throws Exception {
+        ObjectMapper objectMapper = ObjectMapperFactory.create(new EntityInterner());
+
+        ScanSummary[] first = objectMapper.readValue(
+                "[" + summary(1, 11, DIRECTORY) + "," + summary(2, 12, DIRECTORY) + "]", ScanSummary[].class);
+        ScanSummary second = objectMapper.readValue(summary(2, 12, DIRECTORY), ScanSummary.class);
+
+        assertSame(first[0].scan(), first[1].scan());
+        assertSame(first[0].monitoredDirectory(), first[1].scan().monitoredDirectory());
+        assertSame(first[0].scan().scanTime(), first[0].monitoredDirectory().addedAt());
+        assertSame(first[1], second, "An equal entity from a later response should be the canonical instance");
+    }
+
+    @Test
+    void testChangedEntityIsNotReplacedByStaleInstance() throws Exception {
+        ObjectMapper objectMapper = ObjectMapperFactory.create(new EntityInterner());
+
+        MonitoredDirectory before = objectMapper.readValue(DIRECTORY, MonitoredDirectory.class);
+        MonitoredDirectory after = objectMapper.readValue(DIRECTORY.replace("\"isActive\":true", "\"isActive\":false"),
+                MonitoredDirectory.class);
+
+        assertNotSame(before, after);
+        assertEquals(false, after.isActive());
+        assertSame(after, objectMapper.readValue(DIRECTORY.replace("\"isActive\":true", "\"isActive\":false"),
+                MonitoredDirectory.class));
+    }
+
+    @Test
+    void testChecksumsAreBoundToDigests() throws Exception {
+        ObjectMapper objectMapper = ObjectMapperFactory.create(new EntityInterner());
+        String sha256 = "9F86D081884C7D659A2FEAA0C55AD015A3BF4F1B2B0B822CD15D6C15B0F00A08";
+
+        Checksum checksum = objectMapper.readValue("""
+                {"id":7,"file":null,"checksumSha256":"%s","checksumSha3":null,"checksumBlake2b":"00ff"}"""
+                .formatted(sha256), Checksum.class);
+
+        assertEquals(Digest.fromHex(sha256), checksum.checksumSha256());
+        assertEquals(null, checksum.checksumSha3());
+        assertEquals("00ff", checksum.checksumBlake2b().toHex());
+        assertEquals("\"00ff\"", objectMapper.writeValueAsString(checksum.checksumBlake2b()));
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readValue("\"0g\"", Digest.class));
+    }
+}
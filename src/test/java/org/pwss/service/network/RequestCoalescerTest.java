@@ -0,0 +1,93 @@
+package org.pwss.service.network;
+
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestCoalescerTest {
+
+    @Test
+    void testIdenticalRequestsInFlightShareOneResponse() throws Exception {
+        RequestCoalescer<String> coalescer = RequestCoalescer.forApi();
+        CompletableFuture<String> response = new CompletableFuture<>();
+        AtomicInteger sent = new AtomicInteger();
+
+        CompletableFuture<String> first = coalescer.coalesce(Endpoint.SCAN_STATUS, null, 0, () -> {
+            sent.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<String> second = coalescer.coalesce(Endpoint.SCAN_STATUS, "", 0, () -> {
+            sent.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        assertEquals(1, coalescer.inFlight());
+
+        response.complete("running");
+        assertEquals("running", first.get());
+        assertEquals("running", second.get());
+        assertEquals(1, sent.get());
+        assertEquals(0, coalescer.inFlight());
+        assertEquals(new RequestCoalescer.Stats(1, 1), coalescer.stats(Endpoint.SCAN_STATUS));
+        assertEquals(0.5, coalescer.stats().coalescingRate());
+    }
+
+    @Test
+    void testRequestsDifferingInBodyOrVersionAreSentSeparately() {
+        RequestCoalescer<String> coalescer = RequestCoalescer.forApi();
+        AtomicInteger sent = new AtomicInteger();
+
+        coalescer.coalesce(Endpoint.SUMMARY_FILE, "{\"id\":1}", 0, () -> pending(sent));
+        coalescer.coalesce(Endpoint.SUMMARY_FILE, "{\"id\":2}", 0, () -> pending(sent));
+        coalescer.coalesce(Endpoint.SUMMARY_FILE, "{\"id\":1}", 1, () -> pending(sent));
+
+        assertEquals(3, sent.get());
+        assertEquals(new RequestCoalescer.Stats(3, 0), coalescer.stats());
+    }
+
+    @Test
+    void testRequestsToOtherEndpointsAreNeverCoalesced() {
+        RequestCoalescer<String> coalescer = new RequestCoalescer<>(EnumSet.of(Endpoint.SCAN_STATUS));
+        AtomicInteger sent = new AtomicInteger();
+
+        coalescer.coalesce(Endpoint.LIVE_FEED, null, 0, () -> pending(sent));
+        coalescer.coalesce(Endpoint.LIVE_FEED, null, 0, () -> pending(sent));
+
+        assertFalse(coalescer.isCoalesced(Endpoint.LIVE_FEED));
+        assertEquals(2, sent.get());
+        assertEquals(0, coalescer.inFlight());
+        assertEquals(new RequestCoalescer.Stats(0, 0), coalescer.stats());
+    }
+
+    @Test
+    void testFailuresAreSharedAndNotRemembered() throws Exception {
+        RequestCoalescer<String> coalescer = RequestCoalescer.forApi();
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.coalesce(Endpoint.USER_EXISTS, null, 0, () -> response);
+        CompletableFuture<String> second = coalescer.coalesce(Endpoint.USER_EXISTS, null, 0, CompletableFuture::new);
+        // Cancelling the view of one caller leaves the request of the other running
+        first.cancel(true);
+        assertFalse(response.isDone());
+
+        response.completeExceptionally(new IllegalStateException("offline"));
+        ExecutionException failure = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        CompletableFuture<String> retry = coalescer.coalesce(Endpoint.USER_EXISTS, null, 0,
+                () -> CompletableFuture.completedFuture("true"));
+        assertEquals("true", retry.get());
+        assertEquals(2, coalescer.stats(Endpoint.USER_EXISTS).leaders());
+    }
+
+    private static CompletableFuture<String> pending(AtomicInteger sent) {
+        sent.incrementAndGet();
+        return new CompletableFuture<>();
+    }
+}
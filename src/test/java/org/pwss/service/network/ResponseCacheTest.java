@@ -0,0 +1,77 @@
+package org.pwss.service.network;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ResponseCache<String> cache = new ResponseCache<>(
+            Map.of(Endpoint.MONITORED_DIRECTORY_ALL, new ResponseCache.Policy(Duration.ofSeconds(10), 1),
+                    Endpoint.DIFF_COUNT, new ResponseCache.Policy(Duration.ofMinutes(5), 2)),
+            Map.of(Endpoint.MONITORED_DIRECTORY_UPDATE, Set.of(Endpoint.MONITORED_DIRECTORY_ALL)),
+            clock::get);
+
+    private void put(Endpoint endpoint, String body, String value) {
+        cache.put(endpoint, body, value, cache.stamp(endpoint));
+    }
+
+    @Test
+    void testResponsesExpireAfterTheirTtl() {
+        put(Endpoint.MONITORED_DIRECTORY_ALL, null, "directories");
+
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals(Optional.of("directories"), cache.get(Endpoint.MONITORED_DIRECTORY_ALL, ""));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(Optional.empty(), cache.get(Endpoint.MONITORED_DIRECTORY_ALL, null));
+
+        assertEquals(new ResponseCache.Stats(1, 1), cache.stats(Endpoint.MONITORED_DIRECTORY_ALL));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedBodyIsEvicted() {
+        put(Endpoint.DIFF_COUNT, "{\"scanId\":1}", "1");
+        put(Endpoint.DIFF_COUNT, "{\"scanId\":2}", "2");
+        cache.get(Endpoint.DIFF_COUNT, "{\"scanId\":1}");
+        put(Endpoint.DIFF_COUNT, "{\"scanId\":3}", "3");
+
+        assertEquals(Optional.of("1"), cache.get(Endpoint.DIFF_COUNT, "{\"scanId\":1}"));
+        assertEquals(Optional.empty(), cache.get(Endpoint.DIFF_COUNT, "{\"scanId\":2}"));
+        assertEquals(Optional.of("3"), cache.get(Endpoint.DIFF_COUNT, "{\"scanId\":3}"));
+        assertEquals(new ResponseCache.Stats(3, 1), cache.stats());
+    }
+
+    @Test
+    void testMutationInvalidatesAffectedEndpointsAndResponsesInFlight() {
+        put(Endpoint.MONITORED_DIRECTORY_ALL, null, "old");
+        put(Endpoint.DIFF_COUNT, "{\"scanId\":1}", "1");
+        long inFlight = cache.stamp(Endpoint.MONITORED_DIRECTORY_ALL);
+
+        cache.invalidateAfter(Endpoint.MONITORED_DIRECTORY_UPDATE);
+
+        assertEquals(Optional.empty(), cache.get(Endpoint.MONITORED_DIRECTORY_ALL, null));
+        assertEquals(Optional.of("1"), cache.get(Endpoint.DIFF_COUNT, "{\"scanId\":1}"));
+        assertFalse(cache.put(Endpoint.MONITORED_DIRECTORY_ALL, null, "stale", inFlight));
+        assertTrue(cache.put(Endpoint.MONITORED_DIRECTORY_ALL, null, "new",
+                cache.stamp(Endpoint.MONITORED_DIRECTORY_ALL)));
+        assertEquals(Optional.of("new"), cache.get(Endpoint.MONITORED_DIRECTORY_ALL, null));
+        assertEquals(1, cache.version());
+    }
+
+    @Test
+    void testUncachedEndpointsAreNeverStoredOrCounted() {
+        assertFalse(cache.put(Endpoint.LIVE_FEED, null, "feed", cache.stamp(Endpoint.LIVE_FEED)));
+        assertEquals(Optional.empty(), cache.get(Endpoint.LIVE_FEED, null));
+        assertEquals(new ResponseCache.Stats(0, 0), cache.stats());
+    }
+}
@@ -0,0 +1,129 @@
+package org.pwss.startup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.util.Optional;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pwss.model.entity.MonitoredDirectory;
+import org.pwss.model.entity.Scan;
+import org.pwss.model.request.scan.ScanDiffsCountRequest;
+import org.pwss.model.request.user.LoginUserRequest;
+import org.pwss.model.response.LoginResponse;
+import org.pwss.service.network.Endpoint;
+import org.pwss.service.network.EntityInterner;
+import org.pwss.service.network.ObjectMapperFactory;
+import org.pwss.service.network.Session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupBenchTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReportFileIsTakenFromTheOption() {
+        assertEquals(Optional.empty(), StartupBench.reportFile(new String[]{"--other"}));
+        assertEquals(Optional.of(Path.of("out.json")), StartupBench.reportFile(new String[]{"--startup-bench=out.json"}));
+        Optional<Path> defaultFile = StartupBench.reportFile(new String[]{"--startup-bench"});
+        assertTrue(defaultFile.isPresent());
+        assertTrue(defaultFile.get().getFileName().toString().startsWith("startup-"));
+    }
+
+    @Test
+    void testReportHoldsMilestonesAndPhases() throws Exception {
+        StartupTimings timings = new StartupTimings();
+        timings.record("flatLaf", System.nanoTime(), System.nanoTime() + 2_000_000);
+        timings.markOnce(StartupTimings.FIRST_FRAME);
+        timings.markOnce(StartupTimings.LOGIN_INTERACTIVE);
+        timings.markOnce(StartupTimings.HOME_RENDERED);
+        Path reportFile = directory.resolve("reports").resolve("startup.json");
+
+        StartupBench.writeReport(reportFile, timings, true);
+
+        JsonNode report = new ObjectMapper().readTree(reportFile.toFile());
+        assertTrue(report.get("complete").asBoolean());
+        assertTrue(report.get("milestonesMillis").has(StartupTimings.FIRST_FRAME));
+        assertTrue(report.get("milestonesMillis").has(StartupTimings.LOGIN_INTERACTIVE));
+        assertTrue(report.get("milestonesMillis").has(StartupTimings.HOME_RENDERED));
+        assertEquals(4, report.get("phases").size());
+        assertEquals("flatLaf", report.get("phases").get(0).get("name").asText());
+        assertEquals(2.0, report.get("phases").get(0).get("millis").asDouble(), 0.001);
+    }
+
+    @Test
+    void testReportLeavesOutMilestonesNotReached() throws Exception {
+        StartupTimings timings = new StartupTimings();
+        timings.markOnce(StartupTimings.FIRST_FRAME);
+        Path reportFile = directory.resolve("startup.json");
+
+        StartupBench.writeReport(reportFile, timings, false);
+
+        JsonNode report = new ObjectMapper().readTree(reportFile.toFile());
+        assertFalse(report.get("complete").asBoolean());
+        assertTrue(report.get("milestonesMillis").has(StartupTimings.FIRST_FRAME));
+        assertFalse(report.get("milestonesMillis").has(StartupTimings.LOGIN_INTERACTIVE));
+        assertFalse(report.get("milestonesMillis").has(StartupTimings.HOME_RENDERED));
+    }
+
+    @Test
+    void testStubServesTheDashboardOverTrustedTls() throws Exception {
+        KeyStore truststore = KeyStore.getInstance("JKS");
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(StartupBenchStub.TRUSTSTORE_RESOURCE)) {
+            truststore.load(input, StartupBenchStub.STORE_PASSWORD.toCharArray());
+        }
+        TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        tmf.init(truststore);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, tmf.getTrustManagers(), null);
+        HttpClient client = HttpClient.newBuilder().sslContext(sslContext).build();
+        ObjectMapper objectMapper = ObjectMapperFactory.create(new EntityInterner());
+
+        try (StartupBenchStub stub = StartupBenchStub.start()) {
+            assertEquals("true", send(client, stub, Endpoint.USER_EXISTS, null).body());
+
+            HttpResponse<String> rejected = send(client, stub, Endpoint.LOGIN,
+                    new LoginUserRequest(StartupBenchStub.USERNAME, "wrong", ""));
+            assertFalse(objectMapper.readValue(rejected.body(), LoginResponse.class).successful());
+            HttpResponse<String> login = send(client, stub, Endpoint.LOGIN,
+                    new LoginUserRequest(StartupBenchStub.USERNAME, StartupBenchStub.PASSWORD, ""));
+            assertTrue(objectMapper.readValue(login.body(), LoginResponse.class).successful());
+            assertTrue(Session.from(login.headers()).flatMap(Session::getSessionCookie).isPresent());
+
+            MonitoredDirectory[] directories = objectMapper.readValue(
+                    send(client, stub, Endpoint.MONITORED_DIRECTORY_ALL, null).body(), MonitoredDirectory[].class);
+            assertEquals(1, directories.length);
+            assertTrue(directories[0].isActive());
+            assertTrue(Files.isDirectory(Path.of(directories[0].path())));
+            Scan[] scans = objectMapper.readValue(
+                    send(client, stub, Endpoint.MOST_RECENT_SCANS_ALL, null).body(), Scan[].class);
+            assertEquals(directories[0], scans[0].monitoredDirectory());
+            assertEquals("0", send(client, stub, Endpoint.DIFF_COUNT, new ScanDiffsCountRequest(scans[0].id())).body());
+            assertEquals("false", send(client, stub, Endpoint.SCAN_STATUS, null).body());
+            assertEquals(404, send(client, stub, Endpoint.QUARANTINE_FILE, null).statusCode());
+        }
+    }
+
+    private static HttpResponse<String> send(HttpClient client, StartupBenchStub stub, Endpoint endpoint, Object body)
+            throws Exception {
+        HttpRequest.BodyPublisher publisher = body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(new ObjectMapper().writeValueAsString(body));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(stub.baseUrl() + endpoint.getUrl()))
+                .method(endpoint.getMethod().name(), publisher)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
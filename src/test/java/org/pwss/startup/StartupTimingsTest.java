@@ -0,0 +1,47 @@
+package org.pwss.startup;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartupTimingsTest {
+
+    @Test
+    void testPhasesAreRecordedInStartOrderEvenIfTheyFail() throws Exception {
+        StartupTimings timings = new StartupTimings();
+
+        assertEquals("value", timings.measure("first", () -> {
+            Thread.sleep(5);
+            return "value";
+        }));
+        assertThrows(IllegalStateException.class, () -> timings.measure("second", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        timings.mark("ready");
+
+        List<StartupTimings.Phase> phases = timings.phases();
+        assertEquals(List.of("first", "second", "ready"), phases.stream().map(StartupTimings.Phase::name).toList());
+        assertTrue(phases.get(0).millis() >= 5);
+        assertTrue(phases.get(1).startNanos() >= phases.get(0).startNanos() + phases.get(0).nanos());
+        assertEquals(0, phases.get(2).nanos());
+        assertTrue(timings.summary().startsWith("first "));
+    }
+
+    @Test
+    void testMilestonesAreRecordedOnceAndAwaitable() throws Exception {
+        StartupTimings timings = new StartupTimings();
+        var homeRendered = timings.await(StartupTimings.HOME_RENDERED);
+        assertFalse(homeRendered.isDone());
+
+        timings.markOnce(StartupTimings.HOME_RENDERED);
+        timings.markOnce(StartupTimings.HOME_RENDERED);
+
+        assertEquals(StartupTimings.HOME_RENDERED, homeRendered.get().name());
+        assertEquals(1, timings.phases().size());
+        assertTrue(timings.await(StartupTimings.HOME_RENDERED).isDone());
+    }
+}
@@ -0,0 +1,67 @@
+package org.pwss.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyUtilTest {
+
+    @Test
+    void testResultsKeepTaskOrderAndParallelismIsBounded() throws Exception {
+        final int maxParallel = 3;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            tasks.add(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return value;
+            });
+        }
+
+        List<Integer> results = ConcurrencyUtil.invokeAllBounded(tasks, maxParallel);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i), "Results should be returned in task order");
+        }
+        assertTrue(peak.get() <= maxParallel, "No more than " + maxParallel + " tasks should run at once");
+    }
+
+    @Test
+    void testFailureIsRethrownUnwrapped() {
+        List<Callable<Integer>> tasks = List.of(() -> 1, () -> {
+            throw new IOException("backend unavailable");
+        });
+
+        IOException e = assertThrows(IOException.class, () -> ConcurrencyUtil.invokeAllBounded(tasks, 2));
+        assertEquals("backend unavailable", e.getMessage());
+    }
+
+    @Test
+    void testAwaitRethrowsTypedFailuresOfFutures() throws Exception {
+        assertEquals(42, ConcurrencyUtil.await(ConcurrencyUtil.supplyAsync(() -> 42), IOException.class));
+
+        CompletableFuture<Integer> typed = ConcurrencyUtil.supplyAsync(() -> {
+            throw new IOException("backend unavailable");
+        });
+        IOException e = assertThrows(IOException.class, () -> ConcurrencyUtil.await(typed, IOException.class));
+        assertEquals("backend unavailable", e.getMessage());
+
+        CompletableFuture<Integer> other = CompletableFuture.failedFuture(new IllegalStateException("broken"));
+        ExecutionException wrapped = assertThrows(ExecutionException.class,
+                () -> ConcurrencyUtil.await(other, IOException.class, InterruptedException.class));
+        assertTrue(wrapped.getCause() instanceof IllegalStateException);
+    }
+}
@@ -0,0 +1,65 @@
+package org.pwss.util;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.pwss.model.livefeed.LiveFeedCounters;
+import org.pwss.model.livefeed.LiveFeedEvent;
+import org.pwss.model.livefeed.LiveFeedEvent.Type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LiveFeedUtilTest {
+
+    @Test
+    void testParseSplitsGluedEntriesAndCountsThem() {
+        String raw = " /etc/hosts ✅/etc/passwd ⚠️/var/big.iso is bigger than the user defined max limit"
+                + "/etc/fstab ✅\nScan of /etc finished\n";
+        LiveFeedCounters counters = new LiveFeedCounters();
+
+        List<LiveFeedEvent> events = LiveFeedUtil.parse(raw, counters);
+
+        assertEquals(5, events.size());
+        assertEvent(events.get(0), Type.FILE_OK, "/etc/hosts ✅");
+        assertEvent(events.get(1), Type.INTEGRITY_WARNING, "/etc/passwd ⚠️");
+        assertEvent(events.get(2), Type.FILE_TOO_BIG, "/var/big.iso is bigger than the user defined max limit");
+        assertEvent(events.get(3), Type.FILE_OK, "/etc/fstab ✅");
+        assertEvent(events.get(4), Type.DIRECTORY_FINISHED, "Scan of /etc finished");
+        assertTrue(events.get(1).isWarning());
+
+        assertEquals(2, counters.get(Type.FILE_OK));
+        assertEquals(1, counters.get(Type.INTEGRITY_WARNING));
+        assertEquals(4, counters.files());
+        assertEquals(5, counters.total());
+        counters.reset();
+        assertEquals(0, counters.total());
+    }
+
+    @Test
+    void testParseClassifiesMessagesByKeyword() {
+        LiveFeedCounters counters = new LiveFeedCounters();
+
+        List<LiveFeedEvent> events = LiveFeedUtil.parse(
+                "Establishing Baseline for /home\nScanning /home\nsomething else\n\n  \n", counters);
+
+        assertEquals(3, events.size());
+        assertEquals(Type.BASELINE, events.get(0).type());
+        assertEquals(Type.DIRECTORY_STARTED, events.get(1).type());
+        assertEquals(Type.MESSAGE, events.get(2).type());
+        assertTrue(LiveFeedUtil.parse(null, counters).isEmpty());
+        assertTrue(LiveFeedUtil.parse("", counters).isEmpty());
+    }
+
+    @Test
+    void testCountEntriesMatchesParse() {
+        assertEquals(0, LiveFeedUtil.countEntries(null));
+        assertEquals(0, LiveFeedUtil.countEntries(" \n "));
+        assertEquals(1, LiveFeedUtil.countEntries("hashing a large file"));
+        assertEquals(3, LiveFeedUtil.countEntries("a ✅b ⚠c ✅"));
+    }
+
+    private static void assertEvent(LiveFeedEvent event, Type type, String text) {
+        assertEquals(type, event.type());
+        assertEquals(text, event.text().toString());
+    }
+}
@@ -0,0 +1,129 @@
+package org.pwss.view.component;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogViewTest {
+
+    /**
+     * Runs code on the Event Dispatch Thread and returns its result.
+     */
+    private static <T> T onEdt(Supplier<T> code) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(code.get()));
+        return result.get();
+    }
+
+    /**
+     * Waits until the lines appended so far have been laid out by the next frame.
+     */
+    private static void awaitFrame() throws Exception {
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+
+    /**
+     * Creates a view in a scroll pane of a fixed size, laid out by hand as it has no window.
+     */
+    private static LogView createView() throws Exception {
+        return onEdt(() -> {
+            LogView view = new LogView();
+            JScrollPane scrollPane = new JScrollPane(view);
+            scrollPane.setSize(400, 200);
+            scrollPane.doLayout();
+            return view;
+        });
+    }
+
+    private static JViewport viewport(LogView view) {
+        return (JViewport) view.getParent();
+    }
+
+    private static int lineHeight(LogView view) {
+        return view.getFontMetrics(view.getFont()).getHeight();
+    }
+
+    @Test
+    void testFoundLineNearTheTailStaysSelectedWhileLinesAreAppended() throws Exception {
+        LogView view = createView();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 200; i++) {
+                view.append(i == 195 ? "modified /etc/passwd" : "line " + i, false);
+            }
+        });
+        awaitFrame();
+        assertTrue(onEdt(view::isFollowTail));
+
+        // The found line is in the last screenful, so finding it does not move the view
+        assertTrue(onEdt(() -> view.find("passwd", true)));
+        assertFalse(onEdt(view::isFollowTail));
+
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 200; i < 400; i++) {
+                view.append("line " + i, false);
+            }
+        });
+        awaitFrame();
+
+        assertFalse(onEdt(view::isFollowTail));
+        Rectangle visible = onEdt(() -> viewport(view).getViewRect());
+        int lineY = 195 * lineHeight(view);
+        assertTrue(visible.y <= lineY && lineY + lineHeight(view) <= visible.y + visible.height,
+                "The found line should still be visible");
+    }
+
+    @Test
+    void testScrollingToTheEndFollowsTheLatestLinesAgain() throws Exception {
+        LogView view = createView();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 200; i++) {
+                view.append("line " + i, false);
+            }
+        });
+        awaitFrame();
+
+        // Scrolling up stops following, scrolling back to the end follows again
+        SwingUtilities.invokeAndWait(() -> viewport(view).setViewPosition(new Point(0, 0)));
+        assertFalse(onEdt(view::isFollowTail));
+        SwingUtilities.invokeAndWait(() -> {
+            JViewport viewport = viewport(view);
+            viewport.setViewPosition(new Point(0, view.getPreferredSize().height - viewport.getExtentSize().height));
+        });
+        assertTrue(onEdt(view::isFollowTail));
+
+        SwingUtilities.invokeAndWait(() -> view.append("latest", false));
+        awaitFrame();
+        Rectangle visible = onEdt(() -> viewport(view).getViewRect());
+        assertEquals(view.getPreferredSize().height, visible.y + visible.height);
+    }
+
+    @Test
+    void testFollowingCanBeTurnedOff() throws Exception {
+        LogView view = createView();
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 200; i++) {
+                view.append("line " + i, false);
+            }
+        });
+        awaitFrame();
+
+        SwingUtilities.invokeAndWait(() -> view.setFollowTail(false));
+        Point position = onEdt(() -> viewport(view).getViewPosition());
+        SwingUtilities.invokeAndWait(() -> view.append("latest", false));
+        awaitFrame();
+
+        assertFalse(onEdt(view::isFollowTail));
+        assertEquals(position, onEdt(() -> viewport(view).getViewPosition()));
+    }
+}
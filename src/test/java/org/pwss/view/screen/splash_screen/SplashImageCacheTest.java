@@ -0,0 +1,70 @@
+package org.pwss.view.screen.splash_screen;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class contains unit tests for the SplashImageCache class.
+ */
+public class SplashImageCacheTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test to verify that the picture is scaled to the requested size and the scaled variant is cached.
+     */
+    @Test
+    void scaledPictureIsCached() throws Exception {
+        Path picture = writePicture(Color.RED);
+        SplashImageCache cache = new SplashImageCache(picture, directory.resolve("cache"));
+
+        BufferedImage scaled = cache.load(64, 48);
+
+        Assertions.assertEquals(64, scaled.getWidth());
+        Assertions.assertEquals(48, scaled.getHeight());
+        Path variant = cache.variantFile(64, 48);
+        Assertions.assertTrue(Files.isRegularFile(variant));
+        BufferedImage cached = ImageIO.read(variant.toFile());
+        Assertions.assertEquals(64, cached.getWidth());
+        Assertions.assertEquals(48, cached.getHeight());
+        Assertions.assertNotEquals(variant, cache.variantFile(32, 24));
+    }
+
+    /**
+     * Test to verify that a cached variant older than the picture is scaled again.
+     */
+    @Test
+    void outdatedVariantIsScaledAgain() throws Exception {
+        Path picture = writePicture(Color.RED);
+        SplashImageCache cache = new SplashImageCache(picture, directory.resolve("cache"));
+        cache.load(16, 16);
+
+        writePicture(Color.BLUE);
+        Files.setLastModifiedTime(cache.variantFile(16, 16), FileTime.from(Instant.now().minusSeconds(60)));
+        BufferedImage scaled = cache.load(16, 16);
+
+        Color center = new Color(scaled.getRGB(8, 8));
+        Assertions.assertTrue(center.getBlue() > 200 && center.getRed() < 50);
+    }
+
+    private Path writePicture(Color color) throws Exception {
+        BufferedImage image = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, color.getRGB());
+            }
+        }
+        Path picture = directory.resolve("splash.JPG");
+        ImageIO.write(image, "jpg", picture.toFile());
+        return picture;
+    }
+}